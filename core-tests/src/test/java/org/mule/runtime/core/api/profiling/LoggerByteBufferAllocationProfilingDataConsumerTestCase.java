@@ -11,6 +11,9 @@ import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.MEM
 import static org.mule.runtime.api.util.MuleSystemProperties.ENABLE_PROFILING_SERVICE_PROPERTY;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.internal.profiling.consumer.ComponentProfilingUtils.BYTE_BUFFER_FRAGMENTED_BYTES;
+import static org.mule.runtime.core.internal.profiling.consumer.ComponentProfilingUtils.BYTE_BUFFER_POOL_HITS;
+import static org.mule.runtime.core.internal.profiling.consumer.ComponentProfilingUtils.BYTE_BUFFER_POOL_MISSES;
 import static org.mule.runtime.core.internal.profiling.consumer.ComponentProfilingUtils.getByteBufferProfilingInfo;
 import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
 import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.DEFAULT_PROFILING_SERVICE;
@@ -19,6 +22,9 @@ import static java.lang.System.currentTimeMillis;
 import static java.util.Arrays.asList;
 
 import static com.google.common.collect.ImmutableSet.of;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.hasEntry;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,6 +42,7 @@ import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.internal.profiling.DefaultProfilingService;
 import org.mule.runtime.core.internal.profiling.consumer.LoggerByteBufferAllocationProfilingDataConsumer;
 import org.mule.runtime.core.internal.profiling.consumer.annotations.RuntimeInternalProfilingDataConsumer;
+import org.mule.runtime.core.internal.profiling.context.DefaultByteBufferManagerEventContext;
 import org.mule.runtime.internal.memory.bytebuffer.profiling.DefaultByteBufferProviderEventContext;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 import org.mule.tck.junit4.rule.SystemProperty;
@@ -133,6 +140,22 @@ public class LoggerByteBufferAllocationProfilingDataConsumerTestCase extends Abs
     verify(logger).debug(gson.toJson(getByteBufferProfilingInfo(profilingEventType, profilerEventContext)));
   }
 
+  @Test
+  @Description("When a byte buffer manager triggers a profiling event related to memory, its pool counters are logged.")
+  public void poolCountersAreLogged() {
+    ProfilingDataProducer<ByteBufferProviderEventContext, Object> dataProducer =
+        profilingService.getProfilingDataProducer(profilingEventType);
+
+    ByteBufferProviderEventContext profilerEventContext =
+        new DefaultByteBufferManagerEventContext(TEST_BYTE_BUFFER_PROVIDER, currentTimeMillis(), 50, 3, 1, 20);
+    dataProducer.triggerProfilingEvent(profilerEventContext);
+
+    assertThat(getByteBufferProfilingInfo(profilingEventType, profilerEventContext),
+               allOf(hasEntry(BYTE_BUFFER_POOL_HITS, "3"), hasEntry(BYTE_BUFFER_POOL_MISSES, "1"),
+                     hasEntry(BYTE_BUFFER_FRAGMENTED_BYTES, "20")));
+    verify(logger).debug(gson.toJson(getByteBufferProfilingInfo(profilingEventType, profilerEventContext)));
+  }
+
   /**
    * Stub {@link DefaultProfilingService} with a test {@link ProfilingDataConsumerDiscoveryStrategy}.
    */
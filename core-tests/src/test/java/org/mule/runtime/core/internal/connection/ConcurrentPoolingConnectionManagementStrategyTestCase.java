@@ -0,0 +1,449 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
+import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_POOL_EXHAUSTED_ACTION;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ALL;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_NONE;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_FAIL;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_GROW;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_WAIT;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.quality.Strictness.LENIENT;
+
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionHandler;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
+import org.mule.runtime.api.connection.PoolingListener;
+import org.mule.runtime.api.lifecycle.Lifecycle;
+import org.mule.runtime.core.api.Injector;
+import org.mule.runtime.metrics.api.instrument.LongHistogram;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class ConcurrentPoolingConnectionManagementStrategyTestCase extends AbstractMuleTestCase {
+
+  private static final int MAX_ACTIVE = 2;
+  private static final String ownerConfigName = "SomeConfigName";
+
+  private ConnectionProvider<Object> connectionProvider;
+
+  private PoolingProfile poolingProfile =
+      new PoolingProfile(MAX_ACTIVE, MAX_ACTIVE, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+  private ConcurrentPoolingConnectionManagementStrategy<Object> strategy;
+  private PoolingListener<Object> poolingListener;
+  private Injector injector;
+  private ScheduledExecutorService scheduler;
+  private final LongHistogram borrowWaitTimes = mock(LongHistogram.class);
+
+  @Rule
+  public MockitoRule mockitorule = MockitoJUnit.rule().strictness(LENIENT);
+
+  @Before
+  public void before() throws Exception {
+    poolingListener = mock(PoolingListener.class);
+    injector = mock(Injector.class);
+    ConnectionProvider<Object> connectionProvider = mock(ConnectionProvider.class);
+    when(connectionProvider.connect()).thenAnswer(i -> mock(Lifecycle.class));
+    when(connectionProvider.validate(any())).thenReturn(ConnectionValidationResult.success());
+    this.connectionProvider = spy(new DefaultConnectionProviderWrapper<>(connectionProvider, injector));
+    scheduler = newSingleThreadScheduledExecutor();
+  }
+
+  @After
+  public void after() throws Exception {
+    if (strategy != null) {
+      strategy.close();
+    }
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void getConnection() throws Exception {
+    initStrategy();
+    ConnectionHandler<Object> connection1 = strategy.getConnectionHandler();
+    ConnectionHandler<Object> connection2 = strategy.getConnectionHandler();
+
+    assertThat(connection1, is(not(sameInstance(connection2))));
+    assertThat(connection1.getConnection(), is(not(sameInstance(connection2.getConnection()))));
+    verify(connectionProvider, times(2)).connect();
+
+    verify(poolingListener).onBorrow(connection1.getConnection());
+    verify(poolingListener).onBorrow(connection2.getConnection());
+  }
+
+  @Test
+  public void releasedConnectionIsReused() throws Exception {
+    initStrategy();
+    ConnectionHandler<Object> connection = strategy.getConnectionHandler();
+    Object connected = connection.getConnection();
+    connection.release();
+
+    assertThat(strategy.getConnectionHandler().getConnection(), is(sameInstance(connected)));
+    verify(connectionProvider, times(1)).connect();
+    verify(poolingListener).onReturn(connected);
+  }
+
+  @Test
+  public void poolingListenerFailsOnBorrow() throws Exception {
+    initStrategy();
+    final RuntimeException exception = new RuntimeException();
+
+    doThrow(exception).when(poolingListener).onBorrow(any(Lifecycle.class));
+
+    try {
+      strategy.getConnectionHandler();
+      fail("was expecting poolingListener to fail");
+    } catch (Exception e) {
+      assertThat(e.getCause(), is(sameInstance(exception)));
+      verify(connectionProvider).disconnect(any(Lifecycle.class));
+    }
+  }
+
+  @Test
+  public void exhaustion() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_FAIL, INITIALISE_NONE);
+    initStrategy();
+
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+    try {
+      strategy.getConnectionHandler();
+      fail("Was expecting the pool to be exhausted");
+    } catch (ConnectionException e) {
+      // expected
+    }
+
+    connectionHandler.release();
+    strategy.getConnectionHandler();
+  }
+
+  @Test
+  public void exhaustionWaitTimesOut() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, 100, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    initStrategy();
+
+    strategy.getConnectionHandler();
+    try {
+      strategy.getConnectionHandler();
+      fail("Was expecting the pool to be exhausted");
+    } catch (ConnectionException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void exhaustionGrow() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_GROW, INITIALISE_NONE);
+    initStrategy();
+
+    strategy.getConnectionHandler();
+    strategy.getConnectionHandler();
+    verify(connectionProvider, times(2)).connect();
+  }
+
+  @Test
+  public void waitingBorrowGetsReleasedConnection() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    initStrategy();
+
+    ConnectionHandler<Object> connection = strategy.getConnectionHandler();
+    Object connected = connection.getConnection();
+
+    ExecutorService executor = newFixedThreadPool(1);
+    try {
+      Future<Object> waiting = executor.submit(() -> strategy.getConnectionHandler().getConnection());
+      Thread.sleep(50);
+      connection.release();
+
+      assertThat(waiting.get(5, SECONDS), is(sameInstance(connected)));
+      verify(connectionProvider, times(1)).connect();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void getConnectionAsync() throws Exception {
+    initStrategy();
+    CompletableFuture<ConnectionHandler<Object>> connection = strategy.getConnectionHandlerAsync();
+
+    assertThat(connection.isDone(), is(true));
+    verify(poolingListener).onBorrow(connection.get().getConnection());
+  }
+
+  @Test
+  public void pendingAsyncBorrowGetsReleasedConnection() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    initStrategy();
+
+    ConnectionHandler<Object> connection = strategy.getConnectionHandler();
+    Object connected = connection.getConnection();
+
+    CompletableFuture<ConnectionHandler<Object>> pending = strategy.getConnectionHandlerAsync();
+    assertThat(pending.isDone(), is(false));
+
+    connection.release();
+    assertThat(pending.get(5, SECONDS).getConnection(), is(sameInstance(connected)));
+    verify(connectionProvider, times(1)).connect();
+  }
+
+  @Test
+  public void pendingAsyncBorrowsAreServedInOrder() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    initStrategy();
+
+    ConnectionHandler<Object> connection = strategy.getConnectionHandler();
+    CompletableFuture<ConnectionHandler<Object>> first = strategy.getConnectionHandlerAsync();
+    CompletableFuture<ConnectionHandler<Object>> second = strategy.getConnectionHandlerAsync();
+
+    connection.release();
+    assertThat(first.isDone(), is(true));
+    assertThat(second.isDone(), is(false));
+
+    first.get().release();
+    assertThat(second.isDone(), is(true));
+  }
+
+  @Test
+  public void asyncBorrowsAndWaitingThreadsTakeTurns() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    initStrategy();
+
+    ConnectionHandler<Object> connection = strategy.getConnectionHandler();
+    CompletableFuture<ConnectionHandler<Object>> first = strategy.getConnectionHandlerAsync();
+    CompletableFuture<ConnectionHandler<Object>> second = strategy.getConnectionHandlerAsync();
+
+    ExecutorService executor = newFixedThreadPool(1);
+    try {
+      Future<ConnectionHandler<Object>> waiting = executor.submit(() -> strategy.getConnectionHandler());
+      Thread.sleep(50);
+
+      connection.release();
+      assertThat(first.isDone(), is(true));
+
+      first.get().release();
+      waiting.get(5, SECONDS);
+      assertThat(second.isDone(), is(false));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void connectionForPendingAsyncBorrowIsNotCreatedByInvalidatingThread() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    initStrategy();
+
+    ConnectionHandler<Object> connection = strategy.getConnectionHandler();
+    CompletableFuture<ConnectionHandler<Object>> pending = strategy.getConnectionHandlerAsync();
+
+    List<Thread> connectingThreads = new ArrayList<>();
+    doAnswer(i -> {
+      connectingThreads.add(Thread.currentThread());
+      return mock(Lifecycle.class);
+    }).when(connectionProvider).connect();
+
+    connection.invalidate();
+    pending.get(5, SECONDS);
+
+    assertThat(connectingThreads.size(), is(1));
+    assertThat(connectingThreads.get(0), is(not(sameInstance(Thread.currentThread()))));
+  }
+
+  @Test
+  public void pendingAsyncBorrowTimesOut() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, 100, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    initStrategy();
+
+    strategy.getConnectionHandler();
+    try {
+      strategy.getConnectionHandlerAsync().get(5, SECONDS);
+      fail("Was expecting the pool to be exhausted");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), is(instanceOf(ConnectionException.class)));
+    }
+  }
+
+  @Test
+  public void asyncBorrowFailsWhenExhausted() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_FAIL, INITIALISE_NONE);
+    initStrategy();
+
+    strategy.getConnectionHandler();
+    CompletableFuture<ConnectionHandler<Object>> connection = strategy.getConnectionHandlerAsync();
+
+    assertThat(connection.isCompletedExceptionally(), is(true));
+  }
+
+  @Test
+  public void closeFailsPendingAsyncBorrows() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    initStrategy();
+
+    strategy.getConnectionHandler();
+    CompletableFuture<ConnectionHandler<Object>> pending = strategy.getConnectionHandlerAsync();
+
+    strategy.close();
+    strategy = null;
+    assertThat(pending.isCompletedExceptionally(), is(true));
+  }
+
+  @Test
+  public void invalidatedConnectionFreesCapacity() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_FAIL, INITIALISE_NONE);
+    initStrategy();
+
+    strategy.getConnectionHandler().invalidate();
+    strategy.getConnectionHandler();
+
+    verify(connectionProvider, times(2)).connect();
+    verify(connectionProvider, times(1)).disconnect(any());
+  }
+
+  @Test
+  public void releaseOverMaxIdleDisconnects() throws Exception {
+    poolingProfile = new PoolingProfile(2, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    initStrategy();
+
+    ConnectionHandler<Object> connection1 = strategy.getConnectionHandler();
+    ConnectionHandler<Object> connection2 = strategy.getConnectionHandler();
+    connection1.release();
+    verify(connectionProvider, never()).disconnect(any());
+
+    connection2.release();
+    verify(connectionProvider, times(1)).disconnect(any());
+  }
+
+  @Test
+  public void closeDisconnectsIdleAndReleasedConnections() throws Exception {
+    initStrategy();
+    ConnectionHandler<Object> connection1 = strategy.getConnectionHandler();
+    ConnectionHandler<Object> connection2 = strategy.getConnectionHandler();
+    connection1.release();
+
+    strategy.close();
+    verify(connectionProvider, times(1)).disconnect(any());
+
+    connection2.release();
+    verify(connectionProvider, times(2)).disconnect(any());
+    strategy = null;
+  }
+
+  @Test
+  public void initializationPolicyInitialiseAll() throws Exception {
+    poolingProfile = new PoolingProfile(5, 3, DEFAULT_MAX_POOL_WAIT, DEFAULT_POOL_EXHAUSTED_ACTION, INITIALISE_ALL);
+    initStrategy();
+    verify(connectionProvider, times(3)).connect();
+  }
+
+  @Test
+  public void concurrentBorrowNeverExceedsMaxActive() throws Exception {
+    initStrategy();
+    AtomicInteger active = new AtomicInteger();
+    AtomicInteger maxActive = new AtomicInteger();
+
+    ExecutorService executor = newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; ++i) {
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < 200; ++j) {
+            ConnectionHandler<Object> connection = strategy.getConnectionHandler();
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            active.decrementAndGet();
+            connection.release();
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(maxActive.get(), lessThanOrEqualTo(MAX_ACTIVE));
+    verify(connectionProvider, times(MAX_ACTIVE)).connect();
+    verify(borrowWaitTimes, times(1600)).record(anyLong());
+  }
+
+  @Test
+  public void releaseDoesNotWaitForConnectionsBeingCreated() throws Exception {
+    initStrategy();
+    ConnectionHandler<Object> connection = strategy.getConnectionHandler();
+
+    CountDownLatch connecting = new CountDownLatch(1);
+    CountDownLatch connectAllowed = new CountDownLatch(1);
+    doAnswer(i -> {
+      connecting.countDown();
+      connectAllowed.await();
+      return mock(Lifecycle.class);
+    }).when(connectionProvider).connect();
+
+    ExecutorService executor = newFixedThreadPool(2);
+    try {
+      Future<ConnectionHandler<Object>> creating = executor.submit(() -> strategy.getConnectionHandler());
+      assertThat(connecting.await(5, SECONDS), is(true));
+
+      executor.submit(connection::release).get(5, SECONDS);
+      assertThat(creating.isDone(), is(false));
+
+      connectAllowed.countDown();
+      creating.get(5, SECONDS);
+    } finally {
+      connectAllowed.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  private void initStrategy() {
+    strategy = new ConcurrentPoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener,
+                                                                   ownerConfigName, scheduler, borrowWaitTimes);
+  }
+}
@@ -33,6 +33,7 @@ import org.mule.runtime.api.config.FeatureFlaggingService;
 import org.mule.runtime.api.config.PoolingProfile;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.core.api.lifecycle.LifecycleState;
+import org.mule.runtime.metrics.api.meter.Meter;
 import org.mule.sdk.api.connectivity.XATransactionalConnection;
 import org.mule.sdk.api.connectivity.XATransactionalConnectionProvider;
 import org.mule.tck.junit4.AbstractMuleTestCase;
@@ -74,9 +75,10 @@ class ConnectionManagementStrategyFactoryTestCase extends AbstractMuleTestCase {
         .thenReturn(manageForXa);
 
     connMgmtStrategyFactory = new ConnectionManagementStrategyFactory(null, deploymentLifecycleState,
-                                                                      of(xaConnectionManagementStrategyFactory));
+                                                                      of(xaConnectionManagementStrategyFactory), () -> null,
+                                                                      () -> Meter.NO_OP);
     noXaSupportConnMgmtStrategyFactory = new ConnectionManagementStrategyFactory(null, deploymentLifecycleState,
-                                                                                 empty());
+                                                                                 empty(), () -> null, () -> Meter.NO_OP);
 
     poolingProfile = new PoolingProfile();
   }
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.verify;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+public class StripedInstanceLockGroupTestCase extends AbstractMuleTestCase {
+
+  private static final int THREAD_COUNT = 16;
+  private static final int ITERATIONS_PER_THREAD = 1000;
+
+  private final TestLockProviderWrapper lockProvider = new TestLockProviderWrapper(new SingleServerLockProvider());
+  private final StripedInstanceLockGroup lockGroup = new StripedInstanceLockGroup(lockProvider);
+
+  @Test
+  public void lockUnlockHighConcurrency() throws Exception {
+    testHighConcurrency(false);
+  }
+
+  @Test
+  public void tryLockUnlockHighConcurrency() throws Exception {
+    testHighConcurrency(true);
+  }
+
+  @Test
+  public void entryIsReleasedAfterLastUnlock() {
+    lockGroup.lock("lockId");
+    lockGroup.lock("lockId");
+    lockGroup.unlock("lockId");
+    assertThat(lockGroup.size(), is(1));
+
+    lockGroup.unlock("lockId");
+    assertThat(lockGroup.size(), is(0));
+    assertThat(lockGroup.getAcquisitions(), is(2L));
+  }
+
+  @Test
+  public void failedTryLockReleasesEntry() throws Exception {
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread owner = new Thread(() -> {
+      lockGroup.lock("lockId");
+      locked.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        lockGroup.unlock("lockId");
+      }
+    });
+    owner.start();
+    locked.await();
+
+    assertThat(lockGroup.tryLock("lockId"), is(false));
+    assertThat(lockGroup.tryLock("lockId", 10, MILLISECONDS), is(false));
+    assertThat(lockGroup.getContendedAcquisitions(), is(2L));
+    assertThat(lockGroup.size(), is(1));
+
+    release.countDown();
+    owner.join();
+    assertThat(lockGroup.size(), is(0));
+  }
+
+  @Test
+  public void whenTryLockIsInterruptedTheLockGroupDoesNotGenerateALockEntry() {
+    lockProvider.makeLocksRaiseExceptions();
+
+    try {
+      lockGroup.tryLock("TestLockId", 5L, SECONDS);
+      fail("tryLock should have thrown an InterruptedException");
+    } catch (InterruptedException e) {
+      assertThat(lockGroup.size(), is(0));
+    }
+  }
+
+  @Test
+  public void whenLockInterruptiblyIsInterruptedTheLockGroupDoesNotGenerateALockEntry() {
+    lockProvider.makeLocksRaiseExceptions();
+
+    try {
+      lockGroup.lockInterruptibly("TestLockId");
+      fail("lockInterruptibly should have thrown an InterruptedException");
+    } catch (InterruptedException e) {
+      assertThat(lockGroup.size(), is(0));
+    }
+  }
+
+  @Test
+  public void whenUnlockRaisesIllegalMonitorStateExceptionTheLockGroupDoesNotReleaseTheEntry() {
+    String testLockId = "TestLockId";
+    lockGroup.lock(testLockId);
+
+    lockProvider.makeLocksRaiseExceptions();
+
+    try {
+      lockGroup.unlock(testLockId);
+      fail("unlock should have thrown a IllegalMonitorStateException");
+    } catch (IllegalMonitorStateException e) {
+      assertThat(lockGroup.size(), is(1));
+    }
+  }
+
+  @Test
+  public void disposeWaitsForTakenLocks() throws Exception {
+    String testLockId = "TestLockId";
+    lockGroup.lock(testLockId);
+
+    Thread disposer = new Thread(lockGroup::dispose);
+    disposer.start();
+    new PollingProber().check(new JUnitLambdaProbe(() -> {
+      assertThat(disposer.getState(), is(Thread.State.TIMED_WAITING));
+      return true;
+    }));
+
+    lockGroup.unlock(testLockId);
+    verify(lockProvider.getSpiedLock(testLockId)).unlock();
+    disposer.join(SECONDS.toMillis(5));
+    assertThat(disposer.isAlive(), is(false));
+  }
+
+  private void testHighConcurrency(boolean useTryLock) throws InterruptedException {
+    // the test provider is not thread safe
+    StripedInstanceLockGroup lockGroup = new StripedInstanceLockGroup(new SingleServerLockProvider());
+    int[] counters = new int[2];
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>(THREAD_COUNT);
+    for (int i = 0; i < THREAD_COUNT; i++) {
+      int counter = i % 2;
+      String key = "key" + counter;
+      Thread thread = new Thread(() -> {
+        try {
+          start.await();
+          for (int j = 0; j < ITERATIONS_PER_THREAD; j++) {
+            if (useTryLock) {
+              while (!lockGroup.tryLock(key, 100, MILLISECONDS));
+            } else {
+              lockGroup.lock(key);
+            }
+            try {
+              counters[counter]++;
+            } finally {
+              lockGroup.unlock(key);
+            }
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    int expected = THREAD_COUNT / 2 * ITERATIONS_PER_THREAD;
+    assertThat(counters[0], is(expected));
+    assertThat(counters[1], is(expected));
+    assertThat(lockGroup.size(), is(0));
+    assertThat(lockGroup.getAcquisitions(), is((long) THREAD_COUNT * ITERATIONS_PER_THREAD));
+  }
+}
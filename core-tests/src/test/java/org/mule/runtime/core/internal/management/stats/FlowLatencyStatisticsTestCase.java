@@ -0,0 +1,194 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static org.mule.runtime.core.internal.management.stats.DefaultFlowConstructStatistics.LATENCY_QUANTILE_ATTRIBUTE;
+import static org.mule.runtime.core.internal.management.stats.DefaultFlowConstructStatistics.MULE_ENABLE_LATENCY_STATISTICS;
+import static org.mule.runtime.core.internal.management.stats.DefaultFlowConstructStatistics.PROCESSING_TIME_NAME;
+import static org.mule.runtime.core.internal.management.stats.DefaultFlowConstructStatistics.PROCESSOR_LOCATION_ATTRIBUTE;
+import static org.mule.runtime.core.internal.management.stats.DefaultFlowConstructStatistics.PROCESSOR_TIME_NAME;
+
+import static java.lang.Long.MAX_VALUE;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.core.api.management.stats.ArtifactMeterProvider;
+import org.mule.runtime.metrics.api.instrument.builder.LongGaugeBuilder;
+import org.mule.runtime.metrics.api.meter.Meter;
+import org.mule.runtime.metrics.api.meter.builder.MeterBuilder;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+@SmallTest
+public class FlowLatencyStatisticsTestCase extends AbstractMuleTestCase {
+
+  private static final String PROCESSOR_PATH = "flow/processors/0";
+
+  @Rule
+  public SystemProperty latencyStatistics = new SystemProperty(MULE_ENABLE_LATENCY_STATISTICS, "true");
+
+  @Test
+  public void histogramPercentiles() {
+    StripedLatencyHistogram histogram = new StripedLatencyHistogram();
+    for (long i = 1; i <= 10000; i++) {
+      histogram.record(i);
+    }
+
+    assertThat(histogram.getCount(), equalTo(10000L));
+    assertThat(histogram.getSum(), equalTo(50005000L));
+    assertThat(histogram.getMax(), equalTo(10000L));
+    // 4 sub bucket bits give a relative error lower than 1 / 16
+    assertThat(histogram.getValueAtPercentile(50), allOf(greaterThanOrEqualTo(5000L), lessThanOrEqualTo(5000L + 5000L / 16)));
+    assertThat(histogram.getValueAtPercentile(99), allOf(greaterThanOrEqualTo(9900L), lessThanOrEqualTo(10000L)));
+    assertThat(histogram.getValueAtPercentile(100), equalTo(10000L));
+  }
+
+  @Test
+  public void histogramSmallValuesAreExact() {
+    StripedLatencyHistogram histogram = new StripedLatencyHistogram();
+    histogram.record(1);
+    histogram.record(2);
+    histogram.record(3);
+
+    assertThat(histogram.getValueAtPercentile(0), equalTo(1L));
+    assertThat(histogram.getValueAtPercentile(50), equalTo(2L));
+    assertThat(histogram.getValueAtPercentile(100), equalTo(3L));
+  }
+
+  @Test
+  public void histogramValuesOutOfRange() {
+    StripedLatencyHistogram histogram = new StripedLatencyHistogram();
+    histogram.record(MAX_VALUE);
+    histogram.record(-1);
+
+    assertThat(histogram.getCount(), equalTo(1L));
+    assertThat(histogram.getValueAtPercentile(50), equalTo(MAX_VALUE));
+  }
+
+  @Test
+  public void histogramClear() {
+    StripedLatencyHistogram histogram = new StripedLatencyHistogram();
+    histogram.record(10);
+    histogram.clear();
+
+    assertThat(histogram.getCount(), equalTo(0L));
+    assertThat(histogram.getMax(), equalTo(0L));
+    assertThat(histogram.getValueAtPercentile(50), equalTo(0L));
+  }
+
+  @Test
+  public void histogramMergesConcurrentRecordings() throws Exception {
+    StripedLatencyHistogram histogram = new StripedLatencyHistogram();
+    Thread[] threads = new Thread[8];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread(() -> {
+        for (int j = 0; j < 1000; j++) {
+          histogram.record(7);
+        }
+      });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(histogram.getCount(), equalTo(8000L));
+    assertThat(histogram.getValueAtPercentile(50), equalTo(7L));
+  }
+
+  @Test
+  public void processingTimeOnlyRecordsCompleteFlowExecutions() {
+    DefaultFlowConstructStatistics statistics = new DefaultFlowConstructStatistics("flow", "test");
+    statistics.setEnabled(true);
+    statistics.addFlowExecutionBranchTime(100, 100);
+    statistics.addFlowExecutionBranchTime(5, 105);
+    statistics.addCompleteFlowExecutionTime(12);
+    statistics.addCompleteFlowExecutionTime(14);
+
+    assertThat(statistics.isLatencyTrackingEnabled(), equalTo(true));
+    assertThat(statistics.getProcessingTimeAtPercentile(50), equalTo(12L));
+    assertThat(statistics.getProcessingTimeAtPercentile(100), equalTo(14L));
+  }
+
+  @Test
+  public void processorExecutionTime() {
+    DefaultFlowConstructStatistics statistics = new DefaultFlowConstructStatistics("flow", "test");
+    statistics.setEnabled(true);
+    statistics.addProcessorExecutionTime(PROCESSOR_PATH, 5);
+    statistics.addProcessorExecutionTime(PROCESSOR_PATH, 9);
+
+    assertThat(statistics.getProcessorExecutionTimesAtPercentile(100), allOf(aMapWithSize(1), hasEntry(PROCESSOR_PATH, 9L)));
+
+    statistics.clear();
+    assertThat(statistics.getProcessorExecutionTimesAtPercentile(100), hasEntry(PROCESSOR_PATH, 0L));
+  }
+
+  @Test
+  public void disabledStatisticsDoNotRecord() {
+    DefaultFlowConstructStatistics statistics = new DefaultFlowConstructStatistics("flow", "test");
+    statistics.addProcessorExecutionTime(PROCESSOR_PATH, 5);
+    statistics.addCompleteFlowExecutionTime(10);
+
+    assertThat(statistics.getProcessingTimeAtPercentile(50), equalTo(0L));
+    assertThat(statistics.getProcessorExecutionTimesAtPercentile(50).isEmpty(), equalTo(true));
+  }
+
+  @Test
+  public void processorTimesAreExportedAsOneInstrumentWithTheLocationAsAttribute() {
+    Map<String, LongGaugeBuilder> gaugeBuilders = new ConcurrentHashMap<>();
+    Meter meter = mock(Meter.class, RETURNS_DEEP_STUBS);
+    when(meter.gaugeBuilder(anyString())).thenAnswer(invocation -> gaugeBuilders
+        .computeIfAbsent(invocation.getArgument(0), name -> mock(LongGaugeBuilder.class, RETURNS_SELF)));
+    MeterBuilder meterBuilder = mock(MeterBuilder.class, RETURNS_SELF);
+    when(meterBuilder.build()).thenReturn(meter);
+    ArtifactMeterProvider meterProvider = mock(ArtifactMeterProvider.class);
+    when(meterProvider.getArtifactId()).thenReturn("app");
+    when(meterProvider.getMeterBuilder(anyString())).thenReturn(meterBuilder);
+
+    DefaultFlowConstructStatistics statistics = new DefaultFlowConstructStatistics("flow", "test");
+    statistics.setEnabled(true);
+    statistics.trackUsingMeterProvider(meterProvider);
+    statistics.addProcessorExecutionTime(PROCESSOR_PATH, 5);
+    statistics.addProcessorExecutionTime("flow/processors/1", 7);
+
+    // p50, p90, p99 and max of each processor
+    verify(meter, times(8)).gaugeBuilder(PROCESSOR_TIME_NAME);
+    LongGaugeBuilder processorTime = gaugeBuilders.get(PROCESSOR_TIME_NAME);
+    verify(processorTime, times(4)).withAttribute(PROCESSOR_LOCATION_ATTRIBUTE, PROCESSOR_PATH);
+    verify(processorTime, times(2)).withAttribute(LATENCY_QUANTILE_ATTRIBUTE, "1.0");
+
+    ArgumentCaptor<Supplier<Long>> values = ArgumentCaptor.forClass((Class) Supplier.class);
+    verify(processorTime, times(8)).withValueSupplier(values.capture());
+    assertThat(values.getAllValues().stream().mapToLong(Supplier::get).max().getAsLong(), equalTo(7L));
+
+    verify(meter, times(4)).gaugeBuilder(PROCESSING_TIME_NAME);
+    verify(gaugeBuilders.get(PROCESSING_TIME_NAME), times(4)).withValueSupplier(any());
+  }
+}
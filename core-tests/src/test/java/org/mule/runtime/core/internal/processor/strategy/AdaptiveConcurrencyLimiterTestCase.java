@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+@SmallTest
+public class AdaptiveConcurrencyLimiterTestCase extends AbstractMuleTestCase {
+
+  private static final long LOW_LATENCY = MILLISECONDS.toNanos(1);
+  private static final long HIGH_LATENCY = MILLISECONDS.toNanos(10);
+
+  private final AtomicLong nanoTime = new AtomicLong();
+
+  @Test
+  public void growsWhileLatencyIsStableAndLimitIsUsed() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1000, nanoTime::get);
+    int initialLimit = limiter.getLimit();
+
+    for (int i = 0; i < 20; ++i) {
+      runWindow(limiter, LOW_LATENCY, limiter.getLimit());
+    }
+
+    assertThat(limiter.getLimit(), greaterThan(initialLimit));
+  }
+
+  @Test
+  public void doesNotGrowWhileLimitIsNotUsed() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1000, nanoTime::get);
+    int initialLimit = limiter.getLimit();
+
+    for (int i = 0; i < 20; ++i) {
+      runWindow(limiter, LOW_LATENCY, initialLimit / 2 - 1);
+    }
+
+    assertThat(limiter.getLimit(), equalTo(initialLimit));
+  }
+
+  @Test
+  public void shrinksWhenLatencyGrows() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1000, nanoTime::get);
+    runWindow(limiter, LOW_LATENCY, limiter.getLimit());
+    int limitBeforeSlowdown = limiter.getLimit();
+
+    for (int i = 0; i < 5; ++i) {
+      runWindow(limiter, HIGH_LATENCY, limiter.getLimit());
+    }
+
+    assertThat(limiter.getLimit(), lessThan(limitBeforeSlowdown));
+  }
+
+  @Test
+  public void shrinksOnOverload() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1000, nanoTime::get);
+    for (int i = 0; i < 20; ++i) {
+      runWindow(limiter, LOW_LATENCY, limiter.getLimit());
+    }
+    int limitBeforeOverload = limiter.getLimit();
+
+    limiter.onOverload();
+    runWindow(limiter, LOW_LATENCY, limiter.getLimit());
+
+    assertThat(limiter.getLimit(), lessThan(limitBeforeOverload));
+  }
+
+  @Test
+  public void neverExceedsMaxLimit() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, nanoTime::get);
+
+    for (int i = 0; i < 50; ++i) {
+      runWindow(limiter, LOW_LATENCY, limiter.getLimit());
+    }
+
+    assertThat(limiter.getLimit(), equalTo(2));
+  }
+
+  @Test
+  public void neverGoesBelowOne() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1000, nanoTime::get);
+    runWindow(limiter, LOW_LATENCY, limiter.getLimit());
+
+    for (int i = 0; i < 200; ++i) {
+      limiter.onOverload();
+      runWindow(limiter, HIGH_LATENCY * 100, 1);
+    }
+
+    assertThat(limiter.getLimit(), equalTo(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidMaxLimit() {
+    new AdaptiveConcurrencyLimiter(0, nanoTime::get);
+  }
+
+  private void runWindow(AdaptiveConcurrencyLimiter limiter, long latency, int inFlight) {
+    for (int i = 0; i < 9; ++i) {
+      limiter.onComplete(latency, inFlight);
+    }
+    nanoTime.addAndGet(MILLISECONDS.toNanos(100));
+    limiter.onComplete(latency, inFlight);
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class VirtualThreadSchedulerTestCase extends AbstractMuleTestCase {
+
+  private static final String NAME = "test.BLOCKING";
+  private static final long SHUTDOWN_TIMEOUT = 5000;
+
+  private Scheduler delayScheduler;
+  private final AtomicInteger delaySchedulersCreated = new AtomicInteger();
+  private VirtualThreadScheduler scheduler;
+
+  @Before
+  public void before() {
+    assumeTrue(VirtualThreadScheduler.isSupported());
+    delayScheduler = mock(Scheduler.class);
+    scheduler = new VirtualThreadScheduler(NAME, 2, SHUTDOWN_TIMEOUT, delayScheduler());
+  }
+
+  private Supplier<Scheduler> delayScheduler() {
+    return () -> {
+      delaySchedulersCreated.incrementAndGet();
+      return delayScheduler;
+    };
+  }
+
+  @After
+  public void after() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  @Test
+  public void runsOnVirtualThread() throws Exception {
+    AtomicReference<String> threadName = new AtomicReference<>();
+    scheduler.submit(() -> threadName.set(Thread.currentThread().getName())).get(5, SECONDS);
+
+    assertThat(threadName.get(), startsWith(NAME + "-"));
+  }
+
+  @Test
+  public void rejectsOverMaxConcurrency() throws Exception {
+    CountDownLatch started = new CountDownLatch(2);
+    CountDownLatch release = new CountDownLatch(1);
+    Runnable blocking = () -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    };
+
+    scheduler.execute(blocking);
+    scheduler.execute(blocking);
+    assertThat(started.await(5, SECONDS), is(true));
+    assertThat(scheduler.getActiveCount(), is(2));
+
+    try {
+      scheduler.execute(blocking);
+      throw new AssertionError("Expected the task to be rejected");
+    } catch (RejectedExecutionException e) {
+      // expected
+    }
+
+    release.countDown();
+    scheduler.shutdown();
+    assertThat(scheduler.awaitTermination(5, SECONDS), is(true));
+    assertThat(scheduler.getActiveCount(), is(0));
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void rejectsAfterShutdown() {
+    scheduler.shutdown();
+    scheduler.execute(() -> {
+    });
+  }
+
+  @Test
+  public void terminatesWhenIdle() throws Exception {
+    scheduler.shutdown();
+
+    assertThat(scheduler.isTerminated(), is(true));
+    assertThat(scheduler.awaitTermination(1, SECONDS), is(true));
+  }
+
+  @Test
+  public void stopStopsDelayScheduler() {
+    scheduler.schedule(() -> {
+    }, 1, SECONDS);
+    scheduler.stop();
+
+    assertThat(scheduler.isShutdown(), is(true));
+    verify(delayScheduler).stop();
+  }
+
+  @Test
+  public void delaySchedulerOnlyCreatedForDelayedTasks() throws Exception {
+    scheduler.submit(() -> {
+    }).get(5, SECONDS);
+    scheduler.stop();
+
+    assertThat(delaySchedulersCreated.get(), is(0));
+    verify(delayScheduler, never()).stop();
+  }
+
+  @Test
+  public void stopWaitsForRunningTasks() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    AtomicBoolean finished = new AtomicBoolean();
+    scheduler.execute(() -> {
+      started.countDown();
+      try {
+        Thread.sleep(200);
+        finished.set(true);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertThat(started.await(5, SECONDS), is(true));
+
+    scheduler.stop();
+
+    assertThat(finished.get(), is(true));
+    assertThat(scheduler.isTerminated(), is(true));
+  }
+
+  @Test
+  public void stopInterruptsTasksAfterTimeout() throws Exception {
+    scheduler.shutdownNow();
+    scheduler = new VirtualThreadScheduler(NAME, 2, 100, delayScheduler());
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    scheduler.execute(() -> {
+      started.countDown();
+      try {
+        new CountDownLatch(1).await();
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+    });
+    assertThat(started.await(5, SECONDS), is(true));
+
+    scheduler.stop();
+
+    assertThat(interrupted.await(5, SECONDS), is(true));
+  }
+
+  @Test
+  public void delayedTasksAreDelegated() {
+    Runnable task = () -> {
+    };
+    scheduler.schedule(task, 1, SECONDS);
+    scheduler.scheduleWithCronExpression(task, "0 0 * * * ?");
+
+    verify(delayScheduler).schedule(task, 1, SECONDS);
+    verify(delayScheduler).scheduleWithCronExpression(eq(task), any(String.class));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidMaxConcurrency() {
+    new VirtualThreadScheduler(NAME, 0, SHUTDOWN_TIMEOUT, delayScheduler());
+  }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static org.mule.test.allure.AllureConstants.SerializationFeature.SERIALIZATION;
+import static org.mule.test.allure.AllureConstants.SerializationFeature.SerializationStory.MESSAGE_SERIALIZATION;
+
+import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Integer.MIN_VALUE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.mock;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.serialization.CompactSerializationProtocol.Codec;
+import org.mule.runtime.core.internal.serialization.CompactSerializationProtocol.Reader;
+import org.mule.runtime.core.internal.serialization.CompactSerializationProtocol.Writer;
+import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition.StoreValue;
+import org.mule.tck.core.internal.serialization.AbstractSerializerProtocolContractTestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(SERIALIZATION)
+@Story(MESSAGE_SERIALIZATION)
+public class CompactSerializationProtocolTestCase extends AbstractSerializerProtocolContractTestCase {
+
+  private JavaExternalSerializerProtocol javaProtocol;
+  private CompactSerializationProtocol compactProtocol;
+
+  @Before
+  public void setUp() throws Exception {
+    javaProtocol = new JavaExternalSerializerProtocol(this.getClass().getClassLoader());
+    compactProtocol = new CompactSerializationProtocol(javaProtocol, this.getClass().getClassLoader());
+    serializationProtocol = compactProtocol;
+  }
+
+  @Test
+  public void primitives() throws Exception {
+    for (Object value : asList("", "h\u00e9llo", 0, -1, MAX_VALUE, MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, 1.5d, -2.5f,
+                               (short) -3, (byte) 7, 'x', true, false)) {
+      assertThat(roundTrip(value), equalTo(value));
+    }
+  }
+
+  @Test
+  public void bytes() throws Exception {
+    byte[] value = new byte[] {1, -2, 3};
+    assertThat(roundTrip(value), equalTo(value));
+  }
+
+  @Test
+  public void nestedCollections() throws Exception {
+    Map<String, Object> value = new LinkedHashMap<>();
+    value.put("list", new ArrayList<>(asList(1, "two", null)));
+    value.put("map", new HashMap<>(Map.of("a", 1L)));
+    value.put("decimal", new BigDecimal("-12.345"));
+
+    Map<String, Object> read = roundTrip(value);
+    assertThat(read, equalTo(value));
+    assertThat(read, is(instanceOf(LinkedHashMap.class)));
+  }
+
+  @Test
+  public void storeValue() throws Exception {
+    StoreValue<Serializable> value = new StoreValue<>("key", new AtomicInteger(3));
+
+    StoreValue<Serializable> read = roundTrip(value);
+    assertThat(read.getKey(), equalTo("key"));
+    assertThat(((AtomicInteger) read.getValue()).get(), is(3));
+  }
+
+  @Test
+  public void typedValue() throws Exception {
+    TypedValue<String> value = new TypedValue<>("hello", STRING, OptionalLong.of(5));
+
+    TypedValue<String> read = roundTrip(value);
+    assertThat(read.getValue(), equalTo("hello"));
+    assertThat(read.getDataType(), equalTo(STRING));
+    assertThat(read.getByteLength(), equalTo(OptionalLong.of(5)));
+  }
+
+  @Test
+  public void dataTypeIsNotJavaSerialized() throws Exception {
+    DataType dataType = DataType.builder().type(String.class).mediaType("text/plain; charset=UTF-8").build();
+    TypedValue<String> value = new TypedValue<>("hello", dataType);
+
+    byte[] bytes = compactProtocol.serialize(value);
+    for (int i = 0; i < bytes.length - 1; ++i) {
+      assertThat(bytes[i] == (byte) 0xAC && bytes[i + 1] == (byte) 0xED, is(false));
+    }
+    TypedValue<String> read = compactProtocol.deserialize(bytes);
+    assertThat(read.getDataType(), equalTo(dataType));
+  }
+
+  @Test
+  public void event() throws Exception {
+    CoreEvent value = CoreEvent.builder(create(mock(FlowConstruct.class), TEST_CONNECTOR_LOCATION))
+        .message(Message.builder().value("payload").attributesValue("attributes").build())
+        .addVariable("var", "varValue")
+        .build();
+
+    CoreEvent read = roundTrip(value);
+    assertThat(read.getContext().getId(), equalTo(value.getContext().getId()));
+    assertThat(read.getMessage().getPayload().getValue(), equalTo("payload"));
+    assertThat(read.getMessage().getAttributes().getValue(), equalTo("attributes"));
+    assertThat(read.getVariables().get("var").getValue(), equalTo("varValue"));
+  }
+
+  @Test
+  public void fallsBackToJavaSerialization() throws Exception {
+    ArrayList<SerializableBean> value = new ArrayList<>(asList(new SerializableBean("a"), new SerializableBean("b")));
+
+    List<SerializableBean> read = roundTrip(value);
+    assertThat(read.get(0).name, equalTo("a"));
+    assertThat(read.get(1).name, equalTo("b"));
+  }
+
+  @Test
+  public void deeplyNestedValueFallsBackToJavaSerialization() throws Exception {
+    ArrayList<Object> value = new ArrayList<>();
+    ArrayList<Object> current = value;
+    for (int i = 0; i < 100; ++i) {
+      ArrayList<Object> next = new ArrayList<>();
+      current.add(next);
+      current = next;
+    }
+    current.add("deepest");
+
+    assertThat(roundTrip(value), equalTo(value));
+  }
+
+  @Test
+  public void readsJavaSerializedData() throws Exception {
+    HashMap<String, Integer> value = new HashMap<>(Map.of("one", 1));
+    assertThat(compactProtocol.deserialize(javaProtocol.serialize(value)), equalTo(value));
+  }
+
+  @Test
+  public void javaProtocolReadsCompactData() throws Exception {
+    HashMap<String, Integer> value = new HashMap<>(Map.of("one", 1));
+    assertThat(javaProtocol.deserialize(compactProtocol.serialize(value)), equalTo(value));
+  }
+
+  @Test
+  public void smallerThanJavaSerialization() throws Exception {
+    StoreValue<Serializable> value = new StoreValue<>("key", new HashMap<>(Map.of("count", 1, "name", "value")));
+    assertThat(compactProtocol.serialize(value).length, lessThan(javaProtocol.serialize(value).length));
+  }
+
+  @Test
+  public void registeredCodec() throws Exception {
+    compactProtocol.registerCodec(SerializableBean.class, new Codec<SerializableBean>() {
+
+      @Override
+      public void write(SerializableBean value, Writer writer) {
+        writer.writeString(value.name + "-written");
+      }
+
+      @Override
+      public SerializableBean read(Reader reader) throws IOException {
+        return new SerializableBean(reader.readString());
+      }
+    });
+
+    SerializableBean read = roundTrip(new SerializableBean("bean"));
+    assertThat(read.name, equalTo("bean-written"));
+  }
+
+  @Test(expected = SerializationException.class)
+  public void notSerializable() throws Exception {
+    serializationProtocol.serialize(new Object());
+  }
+
+  @Test(expected = SerializationException.class)
+  public void unknownFormat() throws Exception {
+    serializationProtocol.deserialize(new byte[] {1, 2, 3});
+  }
+
+  @Test(expected = SerializationException.class)
+  public void truncated() throws Exception {
+    byte[] bytes = serializationProtocol.serialize("hello");
+    byte[] truncated = new byte[bytes.length - 1];
+    System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+    serializationProtocol.deserialize(truncated);
+  }
+
+  @Test(expected = SerializationException.class)
+  public void collectionSizeLargerThanInputIsRejected() throws Exception {
+    byte[] className = ArrayList.class.getName().getBytes(UTF_8);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    // header, codec tag and first class name index
+    bytes.write(new byte[] {'M', 1, 12, 0});
+    bytes.write(className.length);
+    bytes.write(className);
+    // MAX_VALUE as a variable length int
+    bytes.write(new byte[] {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07});
+
+    serializationProtocol.deserialize(bytes.toByteArray());
+  }
+
+  private <T> T roundTrip(Object value) throws Exception {
+    return serializationProtocol.deserialize(serializationProtocol.serialize(value));
+  }
+
+  private static class SerializableBean implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+
+    private SerializableBean(String name) {
+      this.name = name;
+    }
+  }
+}
@@ -16,6 +16,7 @@ import static java.lang.System.gc;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
@@ -66,4 +67,20 @@ public class EventStreamingStateTestCase extends AbstractMuleContextTestCase {
     });
   }
 
+  @Test
+  public void releaseCollectedProvidersOnDispose() {
+    MutableStreamingStatistics statistics = mock(MutableStreamingStatistics.class);
+    CursorStreamProvider delegate = mock(CursorStreamProvider.class);
+    IdentifiableCursorProvider provider = of(delegate);
+    ManagedCursorStreamProvider managedCursorProvider = new ManagedCursorStreamProvider(provider, statistics);
+    // Not started, so that only the event can release the provider
+    eventStreamingState.addProvider(managedCursorProvider, new StreamingGhostBuster());
+
+    // Same as the decorator being collected but not yet busted
+    eventStreamingState.providers.getIfPresent(provider.getId()).clear();
+
+    eventStreamingState.dispose();
+    verify(delegate).releaseResources();
+  }
+
 }
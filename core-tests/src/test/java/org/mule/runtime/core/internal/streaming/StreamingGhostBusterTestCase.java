@@ -91,6 +91,7 @@ class StreamingGhostBusterTestCase extends AbstractMuleTestCase {
       gc();
       assertThat(reference.get(), is(nullValue()));
       verify(provider).releaseResources();
+      assertThat(ghostBuster.getBustedProvidersCount(), is(1L));
       return true;
     });
   }
@@ -131,6 +132,7 @@ class StreamingGhostBusterTestCase extends AbstractMuleTestCase {
     reference.dispose();
     verify(alertingSupport, never()).triggerAlert(any());
     verify(alertingSupport, never()).triggerAlert(any(), any());
+    assertThat(ghostBuster.getBustedProvidersCount(), is(0L));
   }
 
 }
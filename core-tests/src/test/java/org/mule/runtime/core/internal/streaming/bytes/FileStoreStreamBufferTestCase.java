@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.StreamingStory.BYTES_STREAMING;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.streaming.bytes.FileStoreCursorStreamConfig;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(STREAMING)
+@Story(BYTES_STREAMING)
+class FileStoreStreamBufferTestCase extends AbstractMuleTestCase {
+
+  private static final int IN_MEMORY_SIZE = 16;
+  private static final int MAPPED_REGION_SIZE = 64;
+
+  private FileStoreStreamBuffer buffer;
+
+  @AfterEach
+  void closeBuffer() {
+    if (buffer != null) {
+      buffer.close();
+    }
+  }
+
+  @Test
+  void smallStreamIsKeptInMemory() throws IOException {
+    byte[] data = data(IN_MEMORY_SIZE);
+    buffer = newBuffer(data);
+
+    assertThat(readAll(buffer), equalTo(data));
+    assertThat(buffer.isSpilled(), is(false));
+  }
+
+  @Test
+  void bigStreamIsSpilled() throws IOException {
+    byte[] data = data(IN_MEMORY_SIZE + MAPPED_REGION_SIZE * 3 + 5);
+    buffer = newBuffer(data);
+
+    assertThat(readAll(buffer), equalTo(data));
+    assertThat(buffer.isSpilled(), is(true));
+    assertThat(buffer.getBufferedSize(), is((long) data.length));
+  }
+
+  @Test
+  void spilledDataCanBeReadAgain() throws IOException {
+    byte[] data = data(IN_MEMORY_SIZE + MAPPED_REGION_SIZE * 2);
+    buffer = newBuffer(data);
+
+    readAll(buffer);
+
+    assertThat(readAll(buffer), equalTo(data));
+    int position = IN_MEMORY_SIZE + MAPPED_REGION_SIZE + 3;
+    ByteBuffer read = buffer.get(position, 4);
+    assertThat(read.remaining(), is(4));
+    assertThat(read.get(), is(data[position]));
+  }
+
+  @Test
+  void mappedRegionsAreReleasedOnClose() throws IOException {
+    byte[] data = data(IN_MEMORY_SIZE + MAPPED_REGION_SIZE * 2);
+    buffer = newBuffer(data);
+
+    int position = IN_MEMORY_SIZE + MAPPED_REGION_SIZE + 3;
+    ByteBuffer read = buffer.get(position, 4);
+    assertThat(buffer.getMappedRegionsCount(), is(2));
+
+    buffer.close();
+
+    assertThat(buffer.getMappedRegionsCount(), is(0));
+    // data read from an unmapped region is still accessible
+    assertThat(read.remaining(), is(4));
+    assertThat(read.get(), is(data[position]));
+  }
+
+  @Test
+  void readDoesNotSpanBuckets() throws IOException {
+    byte[] data = data(IN_MEMORY_SIZE + MAPPED_REGION_SIZE);
+    buffer = newBuffer(data);
+
+    assertThat(buffer.get(IN_MEMORY_SIZE - 2, 10).remaining(), is(2));
+    assertThat(buffer.get(IN_MEMORY_SIZE, 10).remaining(), is(10));
+  }
+
+  @Test
+  void readBeyondEnd() throws IOException {
+    byte[] data = data(IN_MEMORY_SIZE + 10);
+    buffer = newBuffer(data);
+
+    assertThat(buffer.get(data.length, 10), is(nullValue()));
+    assertThat(buffer.get(data.length - 5, 10).remaining(), is(5));
+  }
+
+  private FileStoreStreamBuffer newBuffer(byte[] data) {
+    return new FileStoreStreamBuffer(new ByteArrayInputStream(data),
+                                     new FileStoreCursorStreamConfig(new DataSize(IN_MEMORY_SIZE, BYTE)),
+                                     new SimpleByteBufferManager(),
+                                     MAPPED_REGION_SIZE);
+  }
+
+  private static byte[] readAll(FileStoreStreamBuffer buffer) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    long position = 0;
+    ByteBuffer read;
+    while ((read = buffer.get(position, 7)) != null) {
+      position += read.remaining();
+      while (read.hasRemaining()) {
+        out.write(read.get());
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private static byte[] data(int length) {
+    byte[] data = new byte[length];
+    for (int i = 0; i < length; i++) {
+      data[i] = (byte) i;
+    }
+    return data;
+  }
+}
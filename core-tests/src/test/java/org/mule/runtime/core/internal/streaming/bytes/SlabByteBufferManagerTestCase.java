@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.MULE_STREAMING_MAX_MEMORY;
+import static org.mule.runtime.core.internal.streaming.bytes.SlabByteBufferManager.MAX_SIZE_CLASS_SHIFT;
+import static org.mule.runtime.core.internal.streaming.bytes.SlabByteBufferManager.sizeClassIndex;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+import org.mule.runtime.core.internal.streaming.MemoryManager;
+import org.mule.tck.size.SmallTest;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(STREAMING)
+public class SlabByteBufferManagerTestCase extends MemoryBoundByteBufferManagerContractTestCase {
+
+  @Override
+  protected MemoryBoundByteBufferManager createDefaultBoundBuffer() {
+    return new SlabByteBufferManager();
+  }
+
+  @Override
+  protected MemoryBoundByteBufferManager createBuffer(MemoryManager memoryManager, int capacity) {
+    return new SlabByteBufferManager(memoryManager, 2);
+  }
+
+  @Test
+  public void sizeClasses() {
+    assertThat(sizeClassIndex(1), is(0));
+    assertThat(sizeClassIndex(1024), is(0));
+    assertThat(sizeClassIndex(1025), is(1));
+    assertThat(sizeClassIndex(8192), is(3));
+    assertThat(sizeClassIndex(1 << MAX_SIZE_CLASS_SHIFT), is(MAX_SIZE_CLASS_SHIFT - 10));
+  }
+
+  @Test
+  public void distinctCapacitiesShareSizeClass() {
+    SlabByteBufferManager bufferManager = new SlabByteBufferManager();
+    try {
+      ManagedByteBufferWrapper buffer = bufferManager.allocateManaged(5000);
+      byte[] slab = buffer.getDelegate().array();
+      assertThat(buffer.getDelegate().capacity(), is(5000));
+      assertThat(buffer.getDelegate().arrayOffset(), is(0));
+      assertThat(bufferManager.getFragmentedBytes(), is(8192L - 5000));
+      buffer.getDelegate().put((byte) 1);
+      buffer.release();
+      assertThat(bufferManager.getFragmentedBytes(), is(0L));
+
+      buffer = bufferManager.allocateManaged(7000);
+      assertThat(buffer.getDelegate().array(), is(sameInstance(slab)));
+      assertThat(buffer.getDelegate().capacity(), is(7000));
+      assertThat(buffer.getDelegate().position(), is(0));
+      buffer.release();
+
+      assertThat(bufferManager.getMisses(), is(1L));
+      assertThat(bufferManager.getHits(), is(1L));
+    } finally {
+      bufferManager.dispose();
+    }
+  }
+
+  @Test
+  public void capacityBeyondSizeClassesIsNotPooled() {
+    SlabByteBufferManager bufferManager = new SlabByteBufferManager();
+    try {
+      int capacity = (1 << MAX_SIZE_CLASS_SHIFT) + 1;
+      ManagedByteBufferWrapper buffer = bufferManager.allocateManaged(capacity);
+      assertThat(buffer.getDelegate().capacity(), is(capacity));
+      buffer.release();
+
+      bufferManager.allocateManaged(capacity).release();
+      assertThat(bufferManager.getMisses(), is(2L));
+      assertThat(bufferManager.getHits(), is(0L));
+    } finally {
+      bufferManager.dispose();
+    }
+  }
+
+  @Test
+  public void buffersCachedByDeadThreadsAreFreedWhenMemoryIsExceeded() throws Exception {
+    setProperty(MULE_STREAMING_MAX_MEMORY, "4096");
+    SlabByteBufferManager bufferManager = new SlabByteBufferManager();
+    try {
+      Thread thread = new Thread(() -> allocateAndRelease(bufferManager, 4));
+      thread.start();
+      thread.join();
+
+      // the 4 buffers cached by the dead thread would exceed the memory bound otherwise
+      allocateAndRelease(bufferManager, 4);
+      assertThat(bufferManager.trimDeadThreadsMagazines(), is(false));
+    } finally {
+      clearProperty(MULE_STREAMING_MAX_MEMORY);
+      bufferManager.dispose();
+    }
+  }
+
+  @Test
+  public void disposeFreesBuffersCachedByOtherThreads() throws Exception {
+    AtomicLong deallocated = new AtomicLong();
+    SlabByteBufferManager bufferManager = new SlabByteBufferManager() {
+
+      @Override
+      protected void doDeallocate(ByteBuffer byteBuffer) {
+        deallocated.addAndGet(byteBuffer.capacity());
+        super.doDeallocate(byteBuffer);
+      }
+    };
+    CountDownLatch released = new CountDownLatch(1);
+    CountDownLatch disposed = new CountDownLatch(1);
+    Thread thread = new Thread(() -> {
+      allocateAndRelease(bufferManager, 4);
+      released.countDown();
+      try {
+        disposed.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    thread.start();
+    try {
+      released.await();
+      bufferManager.dispose();
+      assertThat(deallocated.get(), is(4096L));
+    } finally {
+      disposed.countDown();
+      thread.join();
+    }
+  }
+
+  private static void allocateAndRelease(SlabByteBufferManager bufferManager, int count) {
+    List<ManagedByteBufferWrapper> buffers = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      buffers.add(bufferManager.allocateManaged(1024));
+    }
+    buffers.forEach(ManagedByteBufferWrapper::release);
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object.test;
+
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.StreamingStory.OBJECT_STREAMING;
+
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.api.streaming.object.FileStoreCursorIteratorConfig;
+import org.mule.runtime.core.internal.streaming.object.FileStoreCursorIteratorProvider;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(STREAMING)
+@Story(OBJECT_STREAMING)
+public class FileStoreCursorIteratorProviderTestCase extends CursorIteratorProviderTestCase {
+
+  private static final int MAX_IN_MEMORY_INSTANCES = 40;
+
+  public FileStoreCursorIteratorProviderTestCase(String name, int dataSize, int initialBufferSize, int bufferSizeIncrement,
+                                                 int maxBufferSize) {
+    super(name, dataSize, initialBufferSize, bufferSizeIncrement, maxBufferSize);
+  }
+
+  @Override
+  protected CursorIteratorProvider createStreamProvider(List<Object> data) {
+    return new FileStoreCursorIteratorProvider(toStreamingIterator(data),
+                                               new FileStoreCursorIteratorConfig(MAX_IN_MEMORY_INSTANCES),
+                                               from("log"), false);
+  }
+
+  @Test
+  @Override
+  @Description("Instances beyond the in memory ones are spilled to disk instead of exceeding the buffer")
+  public void bufferSizeExceeded() throws Exception {
+    data.add("I do fit on disk");
+    CursorIteratorProvider provider = createStreamProvider(data);
+    try (CursorIterator cursor = provider.openCursor()) {
+      checkEquals(data, cursor);
+    } finally {
+      provider.close();
+    }
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static org.mule.runtime.core.internal.util.queue.MappedFileQueueStoreDelegate.SEGMENT_SIZE_PROPERTY_KEY;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.internal.serialization.JavaObjectSerializer;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class MappedFileQueueStoreDelegateTestCase extends AbstractMuleTestCase {
+
+  public static final String TEST_QUEUE_NAME = "test-queue";
+
+  @Rule
+  public TemporaryFolder workingDirectory = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty segmentSize = new SystemProperty(SEGMENT_SIZE_PROPERTY_KEY, "256");
+
+  private ObjectSerializer objectSerializer;
+
+  @Before
+  public void before() {
+    objectSerializer = new JavaObjectSerializer(this.getClass().getClassLoader());
+  }
+
+  @Test
+  public void keepsOrderAcrossSegments() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < 50; i++) {
+      queueStore.add(createTestDataForIndex(i));
+    }
+    for (int i = 0; i < 50; i++) {
+      assertThat(queueStore.removeFirst(), is(createTestDataForIndex(i)));
+    }
+    assertThat(queueStore.removeFirst(), is(nullValue()));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void recoversPendingElementsInOrder() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < 30; i++) {
+      queueStore.add(createTestDataForIndex(i));
+    }
+    for (int i = 0; i < 10; i++) {
+      queueStore.removeFirst();
+    }
+    queueStore.close();
+
+    queueStore = createTestQueueStore();
+    assertThat(queueStore.getSize(), is(20));
+    List<Object> expected = new ArrayList<>();
+    for (int i = 10; i < 30; i++) {
+      expected.add(createTestDataForIndex(i));
+    }
+    assertThat(queueStore.allElements(), contains(expected.toArray()));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void consumedSegmentsAreRecycled() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int round = 0; round < 10; round++) {
+      for (int i = 0; i < 20; i++) {
+        queueStore.add(createTestDataForIndex(i));
+      }
+      for (int i = 0; i < 20; i++) {
+        queueStore.removeFirst();
+      }
+    }
+    int segmentsAfterFirstRounds = segmentFiles().length;
+
+    for (int i = 0; i < 20; i++) {
+      queueStore.add(createTestDataForIndex(i));
+    }
+    assertThat(segmentFiles().length, is(segmentsAfterFirstRounds));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void steadyTrafficKeepsSegmentsBounded() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    // many segments worth of elements, never more than one pending
+    for (int i = 0; i < 2000; i++) {
+      queueStore.add(createTestDataForIndex(i));
+      assertThat(queueStore.removeFirst(), is(createTestDataForIndex(i)));
+    }
+
+    assertThat(segmentFiles().length, lessThanOrEqualTo(2));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void tornRecordIsNotRecovered() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.add("item");
+    queueStore.close();
+
+    // corrupt the data of the only record, right after the segment and record headers
+    try (RandomAccessFile segment = new RandomAccessFile(segmentFiles()[0], "rw")) {
+      segment.seek(8 + 9);
+      int original = segment.read();
+      segment.seek(8 + 9);
+      segment.write(original ^ 0xFF);
+    }
+
+    queueStore = createTestQueueStore();
+    assertThat(queueStore.getSize(), is(0));
+    queueStore.add("other");
+    assertThat(queueStore.removeFirst(), is("other"));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void untakeIsReadFirst() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.add("second");
+    queueStore.addFirst("first");
+    assertThat(queueStore.removeFirst(), is("first"));
+    assertThat(queueStore.removeFirst(), is("second"));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void removeAndContains() throws Exception {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.add("a");
+    queueStore.add("b");
+    assertThat(queueStore.contains("b"), is(true));
+    queueStore.remove("b");
+    assertThat(queueStore.contains("b"), is(false));
+    queueStore.close();
+
+    assertThat(createTestQueueStore().allElements(), contains("a"));
+  }
+
+  @Test
+  public void allFilesDeletedAfterDispose() {
+    MappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.add("item");
+    assertThat(segmentFiles().length > 0, is(true));
+
+    queueStore.dispose();
+    assertThat(new File(workingDirectory.getRoot(), "queuestore/" + TEST_QUEUE_NAME + "-mapped").exists(), is(false));
+  }
+
+  private File[] segmentFiles() {
+    return new File(workingDirectory.getRoot(), "queuestore/" + TEST_QUEUE_NAME + "-mapped").listFiles();
+  }
+
+  private String createTestDataForIndex(int index) {
+    return "some value " + index;
+  }
+
+  private MappedFileQueueStoreDelegate createTestQueueStore() {
+    return new MappedFileQueueStoreDelegate(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath(),
+                                            objectSerializer.getInternalProtocol(), 0);
+  }
+
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.SEGMENT_SIZE_PROPERTY;
+import static org.mule.tck.probe.PollingProber.probe;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.core.internal.serialization.JavaObjectSerializer;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class LogStructuredObjectStorePartitionTestCase extends AbstractMuleTestCase {
+
+  private static final String KEY = "key";
+  private static final String VALUE = "value";
+
+  @Rule
+  public TemporaryFolder objectStoreFolder = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty segmentSize = new SystemProperty(SEGMENT_SIZE_PROPERTY, "1024");
+
+  private ObjectSerializer serializer;
+  private final ExecutorService compactionExecutor = newSingleThreadExecutor();
+
+  private LogStructuredObjectStorePartition<Serializable> partition;
+
+  @Before
+  public void setUp() throws Exception {
+    serializer = new JavaObjectSerializer(this.getClass().getClassLoader());
+    partition = newPartition();
+  }
+
+  @After
+  public void tearDown() {
+    compactionExecutor.shutdownNow();
+  }
+
+  private LogStructuredObjectStorePartition<Serializable> newPartition() throws Exception {
+    return newPartition(compactionExecutor);
+  }
+
+  private LogStructuredObjectStorePartition<Serializable> newPartition(Executor compactionExecutor) throws Exception {
+    LogStructuredObjectStorePartition<Serializable> newPartition =
+        new LogStructuredObjectStorePartition<>(serializer, "test", objectStoreFolder.getRoot(), compactionExecutor);
+    newPartition.open();
+    return newPartition;
+  }
+
+  @Test
+  public void storeAndRetrieve() throws Exception {
+    partition.store(KEY, VALUE);
+    assertThat(partition.contains(KEY), is(true));
+    assertThat(partition.retrieve(KEY), is(VALUE));
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void storeExistingKey() throws Exception {
+    partition.store(KEY, VALUE);
+    partition.store(KEY, VALUE);
+  }
+
+  @Test
+  public void indicatesUnexistentKeyOnRetrieveError() throws Exception {
+    final String nonExistentKey = "nonExistentKey";
+
+    try {
+      partition.retrieve(nonExistentKey);
+      fail("Supposed to thrown an exception as key is not valid");
+    } catch (ObjectDoesNotExistException e) {
+      assertTrue(e.getMessage().contains(nonExistentKey));
+    }
+  }
+
+  @Test
+  public void removedKeysAreNotRecovered() throws Exception {
+    partition.store(KEY, VALUE);
+    partition.store("other", VALUE);
+    assertThat(partition.remove(KEY), is(VALUE));
+
+    LogStructuredObjectStorePartition<Serializable> recovered = newPartition();
+    assertThat(recovered.contains(KEY), is(false));
+    assertThat(recovered.allKeys(), containsInAnyOrder("other"));
+  }
+
+  @Test
+  public void reStoredKeyIsRecoveredWithLastValue() throws Exception {
+    partition.store(KEY, VALUE);
+    partition.remove(KEY);
+    partition.store(KEY, "newValue");
+
+    assertThat(newPartition().retrieve(KEY), is("newValue"));
+  }
+
+  @Test
+  public void truncatedTailIsDiscardedOnRecovery() throws Exception {
+    partition.store(KEY, VALUE);
+
+    File segment = objectStoreFolder.getRoot().listFiles(file -> file.getName().endsWith(".log"))[0];
+    Files.write(segment.toPath(), new byte[] {0, 0, 1, 0, 1, 2, 3}, APPEND);
+
+    LogStructuredObjectStorePartition<Serializable> recovered = newPartition();
+    assertThat(recovered.retrieve(KEY), is(VALUE));
+    recovered.store("other", VALUE);
+    assertThat(newPartition().retrieve("other"), is(VALUE));
+  }
+
+  @Test
+  public void expireMaxEntries() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      partition.store(KEY + i, VALUE);
+    }
+
+    partition.expire(0, 3);
+
+    assertThat(partition.allKeys(), containsInAnyOrder(KEY + 7, KEY + 8, KEY + 9));
+  }
+
+  @Test
+  public void compactionReclaimsSegments() throws Exception {
+    for (int i = 0; i < 200; i++) {
+      partition.store(KEY + i, VALUE);
+    }
+    int segmentsBefore = partition.getSegmentsCount();
+    for (int i = 0; i < 190; i++) {
+      partition.remove(KEY + i);
+    }
+
+    partition.compact();
+
+    assertThat(partition.getSegmentsCount(), lessThan(segmentsBefore));
+    LogStructuredObjectStorePartition<Serializable> recovered = newPartition();
+    assertThat(recovered.allKeys().size(), is(10));
+    for (int i = 190; i < 200; i++) {
+      assertThat(recovered.retrieve(KEY + i), is(VALUE));
+    }
+  }
+
+  @Test
+  public void logIsCompactedWithoutExpiration() throws Exception {
+    for (int i = 0; i < 2000; i++) {
+      partition.store(KEY + i, VALUE);
+      partition.remove(KEY + i);
+    }
+
+    probe(() -> {
+      assertThat(partition.getSegmentsCount(), lessThanOrEqualTo(3));
+      assertThat(objectStoreFolder.getRoot().listFiles(file -> file.getName().endsWith(".log")).length, lessThanOrEqualTo(3));
+      return true;
+    });
+  }
+
+  @Test
+  public void compactionIsNotRunOnTheWritingThread() throws Exception {
+    List<Runnable> compactions = new ArrayList<>();
+    partition = newPartition(compactions::add);
+
+    for (int i = 0; i < 2000; i++) {
+      partition.store(KEY + i, VALUE);
+      partition.remove(KEY + i);
+    }
+
+    // only one compaction is scheduled while it is pending, and nothing was reclaimed until it runs
+    assertThat(compactions, hasSize(1));
+    assertThat(partition.getSegmentsCount(), greaterThan(3));
+
+    compactions.get(0).run();
+    assertThat(partition.getSegmentsCount(), lessThanOrEqualTo(3));
+  }
+
+  @Test
+  public void retrieveDuringCompaction() throws Exception {
+    partition.store(KEY, VALUE);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    // not interrupting the reader, as that would close the channel it is reading from
+    AtomicBoolean stop = new AtomicBoolean();
+    Thread reader = new Thread(() -> {
+      try {
+        while (!stop.get()) {
+          assertThat(partition.retrieve(KEY), is(VALUE));
+        }
+      } catch (Throwable t) {
+        failure.set(t);
+      }
+    });
+    reader.start();
+
+    try {
+      for (int i = 0; i < 2000; i++) {
+        partition.store("other" + i, VALUE);
+        partition.remove("other" + i);
+      }
+    } finally {
+      stop.set(true);
+      reader.join();
+    }
+
+    assertThat(failure.get(), is((Throwable) null));
+    assertThat(partition.retrieve(KEY), is(VALUE));
+  }
+
+  @Test
+  public void disposeReleasesSegmentsAndKeepsData() throws Exception {
+    partition.store(KEY, VALUE);
+
+    partition.dispose();
+
+    assertThat(partition.getSegmentsCount(), is(0));
+    assertThat(newPartition().retrieve(KEY), is(VALUE));
+  }
+
+  @Test
+  public void clear() throws Exception {
+    partition.store(KEY, VALUE);
+
+    partition.clear();
+    assertThat(partition.contains(KEY), is(false));
+    assertThat("Partition descriptor doesn't exists", new File(objectStoreFolder.getRoot(), "partition-descriptor").exists(),
+               is(true));
+    assertThat(newPartition().allKeys().isEmpty(), is(true));
+  }
+}
@@ -9,12 +9,16 @@ package org.mule.runtime.core.internal.util.store;
 import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
 import static org.mule.runtime.api.store.ObjectStoreManager.BASE_IN_MEMORY_OBJECT_STORE_KEY;
 import static org.mule.runtime.api.store.ObjectStoreManager.BASE_PERSISTENT_OBJECT_STORE_KEY;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.LOG_STRUCTURED_OBJECT_STORES_PROPERTY;
 
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
 import static java.lang.Thread.currentThread;
 import static java.util.Optional.of;
 
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
@@ -24,6 +28,7 @@ import org.mule.runtime.api.artifact.Registry;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.ObjectStoreSettings;
 import org.mule.runtime.api.store.PartitionableObjectStore;
@@ -31,6 +36,7 @@ import org.mule.runtime.core.api.config.MuleConfiguration;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
 import org.mule.runtime.core.internal.serialization.JavaObjectSerializer;
 import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
+import org.mule.runtime.core.internal.store.PartitionedLogStructuredObjectStore;
 import org.mule.runtime.core.internal.store.PartitionedPersistentObjectStore;
 import org.mule.tck.SimpleUnitTestSupportSchedulerService;
 import org.mule.tck.junit4.AbstractMuleTestCase;
@@ -244,6 +250,41 @@ public class MuleObjectStoreManagerTestCase extends AbstractMuleTestCase {
     return store;
   }
 
+  @Test
+  public void logStructuredStoresUseTheLogStructuredBaseStore() throws Exception {
+    ObjectSerializer serializer = new JavaObjectSerializer(this.getClass().getClassLoader());
+    PartitionedLogStructuredObjectStore<Serializable> baseStore =
+        new PartitionedLogStructuredObjectStore<>(muleContext.getConfiguration(), serializer);
+    Registry registry = mock(Registry.class);
+    when(registry.lookupByName(BASE_PERSISTENT_OBJECT_STORE_KEY)).thenReturn(of(baseStore));
+    when(registry.lookupByName(BASE_IN_MEMORY_OBJECT_STORE_KEY)).thenReturn(of(createTransientPartitionableObjectStore()));
+
+    MuleObjectStoreManager logStructuredStoreManager;
+    setProperty(LOG_STRUCTURED_OBJECT_STORES_PROPERTY, TEST_PARTITION_NAME);
+    try {
+      logStructuredStoreManager = new MuleObjectStoreManager();
+    } finally {
+      clearProperty(LOG_STRUCTURED_OBJECT_STORES_PROPERTY);
+    }
+    logStructuredStoreManager.setSchedulerService(schedulerService);
+    logStructuredStoreManager.setRegistry(registry);
+    logStructuredStoreManager.setMuleContext(muleContext);
+    logStructuredStoreManager.initialise();
+
+    try {
+      ObjectStore<Serializable> store =
+          logStructuredStoreManager.createObjectStore(TEST_PARTITION_NAME, ObjectStoreSettings.builder().persistent(true).build());
+      store.store(TEST_KEY, TEST_VALUE);
+
+      // the partition lives in the base store, there is no second store over the same logs
+      assertThat(baseStore.allPartitions(), hasItem(TEST_PARTITION_NAME));
+      assertThat(baseStore.retrieve(TEST_KEY, TEST_PARTITION_NAME), is(TEST_VALUE));
+    } finally {
+      logStructuredStoreManager.dispose();
+      baseStore.dispose();
+    }
+  }
+
   private void createRegistryAndBaseStore(MuleConfiguration muleConfiguration, ObjectSerializer serializer, Registry registry) {
     when(registry.lookupByName(BASE_PERSISTENT_OBJECT_STORE_KEY))
         .thenReturn(of(createPersistentPartitionableObjectStore(muleConfiguration, serializer)));
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.internal.store.PartitionedTimeBucketedInMemoryObjectStore;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class PartitionedTimeBucketedInMemoryObjectStoreTestCase extends AbstractMuleTestCase {
+
+  private static final String TEST_PARTITION = "testPartition";
+  private static final String TEST_VALUE = "testValue";
+  private static final String TEST_KEY1 = "testKey1";
+  private static final String TEST_KEY2 = "testKey2";
+  private static final String TEST_KEY3 = "testKey3";
+  private static final long TICK_MILLIS = 10;
+
+  private PartitionedTimeBucketedInMemoryObjectStore<String> store;
+
+  private long currentNanoTime = MILLISECONDS.toNanos(1);
+
+  @Before
+  public void setup() {
+    store = new PartitionedTimeBucketedInMemoryObjectStore<String>(TICK_MILLIS) {
+
+      @Override
+      protected long getCurrentNanoTime() {
+        return currentNanoTime;
+      }
+    };
+  }
+
+  @Test
+  public void expireByTtlWithNegativeMaxEntriesAndEmptyStore() throws ObjectStoreException {
+    store.expire(1, -1, TEST_PARTITION);
+  }
+
+  @Test
+  public void expireByTtlWithinSameBucket() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+
+    currentNanoTime = MILLISECONDS.toNanos(2);
+
+    store.store(TEST_KEY3, TEST_VALUE, TEST_PARTITION);
+    store.expire(1, 100, TEST_PARTITION);
+
+    assertThat(store.contains(TEST_KEY1, TEST_PARTITION), is(false));
+    assertThat(store.contains(TEST_KEY2, TEST_PARTITION), is(false));
+    assertThat(store.retrieve(TEST_KEY3, TEST_PARTITION), equalTo(TEST_VALUE));
+  }
+
+  @Test
+  public void expireByTtlAcrossBuckets() throws ObjectStoreException {
+    for (int i = 0; i < 100; i++) {
+      currentNanoTime = MILLISECONDS.toNanos(i);
+      store.store("key" + i, TEST_VALUE, TEST_PARTITION);
+    }
+
+    currentNanoTime = MILLISECONDS.toNanos(100);
+    store.expire(5, 1000, TEST_PARTITION);
+
+    assertThat(store.allKeys(TEST_PARTITION), containsInAnyOrder("key96", "key97", "key98", "key99"));
+  }
+
+  @Test
+  public void expireByNumberOfEntriesMultipleKeysInsertedInTheSameNanoSecond() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+
+    currentNanoTime = MILLISECONDS.toNanos(2);
+
+    store.store(TEST_KEY3, TEST_VALUE, TEST_PARTITION);
+    store.expire(10, 1, TEST_PARTITION);
+
+    assertThat(store.contains(TEST_KEY1, TEST_PARTITION), is(false));
+    assertThat(store.contains(TEST_KEY2, TEST_PARTITION), is(false));
+    assertThat(store.retrieve(TEST_KEY3, TEST_PARTITION), equalTo(TEST_VALUE));
+  }
+
+  @Test
+  public void expireByNumberOfEntriesAcrossBuckets() throws ObjectStoreException {
+    for (int i = 0; i < 100; i++) {
+      currentNanoTime = MILLISECONDS.toNanos(i);
+      store.store("key" + i, TEST_VALUE, TEST_PARTITION);
+    }
+
+    store.expire(UNBOUNDED, 3, TEST_PARTITION);
+
+    assertThat(store.allKeys(TEST_PARTITION), containsInAnyOrder("key97", "key98", "key99"));
+  }
+
+  @Test
+  public void removeKeyInsertedInTheSameNanosecondThanOther() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+
+    currentNanoTime = MILLISECONDS.toNanos(2);
+
+    store.store(TEST_KEY3, TEST_VALUE, TEST_PARTITION);
+
+    store.remove(TEST_KEY2, TEST_PARTITION);
+
+    assertThat(store.retrieve(TEST_KEY1, TEST_PARTITION), equalTo(TEST_VALUE));
+    assertThat(store.contains(TEST_KEY2, TEST_PARTITION), is(false));
+    assertThat(store.retrieve(TEST_KEY3, TEST_PARTITION), equalTo(TEST_VALUE));
+  }
+
+  @Test
+  public void storedAgainAfterRemoveIsNotExpiredWithOldEntry() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.remove(TEST_KEY1, TEST_PARTITION);
+
+    currentNanoTime = MILLISECONDS.toNanos(50);
+    store.store(TEST_KEY1, "newValue", TEST_PARTITION);
+    store.expire(20, 100, TEST_PARTITION);
+
+    assertThat(store.retrieve(TEST_KEY1, TEST_PARTITION), equalTo("newValue"));
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void storeExistingKey() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+  }
+
+  @Test
+  public void removesDataOnClear() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    assertThat(store.contains(TEST_KEY1, TEST_PARTITION), is(true));
+
+    store.clear(TEST_PARTITION);
+    assertThat(store.retrieveAll(TEST_PARTITION).size(), is(0));
+  }
+
+  @Test
+  public void removesDataOnClose() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    assertThat(store.contains(TEST_KEY1, TEST_PARTITION), is(true));
+
+    store.close(TEST_PARTITION);
+    assertThat(store.allPartitions(), is(empty()));
+  }
+
+}
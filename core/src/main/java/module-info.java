@@ -101,6 +101,8 @@ module org.mule.runtime.core {
   requires transitive jakarta.jms.api;
   requires transitive jakarta.messaging;
   requires java.management;
+  // only for detecting pinned virtual threads, when available
+  requires static jdk.jfr;
   requires jakarta.transaction;
 
   exports org.mule.runtime.core.api;
@@ -415,6 +417,7 @@ module org.mule.runtime.core {
       spring.beans;
   exports org.mule.runtime.core.internal.serialization to
       org.mule.runtime.artifact,
+      org.mule.runtime.core.components,
       com.mulesoft.mule.runtime.core.ee,
       com.mulesoft.mule.runtime.kryo,
       org.mule.test.unit,
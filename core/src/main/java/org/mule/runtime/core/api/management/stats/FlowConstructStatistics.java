@@ -6,9 +6,13 @@
  */
 package org.mule.runtime.core.api.management.stats;
 
+import static java.util.Collections.emptyMap;
+
 import org.mule.api.annotation.NoImplement;
 import org.mule.runtime.metrics.api.MeterProvider;
 
+import java.util.Map;
+
 /**
  * Maintains different statistics for {@link org.mule.runtime.core.api.construct.FlowConstruct} instances
  */
@@ -55,6 +59,46 @@ public interface FlowConstructStatistics extends Statistics {
    */
   void addFlowExecutionBranchTime(long time, long total);
 
+  /**
+   * Adds the execution time of a processor of the flow. Only taken into account if {@link #isLatencyTrackingEnabled()}.
+   *
+   * @param processorPath the location of the processor.
+   * @param time          the time the processor took to process an event, in microseconds.
+   *
+   * @since 4.10
+   */
+  default void addProcessorExecutionTime(String processorPath, long time) {}
+
+  /**
+   * @return whether the distribution of the processing time of the flow and its processors is being tracked.
+   *
+   * @since 4.10
+   */
+  default boolean isLatencyTrackingEnabled() {
+    return false;
+  }
+
+  /**
+   * @param percentile the percentile to get, between 0 and 100.
+   * @return an approximation of the time required to process an event at the given percentile, in milliseconds.
+   *
+   * @since 4.10
+   */
+  default long getProcessingTimeAtPercentile(double percentile) {
+    return 0;
+  }
+
+  /**
+   * @param percentile the percentile to get, between 0 and 100.
+   * @return an approximation of the time required by each processor of the flow at the given percentile, in microseconds,
+   *         keyed by the processor location.
+   *
+   * @since 4.10
+   */
+  default Map<String, Long> getProcessorExecutionTimesAtPercentile(double percentile) {
+    return emptyMap();
+  }
+
   long getAverageProcessingTime();
 
   long getProcessedEvents();
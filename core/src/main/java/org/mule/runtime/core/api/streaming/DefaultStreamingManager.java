@@ -95,6 +95,7 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
       byteStreamingManager = createByteStreamingManager();
       objectStreamingManager = createObjectStreamingManager();
 
+      initialiseIfNeeded(bufferManager, true, muleContext);
       initialiseIfNeeded(byteStreamingManager, true, muleContext);
       initialiseIfNeeded(objectStreamingManager, true, muleContext);
       initialised = true;
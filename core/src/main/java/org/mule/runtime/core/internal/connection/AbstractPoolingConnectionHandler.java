@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.mule.runtime.api.util.Preconditions.checkState;
+
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.PoolingListener;
+import org.mule.runtime.api.exception.MuleException;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+
+/**
+ * Base implementation of {@link ConnectionHandlerAdapter} for a {@code Connection} obtained from a pool, regardless of the pool
+ * implementation.
+ *
+ * @param <C> the generic type of the connection to be returned
+ * @since 4.10
+ */
+abstract class AbstractPoolingConnectionHandler<C> implements ConnectionHandlerAdapter<C> {
+
+  protected final Logger logger;
+
+  private C connection;
+  protected final String poolId;
+  private final PoolingListener poolingListener;
+  private final ConnectionProvider connectionProvider;
+  private final AtomicBoolean released = new AtomicBoolean(false);
+
+  /**
+   * Creates a new instance
+   *
+   * @param logger     the {@link Logger} of the concrete handler
+   * @param connection the connection to be wrapped
+   * @param poolId     the id of the pool from which the {@code connection} was obtained
+   */
+  AbstractPoolingConnectionHandler(Logger logger, C connection, String poolId, PoolingListener poolingListener,
+                                   ConnectionProvider connectionProvider) {
+    this.logger = logger;
+    this.connection = connection;
+    this.poolId = poolId;
+    this.poolingListener = poolingListener;
+    this.connectionProvider = connectionProvider;
+  }
+
+  /**
+   * @return the {@link #connection}
+   */
+  @Override
+  public C getConnection() throws ConnectionException {
+    checkState(connection != null, "Connection has been either released or invalidated");
+    return connection;
+  }
+
+  /**
+   * Returns the {@link #connection} to the pool
+   */
+  @Override
+  public void release() {
+    if (connection == null || released.getAndSet(true)) {
+      return;
+    }
+
+    boolean returnAttempted = false;
+    try {
+      logger.debug("Returning back connection {} to pool {}", connection.toString(), poolId);
+      poolingListener.onReturn(connection);
+
+      returnToPool(connection);
+      logPoolStatus();
+      returnAttempted = true;
+    } catch (Exception e) {
+      logger.warn("Could not return connection to the pool. Connection will be terminated", e);
+    } finally {
+      try {
+        if (!returnAttempted) {
+          invalidate();
+        }
+      } finally {
+        connection = null;
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void invalidate() {
+    try {
+      logger.debug("Invalidating connection {} from pool {}", connection.toString(), poolId);
+      invalidateInPool(connection);
+      logPoolStatus();
+    } catch (Exception e) {
+      logger.warn("Exception was thrown trying to invalidate connection of type " + connection.getClass().getName(), e);
+    } finally {
+      connection = null;
+    }
+  }
+
+  /**
+   * Returns the given connection to the pool it was obtained from.
+   *
+   * @param connection the connection being released
+   * @throws Exception if the connection could not be returned
+   */
+  protected abstract void returnToPool(C connection) throws Exception;
+
+  /**
+   * Removes the given connection from the pool it was obtained from and destroys it.
+   *
+   * @param connection the connection being invalidated
+   * @throws Exception if the connection could not be invalidated
+   */
+  protected abstract void invalidateInPool(C connection) throws Exception;
+
+  /**
+   * Logs the status of the pool, if debug logging is enabled.
+   */
+  protected abstract void logPoolStatus();
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ConnectionProvider getConnectionProvider() {
+    return connectionProvider;
+  }
+
+  /**
+   * Does nothing for this implementation. Connections are only closed when the pool is.
+   */
+  @Override
+  public void close() throws MuleException {
+
+  }
+}
@@ -0,0 +1,570 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_GROW;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_WAIT;
+
+import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.metrics.api.instrument.LongHistogram;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of connections which, unlike {@link org.apache.commons.pool2.impl.GenericObjectPool}, doesn't take any lock when
+ * borrowing or returning a connection.
+ * <p>
+ * Each connection is held in a {@link PoolEntry} whose state is changed through CAS operations. A connection returned by a thread
+ * is remembered by that thread, so that it is borrowed again by it in the common case of a thread doing several operations in a
+ * row, without contending with other threads. Otherwise, the shared list of entries is scanned. When the pool is exhausted,
+ * threads waiting for a connection are handed off returned connections directly through a {@link SynchronousQueue}.
+ * <p>
+ * Connections may also be borrowed without blocking the calling thread through {@link #borrowAsync()}. Such requests are queued
+ * when the pool is exhausted and are served in order as connections are returned, taking turns with the waiting threads. When
+ * a connection is destroyed, the one created in its place for a queued request is created in the given scheduler rather than in
+ * the thread that destroyed it.
+ * <p>
+ * Idle connections are evicted, and pending requests are timed out, from the given scheduler.
+ *
+ * @param <C> the generic type of the pooled connections
+ * @since 4.10
+ */
+final class ConcurrentConnectionPool<C> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentConnectionPool.class);
+
+  private static final int MAX_THREAD_LOCAL_ENTRIES = 16;
+  // waiting threads check periodically if a connection can be created, since an invalidated connection is not handed off
+  private static final long WAIT_SLICE_NANOS = MILLISECONDS.toNanos(100);
+
+  /**
+   * Creates and destroys the connections of a {@link ConcurrentConnectionPool}.
+   *
+   * @param <C> the generic type of the pooled connections
+   */
+  interface PooledConnectionFactory<C> {
+
+    C create() throws Exception;
+
+    void destroy(C connection) throws Exception;
+  }
+
+  /**
+   * Holds a pooled connection along with its state in the pool.
+   *
+   * @param <C> the generic type of the pooled connection
+   */
+  static final class PoolEntry<C> {
+
+    private static final int NOT_IN_USE = 0;
+    private static final int IN_USE = 1;
+    private static final int RESERVED = 2;
+    private static final int REMOVED = -1;
+
+    private final C connection;
+    private final AtomicInteger state;
+    private volatile long lastReturnedNanos;
+
+    private PoolEntry(C connection, int state) {
+      this.connection = connection;
+      this.state = new AtomicInteger(state);
+      this.lastReturnedNanos = nanoTime();
+    }
+
+    C getConnection() {
+      return connection;
+    }
+  }
+
+  private final PooledConnectionFactory<C> connectionFactory;
+  private final int maxTotal;
+  private final int maxIdle;
+  private final boolean blockWhenExhausted;
+  private final long maxWaitNanos;
+  private final long minEvictionNanos;
+
+  private final CopyOnWriteArrayList<PoolEntry<C>> entries = new CopyOnWriteArrayList<>();
+  private final ThreadLocal<List<WeakReference<PoolEntry<C>>>> threadEntries =
+      ThreadLocal.withInitial(() -> new ArrayList<>(MAX_THREAD_LOCAL_ENTRIES));
+  private final SynchronousQueue<PoolEntry<C>> handoffQueue = new SynchronousQueue<>(true);
+  private final ConcurrentLinkedQueue<CompletableFuture<PoolEntry<C>>> asyncWaiters = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger totalCount = new AtomicInteger();
+  // kept along with the state of the entries, so that returning a connection doesn't need to scan them
+  private final AtomicInteger idleCount = new AtomicInteger();
+  // only counts threads actually polling the handoff queue, so that returning threads don't spin while others create connections
+  private final AtomicInteger parkedWaiters = new AtomicInteger();
+  private final AtomicInteger pendingAsyncConnects = new AtomicInteger();
+  // returned connections alternate between async requests and waiting threads, so that neither starves the other
+  private volatile boolean asyncWaiterServedLast = false;
+  private final LongHistogram borrowWaitTimes;
+  private final ScheduledExecutorService scheduler;
+  private final ScheduledFuture<?> evictionTask;
+
+  private volatile boolean closed = false;
+
+  /**
+   * Creates a new instance
+   *
+   * @param connectionFactory the {@link PooledConnectionFactory} used to create and destroy connections
+   * @param poolingProfile    the {@link PoolingProfile} which configures this pool
+   * @param scheduler         the scheduler used to evict idle connections, to time out pending requests and to create
+   *                          connections for them
+   * @param borrowWaitTimes   the histogram where the time, in microseconds, threads take to borrow a connection is recorded
+   */
+  ConcurrentConnectionPool(PooledConnectionFactory<C> connectionFactory, PoolingProfile poolingProfile,
+                           ScheduledExecutorService scheduler, LongHistogram borrowWaitTimes) {
+    this.connectionFactory = connectionFactory;
+    this.scheduler = scheduler;
+    this.borrowWaitTimes = borrowWaitTimes;
+    this.maxTotal = poolingProfile.getExhaustedAction() == WHEN_EXHAUSTED_GROW || poolingProfile.getMaxActive() < 0
+        ? MAX_VALUE
+        : poolingProfile.getMaxActive();
+    this.maxIdle = poolingProfile.getMaxIdle();
+    this.blockWhenExhausted = poolingProfile.getExhaustedAction() == WHEN_EXHAUSTED_WAIT;
+    this.maxWaitNanos = poolingProfile.getMaxWait() < 0 ? -1 : MILLISECONDS.toNanos(poolingProfile.getMaxWait());
+    this.minEvictionNanos = MILLISECONDS.toNanos(poolingProfile.getMinEvictionMillis());
+
+    long evictionCheckInterval = poolingProfile.getEvictionCheckIntervalMillis();
+    this.evictionTask = evictionCheckInterval > 0 && minEvictionNanos > 0
+        ? scheduler.scheduleWithFixedDelay(this::evict, evictionCheckInterval, evictionCheckInterval, MILLISECONDS)
+        : null;
+  }
+
+  /**
+   * Borrows a connection, creating a new one if none is idle and the pool limit allows it.
+   *
+   * @return the {@link PoolEntry} holding the borrowed connection
+   * @throws NoSuchElementException if the pool is exhausted and no connection was returned within the configured max wait
+   * @throws Exception              if a new connection could not be created
+   */
+  PoolEntry<C> borrow() throws Exception {
+    final long start = nanoTime();
+    try {
+      return doBorrow(start);
+    } finally {
+      borrowWaitTimes.record(NANOSECONDS.toMicros(nanoTime() - start));
+    }
+  }
+
+  private PoolEntry<C> doBorrow(long start) throws Exception {
+    assertOpen();
+
+    PoolEntry<C> entry = borrowThreadLocal();
+    if (entry != null) {
+      return entry;
+    }
+
+    entry = borrowShared();
+    if (entry != null) {
+      return entry;
+    }
+
+    if (!blockWhenExhausted) {
+      throw new NoSuchElementException("Pool exhausted");
+    }
+
+    while (true) {
+      long remaining = maxWaitNanos < 0 ? WAIT_SLICE_NANOS : maxWaitNanos - (nanoTime() - start);
+      if (remaining <= 0) {
+        throw new NoSuchElementException("Timeout waiting for idle connection");
+      }
+
+      parkedWaiters.incrementAndGet();
+      try {
+        entry = handoffQueue.poll(min(remaining, WAIT_SLICE_NANOS), NANOSECONDS);
+      } finally {
+        parkedWaiters.decrementAndGet();
+      }
+      if (entry != null && takeIdle(entry, PoolEntry.IN_USE)) {
+        return entry;
+      }
+
+      assertOpen();
+      entry = borrowShared();
+      if (entry != null) {
+        return entry;
+      }
+    }
+  }
+
+  /**
+   * Borrows a connection without blocking the calling thread, although a new connection may still be created in it if none is
+   * idle and the pool limit allows it. If the pool is exhausted, the returned future is completed when a connection is returned
+   * to the pool, in the same order in which connections were requested.
+   *
+   * @return a future completed with the {@link PoolEntry} holding the borrowed connection, or with a
+   *         {@link NoSuchElementException} if the pool is exhausted and no connection was returned within the configured max wait
+   */
+  CompletableFuture<PoolEntry<C>> borrowAsync() {
+    final long start = nanoTime();
+    CompletableFuture<PoolEntry<C>> waiter = new CompletableFuture<>();
+    try {
+      assertOpen();
+
+      PoolEntry<C> entry = borrowThreadLocal();
+      if (entry == null) {
+        entry = borrowShared();
+      }
+
+      if (entry != null) {
+        waiter.complete(entry);
+      } else if (!blockWhenExhausted) {
+        waiter.completeExceptionally(new NoSuchElementException("Pool exhausted"));
+      } else {
+        enqueue(waiter);
+      }
+    } catch (Throwable t) {
+      waiter.completeExceptionally(t);
+    }
+
+    return waiter.whenComplete((entry, t) -> borrowWaitTimes.record(NANOSECONDS.toMicros(nanoTime() - start)));
+  }
+
+  private void enqueue(CompletableFuture<PoolEntry<C>> waiter) {
+    asyncWaiters.add(waiter);
+    if (maxWaitNanos >= 0) {
+      ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+        if (asyncWaiters.remove(waiter)) {
+          waiter.completeExceptionally(new NoSuchElementException("Timeout waiting for idle connection"));
+        }
+      }, maxWaitNanos, NANOSECONDS);
+      waiter.whenComplete((entry, t) -> timeout.cancel(false));
+    }
+
+    // a connection may have been returned before the waiter was visible to the returning thread
+    serveAsyncWaiters();
+  }
+
+  private void serveAsyncWaiters() {
+    while (!closed && !asyncWaiters.isEmpty()) {
+      PoolEntry<C> entry = borrowIdle();
+      if (entry == null) {
+        // creating the connection may take long, so it's not done in the thread that released, invalidated or evicted
+        if (pendingAsyncConnects.get() < asyncWaiters.size() && reserve()) {
+          connectForAsyncWaiter();
+        }
+        return;
+      }
+
+      if (!handOffToAsyncWaiter(entry)) {
+        entry.lastReturnedNanos = nanoTime();
+        makeIdle(entry);
+        return;
+      }
+    }
+  }
+
+  private void connectForAsyncWaiter() {
+    pendingAsyncConnects.incrementAndGet();
+    try {
+      scheduler.execute(() -> {
+        PoolEntry<C> entry;
+        try {
+          entry = createReserved(PoolEntry.IN_USE);
+        } catch (Exception e) {
+          failAsyncWaiter(e);
+          return;
+        } finally {
+          pendingAsyncConnects.decrementAndGet();
+        }
+
+        if (handOffToAsyncWaiter(entry)) {
+          serveAsyncWaiters();
+        } else {
+          release(entry);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      pendingAsyncConnects.decrementAndGet();
+      totalCount.decrementAndGet();
+      failAsyncWaiter(e);
+    }
+  }
+
+  private void failAsyncWaiter(Exception e) {
+    CompletableFuture<PoolEntry<C>> waiter = asyncWaiters.poll();
+    if (waiter != null) {
+      waiter.completeExceptionally(e);
+    }
+  }
+
+  private boolean handOffToAsyncWaiter(PoolEntry<C> entry) {
+    CompletableFuture<PoolEntry<C>> waiter;
+    while ((waiter = asyncWaiters.poll()) != null) {
+      if (waiter.complete(entry)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private PoolEntry<C> borrowThreadLocal() {
+    List<WeakReference<PoolEntry<C>>> localEntries = threadEntries.get();
+    for (int i = localEntries.size() - 1; i >= 0; --i) {
+      PoolEntry<C> entry = localEntries.remove(i).get();
+      if (entry != null && takeIdle(entry, PoolEntry.IN_USE)) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  private PoolEntry<C> borrowShared() throws Exception {
+    PoolEntry<C> entry = borrowIdle();
+    return entry != null ? entry : create(PoolEntry.IN_USE);
+  }
+
+  private PoolEntry<C> borrowIdle() {
+    for (PoolEntry<C> entry : entries) {
+      if (takeIdle(entry, PoolEntry.IN_USE)) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Changes the state of the given {@code entry} from idle to {@code newState}, if it is idle.
+   *
+   * @return whether the entry was idle.
+   */
+  private boolean takeIdle(PoolEntry<C> entry, int newState) {
+    if (entry.state.compareAndSet(PoolEntry.NOT_IN_USE, newState)) {
+      idleCount.decrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  private void makeIdle(PoolEntry<C> entry) {
+    // counted before it is visible as idle, so that the count never goes below the actual amount of idle connections
+    idleCount.incrementAndGet();
+    entry.state.set(PoolEntry.NOT_IN_USE);
+  }
+
+  private PoolEntry<C> create(int initialState) throws Exception {
+    return reserve() ? createReserved(initialState) : null;
+  }
+
+  /**
+   * @return whether there was room for a new connection, which is then accounted for until created or failed to.
+   */
+  private boolean reserve() {
+    int total;
+    do {
+      total = totalCount.get();
+      if (total >= maxTotal) {
+        return false;
+      }
+    } while (!totalCount.compareAndSet(total, total + 1));
+    return true;
+  }
+
+  private PoolEntry<C> createReserved(int initialState) throws Exception {
+    try {
+      PoolEntry<C> entry = new PoolEntry<>(connectionFactory.create(), initialState);
+      if (initialState == PoolEntry.NOT_IN_USE) {
+        idleCount.incrementAndGet();
+      }
+      entries.add(entry);
+      return entry;
+    } catch (Exception e) {
+      totalCount.decrementAndGet();
+      throw e;
+    }
+  }
+
+  /**
+   * Creates a new idle connection, if the pool limit allows it.
+   *
+   * @throws Exception if the connection could not be created
+   */
+  void addIdle() throws Exception {
+    assertOpen();
+    create(PoolEntry.NOT_IN_USE);
+  }
+
+  /**
+   * Returns a connection to the pool, handing it off to a pending {@link #borrowAsync()} request or a waiting thread if there's
+   * any, taking turns when there are both. The connection is destroyed if the pool is closed or if it already has the maximum
+   * allowed idle connections.
+   *
+   * @param entry the {@link PoolEntry} of the connection to return
+   */
+  void release(PoolEntry<C> entry) {
+    entry.lastReturnedNanos = nanoTime();
+    if (!closed && (parkedWaiters.get() == 0 || !asyncWaiterServedLast) && handOffToAsyncWaiter(entry)) {
+      asyncWaiterServedLast = true;
+      return;
+    }
+
+    if (closed || (maxIdle >= 0 && getNumIdle() >= maxIdle)) {
+      try {
+        destroy(entry);
+      } catch (Exception e) {
+        LOGGER.warn("Exception was thrown trying to destroy connection of type " + entry.connection.getClass().getName(), e);
+      }
+      return;
+    }
+
+    makeIdle(entry);
+
+    // offered only once: if no thread takes it, it stays idle and a waiter finds it when it checks the pool again
+    if (parkedWaiters.get() > 0 && handoffQueue.offer(entry)) {
+      asyncWaiterServedLast = false;
+      return;
+    }
+
+    // async requests skipped in favor of waiting threads that didn't take the connection after all
+    if (!asyncWaiters.isEmpty() && takeIdle(entry, PoolEntry.IN_USE)) {
+      if (handOffToAsyncWaiter(entry)) {
+        asyncWaiterServedLast = true;
+        return;
+      }
+      makeIdle(entry);
+    }
+
+    List<WeakReference<PoolEntry<C>>> localEntries = threadEntries.get();
+    if (localEntries.size() < MAX_THREAD_LOCAL_ENTRIES) {
+      localEntries.add(new WeakReference<>(entry));
+    }
+  }
+
+  /**
+   * Removes a connection from the pool and destroys it.
+   *
+   * @param entry the {@link PoolEntry} of the connection to invalidate
+   * @throws Exception if the connection could not be destroyed
+   */
+  void invalidate(PoolEntry<C> entry) throws Exception {
+    destroy(entry);
+  }
+
+  private void destroy(PoolEntry<C> entry) throws Exception {
+    entry.state.set(PoolEntry.REMOVED);
+    if (entries.remove(entry)) {
+      totalCount.decrementAndGet();
+    }
+    try {
+      connectionFactory.destroy(entry.connection);
+    } finally {
+      // the destroyed connection left room for a new one
+      serveAsyncWaiters();
+    }
+  }
+
+  private void evict() {
+    long now = nanoTime();
+    for (PoolEntry<C> entry : entries) {
+      if (now - entry.lastReturnedNanos > minEvictionNanos && takeIdle(entry, PoolEntry.RESERVED)) {
+        try {
+          LOGGER.debug("Evicting idle connection {}", entry.connection);
+          destroy(entry);
+        } catch (Exception e) {
+          LOGGER.warn("Exception was thrown trying to evict connection of type " + entry.connection.getClass().getName(), e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Closes the pool, destroying the idle connections. Connections currently borrowed are destroyed when returned.
+   */
+  void close() {
+    closed = true;
+    if (evictionTask != null) {
+      evictionTask.cancel(false);
+    }
+
+    CompletableFuture<PoolEntry<C>> waiter;
+    while ((waiter = asyncWaiters.poll()) != null) {
+      waiter.completeExceptionally(new IllegalStateException("Pool not open"));
+    }
+
+    for (PoolEntry<C> entry : entries) {
+      if (takeIdle(entry, PoolEntry.RESERVED)) {
+        try {
+          destroy(entry);
+        } catch (Exception e) {
+          LOGGER.warn("Exception was thrown trying to destroy connection of type " + entry.connection.getClass().getName(), e);
+        }
+      }
+    }
+  }
+
+  private void assertOpen() {
+    if (closed) {
+      throw new IllegalStateException("Pool not open");
+    }
+  }
+
+  /**
+   * @return the max amount of connections this pool may hold.
+   */
+  int getMaxTotal() {
+    return maxTotal;
+  }
+
+  /**
+   * @return the max amount of idle connections this pool may hold, or a negative value if unlimited.
+   */
+  int getMaxIdle() {
+    return maxIdle;
+  }
+
+  /**
+   * @return the amount of connections currently borrowed.
+   */
+  int getNumActive() {
+    return countEntries(PoolEntry.IN_USE);
+  }
+
+  /**
+   * @return the amount of connections currently idle.
+   */
+  int getNumIdle() {
+    return idleCount.get();
+  }
+
+  private int countEntries(int state) {
+    int count = 0;
+    for (PoolEntry<C> entry : entries) {
+      if (entry.state.get() == state) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return the distribution of the time, in microseconds, threads took to borrow a connection from this pool, shared with the
+   *         other pools of the same config.
+   */
+  LongHistogram getBorrowWaitTimes() {
+    return borrowWaitTimes;
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.PoolingListener;
+import org.mule.runtime.core.internal.connection.ConcurrentConnectionPool.PoolEntry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of {@link ConnectionHandlerAdapter} which wraps a {@code Connection} obtained from a
+ * {@link ConcurrentConnectionPool}.
+ *
+ * @param <C> the generic type of the connection to be returned
+ * @since 4.10
+ */
+final class ConcurrentPoolingConnectionHandler<C> extends AbstractPoolingConnectionHandler<C> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentPoolingConnectionHandler.class);
+
+  private final PoolEntry<C> entry;
+  private final ConcurrentConnectionPool<C> pool;
+
+  /**
+   * Creates a new instance
+   *
+   * @param entry the {@link PoolEntry} holding the connection to be wrapped
+   * @param pool  the pool from which the {@code connection} was obtained and to which it has to be returned
+   */
+  ConcurrentPoolingConnectionHandler(PoolEntry<C> entry, ConcurrentConnectionPool<C> pool, String poolId,
+                                     PoolingListener poolingListener, ConnectionProvider connectionProvider) {
+    super(LOGGER, entry.getConnection(), poolId, poolingListener, connectionProvider);
+    this.entry = entry;
+    this.pool = pool;
+  }
+
+  @Override
+  protected void returnToPool(C connection) {
+    pool.release(entry);
+  }
+
+  @Override
+  protected void invalidateInPool(C connection) throws Exception {
+    pool.invalidate(entry);
+  }
+
+  @Override
+  protected void logPoolStatus() {
+    ConnectionUtils.logPoolStatus(logger, pool, poolId);
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.internal.connection.ConnectionUtils.applyInitialisationPolicy;
+import static org.mule.runtime.core.internal.connection.ConnectionUtils.logPoolStatus;
+
+import static java.util.Objects.requireNonNull;
+
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionHandler;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.PoolingListener;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.internal.connection.ConcurrentConnectionPool.PoolEntry;
+import org.mule.runtime.core.internal.connection.ConcurrentConnectionPool.PooledConnectionFactory;
+import org.mule.runtime.metrics.api.instrument.LongHistogram;
+import org.mule.runtime.metrics.api.meter.Meter;
+
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ConnectionManagementStrategy} which returns connections obtained from a {@link ConcurrentConnectionPool}.
+ * <p>
+ * This is an alternative to {@link PoolingConnectionManagementStrategy} for connectors whose operations borrow and return
+ * connections at a high rate from many threads, in which case the locks of the commons-pool2 pool become a bottleneck.
+ *
+ * @param <C> the generic type of the connections to be managed
+ * @since 4.10
+ */
+final class ConcurrentPoolingConnectionManagementStrategy<C> extends ConnectionManagementStrategy<C> {
+
+  /**
+   * When set, pooled connections are managed with a {@link ConcurrentPoolingConnectionManagementStrategy} instead of a
+   * {@link PoolingConnectionManagementStrategy}.
+   */
+  public static final String CONCURRENT_CONNECTION_POOL_PROPERTY = SYSTEM_PROPERTY_PREFIX + "connection.pool.concurrent";
+
+  public static final String BORROW_WAIT_TIME_NAME = "connection.pool.borrow.time";
+  public static final String BORROW_WAIT_TIME_DESCRIPTION = "Time taken to borrow a connection from the pools of a config";
+  public static final String BORROW_WAIT_TIME_UNIT = "us";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentPoolingConnectionManagementStrategy.class);
+
+  private final PoolingProfile poolingProfile;
+  private final ConcurrentConnectionPool<C> pool;
+  private final String poolId;
+  private final PoolingListener<C> poolingListener;
+
+  /**
+   * Creates a new instance
+   *
+   * @param connectionProvider the {@link ConnectionProvider} used to manage the connections
+   * @param poolingProfile     the {@link PoolingProfile} which configures the pool
+   * @param poolingListener    a {@link PoolingListener}
+   * @param scheduler          the scheduler used by the pool for its background tasks
+   * @param borrowWaitTimes    the histogram where the time, in microseconds, it takes to borrow a connection is recorded
+   */
+  ConcurrentPoolingConnectionManagementStrategy(ConnectionProvider<C> connectionProvider, PoolingProfile poolingProfile,
+                                                PoolingListener<C> poolingListener, String ownerConfigName,
+                                                ScheduledExecutorService scheduler, LongHistogram borrowWaitTimes) {
+    super(connectionProvider);
+    this.poolingProfile = poolingProfile;
+    this.poolingListener = requireNonNull(poolingListener);
+    this.poolId = ownerConfigName.concat("-").concat(UUID.randomUUID().toString());
+    this.pool = createPool(ownerConfigName, scheduler, borrowWaitTimes);
+  }
+
+  /**
+   * Builds the histogram where the borrow wait times of the pools of the given config are recorded. The pools of a config share
+   * the same histogram, so that the instruments of the meter don't grow with the pools created for dynamic configs.
+   *
+   * @param meter           the {@link Meter} for the connection pools of the artifact
+   * @param ownerConfigName the name of the config which owns the pools
+   * @return a {@link LongHistogram}
+   */
+  static LongHistogram borrowWaitTimesHistogram(Meter meter, String ownerConfigName) {
+    return meter.histogramBuilder(ownerConfigName.isEmpty() ? BORROW_WAIT_TIME_NAME
+        : ownerConfigName + "." + BORROW_WAIT_TIME_NAME)
+        .withDescription(BORROW_WAIT_TIME_DESCRIPTION)
+        .withUnit(BORROW_WAIT_TIME_UNIT)
+        .build();
+  }
+
+  /**
+   * Returns a {@link ConnectionHandler} which wraps a connection obtained from the pool
+   *
+   * @return a {@link ConnectionHandler}
+   * @throws ConnectionException if the connection could not be obtained
+   */
+  @Override
+  public ConnectionHandler<C> getConnectionHandler() throws ConnectionException {
+    try {
+      return new ConcurrentPoolingConnectionHandler<>(onBorrow(pool.borrow()), pool, poolId, poolingListener,
+                                                      connectionProvider);
+    } catch (Exception e) {
+      throw toConnectionException(e);
+    }
+  }
+
+  /**
+   * Obtains a connection from the pool without blocking the calling thread while the pool is exhausted.
+   *
+   * @return a future completed with a {@link ConnectionHandler}, or with a {@link ConnectionException} if the connection could
+   *         not be obtained
+   */
+  @Override
+  public CompletableFuture<ConnectionHandler<C>> getConnectionHandlerAsync() {
+    CompletableFuture<ConnectionHandler<C>> result = new CompletableFuture<>();
+    pool.borrowAsync().whenComplete((entry, t) -> {
+      if (t != null) {
+        result.completeExceptionally(toConnectionException(t instanceof CompletionException && t.getCause() != null
+            ? t.getCause()
+            : t));
+        return;
+      }
+
+      try {
+        result.complete(new ConcurrentPoolingConnectionHandler<>(onBorrow(entry), pool, poolId, poolingListener,
+                                                                 connectionProvider));
+      } catch (Exception e) {
+        result.completeExceptionally(toConnectionException(e));
+      }
+    });
+    return result;
+  }
+
+  private ConnectionException toConnectionException(Throwable t) {
+    if (t instanceof ConnectionException) {
+      return (ConnectionException) t;
+    } else if (t instanceof NoSuchElementException) {
+      return new ConnectionException("Connection pool is exhausted", t);
+    } else {
+      return new ConnectionException("An exception was found trying to obtain a connection: " + t.getMessage(), t);
+    }
+  }
+
+  private PoolEntry<C> onBorrow(PoolEntry<C> entry) throws Exception {
+    LOGGER.debug("Acquiring connection {} from the pool {}", entry.getConnection(), poolId);
+    logPoolStatus(LOGGER, pool, poolId);
+    try {
+      poolingListener.onBorrow(entry.getConnection());
+    } catch (Exception e) {
+      pool.invalidate(entry);
+      throw e;
+    }
+
+    return entry;
+  }
+
+  /**
+   * Closes the pool, causing the idle connections to be closed. Connections that are in use are closed when released.
+   */
+  @Override
+  public void close() throws MuleException {
+    logPoolStatus(LOGGER, pool, poolId);
+    LOGGER.debug("Closing pool {}", poolId);
+    pool.close();
+  }
+
+  private ConcurrentConnectionPool<C> createPool(String ownerConfigName, ScheduledExecutorService scheduler,
+                                                 LongHistogram borrowWaitTimes) {
+    ConcurrentConnectionPool<C> concurrentPool = new ConcurrentConnectionPool<>(new PooledConnectionFactory<C>() {
+
+      @Override
+      public C create() throws Exception {
+        C connection = connectionProvider.connect();
+        LOGGER.debug("Created connection {}", connection);
+        return connection;
+      }
+
+      @Override
+      public void destroy(C connection) throws Exception {
+        LOGGER.debug("Disconnecting connection {}", connection);
+        connectionProvider.disconnect(connection);
+      }
+    }, poolingProfile, scheduler, borrowWaitTimes);
+    LOGGER.debug("Creating pool with ID {} for config {}", poolId, ownerConfigName);
+
+    applyInitialisationPolicy(LOGGER, poolingProfile, poolId, concurrentPool::addIdle);
+    logPoolStatus(LOGGER, concurrentPool, poolId);
+
+    return concurrentPool;
+  }
+
+  public PoolingProfile getPoolingProfile() {
+    return poolingProfile;
+  }
+
+  /**
+   * @return the distribution of the time, in microseconds, it took to borrow a connection from the pool.
+   */
+  LongHistogram getBorrowWaitTimes() {
+    return pool.getBorrowWaitTimes();
+  }
+}
@@ -6,12 +6,17 @@
  */
 package org.mule.runtime.core.internal.connection;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.core.api.Closeable;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Strategy to implement different connection management mechanisms.
  * <p>
@@ -44,6 +49,24 @@ public abstract class ConnectionManagementStrategy<C> implements Closeable {
    */
   public abstract ConnectionHandler<C> getConnectionHandler() throws ConnectionException;
 
+  /**
+   * Asynchronous version of {@link #getConnectionHandler()}, for strategies in which obtaining a connection may have to wait for
+   * another one to be released. Such strategies should not block the calling thread while waiting.
+   * <p>
+   * This default implementation obtains the connection in the calling thread.
+   *
+   * @return a future completed with a {@link ConnectionHandler}, or with a {@link ConnectionException} if the connection could
+   *         not be obtained
+   * @since 4.10
+   */
+  public CompletableFuture<ConnectionHandler<C>> getConnectionHandlerAsync() {
+    try {
+      return completedFuture(getConnectionHandler());
+    } catch (ConnectionException e) {
+      return failedFuture(e);
+    }
+  }
+
   /**
    * Closes all connections and resources allocated through {@code this} instance.
    *
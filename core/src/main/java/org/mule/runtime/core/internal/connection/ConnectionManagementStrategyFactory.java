@@ -10,6 +10,10 @@ import static org.mule.runtime.api.meta.model.connection.ConnectionManagementTyp
 import static org.mule.runtime.api.meta.model.connection.ConnectionManagementType.NONE;
 import static org.mule.runtime.api.meta.model.connection.ConnectionManagementType.POOLING;
 import static org.mule.runtime.core.api.connection.util.ConnectionProviderUtils.unwrapProviderWrapper;
+import static org.mule.runtime.core.internal.connection.ConcurrentPoolingConnectionManagementStrategy.CONCURRENT_CONNECTION_POOL_PROPERTY;
+import static org.mule.runtime.core.internal.connection.ConcurrentPoolingConnectionManagementStrategy.borrowWaitTimesHistogram;
+
+import static java.lang.Boolean.getBoolean;
 
 import org.mule.runtime.api.config.FeatureFlaggingService;
 import org.mule.runtime.api.config.PoolingProfile;
@@ -21,9 +25,12 @@ import org.mule.runtime.api.meta.model.connection.ConnectionManagementType;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.lifecycle.LifecycleState;
 import org.mule.runtime.core.internal.connection.adapter.XATransactionalConnectionProvider;
+import org.mule.runtime.metrics.api.meter.Meter;
 import org.mule.sdk.api.connectivity.TransactionalConnection;
 
 import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
 
 /**
  * Creates instances of {@link ConnectionManagementStrategy}
@@ -35,18 +42,27 @@ final class ConnectionManagementStrategyFactory {
   private final PoolingProfile defaultPoolingProfile;
   private final LifecycleState deploymentLifecycleState;
   private final Optional<XAConnectionManagementStrategyFactory> xaConnectionManagementStrategyFactory;
+  private final Supplier<? extends ScheduledExecutorService> poolSchedulerSupplier;
+  private final Supplier<Meter> poolMeterSupplier;
 
   /**
    * Creates a new instance
    *
    * @param defaultPoolingProfile the {@link PoolingProfile} that will be used to configure the pool of connections
    * @param muleContext           the owning {@link MuleContext}
+   * @param poolSchedulerSupplier provides the scheduler for the background tasks of the
+   *                              {@link ConcurrentPoolingConnectionManagementStrategy concurrent pools}
+   * @param poolMeterSupplier     provides the {@link Meter} where the concurrent pools record their borrow wait times
    */
   ConnectionManagementStrategyFactory(PoolingProfile defaultPoolingProfile, LifecycleState deploymentLifecycleState,
-                                      Optional<XAConnectionManagementStrategyFactory> xaConnectionManagementStrategyFactory) {
+                                      Optional<XAConnectionManagementStrategyFactory> xaConnectionManagementStrategyFactory,
+                                      Supplier<? extends ScheduledExecutorService> poolSchedulerSupplier,
+                                      Supplier<Meter> poolMeterSupplier) {
     this.defaultPoolingProfile = defaultPoolingProfile;
     this.deploymentLifecycleState = deploymentLifecycleState;
     this.xaConnectionManagementStrategyFactory = xaConnectionManagementStrategyFactory;
+    this.poolSchedulerSupplier = poolSchedulerSupplier;
+    this.poolMeterSupplier = poolMeterSupplier;
   }
 
   /**
@@ -147,8 +163,14 @@ final class ConnectionManagementStrategyFactory {
       ownerConfigName = cpWrapper.getOwnerConfigName().orElse(ownerConfigName);
     }
 
-    return poolingProfile.isDisabled()
-        ? withoutManagement(connectionProvider)
+    if (poolingProfile.isDisabled()) {
+      return withoutManagement(connectionProvider);
+    }
+
+    return getBoolean(CONCURRENT_CONNECTION_POOL_PROPERTY)
+        ? new ConcurrentPoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener,
+                                                              ownerConfigName, poolSchedulerSupplier.get(),
+                                                              borrowWaitTimesHistogram(poolMeterSupplier.get(), ownerConfigName))
         : new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile,
                                                     poolingListener,
                                                     ownerConfigName, featureFlaggingService);
@@ -6,13 +6,20 @@
  */
 package org.mule.runtime.core.internal.connection;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
 import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.lifecycle.Lifecycle;
 import org.mule.runtime.core.api.connector.ConnectionManager;
 import org.mule.runtime.core.api.retry.ReconnectionConfig;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface for {@link ConnectionManager} implementations which expands its contract with non API functionality
  *
@@ -45,4 +52,24 @@ public interface ConnectionManagerAdapter extends ConnectionManager, Lifecycle {
    * @return a {@link PoolingProfile}
    */
   PoolingProfile getDefaultPoolingProfile();
+
+  /**
+   * Asynchronous version of {@link #getConnection(Object)}. When the connections of the given {@code config} are pooled and the
+   * pool is exhausted, the returned future is completed once a connection is released, without blocking the calling thread.
+   * <p>
+   * This default implementation obtains the connection in the calling thread.
+   *
+   * @param config the config that owns the connection
+   * @param <C>    the generic type of the connection
+   * @return a future completed with a {@link ConnectionHandler}, or with a {@link ConnectionException} if the connection could
+   *         not be obtained
+   * @since 4.10
+   */
+  default <C> CompletableFuture<ConnectionHandler<C>> getConnectionAsync(Object config) {
+    try {
+      return completedFuture(getConnection(config));
+    } catch (ConnectionException e) {
+      return failedFuture(e);
+    }
+  }
 }
@@ -6,14 +6,21 @@
  */
 package org.mule.runtime.core.internal.connection;
 
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ALL;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_NONE;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ONE;
+
 import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Integer.min;
 import static java.util.Objects.requireNonNull;
 
+import org.mule.runtime.api.config.PoolingProfile;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.core.api.retry.ReconnectionConfig;
 import org.mule.runtime.core.api.retry.policy.NoRetryPolicyTemplate;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
+import org.mule.runtime.core.api.util.func.CheckedRunnable;
 import org.mule.runtime.core.internal.registry.InjectionTargetDecorator;
 import org.mule.runtime.core.internal.util.InjectionUtils;
 
@@ -103,4 +110,58 @@ public final class ConnectionUtils {
                  poolId, pool.getNumActive(), maxActive, pool.getNumIdle(), maxIdle);
     }
   }
+
+  static <C> void logPoolStatus(Logger logger, ConcurrentConnectionPool<C> pool, String poolId) {
+    if (logger.isDebugEnabled()) {
+      String maxActive = pool.getMaxTotal() == MAX_VALUE ? "unlimited" : String.valueOf(pool.getMaxTotal());
+      String maxIdle = pool.getMaxIdle() < 0 ? "unlimited" : String.valueOf(pool.getMaxIdle());
+      logger
+          .debug("Status for pool {}: {} connections are active out of {} max active limit, {} connections are idle out of {} max idle limit, p99 borrow wait is {} us",
+                 poolId, pool.getNumActive(), maxActive, pool.getNumIdle(), maxIdle,
+                 pool.getBorrowWaitTimes().getValueAtPercentile(99));
+    }
+  }
+
+  /**
+   * Creates the initial connections of a pool, as many as required by the initialisation policy of its {@code poolingProfile}.
+   * Failing to create a connection is logged, but doesn't prevent the remaining ones from being created.
+   *
+   * @param logger         the {@link Logger} of the pool owner
+   * @param poolingProfile the {@link PoolingProfile} of the pool
+   * @param poolId         the id of the pool
+   * @param addIdle        creates a new idle connection in the pool
+   */
+  static void applyInitialisationPolicy(Logger logger, PoolingProfile poolingProfile, String poolId,
+                                        CheckedRunnable addIdle) {
+    int initialConnections;
+    switch (poolingProfile.getInitialisationPolicy()) {
+      case INITIALISE_NONE:
+        initialConnections = 0;
+        break;
+      case INITIALISE_ONE:
+        initialConnections = 1;
+        break;
+      case INITIALISE_ALL:
+        if (poolingProfile.getMaxActive() < 0) {
+          initialConnections = poolingProfile.getMaxIdle();
+        } else if (poolingProfile.getMaxIdle() < 0) {
+          initialConnections = poolingProfile.getMaxActive();
+        } else {
+          initialConnections = min(poolingProfile.getMaxActive(), poolingProfile.getMaxIdle());
+        }
+        break;
+      default:
+        throw new IllegalStateException("Unexpected value for pooling profile initialization policy: "
+            + poolingProfile.getInitialisationPolicy());
+    }
+
+    logger.debug("Initializing pool {} with {} initial connections", poolId, initialConnections);
+    for (int t = 0; t < initialConnections; t++) {
+      try {
+        addIdle.runChecked();
+      } catch (Exception e) {
+        logger.warn("Failed to create a connection while applying the pool initialization policy.", e);
+      }
+    }
+  }
 }
@@ -13,6 +13,8 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNee
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.retry.ReconnectionConfig.defaultReconnectionConfig;
 
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.config.FeatureFlaggingService;
@@ -23,20 +25,27 @@ import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.api.util.Reference;
 import org.mule.runtime.core.api.Injector;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.connector.ConnectionManager;
 import org.mule.runtime.core.api.lifecycle.LifecycleState;
+import org.mule.runtime.core.api.management.stats.ArtifactMeterProvider;
 import org.mule.runtime.core.api.retry.ReconnectionConfig;
 import org.mule.runtime.core.api.retry.policy.NoRetryPolicyTemplate;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.runtime.metrics.api.MeterProvider;
+import org.mule.runtime.metrics.api.meter.Meter;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -54,16 +63,21 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
 
   private static final Logger LOGGER = getLogger(DefaultConnectionManager.class);
 
+  static final String CONNECTION_POOLS_METER_NAME = "connection-pools";
+
   private final Map<Reference<Object>, ConnectionManagementStrategy> connections = new HashMap<>();
   private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
   private final Lock readLock = readWriteLock.readLock();
   private final Lock writeLock = readWriteLock.writeLock();
+  private final MuleContext muleContext;
   private final Injector injector;
   private final LifecycleState deploymentLifecycleState;
   private final RetryPolicyTemplate retryPolicyTemplate;
   private final PoolingProfile defaultPoolingProfile;
   private final ReconnectionConfig defaultReconnectionConfig = defaultReconnectionConfig();
 
+  private final LazyValue<Scheduler> poolScheduler = new LazyValue<>(this::createPoolScheduler);
+  private final LazyValue<Meter> poolMeter = new LazyValue<>(this::createPoolMeter);
   private ConnectionManagementStrategyFactory managementStrategyFactory;
 
   @Inject
@@ -72,6 +86,12 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
   @Inject
   private FeatureFlaggingService featureFlaggingService;
 
+  @Inject
+  private SchedulerService schedulerService;
+
+  @Inject
+  private MeterProvider meterProvider;
+
   /**
    * Creates a new instance
    *
@@ -79,6 +99,7 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
    */
   @Inject
   public DefaultConnectionManager(MuleContext muleContext) {
+    this.muleContext = muleContext;
     this.deploymentLifecycleState = muleContext.getLifecycleManager().getState();
     this.injector = muleContext.getInjector();
     this.defaultPoolingProfile = new PoolingProfile();
@@ -254,13 +275,7 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
    */
   @Override
   public <C> ConnectionHandler<C> getConnection(Object config) throws ConnectionException {
-    ConnectionManagementStrategy<C> handlingStrategy = null;
-    readLock.lock();
-    try {
-      handlingStrategy = connections.get(new Reference<>(config));
-    } finally {
-      readLock.unlock();
-    }
+    ConnectionManagementStrategy<C> handlingStrategy = getManagementStrategy(config);
 
     if (handlingStrategy == null) {
       throw new ConnectionException("No ConnectionProvider has been registered for owner " + config);
@@ -269,6 +284,29 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
     return handlingStrategy.getConnectionHandler();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <C> CompletableFuture<ConnectionHandler<C>> getConnectionAsync(Object config) {
+    ConnectionManagementStrategy<C> handlingStrategy = getManagementStrategy(config);
+
+    if (handlingStrategy == null) {
+      return failedFuture(new ConnectionException("No ConnectionProvider has been registered for owner " + config));
+    }
+
+    return handlingStrategy.getConnectionHandlerAsync();
+  }
+
+  private <C> ConnectionManagementStrategy<C> getManagementStrategy(Object config) {
+    readLock.lock();
+    try {
+      return connections.get(new Reference<>(config));
+    } finally {
+      readLock.unlock();
+    }
+  }
+
   /**
    * Breaks all bindings and closes all connections
    *
@@ -297,13 +335,30 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
   @Override
   public void dispose() {
     disposeIfNeeded(retryPolicyTemplate, LOGGER);
+    poolScheduler.ifComputed(Scheduler::stop);
   }
 
   @Override
   public void initialise() throws InitialisationException {
     initialiseIfNeeded(retryPolicyTemplate, injector);
     managementStrategyFactory = new ConnectionManagementStrategyFactory(defaultPoolingProfile, deploymentLifecycleState,
-                                                                        xaConnectionManagementStrategyFactory);
+                                                                        xaConnectionManagementStrategyFactory, poolScheduler,
+                                                                        poolMeter);
+  }
+
+  private Scheduler createPoolScheduler() {
+    return schedulerService.ioScheduler(muleContext.getSchedulerBaseConfig().withName("ConnectionManager-Pools"));
+  }
+
+  private Meter createPoolMeter() {
+    if (meterProvider == null) {
+      return Meter.NO_OP;
+    }
+
+    return new ArtifactMeterProvider(meterProvider, muleContext.getConfiguration().getId())
+        .getMeterBuilder(CONNECTION_POOLS_METER_NAME)
+        .withDescription("Connection pools of the artifact")
+        .build();
   }
 
   @Override
@@ -7,15 +7,12 @@
 package org.mule.runtime.core.internal.connection;
 
 import static org.mule.runtime.api.config.MuleRuntimeFeature.DISABLE_JMX_FOR_COMMONS_POOL2;
-import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ALL;
-import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_NONE;
-import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ONE;
 import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_GROW;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.connection.ConnectionUtils.applyInitialisationPolicy;
 import static org.mule.runtime.core.internal.connection.ConnectionUtils.logPoolStatus;
 
 import static java.lang.Integer.MAX_VALUE;
-import static java.lang.Integer.min;
 import static java.time.Duration.ofMillis;
 import static java.util.Objects.requireNonNull;
 
@@ -153,45 +150,12 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
     GenericObjectPool<C> genericPool = new GenericObjectPool<>(new ObjectFactoryAdapter(), config);
     LOGGER.debug("Creating pool with ID {} for config {}", poolId, ownerConfigName);
 
-    applyInitialisationPolicy(genericPool);
+    applyInitialisationPolicy(LOGGER, poolingProfile, poolId, genericPool::addObject);
     logPoolStatus(LOGGER, genericPool, poolId);
 
     return genericPool;
   }
 
-  protected void applyInitialisationPolicy(GenericObjectPool<C> pool) {
-    int initialConnections;
-    switch (poolingProfile.getInitialisationPolicy()) {
-      case INITIALISE_NONE:
-        initialConnections = 0;
-        break;
-      case INITIALISE_ONE:
-        initialConnections = 1;
-        break;
-      case INITIALISE_ALL:
-        if (poolingProfile.getMaxActive() < 0) {
-          initialConnections = poolingProfile.getMaxIdle();
-        } else if (poolingProfile.getMaxIdle() < 0) {
-          initialConnections = poolingProfile.getMaxActive();
-        } else {
-          initialConnections = min(poolingProfile.getMaxActive(), poolingProfile.getMaxIdle());
-        }
-        break;
-      default:
-        throw new IllegalStateException("Unexpected value for pooling profile initialization policy: "
-            + poolingProfile.getInitialisationPolicy());
-    }
-
-    LOGGER.debug("Initializing pool {} with {} initial connections", poolId, initialConnections);
-    for (int t = 0; t < initialConnections; t++) {
-      try {
-        pool.addObject();
-      } catch (Exception e) {
-        LOGGER.warn("Failed to create a connection while applying the pool initialization policy.", e);
-      }
-    }
-  }
-
   public PoolingProfile getPoolingProfile() {
     return poolingProfile;
   }
@@ -78,9 +78,11 @@ import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
 import org.mule.runtime.core.internal.execution.FlowProcessor;
 import org.mule.runtime.core.internal.interception.InterceptorManager;
 import org.mule.runtime.core.internal.interception.ReactiveInterceptor;
+import org.mule.runtime.core.internal.management.stats.DefaultFlowConstructStatistics;
 import org.mule.runtime.core.internal.management.stats.DefaultFlowsSummaryStatistics;
 import org.mule.runtime.core.internal.message.ErrorBuilder;
 import org.mule.runtime.core.internal.processor.interceptor.FlowInterceptorFactoryAdapter;
+import org.mule.runtime.core.internal.processor.strategy.AbstractReactorStreamProcessingStrategy;
 import org.mule.runtime.core.internal.processor.strategy.DirectProcessingStrategyFactory;
 import org.mule.runtime.core.internal.rx.FluxSinkRecorder;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
@@ -191,6 +193,11 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
     }
 
     processingStrategy = this.processingStrategyFactory.create(muleContext, getName());
+    if (processingStrategy instanceof AbstractReactorStreamProcessingStrategy reactorProcessingStrategy
+        && getStatistics() instanceof DefaultFlowConstructStatistics flowStatistics) {
+      reactorProcessingStrategy.getConcurrencyLimiter()
+          .ifPresent(limiter -> flowStatistics.trackConcurrencyLimit(limiter::getLimit));
+    }
     backpressureStrategySelector = new BackPressureStrategySelector(this);
     FLOW_BACKPRESSURE_ERROR_TYPE = muleContext.getErrorTypeRepository().getErrorType(FLOW_BACK_PRESSURE).orElseThrow();
   }
@@ -213,6 +220,7 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
     builder.setMessagingExceptionHandler(getExceptionListener());
     builder.setPipelineLocation(getLocation());
     builder.setComponentTracer(componentTracerFactory.fromComponent(this));
+    builder.setFlowStatistics(getStatistics());
     return builder.build();
   }
 
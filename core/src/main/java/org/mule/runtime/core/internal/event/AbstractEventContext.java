@@ -61,6 +61,12 @@ public abstract class AbstractEventContext implements SpanContextAware, BaseEven
   private static final int STATE_TERMINATED = 4;
 
   private static final int TO_STRING_TAB_SIZE = 4;
+
+  /**
+   * Returned by {@link #removeProcessorStartTime()} when no start time was set. {@link System#nanoTime()} may be negative, so
+   * {@code -1} cannot be used.
+   */
+  public static final long NO_PROCESSOR_START_TIME = Long.MIN_VALUE;
   private static final Logger LOGGER = LoggerFactory.getLogger(AbstractEventContext.class);
   private static final FlowExceptionHandler NULL_EXCEPTION_HANDLER = NullExceptionHandler.getInstance();
 
@@ -83,6 +89,9 @@ public abstract class AbstractEventContext implements SpanContextAware, BaseEven
   private transient AtomicInteger childIdProvider = new AtomicInteger();
   private transient volatile boolean childrenComplete = false;
   private volatile Either<Throwable, CoreEvent> result;
+  // An event is processed by one processor of the flow at a time, and the processing strategy hands it over between threads
+  // with a happens-before relation, so this does not need to be volatile.
+  private transient long processorStartTime = NO_PROCESSOR_START_TIME;
 
   private LazyValue<ResponsePublisher> responsePublisher = new LazyValue<>(ResponsePublisher::new);
 
@@ -448,6 +457,32 @@ public abstract class AbstractEventContext implements SpanContextAware, BaseEven
     return stateCtx.get();
   }
 
+  /**
+   * Keeps the time the processor of the flow that is processing this context started, so that its execution time can be
+   * tracked without keeping the start time elsewhere.
+   *
+   * @param processorStartTime the {@link System#nanoTime()} at which the processor started.
+   *
+   * @since 4.10
+   */
+  public void setProcessorStartTime(long processorStartTime) {
+    this.processorStartTime = processorStartTime;
+  }
+
+  /**
+   * Clears the time set with {@link #setProcessorStartTime(long)}.
+   *
+   * @return the {@link System#nanoTime()} at which the processor started, or {@link #NO_PROCESSOR_START_TIME} if it was not set or
+   *         already cleared.
+   *
+   * @since 4.10
+   */
+  public long removeProcessorStartTime() {
+    long startTime = processorStartTime;
+    processorStartTime = NO_PROCESSOR_START_TIME;
+    return startTime;
+  }
+
   @Override
   public String nextChildId() {
     return getId() != null
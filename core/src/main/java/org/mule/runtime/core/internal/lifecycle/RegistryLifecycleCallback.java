@@ -8,12 +8,20 @@ package org.mule.runtime.core.internal.lifecycle;
 
 import static org.mule.runtime.api.exception.ExceptionHelper.unwrap;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_LIFECYCLE_FAIL_ON_FIRST_DISPOSE_ERROR;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.util.ExceptionUtils.extractOfType;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Math.min;
+import static java.lang.Runtime.getRuntime;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.singletonList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -21,15 +29,22 @@ import org.mule.runtime.api.component.Component;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.LifecycleException;
 import org.mule.runtime.api.lifecycle.Stoppable;
 import org.mule.runtime.core.api.lifecycle.LifecycleCallback;
+import org.mule.runtime.core.api.util.concurrent.NamedThreadFactory;
 import org.mule.runtime.core.internal.lifecycle.phases.LifecyclePhase;
 import org.mule.runtime.core.internal.registry.Registry;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 
@@ -42,6 +57,16 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
 
   private static final Logger LOGGER = getLogger(RegistryLifecycleCallback.class);
 
+  /**
+   * When set, the initialise phase is applied concurrently to the objects of the registry that don't depend on each other,
+   * following the dependency groups provided by the {@link org.mule.runtime.core.internal.lifecycle.phases.LifecycleObjectSorter}
+   * of the phase. Any dependency between objects that the sorter doesn't know about may break the initialisation, so this is
+   * disabled by default.
+   *
+   * @since 4.10
+   */
+  public static final String PARALLEL_INITIALISATION_PROPERTY = SYSTEM_PROPERTY_PREFIX + "lifecycle.parallelInitialisation";
+
   protected final RegistryLifecycleManager registryLifecycleManager;
   private LifecycleInterceptor interceptor = new NullLifecycleInterceptor();
 
@@ -82,11 +107,80 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
       LOGGER.debug("Applying lifecycle phase: {} for registry: {}", phase, object.getClass().getSimpleName());
     }
 
-    doApplyLifecycle(phase, new HashSet<>(), registryLifecycleManager.getObjectsForPhase(phase));
+    if (Initialisable.PHASE_NAME.equals(phaseName) && getBoolean(PARALLEL_INITIALISATION_PROPERTY)) {
+      doApplyLifecycleConcurrently(phase, registryLifecycleManager.getObjectGroupsForPhase(phase));
+    } else {
+      doApplyLifecycle(phase, new HashSet<>(), registryLifecycleManager.getObjectsForPhase(phase));
+    }
 
     interceptor.onPhaseCompleted(phase);
   }
 
+  private void doApplyLifecycleConcurrently(LifecyclePhase phase, List<List<Object>> targetGroups) throws LifecycleException {
+    Set<Object> duplicates = newKeySet();
+    int maxGroupSize = targetGroups.stream().mapToInt(List::size).max().orElse(0);
+    if (maxGroupSize <= 1) {
+      for (List<Object> group : targetGroups) {
+        doApplyLifecycle(phase, duplicates, group);
+      }
+      return;
+    }
+
+    ExecutorService executor = newFixedThreadPool(min(maxGroupSize, getRuntime().availableProcessors()),
+                                                  new NamedThreadFactory(phase.getName() + ".lifecycle",
+                                                                         currentThread().getContextClassLoader()));
+    try {
+      for (List<Object> group : targetGroups) {
+        if (group.size() == 1) {
+          doApplyLifecycle(phase, duplicates, group);
+          continue;
+        }
+
+        List<Future<?>> results = new ArrayList<>(group.size());
+        for (Object target : group) {
+          results.add(executor.submit(() -> {
+            doApplyLifecycle(phase, duplicates, singletonList(target));
+            return null;
+          }));
+        }
+        awaitGroup(group, results);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Waits for the lifecycle to be applied to all the objects of the group, even if it fails for some of them, so that the next
+   * phase finds every object in a known state. The first failure, in the order of the group, is then thrown.
+   */
+  private void awaitGroup(List<Object> group, List<Future<?>> results) throws LifecycleException {
+    Throwable failure = null;
+    Object failedTarget = null;
+    for (int i = 0; i < results.size(); ++i) {
+      try {
+        results.get(i).get();
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+        results.forEach(result -> result.cancel(true));
+        throw new LifecycleException(e, group.get(i));
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+          failedTarget = group.get(i);
+        }
+      }
+    }
+
+    if (failure instanceof LifecycleException) {
+      throw (LifecycleException) failure;
+    } else if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure != null) {
+      throw new LifecycleException(failure, failedTarget);
+    }
+  }
+
   private void doApplyLifecycle(LifecyclePhase phase, Set<Object> duplicates, Collection<?> targetObjects)
       throws LifecycleException {
     for (Object target : targetObjects) {
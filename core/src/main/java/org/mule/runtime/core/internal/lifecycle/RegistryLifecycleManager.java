@@ -184,6 +184,20 @@ public class RegistryLifecycleManager extends AbstractLifecycleManager<Registry>
   }
 
   protected List<Object> getObjectsForPhase(LifecyclePhase phase) {
+    return lookupObjectsForPhase(phase).getSortedObjects();
+  }
+
+  /**
+   * Same as {@link #getObjectsForPhase(LifecyclePhase)}, but split in groups of objects that don't depend on each other.
+   *
+   * @see LifecycleObjectSorter#getSortedObjectGroups()
+   * @since 4.10
+   */
+  protected List<List<Object>> getObjectGroupsForPhase(LifecyclePhase phase) {
+    return lookupObjectsForPhase(phase).getSortedObjectGroups();
+  }
+
+  private LifecycleObjectSorter lookupObjectsForPhase(LifecyclePhase phase) {
     LifecycleObjectSorter sorter = phase.newLifecycleObjectSorter();
     Map<String, Object> lookupObjectsForLifecycle = lookupObjectsForLifecycle();
     List<String> lookupObjects = new ArrayList<>();
@@ -193,7 +207,7 @@ public class RegistryLifecycleManager extends AbstractLifecycleManager<Registry>
       lookupObjects.add(key);
     });
     sorter.setLifeCycleObjectNameOrder(lookupObjects);
-    return sorter.getSortedObjects();
+    return sorter;
   }
 
   protected Map<String, Object> lookupObjectsForLifecycle() {
@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.lifecycle.phases;
 
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+
 import org.mule.runtime.core.internal.registry.Registry;
 
 import java.util.List;
@@ -31,6 +34,20 @@ public interface LifecycleObjectSorter {
    */
   List<Object> getSortedObjects();
 
+  /**
+   * Provides the objects previously added through {@link #addObject(String, Object)} split in groups, in the order in which the
+   * lifecycle has to be applied to each group. The objects in a group don't depend on each other, so the lifecycle may be applied
+   * to them concurrently once it was applied to all the objects in the previous groups.
+   * <p>
+   * Implementations that don't know the dependencies between the objects put each one in its own group.
+   *
+   * @return the sorted groups of objects.
+   * @since 4.10
+   */
+  default List<List<Object>> getSortedObjectGroups() {
+    return getSortedObjects().stream().map(object -> singletonList(object)).collect(toList());
+  }
+
   /**
    * Provides the order of objects as reference for initialise/dispose phases
    *
@@ -6,8 +6,11 @@
  */
 package org.mule.runtime.core.internal.lock;
 
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_LOCK_PROVIDER;
 
+import static java.lang.Boolean.getBoolean;
+
 import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
@@ -24,6 +27,13 @@ import jakarta.inject.Named;
 
 public class MuleLockFactory implements LockFactory, Initialisable, Disposable {
 
+  /**
+   * When set, locks are grouped in a {@link StripedInstanceLockGroup} instead of an {@link InstanceLockGroup}.
+   *
+   * @since 4.10
+   */
+  public static final String STRIPED_LOCK_GROUP_PROPERTY = SYSTEM_PROPERTY_PREFIX + "lockGroup.striped";
+
   private LockGroup lockGroup;
   private LockProvider lockProvider;
 
@@ -62,14 +72,26 @@ public class MuleLockFactory implements LockFactory, Initialisable, Disposable {
   private LockGroup createLockGroup() {
     // This class is created programmatically, and in such case the mule context isn't injected.
     if (muleContext == null) {
-      return new InstanceLockGroup(lockProvider);
+      return createLockGroup(lockProvider);
     }
 
     MuleConfiguration muleConfiguration = muleContext.getConfiguration();
     if (muleConfiguration == null) {
-      return new InstanceLockGroup(lockProvider);
+      return createLockGroup(lockProvider);
     }
 
-    return new InstanceLockGroup(lockProvider, muleConfiguration.getShutdownTimeout());
+    return createLockGroup(lockProvider, muleConfiguration.getShutdownTimeout());
+  }
+
+  private static LockGroup createLockGroup(LockProvider lockProvider) {
+    return getBoolean(STRIPED_LOCK_GROUP_PROPERTY)
+        ? new StripedInstanceLockGroup(lockProvider)
+        : new InstanceLockGroup(lockProvider);
+  }
+
+  private static LockGroup createLockGroup(LockProvider lockProvider, long shutdownTimeoutMillis) {
+    return getBoolean(STRIPED_LOCK_GROUP_PROPERTY)
+        ? new StripedInstanceLockGroup(lockProvider, shutdownTimeoutMillis)
+        : new InstanceLockGroup(lockProvider, shutdownTimeoutMillis);
   }
 }
@@ -6,6 +6,10 @@
  */
 package org.mule.runtime.core.internal.lock;
 
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.getBoolean;
+
 import org.mule.runtime.api.lock.LockProvider;
 
 import java.util.concurrent.locks.Lock;
@@ -16,9 +20,30 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 public class SingleServerLockProvider implements LockProvider {
 
+  /**
+   * When set, the provided locks are not fair, trading ordering guarantees for throughput under contention.
+   *
+   * @since 4.10
+   */
+  public static final String UNFAIR_LOCKS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "lockProvider.unfair";
+
+  private final boolean fair;
+
+  public SingleServerLockProvider() {
+    this(!getBoolean(UNFAIR_LOCKS_PROPERTY));
+  }
+
+  /**
+   * @param fair whether the provided locks grant access to the longest waiting thread
+   * @since 4.10
+   */
+  public SingleServerLockProvider(boolean fair) {
+    this.fair = fair;
+  }
+
   @Override
   public Lock createLock(String lockId) {
-    return new ReentrantLock(true);
+    return new ReentrantLock(fair);
   }
 
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.lock.LockProvider;
+import org.mule.runtime.core.internal.lock.InstanceLockGroup.LockEntry;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link LockGroup} implementation for holding references to created locks inside a mule instance, with the same behavior as
+ * {@link InstanceLockGroup} but without a group wide monitor.
+ * <p>
+ * Lock entries are created, reference counted and removed through atomic {@link ConcurrentHashMap} operations, so only
+ * operations over ids that fall in the same bin contend with each other. The group wide monitor is only used to notify a
+ * {@link #dispose()} waiting for all the locks to be released.
+ *
+ * @since 4.10
+ */
+public class StripedInstanceLockGroup implements LockGroup {
+
+  private static final long DEFAULT_LOCK_GROUP_SHUTDOWN_TIMEOUT = 5000L;
+  private static final Logger LOGGER = getLogger(StripedInstanceLockGroup.class);
+
+  private final ConcurrentMap<String, LockEntry> locks = new ConcurrentHashMap<>();
+  private final Object emptyMonitor = new Object();
+  private final LockProvider lockProvider;
+  private final long gracefulShutdownTimeoutMillis;
+
+  private final LongAdder acquisitions = new LongAdder();
+  private final LongAdder contendedAcquisitions = new LongAdder();
+  private final LongAdder waitNanos = new LongAdder();
+
+  public StripedInstanceLockGroup(LockProvider lockProvider, long shutdownTimeoutMillis) {
+    this.lockProvider = lockProvider;
+    this.gracefulShutdownTimeoutMillis = shutdownTimeoutMillis;
+  }
+
+  public StripedInstanceLockGroup(LockProvider lockProvider) {
+    this(lockProvider, DEFAULT_LOCK_GROUP_SHUTDOWN_TIMEOUT);
+  }
+
+  @Override
+  public void lock(String lockId) {
+    Lock lock = getOrCreateLockEntry(lockId).getLock();
+    boolean lockAcquired;
+    try {
+      lockAcquired = tryLockUncontended(lock);
+    } catch (InterruptedException e) {
+      // lock() is not interruptible, keep the flag for the caller
+      currentThread().interrupt();
+      lockAcquired = false;
+    }
+    if (!lockAcquired) {
+      contendedAcquisitions.increment();
+      long start = nanoTime();
+      lock.lock();
+      waitNanos.add(nanoTime() - start);
+    }
+    acquisitions.increment();
+  }
+
+  @Override
+  public void unlock(String lockId) {
+    LockEntry lockEntry = locks.get(lockId);
+    if (lockEntry != null) {
+      lockEntry.getLock().unlock();
+      releaseLockEntry(lockId);
+    } else {
+      LOGGER.warn("Trying to unlock a lock with id {} that wasn't previously locked", lockId);
+    }
+  }
+
+  @Override
+  public boolean tryLock(String lockId, long timeout, TimeUnit timeUnit) throws InterruptedException {
+    Lock lock = getOrCreateLockEntry(lockId).getLock();
+    try {
+      boolean lockAcquired = tryLockUncontended(lock);
+      if (!lockAcquired) {
+        contendedAcquisitions.increment();
+        long start = nanoTime();
+        try {
+          lockAcquired = lock.tryLock(timeout, timeUnit);
+        } finally {
+          waitNanos.add(nanoTime() - start);
+        }
+      }
+      if (lockAcquired) {
+        acquisitions.increment();
+      } else {
+        releaseLockEntry(lockId);
+      }
+      return lockAcquired;
+    } catch (InterruptedException interruptedException) {
+      releaseLockEntry(lockId);
+      throw interruptedException;
+    }
+  }
+
+  @Override
+  public boolean tryLock(String lockId) {
+    boolean lockAcquired = getOrCreateLockEntry(lockId).getLock().tryLock();
+    if (lockAcquired) {
+      acquisitions.increment();
+    } else {
+      contendedAcquisitions.increment();
+      releaseLockEntry(lockId);
+    }
+    return lockAcquired;
+  }
+
+  @Override
+  public void lockInterruptibly(String lockId) throws InterruptedException {
+    Lock lock = getOrCreateLockEntry(lockId).getLock();
+    try {
+      if (!tryLockUncontended(lock)) {
+        contendedAcquisitions.increment();
+        long start = nanoTime();
+        try {
+          lock.lockInterruptibly();
+        } finally {
+          waitNanos.add(nanoTime() - start);
+        }
+      }
+      acquisitions.increment();
+    } catch (InterruptedException e) {
+      releaseLockEntry(lockId);
+      throw e;
+    }
+  }
+
+  private boolean tryLockUncontended(Lock lock) throws InterruptedException {
+    // unlike tryLock(), this honors the fairness of the lock instead of barging ahead of waiting threads
+    return lock.tryLock(0, NANOSECONDS);
+  }
+
+  int size() {
+    return locks.size();
+  }
+
+  /**
+   * @return how many times a lock of this group was acquired
+   */
+  public long getAcquisitions() {
+    return acquisitions.sum();
+  }
+
+  /**
+   * @return how many acquisition attempts found the lock already taken by another owner
+   */
+  public long getContendedAcquisitions() {
+    return contendedAcquisitions.sum();
+  }
+
+  /**
+   * @return the total time, in nanoseconds, spent waiting for contended locks
+   */
+  public long getWaitNanos() {
+    return waitNanos.sum();
+  }
+
+  @Override
+  public void dispose() {
+    waitForLocksToBeUnlocked();
+  }
+
+  private LockEntry getOrCreateLockEntry(String lockId) {
+    return locks.compute(lockId, (id, lockEntry) -> {
+      if (lockEntry == null) {
+        lockEntry = new LockEntry(lockProvider.createLock(id));
+      }
+      lockEntry.incrementLockCount();
+      return lockEntry;
+    });
+  }
+
+  private void releaseLockEntry(String lockId) {
+    locks.computeIfPresent(lockId, (id, lockEntry) -> {
+      lockEntry.decrementLockCount();
+      return lockEntry.hasPendingLocks() ? lockEntry : null;
+    });
+
+    if (locks.isEmpty()) {
+      synchronized (emptyMonitor) {
+        emptyMonitor.notifyAll();
+      }
+    }
+  }
+
+  private void waitForLocksToBeUnlocked() {
+    long timeOutMillis = currentTimeMillis() + gracefulShutdownTimeoutMillis;
+    synchronized (emptyMonitor) {
+      try {
+        long remainingMillis = timeOutMillis - currentTimeMillis();
+        while (!locks.isEmpty() && remainingMillis > 0) {
+          emptyMonitor.wait(remainingMillis);
+          remainingMillis = timeOutMillis - currentTimeMillis();
+        }
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+      }
+      if (!locks.isEmpty()) {
+        LOGGER.warn("These locks weren't unlocked before disposing its lock group: {}", locks.keySet());
+      }
+    }
+  }
+}
@@ -6,20 +6,29 @@
  */
 package org.mule.runtime.core.internal.management.stats;
 
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.metrics.api.meter.MeterProperties.MULE_METER_ARTIFACT_ID_ATTRIBUTE;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.System.currentTimeMillis;
+import static java.util.Collections.emptyMap;
 
 import org.mule.runtime.core.api.management.stats.ArtifactMeterProvider;
 import org.mule.runtime.core.api.management.stats.ComponentStatistics;
 import org.mule.runtime.core.api.management.stats.FlowConstructStatistics;
 import org.mule.runtime.core.api.management.stats.ResetOnQueryCounter;
 import org.mule.runtime.metrics.api.MeterProvider;
+import org.mule.runtime.metrics.api.instrument.builder.LongGaugeBuilder;
 import org.mule.runtime.metrics.api.meter.Meter;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
 
 public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
 
@@ -34,6 +43,30 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
   public static final String EXECUTION_ERRORS_DESCRIPTION = "Execution Errors";
   public static final String FATAL_ERRORS_NAME = "fatal.errors";
   public static final String FATAL_ERRORS_DESCRIPTION = "Fatal Errors";
+  public static final String PROCESSING_TIME_NAME = "processing.time";
+  public static final String PROCESSING_TIME_DESCRIPTION = "Processing Time (ms)";
+  public static final String PROCESSING_TIME_UNIT = "ms";
+  public static final String PROCESSOR_TIME_NAME = "processor.time";
+  public static final String PROCESSOR_TIME_DESCRIPTION = "Processor Execution Time (us)";
+  public static final String PROCESSOR_TIME_UNIT = "us";
+  public static final String LATENCY_QUANTILE_ATTRIBUTE = "quantile";
+  public static final String PROCESSOR_LOCATION_ATTRIBUTE = "location";
+  public static final String CONCURRENCY_LIMIT_NAME = "concurrency.limit";
+  public static final String CONCURRENCY_LIMIT_DESCRIPTION = "Adaptive Concurrency Limit";
+
+  /**
+   * When set, the distribution of the processing time of each flow and of each of its processors is tracked, so that slow
+   * processors can be found through the statistics or the metrics without attaching a profiler.
+   * <p>
+   * When {@link #trackUsingMeterProvider(ArtifactMeterProvider) tracked through a meter provider}, the p50, p90, p99 and max of
+   * each distribution are exported as gauges with a {@value #LATENCY_QUANTILE_ATTRIBUTE} attribute. The processor distributions
+   * are all exported under {@value #PROCESSOR_TIME_NAME}, with the location of the processor as an attribute.
+   *
+   * @since 4.10
+   */
+  public static final String MULE_ENABLE_LATENCY_STATISTICS = SYSTEM_PROPERTY_PREFIX + "enable.statistics.latency";
+
+  private static final double[] EXPORTED_PERCENTILES = {50, 90, 99};
 
   protected final String flowConstructType;
   protected String name;
@@ -53,6 +86,14 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
   private transient final List<DefaultResetOnQueryCounter> executionErrorsCounters = new CopyOnWriteArrayList<>();
   private transient final List<DefaultResetOnQueryCounter> connectionErrorsCounters = new CopyOnWriteArrayList<>();
   private transient final List<DefaultResetOnQueryCounter> fatalErrorsCounters = new CopyOnWriteArrayList<>();
+  private transient final boolean latencyTrackingEnabled = getBoolean(MULE_ENABLE_LATENCY_STATISTICS);
+  private transient final StripedLatencyHistogram processingTimeHistogram =
+      latencyTrackingEnabled ? new StripedLatencyHistogram() : null;
+  private transient final Map<String, StripedLatencyHistogram> processorTimeHistograms =
+      latencyTrackingEnabled ? new ConcurrentHashMap<>() : null;
+  private transient volatile Meter latencyMeter;
+  private transient Meter meter;
+  private transient IntSupplier concurrencyLimit;
 
   public DefaultFlowConstructStatistics(String flowConstructType, String name) {
     this.name = name;
@@ -116,11 +157,18 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
     if (flowStatistics != null) {
       flowStatistics.clear();
     }
+    if (latencyTrackingEnabled) {
+      processingTimeHistogram.clear();
+      processorTimeHistograms.values().forEach(StripedLatencyHistogram::clear);
+    }
   }
 
   @Override
   public void addCompleteFlowExecutionTime(long time) {
     flowStatistics.addCompleteExecutionTime(time);
+    if (latencyTrackingEnabled && isEnabled()) {
+      processingTimeHistogram.record(time);
+    }
   }
 
   @Override
@@ -128,6 +176,43 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
     flowStatistics.addExecutionBranchTime(time == total, time, total);
   }
 
+  @Override
+  public void addProcessorExecutionTime(String processorPath, long time) {
+    if (latencyTrackingEnabled && isEnabled()) {
+      processorTimeHistograms.computeIfAbsent(processorPath, this::createProcessorTimeHistogram).record(time);
+    }
+  }
+
+  private StripedLatencyHistogram createProcessorTimeHistogram(String processorPath) {
+    StripedLatencyHistogram histogram = new StripedLatencyHistogram();
+    Meter meter = latencyMeter;
+    if (meter != null) {
+      registerProcessorLatencyGauges(meter, processorPath, histogram);
+    }
+    return histogram;
+  }
+
+  @Override
+  public boolean isLatencyTrackingEnabled() {
+    return latencyTrackingEnabled;
+  }
+
+  @Override
+  public long getProcessingTimeAtPercentile(double percentile) {
+    return latencyTrackingEnabled ? processingTimeHistogram.getValueAtPercentile(percentile) : 0;
+  }
+
+  @Override
+  public Map<String, Long> getProcessorExecutionTimesAtPercentile(double percentile) {
+    if (!latencyTrackingEnabled) {
+      return emptyMap();
+    }
+    Map<String, Long> times = new HashMap<>();
+    processorTimeHistograms.forEach((processorPath, histogram) -> times.put(processorPath,
+                                                                            histogram.getValueAtPercentile(percentile)));
+    return times;
+  }
+
   @Override
   public long getAverageProcessingTime() {
     return flowStatistics.getAverageExecutionTime();
@@ -246,11 +331,25 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
     return counter;
   }
 
+  /**
+   * Exports the adaptive concurrency limit of the flow, if the metrics are being tracked.
+   *
+   * @param concurrencyLimit supplier of the current concurrency limit of the flow.
+   * @since 4.10
+   */
+  public synchronized void trackConcurrencyLimit(IntSupplier concurrencyLimit) {
+    this.concurrencyLimit = concurrencyLimit;
+    if (meter != null) {
+      registerConcurrencyLimitGauge(meter, concurrencyLimit);
+    }
+  }
+
   @Override
-  public void trackUsingMeterProvider(ArtifactMeterProvider meterProvider) {
+  public synchronized void trackUsingMeterProvider(ArtifactMeterProvider meterProvider) {
     String artifactId = getName() + "-" + meterProvider.getArtifactId();
 
     Meter meter = getMeter(meterProvider, artifactId);
+    this.meter = meter;
 
     // Register the declared private flows.
     meter.counterBuilder(RECEIVED_EVENTS_NAME)
@@ -280,6 +379,48 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
         .withIncrementAndGetOperation(context -> fatalError.incrementAndGet())
         .withDescription(FATAL_ERRORS_DESCRIPTION).build();
 
+    if (latencyTrackingEnabled) {
+      // Register the processing time distribution, and the one of the processors already executed.
+      // Processors executed from now on are registered when their first execution time is added.
+      latencyMeter = meter;
+      registerLatencyGauges(() -> meter.gaugeBuilder(PROCESSING_TIME_NAME)
+          .withDescription(PROCESSING_TIME_DESCRIPTION)
+          .withUnit(PROCESSING_TIME_UNIT), processingTimeHistogram);
+      processorTimeHistograms
+          .forEach((processorPath, histogram) -> registerProcessorLatencyGauges(meter, processorPath, histogram));
+    }
+
+    if (concurrencyLimit != null) {
+      registerConcurrencyLimitGauge(meter, concurrencyLimit);
+    }
+  }
+
+  private static void registerConcurrencyLimitGauge(Meter meter, IntSupplier concurrencyLimit) {
+    meter.gaugeBuilder(CONCURRENCY_LIMIT_NAME)
+        .withValueSupplier(() -> (long) concurrencyLimit.getAsInt())
+        .withDescription(CONCURRENCY_LIMIT_DESCRIPTION).build();
+  }
+
+  private static void registerProcessorLatencyGauges(Meter meter, String processorPath, StripedLatencyHistogram histogram) {
+    registerLatencyGauges(() -> meter.gaugeBuilder(PROCESSOR_TIME_NAME)
+        .withDescription(PROCESSOR_TIME_DESCRIPTION)
+        .withUnit(PROCESSOR_TIME_UNIT)
+        .withAttribute(PROCESSOR_LOCATION_ATTRIBUTE, processorPath), histogram);
+  }
+
+  /**
+   * Registers the p50, p90, p99 and max of the histogram as series of the same gauge, told apart by their
+   * {@value #LATENCY_QUANTILE_ATTRIBUTE} attribute.
+   */
+  private static void registerLatencyGauges(Supplier<LongGaugeBuilder> gaugeBuilder, StripedLatencyHistogram histogram) {
+    for (double percentile : EXPORTED_PERCENTILES) {
+      gaugeBuilder.get().withAttribute(LATENCY_QUANTILE_ATTRIBUTE, Double.toString(percentile / 100))
+          .withValueSupplier(() -> histogram.getValueAtPercentile(percentile))
+          .build();
+    }
+    gaugeBuilder.get().withAttribute(LATENCY_QUANTILE_ATTRIBUTE, "1.0")
+        .withValueSupplier(histogram::getMax)
+        .build();
   }
 
   private static Meter getMeter(MeterProvider meterProvider, String artifactId) {
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Runtime.getRuntime;
+import static java.lang.Thread.currentThread;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies, with log-linear buckets in the fashion of HdrHistogram.
+ * <p>
+ * Each recording thread updates one of a few stripes, picked from its id, so that concurrent flows do not contend on the same
+ * cache lines. Stripes are merged when the histogram is read, which is expected to happen much less often than recording.
+ * <p>
+ * Values bigger than {@code 2^}{@value #MAX_VALUE_BITS} are accounted in the last bucket.
+ *
+ * @since 4.10
+ */
+public class StripedLatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  static final int MAX_VALUE_BITS = 36;
+  private static final int BUCKETS_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+  private static final int STRIPES_COUNT = min(8, highestOneBit(max(1, getRuntime().availableProcessors())));
+
+  private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES_COUNT];
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  public StripedLatencyHistogram() {
+    for (int i = 0; i < STRIPES_COUNT; i++) {
+      stripes[i] = new AtomicLongArray(BUCKETS_COUNT);
+    }
+  }
+
+  /**
+   * @param value the latency to record. Negative values are ignored.
+   */
+  public void record(long value) {
+    if (value < 0) {
+      return;
+    }
+    stripes[(int) currentThread().getId() & (STRIPES_COUNT - 1)].incrementAndGet(bucketIndex(value));
+    count.increment();
+    sum.add(value);
+    max.accumulate(value);
+  }
+
+  /**
+   * @return the amount of recorded values.
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * @return the sum of the recorded values.
+   */
+  public long getSum() {
+    return sum.sum();
+  }
+
+  /**
+   * @return the max recorded value, or 0 if nothing was recorded.
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * @param percentile the percentile to calculate, between 0 and 100.
+   * @return the highest value equivalent to the value at the given percentile, or 0 if nothing was recorded.
+   */
+  public long getValueAtPercentile(double percentile) {
+    long[] merged = new long[BUCKETS_COUNT];
+    long total = 0;
+    for (AtomicLongArray stripe : stripes) {
+      for (int i = 0; i < BUCKETS_COUNT; i++) {
+        long bucketCount = stripe.get(i);
+        merged[i] += bucketCount;
+        total += bucketCount;
+      }
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    long target = max(1, (long) ceil(min(100.0, percentile) / 100.0 * total));
+    long accumulated = 0;
+    for (int i = 0; i < BUCKETS_COUNT; i++) {
+      accumulated += merged[i];
+      if (accumulated >= target) {
+        return min(highestEquivalentValue(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * Discards all the recorded values.
+   */
+  public void clear() {
+    for (AtomicLongArray stripe : stripes) {
+      for (int i = 0; i < BUCKETS_COUNT; i++) {
+        stripe.set(i, 0);
+      }
+    }
+    count.reset();
+    sum.reset();
+    max.reset();
+  }
+
+  private static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int shift = 63 - numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    if (shift + SUB_BUCKET_BITS >= MAX_VALUE_BITS) {
+      return BUCKETS_COUNT - 1;
+    }
+    return (shift + 1) * SUB_BUCKET_COUNT + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+  }
+
+  private long highestEquivalentValue(int index) {
+    if (index == BUCKETS_COUNT - 1) {
+      return getMax();
+    }
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = index / SUB_BUCKET_COUNT - 1;
+    long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
@@ -6,12 +6,20 @@
  */
 package org.mule.runtime.core.internal.processor.strategy;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
 import static java.lang.Thread.currentThread;
+import static java.util.Optional.ofNullable;
 import static org.mule.runtime.core.api.construct.BackPressureReason.MAX_CONCURRENCY_EXCEEDED;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE_ASYNC;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.DEFAULT_BUFFER_SIZE;
+import static org.mule.runtime.core.internal.processor.strategy.AdaptiveConcurrencyLimiter.ADAPTIVE_CONCURRENCY_MAX_LIMIT_PROPERTY;
+import static org.mule.runtime.core.internal.processor.strategy.AdaptiveConcurrencyLimiter.ADAPTIVE_CONCURRENCY_PROPERTY;
+import static org.mule.runtime.core.internal.processor.strategy.AdaptiveConcurrencyLimiter.DEFAULT_MAX_LIMIT;
 import static org.mule.runtime.core.internal.processor.strategy.util.ProfilingUtils.getArtifactId;
 import static org.mule.runtime.core.internal.processor.strategy.util.ProfilingUtils.getArtifactType;
 
@@ -32,6 +40,7 @@ import org.mule.runtime.core.internal.processor.strategy.enricher.ProcessingType
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.internal.profiling.InternalProfilingService;
 
+import java.util.Optional;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -56,6 +65,7 @@ public abstract class AbstractReactorStreamProcessingStrategy extends AbstractSt
       LOGGER.debug("decremented inFlightEvents={}", decremented);
     }
   };
+  private final AdaptiveConcurrencyLimiter concurrencyLimiter;
 
   private Scheduler cpuLightScheduler;
   private ReactiveProcessorEnricher processorEnricher = null;
@@ -74,6 +84,10 @@ public abstract class AbstractReactorStreamProcessingStrategy extends AbstractSt
     super(subscribers, maxConcurrency, maxConcurrencyEagerCheck, () -> currentThread());
     this.cpuLightSchedulerSupplier = cpuLightSchedulerSupplier;
     this.parallelism = parallelism;
+    this.concurrencyLimiter = getBoolean(ADAPTIVE_CONCURRENCY_PROPERTY)
+        ? new AdaptiveConcurrencyLimiter(min(maxConcurrency, getInteger(ADAPTIVE_CONCURRENCY_MAX_LIMIT_PROPERTY,
+                                                                       DEFAULT_MAX_LIMIT)))
+        : null;
   }
 
   @Override
@@ -110,6 +124,10 @@ public abstract class AbstractReactorStreamProcessingStrategy extends AbstractSt
    * @return true if the event can be accepted for processing
    */
   protected BackPressureReason checkCapacity(CoreEvent event) {
+    if (concurrencyLimiter != null) {
+      return checkAdaptiveCapacity(event);
+    }
+
     if (maxConcurrencyEagerCheck) {
       int incremented = inFlightEvents.incrementAndGet();
       if (LOGGER.isDebugEnabled()) {
@@ -131,6 +149,45 @@ public abstract class AbstractReactorStreamProcessingStrategy extends AbstractSt
     return null;
   }
 
+  private BackPressureReason checkAdaptiveCapacity(CoreEvent event) {
+    int limit = concurrencyLimiter.getLimit();
+    int incremented = inFlightEvents.incrementAndGet();
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("incremented inFlightEvents={}", incremented);
+    }
+    if (incremented > limit) {
+      int decremented = inFlightEvents.decrementAndGet();
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("decremented due to adaptive concurrency limit={} inFlightEvents={}", limit, decremented);
+      }
+      return MAX_CONCURRENCY_EXCEEDED;
+    }
+
+    final long start = nanoTime();
+    ((BaseEventContext) event.getContext()).onBeforeResponse((e, t) -> {
+      concurrencyLimiter.onComplete(nanoTime() - start, inFlightEvents.getAndDecrement());
+    });
+
+    return null;
+  }
+
+  /**
+   * Notifies that an event was rejected because a scheduler required by this processing strategy is busy.
+   */
+  protected void onSchedulerBusy() {
+    if (concurrencyLimiter != null) {
+      concurrencyLimiter.onOverload();
+    }
+  }
+
+  /**
+   * @return the adaptive concurrency limiter of this processing strategy, if
+   *         {@link AdaptiveConcurrencyLimiter#ADAPTIVE_CONCURRENCY_PROPERTY} is set.
+   */
+  public Optional<AdaptiveConcurrencyLimiter> getConcurrencyLimiter() {
+    return ofNullable(concurrencyLimiter);
+  }
+
   protected int getParallelism() {
     return parallelism;
   }
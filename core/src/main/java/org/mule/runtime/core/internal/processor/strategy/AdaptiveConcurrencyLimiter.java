@@ -0,0 +1,154 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+import static java.lang.Runtime.getRuntime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit for a flow that adapts to the observed processing latency, instead of being a fixed {@code maxConcurrency}.
+ * <p>
+ * The latency of the events completed in each sampling window is compared against the lowest latency observed, which
+ * approximates the latency of the flow without load. While the latency stays within a tolerance of that, the limit grows as long
+ * as it is being used. When the latency grows beyond it, because a downstream system slowed down or because events spend more
+ * time queued for a scheduler, the limit shrinks proportionally. A scheduler rejecting tasks also shrinks the limit.
+ * <p>
+ * The limit never goes beyond the {@code maxConcurrency} of the flow, so that flows that rely on a fixed value (for instance,
+ * {@code 1} to process events sequentially) keep their behavior.
+ *
+ * @since 4.10
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  /**
+   * When set, flows with an asynchronous processing strategy limit their concurrency adaptively, up to their
+   * {@code maxConcurrency}.
+   */
+  public static final String ADAPTIVE_CONCURRENCY_PROPERTY = SYSTEM_PROPERTY_PREFIX + "flow.adaptiveConcurrency";
+
+  /**
+   * The maximum limit for flows with no {@code maxConcurrency}.
+   */
+  public static final String ADAPTIVE_CONCURRENCY_MAX_LIMIT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "flow.adaptiveConcurrency.maxLimit";
+
+  static final int DEFAULT_MAX_LIMIT = 1000;
+
+  private static final long SAMPLE_WINDOW_NANOS = MILLISECONDS.toNanos(100);
+  private static final int MIN_SAMPLES_PER_WINDOW = 10;
+  // how much the latency may grow over the no-load latency before the limit shrinks
+  private static final double LATENCY_TOLERANCE = 2.0;
+  private static final double MIN_GRADIENT = 0.5;
+  private static final double OVERLOAD_BACKOFF = 0.9;
+  private static final double SMOOTHING = 0.2;
+  // lets the no-load latency drift upwards, so that a permanent change of the latency of the flow is eventually adopted
+  private static final double NO_LOAD_LATENCY_DRIFT = 0.01;
+
+  private final int maxLimit;
+  private final LongSupplier nanoTimeSupplier;
+
+  private final AtomicBoolean overloaded = new AtomicBoolean();
+  // samples are recorded without contention, a sample recorded while a window closes may be accounted in the next one
+  private final LongAdder samples = new LongAdder();
+  private final LongAdder latencySum = new LongAdder();
+  private final LongAccumulator maxInFlight = new LongAccumulator(Math::max, 0);
+  private final AtomicLong windowEnd;
+
+  // only updated by the thread that closes a window
+  private double noLoadLatency;
+  private volatile double limit;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param maxLimit the maximum value the limit may reach.
+   */
+  public AdaptiveConcurrencyLimiter(int maxLimit) {
+    this(maxLimit, System::nanoTime);
+  }
+
+  AdaptiveConcurrencyLimiter(int maxLimit, LongSupplier nanoTimeSupplier) {
+    if (maxLimit < 1) {
+      throw new IllegalArgumentException("maxLimit must be at least 1");
+    }
+    this.maxLimit = maxLimit;
+    this.nanoTimeSupplier = nanoTimeSupplier;
+    this.limit = min(maxLimit, getRuntime().availableProcessors() * 4);
+    this.windowEnd = new AtomicLong(nanoTimeSupplier.getAsLong() + SAMPLE_WINDOW_NANOS);
+  }
+
+  /**
+   * @return the current concurrency limit.
+   */
+  public int getLimit() {
+    return (int) limit;
+  }
+
+  /**
+   * Records the completion of an event.
+   *
+   * @param latencyNanos the time the event took to be processed, including the time it spent queued.
+   * @param inFlight     the amount of events being processed when the event completed, including it.
+   */
+  public void onComplete(long latencyNanos, int inFlight) {
+    samples.increment();
+    latencySum.add(latencyNanos);
+    maxInFlight.accumulate(inFlight);
+
+    long now = nanoTimeSupplier.getAsLong();
+    long end = windowEnd.get();
+    // only the thread that moves the end of the window forward closes it
+    if (now - end >= 0 && samples.sum() >= MIN_SAMPLES_PER_WINDOW
+        && windowEnd.compareAndSet(end, now + SAMPLE_WINDOW_NANOS)) {
+      closeWindow(samples.sumThenReset(), latencySum.sumThenReset(), maxInFlight.getThenReset());
+    }
+  }
+
+  /**
+   * Records that an event was rejected because a scheduler required by the flow is busy. The limit is shrunk when the current
+   * window closes.
+   */
+  public void onOverload() {
+    overloaded.set(true);
+  }
+
+  private void closeWindow(long windowSamples, long windowLatencySum, long usedLimit) {
+    double latency = (double) windowLatencySum / windowSamples;
+
+    if (noLoadLatency == 0 || latency < noLoadLatency) {
+      noLoadLatency = latency;
+    } else {
+      noLoadLatency += (latency - noLoadLatency) * NO_LOAD_LATENCY_DRIFT;
+    }
+
+    double currentLimit = limit;
+    double newLimit;
+    if (overloaded.getAndSet(false)) {
+      newLimit = currentLimit * OVERLOAD_BACKOFF;
+    } else {
+      double gradient = max(MIN_GRADIENT, min(1.0, LATENCY_TOLERANCE * noLoadLatency / latency));
+      double targetLimit = currentLimit * gradient;
+      // only grow a limit that is being used, otherwise it would grow unbounded while the flow is idle
+      if (gradient == 1.0 && usedLimit * 2 >= currentLimit) {
+        targetLimit += sqrt(currentLimit);
+      }
+      newLimit = currentLimit + (targetLimit - currentLimit) * SMOOTHING;
+    }
+
+    limit = max(1, min(maxLimit, newLimit));
+  }
+}
@@ -50,10 +50,7 @@ public class ProactorStreamEmitterProcessingStrategyFactory extends AbstractStre
                                                        getSubscriberCount(),
                                                        cpuLightSchedulerSupplier,
                                                        cpuLightSchedulerSupplier,
-                                                       () -> muleContext.getSchedulerService()
-                                                           .ioScheduler(muleContext.getSchedulerBaseConfig()
-                                                               .withName(
-                                                                         schedulersNamePrefix + "." + BLOCKING.name())),
+                                                       getBlockingSchedulerSupplier(muleContext, schedulersNamePrefix),
                                                        () -> muleContext.getSchedulerService()
                                                            .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
                                                                .withName(schedulersNamePrefix + "."
@@ -64,6 +61,21 @@ public class ProactorStreamEmitterProcessingStrategyFactory extends AbstractStre
                                                        () -> muleContext.getConfiguration().getShutdownTimeout());
   }
 
+  /**
+   * Provides the {@link Scheduler} to run {@link ReactiveProcessor.ProcessingType#BLOCKING} and
+   * {@link ReactiveProcessor.ProcessingType#IO_RW} processors on.
+   *
+   * @param muleContext          the {@link MuleContext} of the artifact
+   * @param schedulersNamePrefix the prefix for the names of the schedulers of the processing strategy
+   * @return a {@link Supplier} of the blocking {@link Scheduler}
+   * @since 4.10
+   */
+  protected Supplier<Scheduler> getBlockingSchedulerSupplier(MuleContext muleContext, String schedulersNamePrefix) {
+    return () -> muleContext.getSchedulerService()
+        .ioScheduler(muleContext.getSchedulerBaseConfig()
+            .withName(schedulersNamePrefix + "." + BLOCKING.name()));
+  }
+
   @Override
   public Class<? extends ProcessingStrategy> getProcessingStrategyType() {
     return ProactorStreamEmitterProcessingStrategy.class;
@@ -346,6 +346,7 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
             // processed right away
             if (queuedEvents.incrementAndGet() > getBufferQueueSize()) {
               queuedEvents.decrementAndGet();
+              onSchedulerBusy();
               return REQUIRED_SCHEDULER_BUSY_WITH_FULL_BUFFER;
             }
 
@@ -353,6 +354,7 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
             // in an async, for instance)
             ((BaseEventContext) event.getContext()).onResponse(queuedDecrementCallback);
           } else {
+            onSchedulerBusy();
             return REQUIRED_SCHEDULER_BUSY;
           }
         }
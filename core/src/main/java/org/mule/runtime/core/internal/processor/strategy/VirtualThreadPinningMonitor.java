@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.time.Duration.ofMillis;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+import org.slf4j.Logger;
+
+/**
+ * Detects virtual threads being pinned to their carrier thread, which happens when they block while holding a monitor or inside
+ * native code, preventing the carrier from running other virtual threads.
+ * <p>
+ * Detection relies on the {@code jdk.VirtualThreadPinned} JFR event. A warning is logged the first time a pinning is detected at
+ * a given location.
+ * <p>
+ * Events are only recorded while some {@link VirtualThreadScheduler} holds the monitor, see {@link #acquire()}. This class is
+ * only loaded reflectively, as the {@code jdk.jfr} module is an optional dependency of the runtime.
+ *
+ * @since 4.10
+ */
+final class VirtualThreadPinningMonitor {
+
+  private static final Logger LOGGER = getLogger(VirtualThreadPinningMonitor.class);
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final Duration PINNED_THRESHOLD = ofMillis(20);
+  private static final int MAX_REPORTED_LOCATIONS = 100;
+  private static final int MAX_LOGGED_FRAMES = 16;
+
+  private static final LongAdder pinnedCount = new LongAdder();
+  private static final Set<String> reportedLocations = ConcurrentHashMap.newKeySet();
+
+  // guarded by the class lock
+  private static RecordingStream stream;
+  private static int holders;
+
+  private VirtualThreadPinningMonitor() {
+    // Nothing to do
+  }
+
+  /**
+   * Starts listening for pinning events if this is the first holder of the monitor. Listening stops once every holder has
+   * released the monitor.
+   *
+   * @return a {@link Runnable} that releases the monitor for the caller. Running it more than once has no effect.
+   */
+  static synchronized Runnable acquire() {
+    if (holders++ == 0) {
+      stream = start();
+    }
+
+    AtomicBoolean released = new AtomicBoolean();
+    return () -> {
+      if (released.compareAndSet(false, true)) {
+        release();
+      }
+    };
+  }
+
+  private static synchronized void release() {
+    if (--holders == 0 && stream != null) {
+      stream.close();
+      stream = null;
+    }
+  }
+
+  private static RecordingStream start() {
+    RecordingStream recordingStream = null;
+    try {
+      recordingStream = new RecordingStream();
+      recordingStream.enable(PINNED_EVENT).withThreshold(PINNED_THRESHOLD).withStackTrace();
+      recordingStream.onEvent(PINNED_EVENT, VirtualThreadPinningMonitor::onPinned);
+      recordingStream.startAsync();
+      return recordingStream;
+    } catch (RuntimeException e) {
+      if (recordingStream != null) {
+        recordingStream.close();
+      }
+      LOGGER.warn("Could not start the detection of pinned virtual threads: {}", e.getMessage());
+      LOGGER.debug("Could not start the detection of pinned virtual threads", e);
+      return null;
+    }
+  }
+
+  private static void onPinned(RecordedEvent event) {
+    pinnedCount.increment();
+
+    RecordedStackTrace stackTrace = event.getStackTrace();
+    if (stackTrace == null) {
+      return;
+    }
+
+    List<RecordedFrame> frames = stackTrace.getFrames();
+    String location = getLocation(frames);
+    if (reportedLocations.size() < MAX_REPORTED_LOCATIONS && reportedLocations.add(location)) {
+      StringBuilder stack = new StringBuilder();
+      for (int i = 0; i < frames.size() && i < MAX_LOGGED_FRAMES; ++i) {
+        stack.append(System.lineSeparator()).append("\tat ").append(describe(frames.get(i)));
+      }
+      LOGGER.warn("A virtual thread was pinned to its carrier thread for {} ms at {}. Avoid blocking inside synchronized blocks "
+          + "or native calls in BLOCKING and IO_RW processors.{}", event.getDuration().toMillis(), location, stack);
+    }
+  }
+
+  private static String getLocation(List<RecordedFrame> frames) {
+    for (RecordedFrame frame : frames) {
+      String type = frame.getMethod().getType().getName();
+      if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+        return describe(frame);
+      }
+    }
+    return frames.isEmpty() ? "unknown location" : describe(frames.get(0));
+  }
+
+  private static String describe(RecordedFrame frame) {
+    return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+  }
+
+  /**
+   * @return the amount of times a virtual thread was detected to be pinned to its carrier thread.
+   */
+  static long getPinnedCount() {
+    return pinnedCount.sum();
+  }
+}
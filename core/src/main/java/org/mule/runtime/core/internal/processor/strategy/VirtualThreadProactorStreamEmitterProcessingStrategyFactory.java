@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.mule.runtime.core.internal.processor.strategy.VirtualThreadScheduler.DEFAULT_MAX_CONCURRENCY;
+import static org.mule.runtime.core.internal.processor.strategy.VirtualThreadScheduler.VIRTUAL_THREADS_MAX_CONCURRENCY_PROPERTY;
+
+import static java.lang.Integer.getInteger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+/**
+ * Creates a processing strategy with same behavior as {@link TransactionAwareProactorStreamEmitterProcessingStrategyFactory}
+ * apart from the fact that {@link ReactiveProcessor.ProcessingType#BLOCKING} and {@link ReactiveProcessor.ProcessingType#IO_RW}
+ * processors are run on virtual threads instead of the IO scheduler, so that processors waiting on remote IO don't exhaust a pool
+ * of platform threads.
+ * <p>
+ * The amount of such processors running at the same time for each flow is limited by
+ * {@link VirtualThreadScheduler#VIRTUAL_THREADS_MAX_CONCURRENCY_PROPERTY}. Pinning of the virtual threads to their carrier thread
+ * is reported in the logs.
+ * <p>
+ * Virtual threads are only available since Java 21. On earlier versions this behaves exactly as
+ * {@link TransactionAwareProactorStreamEmitterProcessingStrategyFactory}.
+ *
+ * @since 4.10
+ */
+public class VirtualThreadProactorStreamEmitterProcessingStrategyFactory
+    extends TransactionAwareProactorStreamEmitterProcessingStrategyFactory {
+
+  private static final Logger LOGGER = getLogger(VirtualThreadProactorStreamEmitterProcessingStrategyFactory.class);
+
+  @Override
+  protected Supplier<Scheduler> getBlockingSchedulerSupplier(MuleContext muleContext, String schedulersNamePrefix) {
+    final Supplier<Scheduler> ioSchedulerSupplier = super.getBlockingSchedulerSupplier(muleContext, schedulersNamePrefix);
+    if (!VirtualThreadScheduler.isSupported()) {
+      LOGGER.warn("Virtual threads are not available in this JVM. Blocking processors of '{}' will run on the IO scheduler.",
+                  schedulersNamePrefix);
+      return ioSchedulerSupplier;
+    }
+
+    final int maxConcurrency = getInteger(VIRTUAL_THREADS_MAX_CONCURRENCY_PROPERTY, DEFAULT_MAX_CONCURRENCY);
+    return () -> new VirtualThreadScheduler(schedulersNamePrefix + "." + BLOCKING.name(), maxConcurrency,
+                                            muleContext.getConfiguration().getShutdownTimeout(), ioSchedulerSupplier);
+  }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodHandles.publicLookup;
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.util.LazyValue;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link Scheduler} that runs each task in a new virtual thread, limiting the amount of tasks running at the same time.
+ * <p>
+ * Virtual threads are available since Java 21, so they are created through method handles since the runtime is compiled for an
+ * earlier version. {@link #isSupported()} tells whether they are available in the running JVM.
+ * <p>
+ * Delayed and periodic tasks are delegated to another {@link Scheduler}, in whose threads they run. That {@link Scheduler} is only
+ * created when the first of such tasks is scheduled.
+ * <p>
+ * Pinning of virtual threads is reported by a {@code VirtualThreadPinningMonitor} while any instance is running. The monitor is
+ * loaded reflectively, since the {@code jdk.jfr} module it relies on may not be present in the runtime.
+ *
+ * @since 4.10
+ */
+final class VirtualThreadScheduler extends AbstractExecutorService implements Scheduler {
+
+  /**
+   * The maximum amount of tasks that each {@link VirtualThreadScheduler} runs at the same time. Further tasks are rejected until
+   * a running one finishes.
+   */
+  public static final String VIRTUAL_THREADS_MAX_CONCURRENCY_PROPERTY = SYSTEM_PROPERTY_PREFIX + "virtualThreads.maxConcurrency";
+
+  /**
+   * When set, no warnings are logged when a virtual thread is pinned to its carrier thread.
+   */
+  public static final String DISABLE_PINNING_DETECTION_PROPERTY = SYSTEM_PROPERTY_PREFIX + "virtualThreads.disablePinningDetection";
+
+  static final int DEFAULT_MAX_CONCURRENCY = 10000;
+
+  private static final Logger LOGGER = getLogger(VirtualThreadScheduler.class);
+
+  private static final String JFR_MODULE = "jdk.jfr";
+  private static final String PINNING_MONITOR_CLASS = "org.mule.runtime.core.internal.processor.strategy.VirtualThreadPinningMonitor";
+
+  private static final MethodHandle OF_VIRTUAL;
+  private static final MethodHandle NAME;
+  private static final MethodHandle FACTORY;
+
+  static {
+    MethodHandle ofVirtual = null;
+    MethodHandle name = null;
+    MethodHandle factory = null;
+    try {
+      Lookup lookup = publicLookup();
+      Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+      Class<?> ofVirtualType = Class.forName("java.lang.Thread$Builder$OfVirtual");
+      ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", methodType(ofVirtualType));
+      name = lookup.findVirtual(ofVirtualType, "name", methodType(ofVirtualType, String.class, long.class));
+      factory = lookup.findVirtual(builderType, "factory", methodType(ThreadFactory.class));
+    } catch (ReflectiveOperationException e) {
+      // Running on a JVM without virtual threads
+      ofVirtual = null;
+    }
+
+    OF_VIRTUAL = ofVirtual;
+    NAME = name;
+    FACTORY = factory;
+  }
+
+  /**
+   * @return whether virtual threads are available in the running JVM.
+   */
+  static boolean isSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  private final String name;
+  private final int maxConcurrency;
+  private final long shutdownTimeoutMillis;
+  private final LazyValue<Scheduler> delayScheduler;
+  private final ThreadFactory threadFactory;
+  private final Runnable pinningMonitorRelease;
+  private final Semaphore permits;
+  private final Set<Thread> runningThreads = ConcurrentHashMap.newKeySet();
+  private final Object terminationLock = new Object();
+
+  private volatile boolean shutdown;
+
+  /**
+   * Creates a new instance
+   *
+   * @param name                   the name of this scheduler, used as prefix for the names of its threads
+   * @param maxConcurrency         the maximum amount of tasks to run at the same time
+   * @param shutdownTimeoutMillis  the time {@link #stop()} waits for running tasks to finish before interrupting them
+   * @param delaySchedulerSupplier provides the {@link Scheduler} to delegate delayed and periodic tasks to
+   * @throws IllegalStateException if virtual threads are not available in the running JVM
+   */
+  VirtualThreadScheduler(String name, int maxConcurrency, long shutdownTimeoutMillis,
+                         Supplier<Scheduler> delaySchedulerSupplier) {
+    if (!isSupported()) {
+      throw new IllegalStateException("Virtual threads are not available in this JVM");
+    }
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be greater than 0");
+    }
+
+    this.name = name;
+    this.maxConcurrency = maxConcurrency;
+    this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    this.delayScheduler = new LazyValue<>(delaySchedulerSupplier);
+    this.threadFactory = createThreadFactory(name + "-");
+    this.permits = new Semaphore(maxConcurrency);
+    this.pinningMonitorRelease = acquirePinningMonitor();
+  }
+
+  private static Runnable acquirePinningMonitor() {
+    if (getBoolean(DISABLE_PINNING_DETECTION_PROPERTY)) {
+      return () -> {
+      };
+    }
+
+    Optional<Module> jfrModule = ModuleLayer.boot().findModule(JFR_MODULE);
+    if (jfrModule.isEmpty()) {
+      LOGGER.debug("Module '{}' is not available, pinning of virtual threads will not be detected", JFR_MODULE);
+      return () -> {
+      };
+    }
+
+    try {
+      // jdk.jfr is an optional dependency, so it's only read if present
+      VirtualThreadScheduler.class.getModule().addReads(jfrModule.get());
+      return (Runnable) lookup().findStatic(Class.forName(PINNING_MONITOR_CLASS), "acquire", methodType(Runnable.class))
+          .invoke();
+    } catch (Throwable t) {
+      LOGGER.warn("Could not start the detection of pinned virtual threads: {}", t.toString());
+      LOGGER.debug("Could not start the detection of pinned virtual threads", t);
+      return () -> {
+      };
+    }
+  }
+
+  private static ThreadFactory createThreadFactory(String namePrefix) {
+    try {
+      Object builder = OF_VIRTUAL.invoke();
+      builder = NAME.invoke(builder, namePrefix, 0L);
+      return (ThreadFactory) FACTORY.invoke(builder);
+    } catch (Throwable t) {
+      throw new IllegalStateException("Could not create a virtual thread factory", t);
+    }
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (shutdown) {
+      throw new RejectedExecutionException(format("Scheduler '%s' is shutdown", name));
+    }
+    if (!permits.tryAcquire()) {
+      throw new RejectedExecutionException(format("Scheduler '%s' is already running %d tasks", name, maxConcurrency));
+    }
+
+    Thread thread = null;
+    try {
+      thread = threadFactory.newThread(() -> run(command));
+      runningThreads.add(thread);
+      thread.start();
+    } catch (Throwable t) {
+      if (thread != null) {
+        runningThreads.remove(thread);
+      }
+      permits.release();
+      throw new RejectedExecutionException(format("Could not start a virtual thread for scheduler '%s'", name), t);
+    }
+  }
+
+  private void run(Runnable command) {
+    try {
+      command.run();
+    } finally {
+      runningThreads.remove(currentThread());
+      permits.release();
+      if (shutdown && runningThreads.isEmpty()) {
+        synchronized (terminationLock) {
+          terminationLock.notifyAll();
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the amount of tasks currently running.
+   */
+  int getActiveCount() {
+    return maxConcurrency - permits.availablePermits();
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    return delayScheduler.get().schedule(command, delay, unit);
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    return delayScheduler.get().schedule(callable, delay, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+    return delayScheduler.get().scheduleAtFixedRate(command, initialDelay, period, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+    return delayScheduler.get().scheduleWithFixedDelay(command, initialDelay, delay, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression) {
+    return delayScheduler.get().scheduleWithCronExpression(command, cronExpression);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression, TimeZone timeZone) {
+    return delayScheduler.get().scheduleWithCronExpression(command, cronExpression, timeZone);
+  }
+
+  /**
+   * Stops accepting tasks and waits for the running ones to finish, interrupting them if they don't finish within the shutdown
+   * timeout.
+   */
+  @Override
+  public void stop() {
+    shutdown();
+    try {
+      if (!awaitTermination(shutdownTimeoutMillis, MILLISECONDS)) {
+        LOGGER.warn("Scheduler '{}' didn't finish its running tasks within {} ms, interrupting them", name,
+                    shutdownTimeoutMillis);
+        shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+      shutdownNow();
+    } finally {
+      delayScheduler.ifComputed(Scheduler::stop);
+    }
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    pinningMonitorRelease.run();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown();
+    for (Thread thread : runningThreads) {
+      thread.interrupt();
+    }
+    return emptyList();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return shutdown && runningThreads.isEmpty();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    final long deadline = nanoTime() + unit.toNanos(timeout);
+    synchronized (terminationLock) {
+      while (!isTerminated()) {
+        long remainingMillis = NANOSECONDS.toMillis(deadline - nanoTime());
+        if (remainingMillis <= 0) {
+          return false;
+        }
+        terminationLock.wait(remainingMillis);
+      }
+      return true;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "VirtualThreadScheduler{" + name + "}";
+  }
+}
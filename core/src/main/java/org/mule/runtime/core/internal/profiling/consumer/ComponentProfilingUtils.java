@@ -20,6 +20,7 @@ import org.mule.runtime.api.profiling.type.context.ComponentProfilingEventContex
 import org.mule.runtime.api.profiling.type.context.ComponentThreadingProfilingEventContext;
 import org.mule.runtime.api.profiling.type.context.TaskSchedulingProfilingEventContext;
 import org.mule.runtime.api.profiling.type.context.TransactionProfilingEventContext;
+import org.mule.runtime.core.internal.profiling.context.DefaultByteBufferManagerEventContext;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -43,6 +44,9 @@ public class ComponentProfilingUtils {
   public static final String TASK_ID_KEY = "taskId";
   public static final String BYTE_BUFFER_PROVIDER_NAME = "BYTE_BUFFER_PROVIDER_NAME";
   public static final String BYTES_SIZE = "BYTES_SIZE";
+  public static final String BYTE_BUFFER_POOL_HITS = "BYTE_BUFFER_POOL_HITS";
+  public static final String BYTE_BUFFER_POOL_MISSES = "BYTE_BUFFER_POOL_MISSES";
+  public static final String BYTE_BUFFER_FRAGMENTED_BYTES = "BYTE_BUFFER_FRAGMENTED_BYTES";
   public static final String TX_ACTION = "action";
   public static final String TX_TYPE = "type";
   public static final String TX_CREATION_LOCATION = "createdIn";
@@ -73,6 +77,11 @@ public class ComponentProfilingUtils {
     profilingDataMap.put(BYTE_BUFFER_PROVIDER_NAME, profilingEventContext.getByteBufferProviderName());
     profilingDataMap.put(BYTES_SIZE, String.valueOf(profilingEventContext.size()));
     profilingDataMap.put(PROFILING_EVENT_TIMESTAMP_KEY, valueOf(profilingEventContext.getTriggerTimestamp()));
+    if (profilingEventContext instanceof DefaultByteBufferManagerEventContext managerEventContext) {
+      profilingDataMap.put(BYTE_BUFFER_POOL_HITS, valueOf(managerEventContext.getHits()));
+      profilingDataMap.put(BYTE_BUFFER_POOL_MISSES, valueOf(managerEventContext.getMisses()));
+      profilingDataMap.put(BYTE_BUFFER_FRAGMENTED_BYTES, valueOf(managerEventContext.getFragmentedBytes()));
+    }
     return profilingDataMap;
   }
 
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.context;
+
+import org.mule.runtime.api.profiling.type.context.ByteBufferProviderEventContext;
+
+/**
+ * A {@link ByteBufferProviderEventContext} for buffers allocated or freed by a
+ * {@link org.mule.runtime.core.api.streaming.bytes.ByteBufferManager}.
+ * <p>
+ * Along with the allocated or freed size, it carries the pool counters of the manager at the time of the event.
+ *
+ * @since 4.10
+ */
+public class DefaultByteBufferManagerEventContext implements ByteBufferProviderEventContext {
+
+  private final String byteBufferProviderName;
+  private final long triggerTimestamp;
+  private final int size;
+  private final long hits;
+  private final long misses;
+  private final long fragmentedBytes;
+
+  public DefaultByteBufferManagerEventContext(String byteBufferProviderName, long triggerTimestamp, int size, long hits,
+                                              long misses, long fragmentedBytes) {
+    this.byteBufferProviderName = byteBufferProviderName;
+    this.triggerTimestamp = triggerTimestamp;
+    this.size = size;
+    this.hits = hits;
+    this.misses = misses;
+    this.fragmentedBytes = fragmentedBytes;
+  }
+
+  @Override
+  public long getTriggerTimestamp() {
+    return triggerTimestamp;
+  }
+
+  @Override
+  public String getByteBufferProviderName() {
+    return byteBufferProviderName;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return how many allocations were served by a pooled buffer
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * @return how many allocations required a new buffer
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * @return the amount of bytes lost because the buffers in use are bigger than what was requested
+   */
+  public long getFragmentedBytes() {
+    return fragmentedBytes;
+  }
+}
@@ -0,0 +1,913 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.util.IOUtils.toByteArray;
+
+import static java.lang.Double.doubleToRawLongBits;
+import static java.lang.Double.longBitsToDouble;
+import static java.lang.Float.floatToRawIntBits;
+import static java.lang.Float.intBitsToFloat;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.copyOfRange;
+import static java.util.Collections.emptyMap;
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.api.message.ItemSequenceInfo;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.security.SecurityContext;
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.internal.event.DefaultEventBuilder;
+import org.mule.runtime.core.internal.event.DefaultEventBuilder.InternalEventImplementation;
+import org.mule.runtime.core.internal.message.DefaultMessageBuilder;
+import org.mule.runtime.core.internal.message.DefaultMessageBuilder.MessageImplementation;
+import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition.StoreValue;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.runtime.core.privileged.metadata.SimpleDataType;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * {@link SerializationProtocol} with a compact, schema-less binary encoding.
+ * <p>
+ * Primitive wrappers, {@link String strings} and byte arrays are written with a one byte tag followed by their value, using
+ * variable length encoding for integral numbers. Other types are written by the {@link Codec} registered for their exact class,
+ * identified by its name the first time it appears in the output and by an index into a dictionary of class names afterwards.
+ * Values of any other type, or nested deeper than a fixed limit, are written with a fallback {@link SerializationProtocol},
+ * usually based on Java serialization.
+ * <p>
+ * Contrary to Java serialization, references to the same instance are not preserved, so each occurrence of an object is written
+ * and read as a distinct value.
+ * <p>
+ * Data written by the fallback protocol with Java serialization, such as the contents of a persistent object store written
+ * before switching to this protocol, can still be read by this protocol. Conversely, the protocols based on Java serialization
+ * read data written by this protocol after switching back to them, see {@link #isCompactFormat(InputStream)}.
+ *
+ * @since 4.10
+ */
+public class CompactSerializationProtocol extends AbstractSerializationProtocol {
+
+  /**
+   * When set, the internal {@link SerializationProtocol} of the artifacts, used for persisting object stores and queues, is a
+   * {@link CompactSerializationProtocol}.
+   */
+  public static final String COMPACT_SERIALIZATION_PROPERTY = SYSTEM_PROPERTY_PREFIX + "serialization.compact";
+
+  private static final byte MAGIC = 'M';
+  private static final byte VERSION = 1;
+
+  private static final byte JAVA_STREAM_MAGIC_0 = (byte) 0xAC;
+  private static final byte JAVA_STREAM_MAGIC_1 = (byte) 0xED;
+
+  private static final int NULL = 0;
+  private static final int TRUE = 1;
+  private static final int FALSE = 2;
+  private static final int INT = 3;
+  private static final int LONG = 4;
+  private static final int DOUBLE = 5;
+  private static final int FLOAT = 6;
+  private static final int SHORT = 7;
+  private static final int BYTE = 8;
+  private static final int CHAR = 9;
+  private static final int STRING = 10;
+  private static final int BYTES = 11;
+  private static final int CODEC = 12;
+  private static final int SERIALIZED = 13;
+
+  private static final int MAX_DEPTH = 64;
+
+  private static final Map<Class<?>, Codec<?>> SHARED_CODECS_BY_TYPE = new ConcurrentHashMap<>();
+  private static final Map<String, Codec<?>> SHARED_CODECS_BY_NAME = new ConcurrentHashMap<>();
+
+  private final SerializationProtocol fallback;
+  private final ClassLoader executionClassLoader;
+  private final Map<Class<?>, Codec<?>> codecsByType = new ConcurrentHashMap<>();
+  private final Map<String, Codec<?>> codecsByName = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance
+   *
+   * @param fallback             the {@link SerializationProtocol} to use for values with no registered {@link Codec}
+   * @param executionClassLoader the {@link ClassLoader} to use when none is given for deserializing
+   */
+  public CompactSerializationProtocol(SerializationProtocol fallback, ClassLoader executionClassLoader) {
+    this.fallback = requireNonNull(fallback, "fallback cannot be null");
+    this.executionClassLoader = requireNonNull(executionClassLoader, "executionClassLoader cannot be null");
+    registerDefaultCodecs();
+  }
+
+  /**
+   * Registers the {@link Codec} to use for values of exactly the given {@code type}. Values of subclasses of {@code type} are not
+   * handled by {@code codec}.
+   * <p>
+   * Data written with a {@link Codec} can only be read by a protocol which has a {@link Codec} registered for the same type.
+   *
+   * @param type  the type of the values to be handled by {@code codec}
+   * @param codec the {@link Codec}
+   * @param <T>   the generic type of the values
+   */
+  public <T> void registerCodec(Class<T> type, Codec<T> codec) {
+    codecsByType.put(type, codec);
+    codecsByName.put(type.getName(), codec);
+  }
+
+  /**
+   * Registers the {@link Codec} to use for values of exactly the given {@code type} in every instance of this protocol, for types
+   * of the runtime which are not visible from this module. A {@link Codec} registered in an instance with
+   * {@link #registerCodec(Class, Codec)} takes precedence over a shared one.
+   *
+   * @param type  the type of the values to be handled by {@code codec}
+   * @param codec the {@link Codec}
+   * @param <T>   the generic type of the values
+   */
+  public static <T> void registerSharedCodec(Class<T> type, Codec<T> codec) {
+    SHARED_CODECS_BY_TYPE.put(type, codec);
+    SHARED_CODECS_BY_NAME.put(type.getName(), codec);
+  }
+
+  /**
+   * Tells whether the data in the given {@code inputStream} was written by a {@link CompactSerializationProtocol}, so protocols
+   * based on Java serialization can still read it after this protocol is disabled. Nothing is consumed from the stream.
+   *
+   * @param inputStream the stream to check, must {@link InputStream#markSupported() support mark}
+   * @return whether the stream starts with the header of this protocol
+   * @throws IOException if the stream could not be read
+   */
+  public static boolean isCompactFormat(InputStream inputStream) throws IOException {
+    inputStream.mark(1);
+    try {
+      return inputStream.read() == MAGIC;
+    } finally {
+      inputStream.reset();
+    }
+  }
+
+  private Codec<?> codecFor(Class<?> type) {
+    Codec<?> codec = codecsByType.get(type);
+    return codec != null ? codec : SHARED_CODECS_BY_TYPE.get(type);
+  }
+
+  private Codec<?> codecFor(String className) {
+    Codec<?> codec = codecsByName.get(className);
+    return codec != null ? codec : SHARED_CODECS_BY_NAME.get(className);
+  }
+
+  private void registerDefaultCodecs() {
+    registerCollectionCodec(ArrayList.class, ArrayList::new);
+    registerCollectionCodec(LinkedList.class, size -> new LinkedList<>());
+    registerCollectionCodec(HashSet.class, size -> new HashSet<>(capacityFor(size)));
+    registerCollectionCodec(LinkedHashSet.class, size -> new LinkedHashSet<>(capacityFor(size)));
+    registerMapCodec(HashMap.class, size -> new HashMap<>(capacityFor(size)));
+    registerMapCodec(LinkedHashMap.class, size -> new LinkedHashMap<>(capacityFor(size)));
+
+    registerCodec(AtomicBoolean.class, new Codec<AtomicBoolean>() {
+
+      @Override
+      public void write(AtomicBoolean value, Writer writer) {
+        writer.writeBoolean(value.get());
+      }
+
+      @Override
+      public AtomicBoolean read(Reader reader) throws IOException {
+        return new AtomicBoolean(reader.readBoolean());
+      }
+    });
+    registerCodec(AtomicInteger.class, new Codec<AtomicInteger>() {
+
+      @Override
+      public void write(AtomicInteger value, Writer writer) {
+        writer.writeInt(value.get());
+      }
+
+      @Override
+      public AtomicInteger read(Reader reader) throws IOException {
+        return new AtomicInteger(reader.readInt());
+      }
+    });
+    registerCodec(AtomicLong.class, new Codec<AtomicLong>() {
+
+      @Override
+      public void write(AtomicLong value, Writer writer) {
+        writer.writeLong(value.get());
+      }
+
+      @Override
+      public AtomicLong read(Reader reader) throws IOException {
+        return new AtomicLong(reader.readLong());
+      }
+    });
+    registerCodec(BigInteger.class, new Codec<BigInteger>() {
+
+      @Override
+      public void write(BigInteger value, Writer writer) {
+        writer.writeBytes(value.toByteArray());
+      }
+
+      @Override
+      public BigInteger read(Reader reader) throws IOException {
+        return new BigInteger(reader.readBytes());
+      }
+    });
+    registerCodec(BigDecimal.class, new Codec<BigDecimal>() {
+
+      @Override
+      public void write(BigDecimal value, Writer writer) {
+        writer.writeBytes(value.unscaledValue().toByteArray());
+        writer.writeInt(value.scale());
+      }
+
+      @Override
+      public BigDecimal read(Reader reader) throws IOException {
+        return new BigDecimal(new BigInteger(reader.readBytes()), reader.readInt());
+      }
+    });
+    registerCodec(Date.class, new Codec<Date>() {
+
+      @Override
+      public void write(Date value, Writer writer) {
+        writer.writeLong(value.getTime());
+      }
+
+      @Override
+      public Date read(Reader reader) throws IOException {
+        return new Date(reader.readLong());
+      }
+    });
+    registerCodec(StoreValue.class, new Codec<StoreValue>() {
+
+      @Override
+      public void write(StoreValue value, Writer writer) throws IOException {
+        writer.writeValue(value.getKey());
+        writer.writeValue(value.getValue());
+      }
+
+      @Override
+      public StoreValue read(Reader reader) throws IOException {
+        return new StoreValue<>((Serializable) reader.readValue(), reader.readValue());
+      }
+    });
+    registerCodec(TypedValue.class, new Codec<TypedValue>() {
+
+      @Override
+      public void write(TypedValue value, Writer writer) throws IOException {
+        writer.writeValue(value.getValue());
+        writer.writeValue(value.getDataType());
+        OptionalLong length = value.getByteLength();
+        writer.writeBoolean(length.isPresent());
+        if (length.isPresent()) {
+          writer.writeLong(length.getAsLong());
+        }
+      }
+
+      @Override
+      public TypedValue read(Reader reader) throws IOException {
+        Object value = reader.readValue();
+        DataType dataType = (DataType) reader.readValue();
+        OptionalLong length = reader.readBoolean() ? OptionalLong.of(reader.readLong()) : OptionalLong.empty();
+        return new TypedValue<>(value, dataType, length);
+      }
+    });
+    registerCodec(SimpleDataType.class, new Codec<SimpleDataType>() {
+
+      @Override
+      public void write(SimpleDataType value, Writer writer) {
+        writer.writeClass(value.getType());
+        writer.writeString(value.getMediaType().toRfcString());
+      }
+
+      @Override
+      public SimpleDataType read(Reader reader) throws IOException {
+        return (SimpleDataType) DataType.builder().type(reader.readClass()).mediaType(reader.readString()).build();
+      }
+    });
+    registerCodec(MessageImplementation.class, new Codec<MessageImplementation>() {
+
+      @Override
+      public void write(MessageImplementation value, Writer writer) throws IOException {
+        Object payload = value.getPayload().getValue();
+        if (payload == null || payload instanceof Serializable || codecFor(payload.getClass()) != null) {
+          writer.writeBoolean(true);
+          writer.writeValue(value.getPayload());
+          writer.writeValue(value.getAttributes());
+        } else {
+          // the fallback protocol knows how to transform a payload which is not serializable
+          writer.writeBoolean(false);
+          writer.writeBytes(fallback.serialize(value));
+        }
+      }
+
+      @Override
+      public MessageImplementation read(Reader reader) throws IOException {
+        if (!reader.readBoolean()) {
+          return fallback.deserialize(reader.readBytes(), reader.classLoader);
+        }
+        TypedValue<?> payload = (TypedValue<?>) reader.readValue();
+        TypedValue<?> attributes = (TypedValue<?>) reader.readValue();
+        return (MessageImplementation) new DefaultMessageBuilder().payload(payload).attributes(attributes).build();
+      }
+    });
+    registerCodec(InternalEventImplementation.class, new Codec<InternalEventImplementation>() {
+
+      @Override
+      public void write(InternalEventImplementation value, Writer writer) throws IOException {
+        writer.writeValue(value.getContext());
+        writer.writeValue(value.getMessage());
+        writeTypedValues(value.getVariables(), writer);
+        writeTypedValues(value.getParameters(), writer);
+        Map<String, String> loggingVariables = value.getLoggingVariables().orElse(emptyMap());
+        writer.writeVarInt(loggingVariables.size());
+        for (Map.Entry<String, String> entry : loggingVariables.entrySet()) {
+          writer.writeString(entry.getKey());
+          writer.writeString(entry.getValue());
+        }
+        writer.writeValue(value.getSecurityContext());
+        writer.writeValue(value.getItemSequenceInfo().orElse(null));
+        writer.writeValue(value.getError().orElse(null));
+        writer.writeValue(value.getLegacyCorrelationId());
+        writer.writeBoolean(value.isNotificationsEnabled());
+      }
+
+      private void writeTypedValues(Map<String, TypedValue<?>> values, Writer writer) throws IOException {
+        writer.writeVarInt(values.size());
+        for (Map.Entry<String, TypedValue<?>> entry : values.entrySet()) {
+          writer.writeString(entry.getKey());
+          writer.writeValue(entry.getValue());
+        }
+      }
+
+      @Override
+      public InternalEventImplementation read(Reader reader) throws IOException {
+        DefaultEventBuilder builder = new DefaultEventBuilder((BaseEventContext) reader.readValue());
+        builder.message((Message) reader.readValue());
+        builder.variables(readTypedValues(reader));
+        builder.parameters(readTypedValues(reader));
+        for (int i = reader.readSize(); i > 0; --i) {
+          builder.addLoggingVariable(reader.readString(), reader.readString());
+        }
+        builder.securityContext((SecurityContext) reader.readValue());
+        builder.itemSequenceInfo(ofNullable((ItemSequenceInfo) reader.readValue()));
+        builder.error((Error) reader.readValue());
+        builder.correlationId((String) reader.readValue());
+        if (!reader.readBoolean()) {
+          builder.disableNotifications();
+        }
+        return (InternalEventImplementation) builder.build();
+      }
+
+      private Map<String, TypedValue<?>> readTypedValues(Reader reader) throws IOException {
+        int size = reader.readSize();
+        Map<String, TypedValue<?>> values = new HashMap<>(capacityFor(size));
+        for (int i = 0; i < size; ++i) {
+          values.put(reader.readString(), (TypedValue<?>) reader.readValue());
+        }
+        return values;
+      }
+    });
+  }
+
+  private <C extends Collection> void registerCollectionCodec(Class<C> type, IntFunction<C> factory) {
+    registerCodec(type, new Codec<C>() {
+
+      @Override
+      public void write(C value, Writer writer) throws IOException {
+        writer.writeVarInt(value.size());
+        for (Object item : value) {
+          writer.writeValue(item);
+        }
+      }
+
+      @Override
+      public C read(Reader reader) throws IOException {
+        int size = reader.readSize();
+        C collection = factory.apply(size);
+        for (int i = 0; i < size; ++i) {
+          collection.add(reader.readValue());
+        }
+        return collection;
+      }
+    });
+  }
+
+  private <M extends Map> void registerMapCodec(Class<M> type, IntFunction<M> factory) {
+    registerCodec(type, new Codec<M>() {
+
+      @Override
+      public void write(M value, Writer writer) throws IOException {
+        writer.writeVarInt(value.size());
+        for (Object entry : value.entrySet()) {
+          writer.writeValue(((Map.Entry) entry).getKey());
+          writer.writeValue(((Map.Entry) entry).getValue());
+        }
+      }
+
+      @Override
+      public M read(Reader reader) throws IOException {
+        int size = reader.readSize();
+        M map = factory.apply(size);
+        for (int i = 0; i < size; ++i) {
+          map.put(reader.readValue(), reader.readValue());
+        }
+        return map;
+      }
+    });
+  }
+
+  private static int capacityFor(int size) {
+    return (int) (size / 0.75f) + 1;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected byte[] doSerialize(Object object) throws Exception {
+    if (object instanceof CursorStreamProvider) {
+      try (CursorStream cursor = ((CursorStreamProvider) object).openCursor()) {
+        object = toByteArray(cursor);
+      }
+    }
+
+    Writer writer = new Writer();
+    writer.writeByte(MAGIC);
+    writer.writeByte(VERSION);
+    writer.writeValue(object);
+    return writer.toByteArray();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <T> T deserialize(byte[] bytes, ClassLoader classLoader) throws SerializationException {
+    requireNonNull(bytes, "The byte[] must not be null");
+    requireNonNull(classLoader, "Cannot deserialize with a null classloader");
+    try {
+      return read(bytes, classLoader);
+    } catch (SerializationException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new SerializationException("Could not deserialize object", e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected <T> T doDeserialize(InputStream inputStream, ClassLoader classLoader) throws Exception {
+    return read(inputStream.readAllBytes(), classLoader);
+  }
+
+  private <T> T read(byte[] bytes, ClassLoader classLoader) throws IOException {
+    if (bytes.length >= 2 && bytes[0] == JAVA_STREAM_MAGIC_0 && bytes[1] == JAVA_STREAM_MAGIC_1) {
+      return fallback.deserialize(bytes, classLoader);
+    }
+
+    if (bytes.length < 2 || bytes[0] != MAGIC) {
+      throw new SerializationException("Unknown serialization format");
+    }
+    if (bytes[1] != VERSION) {
+      throw new SerializationException(format("Unsupported serialization format version %d", bytes[1]));
+    }
+
+    Reader reader = new Reader(bytes, 2, classLoader);
+    return (T) reader.readValue();
+  }
+
+  @Override
+  protected ClassLoader getExecutionClassLoader() {
+    return executionClassLoader;
+  }
+
+  /**
+   * Writes and reads values of a specific type.
+   *
+   * @param <T> the generic type of the values
+   */
+  public interface Codec<T> {
+
+    /**
+     * Writes the state of {@code value} needed to recreate it.
+     *
+     * @param value  the value to write
+     * @param writer the {@link Writer} to write to
+     * @throws IOException if the value could not be written
+     */
+    void write(T value, Writer writer) throws IOException;
+
+    /**
+     * Reads a value written by {@link #write(Object, Writer)}.
+     *
+     * @param reader the {@link Reader} to read from
+     * @return the recreated value
+     * @throws IOException if the value could not be read
+     */
+    T read(Reader reader) throws IOException;
+  }
+
+  /**
+   * Writes values in the format of the enclosing protocol.
+   */
+  public final class Writer {
+
+    private byte[] buffer = new byte[256];
+    private int count;
+    private int depth;
+    private Map<String, Integer> classNames;
+
+    private Writer() {}
+
+    private void ensureCapacity(int additional) {
+      if (count + additional > buffer.length) {
+        buffer = copyOf(buffer, max(buffer.length << 1, count + additional));
+      }
+    }
+
+    void writeByte(int value) {
+      ensureCapacity(1);
+      buffer[count++] = (byte) value;
+    }
+
+    public void writeBoolean(boolean value) {
+      writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes a non negative {@code int}, using less bytes for smaller values.
+     */
+    public void writeVarInt(int value) {
+      ensureCapacity(5);
+      while ((value & ~0x7F) != 0) {
+        buffer[count++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      buffer[count++] = (byte) value;
+    }
+
+    private void writeVarLong(long value) {
+      ensureCapacity(10);
+      while ((value & ~0x7FL) != 0) {
+        buffer[count++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      buffer[count++] = (byte) value;
+    }
+
+    /**
+     * Writes an {@code int}, using less bytes for values closer to zero.
+     */
+    public void writeInt(int value) {
+      writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Writes a {@code long}, using less bytes for values closer to zero.
+     */
+    public void writeLong(long value) {
+      writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    private void writeFixedInt(int value) {
+      ensureCapacity(4);
+      buffer[count++] = (byte) (value >>> 24);
+      buffer[count++] = (byte) (value >>> 16);
+      buffer[count++] = (byte) (value >>> 8);
+      buffer[count++] = (byte) value;
+    }
+
+    private void writeFixedLong(long value) {
+      writeFixedInt((int) (value >>> 32));
+      writeFixedInt((int) value);
+    }
+
+    public void writeBytes(byte[] value) {
+      writeVarInt(value.length);
+      ensureCapacity(value.length);
+      System.arraycopy(value, 0, buffer, count, value.length);
+      count += value.length;
+    }
+
+    public void writeString(String value) {
+      writeBytes(value.getBytes(UTF_8));
+    }
+
+    /**
+     * Writes {@code value}, along with its type, so it can be read with {@link Reader#readValue()}.
+     *
+     * @param value the value to write, may be {@code null}
+     * @throws IOException if the value could not be written
+     */
+    public void writeValue(Object value) throws IOException {
+      if (value == null) {
+        writeByte(NULL);
+        return;
+      }
+
+      final Class<?> type = value.getClass();
+      if (type == String.class) {
+        writeByte(STRING);
+        writeString((String) value);
+      } else if (type == Integer.class) {
+        writeByte(INT);
+        writeInt((Integer) value);
+      } else if (type == Long.class) {
+        writeByte(LONG);
+        writeLong((Long) value);
+      } else if (type == Boolean.class) {
+        writeByte((Boolean) value ? TRUE : FALSE);
+      } else if (type == Double.class) {
+        writeByte(DOUBLE);
+        writeFixedLong(doubleToRawLongBits((Double) value));
+      } else if (type == Float.class) {
+        writeByte(FLOAT);
+        writeFixedInt(floatToRawIntBits((Float) value));
+      } else if (type == Short.class) {
+        writeByte(SHORT);
+        writeInt((Short) value);
+      } else if (type == Byte.class) {
+        writeByte(BYTE);
+        writeByte((Byte) value);
+      } else if (type == Character.class) {
+        writeByte(CHAR);
+        writeVarInt((Character) value);
+      } else if (type == byte[].class) {
+        writeByte(BYTES);
+        writeBytes((byte[]) value);
+      } else {
+        writeObject(value, type);
+      }
+    }
+
+    private void writeObject(Object value, Class<?> type) throws IOException {
+      Codec codec = depth < MAX_DEPTH ? codecFor(type) : null;
+      if (codec == null) {
+        writeByte(SERIALIZED);
+        writeBytes(fallback.serialize(value));
+        return;
+      }
+
+      writeByte(CODEC);
+      writeClassName(type.getName());
+      ++depth;
+      try {
+        codec.write(value, this);
+      } finally {
+        --depth;
+      }
+    }
+
+    /**
+     * Writes a {@link Class}, so it can be read with {@link Reader#readClass()}.
+     */
+    public void writeClass(Class<?> value) {
+      writeClassName(value.getName());
+    }
+
+    private void writeClassName(String className) {
+      if (classNames == null) {
+        classNames = new HashMap<>();
+      }
+
+      Integer index = classNames.get(className);
+      if (index != null) {
+        writeVarInt(index);
+      } else {
+        int newIndex = classNames.size();
+        classNames.put(className, newIndex);
+        writeVarInt(newIndex);
+        writeString(className);
+      }
+    }
+
+    private byte[] toByteArray() {
+      return copyOf(buffer, count);
+    }
+  }
+
+  /**
+   * Reads values in the format of the enclosing protocol.
+   */
+  public final class Reader {
+
+    private final byte[] buffer;
+    private final ClassLoader classLoader;
+    private int position;
+    private List<String> classNames;
+
+    private Reader(byte[] buffer, int position, ClassLoader classLoader) {
+      this.buffer = buffer;
+      this.position = position;
+      this.classLoader = classLoader;
+    }
+
+    private int readByte() throws EOFException {
+      if (position >= buffer.length) {
+        throw new EOFException();
+      }
+      return buffer[position++];
+    }
+
+    public boolean readBoolean() throws IOException {
+      return readByte() != 0;
+    }
+
+    /**
+     * Reads an {@code int} written with {@link Writer#writeVarInt(int)}.
+     */
+    public int readVarInt() throws IOException {
+      int result = 0;
+      for (int shift = 0; shift < 35; shift += 7) {
+        int b = readByte();
+        result |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return result;
+        }
+      }
+      throw new SerializationException("Malformed variable length int");
+    }
+
+    private long readVarLong() throws IOException {
+      long result = 0;
+      for (int shift = 0; shift < 70; shift += 7) {
+        int b = readByte();
+        result |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return result;
+        }
+      }
+      throw new SerializationException("Malformed variable length long");
+    }
+
+    /**
+     * Reads an {@code int} written with {@link Writer#writeInt(int)}.
+     */
+    public int readInt() throws IOException {
+      int value = readVarInt();
+      return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads a {@code long} written with {@link Writer#writeLong(long)}.
+     */
+    public long readLong() throws IOException {
+      long value = readVarLong();
+      return (value >>> 1) ^ -(value & 1);
+    }
+
+    private int readFixedInt() throws IOException {
+      return (readByte() & 0xFF) << 24 | (readByte() & 0xFF) << 16 | (readByte() & 0xFF) << 8 | (readByte() & 0xFF);
+    }
+
+    private long readFixedLong() throws IOException {
+      return ((long) readFixedInt() << 32) | (readFixedInt() & 0xFFFFFFFFL);
+    }
+
+    public byte[] readBytes() throws IOException {
+      int length = readLength();
+      byte[] value = copyOfRange(buffer, position, position + length);
+      position += length;
+      return value;
+    }
+
+    public String readString() throws IOException {
+      int length = readLength();
+      String value = new String(buffer, position, length, UTF_8);
+      position += length;
+      return value;
+    }
+
+    /**
+     * Reads the number of items of a collection, written with {@link Writer#writeVarInt(int)}. As each item takes at least one
+     * byte, a size larger than the remaining input is rejected instead of being trusted for allocating the collection.
+     */
+    public int readSize() throws IOException {
+      return readLength();
+    }
+
+    /**
+     * Reads a {@link Class} written with {@link Writer#writeClass(Class)}, loading it with the {@link ClassLoader} given for
+     * deserializing.
+     */
+    public Class<?> readClass() throws IOException {
+      String className = readClassName();
+      try {
+        return ClassUtils.getClass(classLoader, className, false);
+      } catch (ClassNotFoundException e) {
+        throw new SerializationException(format("Could not load class '%s'", className), e);
+      }
+    }
+
+    private int readLength() throws IOException {
+      int length = readVarInt();
+      if (length < 0 || length > buffer.length - position) {
+        throw new EOFException();
+      }
+      return length;
+    }
+
+    /**
+     * Reads a value written with {@link Writer#writeValue(Object)}.
+     *
+     * @return the read value, may be {@code null}
+     * @throws IOException if the value could not be read
+     */
+    public Object readValue() throws IOException {
+      int tag = readByte();
+      switch (tag) {
+        case NULL:
+          return null;
+        case TRUE:
+          return true;
+        case FALSE:
+          return false;
+        case INT:
+          return readInt();
+        case LONG:
+          return readLong();
+        case DOUBLE:
+          return longBitsToDouble(readFixedLong());
+        case FLOAT:
+          return intBitsToFloat(readFixedInt());
+        case SHORT:
+          return (short) readInt();
+        case BYTE:
+          return (byte) readByte();
+        case CHAR:
+          return (char) readVarInt();
+        case STRING:
+          return readString();
+        case BYTES:
+          return readBytes();
+        case CODEC:
+          return readCodec(readClassName());
+        case SERIALIZED:
+          return fallback.deserialize(readBytes(), classLoader);
+        default:
+          throw new SerializationException(format("Unknown value tag %d", tag));
+      }
+    }
+
+    private Object readCodec(String className) throws IOException {
+      Codec<?> codec = codecFor(className);
+      if (codec == null) {
+        throw new SerializationException(format("No codec registered for type '%s'", className));
+      }
+      return codec.read(this);
+    }
+
+    private String readClassName() throws IOException {
+      if (classNames == null) {
+        classNames = new ArrayList<>();
+      }
+
+      int index = readVarInt();
+      if (index < classNames.size()) {
+        return classNames.get(index);
+      } else if (index == classNames.size()) {
+        String className = readString();
+        classNames.add(className);
+        return className;
+      } else {
+        throw new SerializationException(format("Unknown class name index %d", index));
+      }
+    }
+  }
+}
@@ -7,6 +7,7 @@
 package org.mule.runtime.core.internal.serialization;
 
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.serialization.CompactSerializationProtocol.isCompactFormat;
 
 import static java.util.Objects.requireNonNull;
 
@@ -16,7 +17,9 @@ import org.mule.runtime.api.serialization.SerializationException;
 import org.mule.runtime.api.serialization.SerializationProtocol;
 import org.mule.runtime.api.streaming.bytes.CursorStream;
 import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.util.LazyValue;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -29,9 +32,11 @@ import java.io.Serializable;
 public class JavaExternalSerializerProtocol extends AbstractSerializationProtocol {
 
   private final ClassLoader executionClassLoader;
+  private final LazyValue<CompactSerializationProtocol> compactProtocol;
 
   public JavaExternalSerializerProtocol(ClassLoader executionClassLoader) {
     this.executionClassLoader = requireNonNull(executionClassLoader);
+    this.compactProtocol = new LazyValue<>(() -> new CompactSerializationProtocol(this, executionClassLoader));
   }
 
   /**
@@ -78,6 +83,14 @@ public class JavaExternalSerializerProtocol extends AbstractSerializationProtoco
     requireNonNull(inputStream, "Cannot deserialize a null stream");
     requireNonNull(classLoader, "Cannot deserialize with a null classloader");
 
+    if (!inputStream.markSupported()) {
+      inputStream = new BufferedInputStream(inputStream);
+    }
+    // data persisted while the compact protocol was enabled
+    if (isCompactFormat(inputStream)) {
+      return compactProtocol.get().deserialize(inputStream.readAllBytes(), classLoader);
+    }
+
     return (T) SerializationUtils.deserialize(inputStream, classLoader);
   }
 
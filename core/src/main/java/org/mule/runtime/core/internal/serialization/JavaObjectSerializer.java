@@ -7,26 +7,36 @@
 package org.mule.runtime.core.internal.serialization;
 
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.internal.serialization.CompactSerializationProtocol.COMPACT_SERIALIZATION_PROPERTY;
+
+import static java.lang.Boolean.getBoolean;
 
 import org.mule.runtime.api.serialization.ObjectSerializer;
 import org.mule.runtime.api.serialization.SerializationProtocol;
 
 /**
  * Serializes objects using the default Java serialization mechanism provided by writeObject and readObject methods.
+ * <p>
+ * If {@link CompactSerializationProtocol#COMPACT_SERIALIZATION_PROPERTY} is set, the internal protocol is a
+ * {@link CompactSerializationProtocol} which falls back to Java serialization.
  */
 public class JavaObjectSerializer implements ObjectSerializer {
 
   private volatile JavaExternalSerializerProtocol javaSerializerProtocol;
+  private volatile SerializationProtocol internalSerializerProtocol;
 
   public JavaObjectSerializer(ClassLoader executionClassLoader) {
     checkArgument(executionClassLoader != null, "executionClassLoader cannot be null");
 
     javaSerializerProtocol = new JavaExternalSerializerProtocol(executionClassLoader);
+    internalSerializerProtocol = getBoolean(COMPACT_SERIALIZATION_PROPERTY)
+        ? new CompactSerializationProtocol(javaSerializerProtocol, executionClassLoader)
+        : javaSerializerProtocol;
   }
 
   @Override
   public SerializationProtocol getInternalProtocol() {
-    return javaSerializerProtocol;
+    return internalSerializerProtocol;
   }
 
   @Override
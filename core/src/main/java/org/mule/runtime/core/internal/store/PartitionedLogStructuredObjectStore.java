@@ -0,0 +1,253 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+import static org.mule.runtime.api.serialization.ObjectSerializer.DEFAULT_OBJECT_SERIALIZER_NAME;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_SCHEDULER_BASE_CONFIG;
+import static org.mule.runtime.core.api.config.i18n.CoreMessages.createStaticMessage;
+import static org.mule.runtime.core.api.config.i18n.CoreMessages.failedToCreate;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerConfig;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.PartitionableExpirableObjectStore;
+import org.mule.runtime.core.api.component.InternalComponent;
+import org.mule.runtime.core.api.config.MuleConfiguration;
+import org.mule.runtime.core.api.util.FileUtils;
+import org.mule.runtime.core.api.util.UUID;
+import org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+/**
+ * Persistent, partitionable object store which keeps each partition in a {@link LogStructuredObjectStorePartition}.
+ * <p>
+ * Data is kept in its own directory under the working directory, so switching between this store and
+ * {@link PartitionedPersistentObjectStore} does not mix the on-disk formats. The compactions triggered by stores and removes
+ * run on a single-threaded scheduler shared by all the partitions.
+ *
+ * @since 4.10
+ */
+public class PartitionedLogStructuredObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
+    implements PartitionableExpirableObjectStore<T>, Disposable, InternalComponent {
+
+  private static final Logger LOGGER = getLogger(PartitionedLogStructuredObjectStore.class);
+  public static final String LOG_OBJECT_STORE_DIR = "objectstore-log";
+
+  protected MuleConfiguration muleConfiguration;
+  protected ObjectSerializer serializer;
+  private SchedulerService schedulerService;
+  private SchedulerConfig schedulerBaseConfig = config();
+  private Scheduler compactionScheduler;
+  private File storeDirectory;
+  private final Map<String, LogStructuredObjectStorePartition<T>> partitionsByName = new ConcurrentHashMap<>();
+  private boolean initialized = false;
+
+  public PartitionedLogStructuredObjectStore() {
+    super();
+  }
+
+  public PartitionedLogStructuredObjectStore(MuleConfiguration muleConfiguration, ObjectSerializer serializer) {
+    super();
+    this.muleConfiguration = muleConfiguration;
+    this.serializer = serializer;
+  }
+
+  public PartitionedLogStructuredObjectStore(MuleConfiguration muleConfiguration, ObjectSerializer serializer,
+                                             SchedulerService schedulerService, SchedulerConfig schedulerBaseConfig) {
+    this(muleConfiguration, serializer);
+    this.schedulerService = schedulerService;
+    this.schedulerBaseConfig = schedulerBaseConfig;
+  }
+
+  @Override
+  public synchronized void open() throws ObjectStoreException {
+    if (!initialized) {
+      if (schedulerService != null) {
+        compactionScheduler = schedulerService.customScheduler(schedulerBaseConfig
+            .withName("ObjectStore-LogCompaction").withMaxConcurrentTasks(1));
+      }
+      initObjectStoreDirectory();
+      loadPreviousStoredPartitions();
+      if (!partitionsByName.containsKey(DEFAULT_PARTITION_NAME)) {
+        createPartition(DEFAULT_PARTITION_NAME);
+      }
+      initialized = true;
+    }
+  }
+
+  @Override
+  public synchronized void open(String partitionName) throws ObjectStoreException {
+    open();
+    if (!partitionsByName.containsKey(partitionName)) {
+      createPartition(partitionName);
+    }
+  }
+
+  @Override
+  public void close(String partitionName) throws ObjectStoreException {}
+
+  private void createPartition(String partitionName) throws ObjectStoreException {
+    LogStructuredObjectStorePartition<T> partition =
+        new LogStructuredObjectStorePartition<>(serializer, partitionName, new File(storeDirectory, UUID.getUUID()),
+                                                compactionScheduler);
+    partition.open();
+    partitionsByName.putIfAbsent(partitionName, partition);
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return true;
+  }
+
+  @Override
+  protected boolean doContains(String key, String partitionName) throws ObjectStoreException {
+    return getPartitionObjectStore(partitionName).contains(key);
+  }
+
+  @Override
+  protected void doStore(String key, T value, String partitionName) throws ObjectStoreException {
+    getPartitionObjectStore(partitionName).store(key, value);
+  }
+
+  @Override
+  protected T doRetrieve(String key, String partitionName) throws ObjectStoreException {
+    return getPartitionObjectStore(partitionName).retrieve(key);
+  }
+
+  @Override
+  protected T doRemove(String key, String partitionName) throws ObjectStoreException {
+    return getPartitionObjectStore(partitionName).remove(key);
+  }
+
+  @Override
+  public List<String> allKeys(String partitionName) throws ObjectStoreException {
+    return getPartitionObjectStore(partitionName).allKeys();
+  }
+
+  @Override
+  public Map<String, T> retrieveAll(String partitionName) throws ObjectStoreException {
+    return getPartitionObjectStore(partitionName).retrieveAll();
+  }
+
+  @Override
+  public void clear(String partitionName) throws ObjectStoreException {
+    getPartitionObjectStore(partitionName).clear();
+  }
+
+  protected LogStructuredObjectStorePartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
+    LogStructuredObjectStorePartition<T> partition = partitionsByName.get(partitionName);
+    if (partition == null) {
+      throw new ObjectStoreException(createStaticMessage("No partition named: " + partitionName));
+    }
+    return partition;
+  }
+
+  @Override
+  public List<String> allPartitions() throws ObjectStoreException {
+    return new ArrayList<>(partitionsByName.keySet());
+  }
+
+  private void initObjectStoreDirectory() {
+    if (storeDirectory == null) {
+      storeDirectory = FileUtils.newFile(getWorkingDirectory() + File.separator + LOG_OBJECT_STORE_DIR);
+      if (!storeDirectory.exists() && !storeDirectory.mkdirs()) {
+        throw new MuleRuntimeException(failedToCreate("object store directory " + storeDirectory.getAbsolutePath()));
+      }
+    }
+  }
+
+  private void loadPreviousStoredPartitions() {
+    File[] directories = storeDirectory.listFiles(File::isDirectory);
+    if (directories == null) {
+      return;
+    }
+    for (File partitionDirectory : directories) {
+      try {
+        LogStructuredObjectStorePartition<T> partition =
+            new LogStructuredObjectStorePartition<>(serializer, partitionDirectory, compactionScheduler);
+        partition.open();
+        partitionsByName.putIfAbsent(partition.getPartitionName(), partition);
+      } catch (Exception e) {
+        LOGGER.error("Could not restore partition under directory " + partitionDirectory.getAbsolutePath());
+      }
+    }
+  }
+
+  @Inject
+  public void setMuleConfiguration(MuleConfiguration muleConfiguration) {
+    this.muleConfiguration = muleConfiguration;
+  }
+
+  @Inject
+  @Named(DEFAULT_OBJECT_SERIALIZER_NAME)
+  public void setSerializer(ObjectSerializer serializer) {
+    this.serializer = serializer;
+  }
+
+  @Inject
+  public void setSchedulerService(SchedulerService schedulerService) {
+    this.schedulerService = schedulerService;
+  }
+
+  @Inject
+  @Named(OBJECT_SCHEDULER_BASE_CONFIG)
+  public void setSchedulerBaseConfig(SchedulerConfig schedulerBaseConfig) {
+    this.schedulerBaseConfig = schedulerBaseConfig;
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    expire(entryTTL, maxEntries, DEFAULT_PARTITION_NAME);
+  }
+
+  @Override
+  public synchronized void dispose() {
+    partitionsByName.values().forEach(LogStructuredObjectStorePartition::dispose);
+    partitionsByName.clear();
+    if (compactionScheduler != null) {
+      compactionScheduler.stop();
+      compactionScheduler = null;
+    }
+    initialized = false;
+  }
+
+  @Override
+  public void disposePartition(String partitionName) throws ObjectStoreException {
+    LogStructuredObjectStorePartition<T> partition = partitionsByName.remove(partitionName);
+    if (partition != null) {
+      partition.close();
+    }
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries, String partitionName) throws ObjectStoreException {
+    getPartitionObjectStore(partitionName).expire(entryTTL, maxEntries);
+  }
+
+  protected String getWorkingDirectory() {
+    return muleConfiguration.getWorkingDirectory();
+  }
+
+}
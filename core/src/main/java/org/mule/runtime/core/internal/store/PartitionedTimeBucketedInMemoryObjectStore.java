@@ -0,0 +1,311 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+
+import static java.lang.Math.floorDiv;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.PartitionableExpirableObjectStore;
+import org.mule.runtime.core.api.component.InternalComponent;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In memory, partitionable object store with the same contract as {@link PartitionedInMemoryObjectStore}, which groups entries
+ * by insertion time so that expiring them does not require walking the whole partition.
+ * <p>
+ * Each partition keeps its entries in time buckets of a fixed width (a tick). Buckets entirely older than the TTL are dropped
+ * in one go, and only the bucket on the TTL boundary is looked at entry by entry. When a partition exceeds {@code maxEntries},
+ * the oldest buckets are drained in insertion order. Each entry is thus visited once when it expires, and removing an entry
+ * only touches its own bucket.
+ * <p>
+ * Since the TTL is only known when {@link #expire(long, int, String)} is invoked, entries are bucketed by when they were stored
+ * rather than by when they should expire.
+ *
+ * @since 4.10
+ */
+public class PartitionedTimeBucketedInMemoryObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
+    implements PartitionableExpirableObjectStore<T>, InternalComponent {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedTimeBucketedInMemoryObjectStore.class);
+
+  static final long DEFAULT_TICK_MILLIS = 100;
+
+  private final long tickNanos;
+  private final ConcurrentMap<String, Partition> partitions = new ConcurrentHashMap<>();
+
+  public PartitionedTimeBucketedInMemoryObjectStore() {
+    this(DEFAULT_TICK_MILLIS);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param tickMillis the width of each time bucket, in milliseconds
+   */
+  public PartitionedTimeBucketedInMemoryObjectStore(long tickMillis) {
+    this.tickNanos = MILLISECONDS.toNanos(tickMillis);
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return false;
+  }
+
+  @Override
+  protected boolean doContains(String key, String partitionName) throws ObjectStoreException {
+    Partition partition = partitions.get(partitionName);
+    return partition != null && partition.entries.containsKey(key);
+  }
+
+  @Override
+  protected void doStore(String key, T value, String partitionName) throws ObjectStoreException {
+    getPartition(partitionName).store(key, value, getCurrentNanoTime());
+  }
+
+  @Override
+  protected T doRetrieve(String key, String partitionName) throws ObjectStoreException {
+    Entry<T> entry = getPartition(partitionName).entries.get(key);
+    if (entry == null) {
+      throw new ObjectDoesNotExistException();
+    }
+    return entry.value;
+  }
+
+  @Override
+  protected T doRemove(String key, String partitionName) throws ObjectStoreException {
+    return getPartition(partitionName).remove(key);
+  }
+
+  @Override
+  public List<String> allKeys(String partitionName) throws ObjectStoreException {
+    return new ArrayList<>(getPartition(partitionName).entries.keySet());
+  }
+
+  @Override
+  public Map<String, T> retrieveAll(String partitionName) throws ObjectStoreException {
+    Map<String, T> all = new LinkedHashMap<>();
+    getPartition(partitionName).entries.forEach((key, entry) -> all.put(key, entry.value));
+    return all;
+  }
+
+  @Override
+  public void clear(String partitionName) throws ObjectStoreException {
+    getPartition(partitionName).clear();
+  }
+
+  @Override
+  public List<String> allPartitions() throws ObjectStoreException {
+    return new ArrayList<>(partitions.keySet());
+  }
+
+  private Partition getPartition(String partitionName) {
+    return partitions.computeIfAbsent(partitionName, name -> new Partition());
+  }
+
+  @Override
+  public void open(String partitionName) throws ObjectStoreException {
+    // Nothing to do
+  }
+
+  @Override
+  public void close(String partitionName) throws ObjectStoreException {
+    disposePartition(partitionName);
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    expire(entryTTL, maxEntries, DEFAULT_PARTITION_NAME);
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries, String partitionName) throws ObjectStoreException {
+    Partition partition = getPartition(partitionName);
+
+    if (maxEntries > UNBOUNDED) {
+      int excess = partition.trimToMaxSize(maxEntries);
+      if (excess > 0 && LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Expired " + excess + " excess entries");
+      }
+    }
+
+    if (entryTTL == UNBOUNDED) {
+      return;
+    }
+
+    int expiredEntries = partition.expireStoredBefore(getCurrentNanoTime() - MILLISECONDS.toNanos(entryTTL));
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Expired " + expiredEntries + " old entries");
+    }
+  }
+
+  @Override
+  public void disposePartition(String partitionName) throws ObjectStoreException {
+    Partition partition = partitions.remove(partitionName);
+    if (partition != null) {
+      partition.clear();
+    }
+  }
+
+  protected long getCurrentNanoTime() {
+    return System.nanoTime();
+  }
+
+  @Override
+  public boolean shouldAlwaysExpire() {
+    return true;
+  }
+
+  private class Partition {
+
+    private final ConcurrentMap<String, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Bucket<T>> buckets = new ConcurrentSkipListMap<>();
+
+    private void store(String key, T value, long time) throws ObjectAlreadyExistsException {
+      Entry<T> entry = new Entry<>(key, value, time);
+      if (entries.putIfAbsent(key, entry) != null) {
+        throw new ObjectAlreadyExistsException();
+      }
+
+      long tick = floorDiv(time, tickNanos);
+      while (!buckets.computeIfAbsent(tick, Bucket::new).add(entry)) {
+        // the bucket was retired concurrently, a new one will be created for the same tick
+      }
+    }
+
+    private T remove(String key) throws ObjectDoesNotExistException {
+      Entry<T> entry = entries.remove(key);
+      if (entry == null) {
+        throw new ObjectDoesNotExistException();
+      }
+
+      Bucket<T> bucket = entry.bucket;
+      if (bucket != null) {
+        bucket.remove(entry);
+      }
+      return entry.value;
+    }
+
+    private int expireStoredBefore(long cutoff) {
+      int expired = 0;
+      Map.Entry<Long, Bucket<T>> oldest;
+      while ((oldest = buckets.firstEntry()) != null) {
+        Bucket<T> bucket = oldest.getValue();
+        if ((oldest.getKey() + 1) * tickNanos - 1 <= cutoff) {
+          // every entry in the bucket is expired
+          expired += drain(bucket, Integer.MAX_VALUE, Long.MAX_VALUE);
+        } else {
+          expired += drain(bucket, Integer.MAX_VALUE, cutoff);
+          break;
+        }
+      }
+      return expired;
+    }
+
+    private int trimToMaxSize(int maxEntries) {
+      int trimmed = 0;
+      Map.Entry<Long, Bucket<T>> oldest;
+      while (entries.size() > maxEntries && (oldest = buckets.firstEntry()) != null) {
+        trimmed += drain(oldest.getValue(), entries.size() - maxEntries, Long.MAX_VALUE);
+      }
+      return trimmed;
+    }
+
+    /**
+     * Removes up to {@code max} entries stored no later than {@code cutoff} from the given {@code bucket}, in insertion order.
+     * The bucket is retired once empty.
+     */
+    private int drain(Bucket<T> bucket, int max, long cutoff) {
+      int drained = 0;
+      synchronized (bucket) {
+        Iterator<Entry<T>> iterator = bucket.entries.iterator();
+        while (drained < max && iterator.hasNext()) {
+          Entry<T> entry = iterator.next();
+          if (entry.time > cutoff) {
+            break;
+          }
+          iterator.remove();
+          if (entries.remove(entry.key, entry)) {
+            drained++;
+          }
+        }
+
+        if (bucket.entries.isEmpty()) {
+          bucket.retired = true;
+          buckets.remove(bucket.tick, bucket);
+        }
+      }
+      return drained;
+    }
+
+    private void clear() {
+      entries.clear();
+      buckets.values().forEach(bucket -> {
+        synchronized (bucket) {
+          bucket.retired = true;
+          bucket.entries.clear();
+        }
+      });
+      buckets.clear();
+    }
+  }
+
+  private static class Bucket<V extends Serializable> {
+
+    private final long tick;
+    private final LinkedHashSet<Entry<V>> entries = new LinkedHashSet<>();
+    private boolean retired = false;
+
+    private Bucket(long tick) {
+      this.tick = tick;
+    }
+
+    private synchronized boolean add(Entry<V> entry) {
+      if (retired) {
+        return false;
+      }
+      entries.add(entry);
+      entry.bucket = this;
+      return true;
+    }
+
+    private synchronized void remove(Entry<V> entry) {
+      entries.remove(entry);
+    }
+  }
+
+  private static class Entry<V extends Serializable> {
+
+    private final String key;
+    private final V value;
+    private final long time;
+    private volatile Bucket<V> bucket;
+
+    private Entry(String key, V value, long time) {
+      this.key = key;
+      this.value = value;
+      this.time = time;
+    }
+  }
+}
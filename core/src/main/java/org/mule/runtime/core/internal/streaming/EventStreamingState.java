@@ -18,7 +18,9 @@ import org.mule.runtime.api.streaming.Cursor;
 import org.mule.runtime.api.streaming.CursorProvider;
 
 import java.lang.ref.WeakReference;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
@@ -27,6 +29,10 @@ import org.slf4j.Logger;
 
 /**
  * Tracks the active streaming resources owned by a particular event.
+ * <p>
+ * Providers are referenced weakly, so that the {@link StreamingGhostBuster} can reclaim the ones which are dereferenced before
+ * the event completes. Their {@link CursorProviderJanitor janitors} are kept strongly though, so that {@link #dispose()}
+ * releases every provider created during the event, even those which decorator has already been collected but not yet busted.
  *
  * @since 4.3.0
  */
@@ -35,6 +41,7 @@ public class EventStreamingState {
   private final static Logger LOGGER = getLogger(EventStreamingState.class);
 
   protected final Cache<Integer, WeakReference<ManagedCursorProvider>> providers = Caffeine.newBuilder().build();
+  private final Map<Integer, CursorProviderJanitor> janitors = new ConcurrentHashMap<>();
 
   /**
    * Registers the given {@code provider} as one associated to the owning event.
@@ -77,7 +84,12 @@ public class EventStreamingState {
         LOGGER.info("Added ManagedCursorProvider: {} for delegate: {} opened by: {}", k, identityHashCode(innerDelegate),
                     originatingLocation.map(ComponentLocation::getLocation).orElse("unknown"));
       }
-      return ghostBuster.track(provider, () -> providers.invalidate(id));
+      final CursorProviderJanitor janitor = provider.getJanitor();
+      janitors.put(k, janitor);
+      return ghostBuster.track(provider, () -> {
+        providers.invalidate(id);
+        janitors.remove(id, janitor);
+      });
     }).get();
   }
 
@@ -92,5 +104,8 @@ public class EventStreamingState {
         provider.releaseResources();
       }
     });
+    // Releasing is idempotent, so this only acts on the providers which were already collected
+    janitors.values().forEach(CursorProviderJanitor::releaseResources);
+    janitors.clear();
   }
 }
@@ -32,6 +32,7 @@ import java.lang.ref.WeakReference;
 import java.util.Optional;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 
@@ -49,6 +50,9 @@ import jakarta.inject.Inject;
  * Notice that this <b>DOES NOT</b> replace the cleanup and tracking job that is performed in {@link CursorManager}. That still
  * remains the main cleanup mechanism as we cannot rely on garbage collection for releasing streaming resources. This is only a
  * mitigation for cases like described above.
+ * <p>
+ * Providers are deterministically released by {@link EventStreamingState} when their owning event completes, so the amount of
+ * providers which still had to be released by this class is kept in {@link #getBustedProvidersCount()}.
  *
  * @since 4.2.0
  */
@@ -58,6 +62,7 @@ public class StreamingGhostBuster implements Lifecycle {
   private static final Logger LOGGER = getLogger(StreamingGhostBuster.class);
 
   private final ReferenceQueue<ManagedCursorProvider> referenceQueue = new ReferenceQueue<>();
+  private final AtomicLong bustedProviders = new AtomicLong(0);
   private volatile boolean stopped = false;
   private Future taskHandle;
 
@@ -117,6 +122,14 @@ public class StreamingGhostBuster implements Lifecycle {
     return new StreamingWeakReference(cursorProvider, referenceQueue, callOnDispose);
   }
 
+  /**
+   * @return how many providers had their resources released by this ghost buster instead of by their owning event
+   * @since 4.10
+   */
+  public long getBustedProvidersCount() {
+    return bustedProviders.get();
+  }
+
   private void bustGhosts() {
     while (!stopped && !currentThread().isInterrupted()) {
       try {
@@ -186,6 +199,7 @@ public class StreamingGhostBuster implements Lifecycle {
                 .orElse(null)
             : null;
         if (janitor.releaseResources()) {
+          bustedProviders.incrementAndGet();
           alertingSupport.triggerAlert(ALERT_NOT_CONSUMED_STREAM_BUSTED,
                                        originatingLocation);
         }
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.FileStoreCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+
+/**
+ * An implementation of {@link AbstractInputStreamBuffer} which holds up to a configured amount of data in memory and spills the
+ * rest to a temporal file.
+ * <p>
+ * The first {@link FileStoreCursorStreamConfig#getMaxInMemorySize()} bytes of the stream are kept in buckets allocated on demand
+ * through the {@link ByteBufferManager}. Data beyond that is written to and read from memory-mapped regions of a temporal file,
+ * so that streams of hundreds of megabytes can be buffered without exhausting the heap nor the streaming memory.
+ * <p>
+ * Buffered data is never moved once written, so the {@link ByteBuffer}s returned for the in memory data are views over the
+ * buckets rather than copies. Data read from the buffer file is copied out of the mapped regions instead, so that no view over
+ * them outlives this buffer and the regions can be unmapped as soon as it is closed, rather than whenever they get garbage
+ * collected.
+ *
+ * @since 4.10
+ */
+public class FileStoreStreamBuffer extends AbstractInputStreamBuffer {
+
+  private static final Logger LOGGER = getLogger(FileStoreStreamBuffer.class);
+
+  static final int DEFAULT_MAPPED_REGION_SIZE = 4 * 1024 * 1024;
+
+  private static final Consumer<MappedByteBuffer> UNMAPPER = resolveUnmapper();
+
+  private final int bucketSize;
+  private final int bucketsCount;
+  private final long inMemorySize;
+  private final int mappedRegionSize;
+
+  private final List<ManagedByteBufferWrapper> buckets = new ArrayList<>();
+  private final List<MappedByteBuffer> mappedRegions = new ArrayList<>();
+  private ManagedByteBufferWrapper readBuffer;
+  private File bufferFile;
+  private FileChannel bufferFileChannel;
+  private long bufferTip = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream        the stream to be buffered
+   * @param config        this buffer's configuration.
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate the in memory buckets
+   */
+  public FileStoreStreamBuffer(InputStream stream, FileStoreCursorStreamConfig config, ByteBufferManager bufferManager) {
+    this(stream, config, bufferManager, DEFAULT_MAPPED_REGION_SIZE);
+  }
+
+  FileStoreStreamBuffer(InputStream stream, FileStoreCursorStreamConfig config, ByteBufferManager bufferManager,
+                        int mappedRegionSize) {
+    super(stream, bufferManager);
+    this.bucketSize = config.getBucketSize();
+    this.bucketsCount = config.getBucketsCount();
+    this.inMemorySize = (long) bucketSize * bucketsCount;
+    this.mappedRegionSize = mappedRegionSize;
+  }
+
+  @Override
+  protected ByteBuffer doGet(long position, int length) throws IOException {
+    readLock.lock();
+    try {
+      if (position < bufferTip) {
+        return copy(position, length);
+      }
+    } finally {
+      readLock.unlock();
+    }
+
+    writeLock.lock();
+    try {
+      while (!streamFullyConsumed && bufferTip <= position) {
+        consumeForwardData();
+      }
+      return position < bufferTip ? copy(position, length) : null;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Data is read in chunks of up to the configured bucket size, and appended to the in memory buckets or the mapped regions of
+   * the buffer file, depending on the current size of the buffered data.
+   */
+  @Override
+  public int consumeForwardData() throws IOException {
+    if (readBuffer == null) {
+      readBuffer = bufferManager.allocateManaged(bucketSize);
+    }
+    ByteBuffer data = readBuffer.getDelegate();
+    data.clear();
+
+    final int read = consumeStream(data);
+    if (read > 0) {
+      data.flip();
+      while (data.hasRemaining()) {
+        ByteBuffer target = writableBufferAt(bufferTip);
+        int length = min(target.remaining(), data.remaining());
+        ByteBuffer chunk = data.duplicate();
+        chunk.limit(chunk.position() + length);
+        target.put(chunk);
+        data.position(data.position() + length);
+        bufferTip += length;
+      }
+    }
+
+    return read;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The returned buffer is a view of the data, which doesn't span more than one bucket or mapped region.
+   */
+  @Override
+  protected ByteBuffer copy(long position, int length) {
+    ByteBuffer buffer;
+    int offset;
+    int size;
+    if (position < inMemorySize) {
+      buffer = buckets.get(toIntExact(position / bucketSize)).getDelegate();
+      offset = toIntExact(position % bucketSize);
+      size = bucketSize;
+    } else {
+      long spilledPosition = position - inMemorySize;
+      buffer = mappedRegions.get(toIntExact(spilledPosition / mappedRegionSize));
+      offset = toIntExact(spilledPosition % mappedRegionSize);
+      size = mappedRegionSize;
+    }
+
+    ByteBuffer view = buffer.duplicate();
+    view.limit(toIntExact(min(size, min((long) offset + length, offset + bufferTip - position))));
+    view.position(offset);
+    if (position < inMemorySize) {
+      return view.slice();
+    }
+
+    // Views over a mapped region would be left dangling once it is unmapped
+    ByteBuffer copy = ByteBuffer.allocate(view.remaining());
+    copy.put(view);
+    return copy.flip();
+  }
+
+  private ByteBuffer writableBufferAt(long position) throws IOException {
+    ByteBuffer buffer;
+    int offset;
+    int size;
+    if (position < inMemorySize) {
+      int bucketIndex = toIntExact(position / bucketSize);
+      if (bucketIndex == buckets.size()) {
+        buckets.add(bufferManager.allocateManaged(bucketSize));
+      }
+      buffer = buckets.get(bucketIndex).getDelegate();
+      offset = toIntExact(position % bucketSize);
+      size = bucketSize;
+    } else {
+      long spilledPosition = position - inMemorySize;
+      int regionIndex = toIntExact(spilledPosition / mappedRegionSize);
+      if (regionIndex == mappedRegions.size()) {
+        mappedRegions.add(getBufferFileChannel().map(READ_WRITE, (long) regionIndex * mappedRegionSize, mappedRegionSize));
+      }
+      buffer = mappedRegions.get(regionIndex);
+      offset = toIntExact(spilledPosition % mappedRegionSize);
+      size = mappedRegionSize;
+    }
+
+    ByteBuffer target = buffer.duplicate();
+    target.limit(size);
+    target.position(offset);
+    return target;
+  }
+
+  private FileChannel getBufferFileChannel() throws IOException {
+    if (bufferFileChannel == null) {
+      bufferFile = createBufferFile("stream-buffer");
+      bufferFileChannel = new RandomAccessFile(bufferFile, "rw").getChannel();
+    }
+    return bufferFileChannel;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void doClose() {
+    buckets.forEach(ManagedByteBufferWrapper::release);
+    buckets.clear();
+    if (readBuffer != null) {
+      readBuffer.release();
+      readBuffer = null;
+    }
+
+    mappedRegions.forEach(UNMAPPER);
+    mappedRegions.clear();
+    if (bufferFileChannel != null) {
+      try {
+        bufferFileChannel.close();
+      } catch (IOException e) {
+        LOGGER.debug("Found exception closing buffer file channel", e);
+      }
+      if (!bufferFile.delete()) {
+        LOGGER.debug("Could not delete buffer file {}, it will be deleted on exit", bufferFile.getAbsolutePath());
+        bufferFile.deleteOnExit();
+      }
+    }
+  }
+
+  long getBufferedSize() {
+    readLock.lock();
+    try {
+      return bufferTip;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  boolean isSpilled() {
+    return bufferFile != null;
+  }
+
+  int getMappedRegionsCount() {
+    return mappedRegions.size();
+  }
+
+  private static Consumer<MappedByteBuffer> resolveUnmapper() {
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      Object unsafe = theUnsafe.get(null);
+      Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      return region -> {
+        try {
+          invokeCleaner.invoke(unsafe, region);
+        } catch (Exception e) {
+          LOGGER.debug("Could not unmap buffer file region, it will be unmapped when garbage collected", e);
+        }
+      };
+    } catch (Exception e) {
+      LOGGER.debug("Mapped buffer file regions cannot be explicitly unmapped, they will be unmapped when garbage collected", e);
+      return region -> {
+      };
+    }
+  }
+}
@@ -0,0 +1,447 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.MEMORY_BYTE_BUFFER_ALLOCATION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.MEMORY_BYTE_BUFFER_DEALLOCATION;
+import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.DEFAULT_BUFFER_POOL_SIZE;
+
+import static java.lang.Integer.numberOfLeadingZeros;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.profiling.ProfilingDataProducer;
+import org.mule.runtime.api.profiling.ProfilingService;
+import org.mule.runtime.api.profiling.type.context.ByteBufferProviderEventContext;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+import org.mule.runtime.core.internal.profiling.context.DefaultByteBufferManagerEventContext;
+import org.mule.runtime.core.internal.streaming.DefaultMemoryManager;
+import org.mule.runtime.core.internal.streaming.MemoryManager;
+
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.inject.Inject;
+
+/**
+ * {@link MemoryBoundByteBufferManager} implementation which pools buffers in power of two size classes.
+ * <p>
+ * Requested capacities are rounded up to the next size class, so connectors asking for many distinct sizes share the same few
+ * pools. The obtained {@link ByteBuffer} is a view of the pooled one with exactly the requested capacity.
+ * <p>
+ * Each thread keeps a small magazine of free buffers per size class, so in the common case buffers are taken and returned
+ * without any lock. Full and empty magazines are exchanged with a global, lock-free depot, which is bounded to the
+ * configured pool size. Capacities larger than the biggest size class are not pooled.
+ * <p>
+ * The magazines of every thread are also kept in a registry, so that the buffers cached by threads that are gone are given back
+ * to the memory bound instead of being held forever. Those are trimmed periodically when a new buffer has to be allocated, right
+ * away if the memory bound is exceeded, and all the magazines are drained on {@link #dispose()}.
+ * <p>
+ * Like in {@link PoolingByteBufferManager}, an exhausted pool just yields a new buffer. Buffers actually allocated or freed are
+ * published as {@link ByteBufferProviderEventContext profiling events}, along with the pool hits, misses and the bytes lost to
+ * size class rounding at that time.
+ *
+ * @since 4.10
+ */
+public class SlabByteBufferManager extends MemoryBoundByteBufferManager implements Initialisable, Disposable {
+
+  static final int MIN_SIZE_CLASS_SHIFT = 10;
+  static final int MAX_SIZE_CLASS_SHIFT = 18;
+
+  private static final String PROVIDER_NAME = "slab-byte-buffer-manager";
+  private static final int MAGAZINE_BYTES = 128 * 1024;
+  private static final int MAX_MAGAZINE_ROUNDS = 16;
+  private static final long TRIM_INTERVAL_NANOS = SECONDS.toNanos(10);
+
+  private final SizeClass[] sizeClasses = new SizeClass[MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1];
+  private final Queue<ThreadMagazines> magazinesRegistry = new ConcurrentLinkedQueue<>();
+  private final ThreadLocal<ThreadMagazines> magazines = ThreadLocal.withInitial(this::registerMagazines);
+  private final AtomicLong lastTrim = new AtomicLong(nanoTime());
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder fragmentedBytes = new LongAdder();
+
+  private volatile boolean disposed = false;
+
+  @Inject
+  private Optional<ProfilingService> profilingService;
+
+  private ProfilingDataProducer<ByteBufferProviderEventContext, Object> allocationDataProducer;
+  private ProfilingDataProducer<ByteBufferProviderEventContext, Object> deallocationDataProducer;
+
+  /**
+   * Creates a new instance which allows the pool to grow up to 70% of the runtime's max memory. The definition of max memory is
+   * that of {@link MemoryManager#getMaxMemory()}
+   */
+  public SlabByteBufferManager() {
+    this(new DefaultMemoryManager(), DEFAULT_BUFFER_POOL_SIZE);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param memoryManager a {@link MemoryManager} used to determine the runtime's max memory
+   * @param size          the max amount of free buffers to keep in the depot of each size class
+   */
+  public SlabByteBufferManager(MemoryManager memoryManager, int size) {
+    super(memoryManager);
+    for (int i = 0; i < sizeClasses.length; i++) {
+      int bufferCapacity = 1 << (MIN_SIZE_CLASS_SHIFT + i);
+      int rounds = max(1, min(MAX_MAGAZINE_ROUNDS, MAGAZINE_BYTES / bufferCapacity));
+      sizeClasses[i] = new SizeClass(bufferCapacity, rounds, max(1, size / rounds));
+    }
+  }
+
+  @Override
+  public void initialise() {
+    if (profilingService != null && profilingService.isPresent()) {
+      allocationDataProducer = profilingService.get().getProfilingDataProducer(MEMORY_BYTE_BUFFER_ALLOCATION);
+      deallocationDataProducer = profilingService.get().getProfilingDataProducer(MEMORY_BYTE_BUFFER_DEALLOCATION);
+    }
+  }
+
+  static int sizeClassIndex(int capacity) {
+    if (capacity <= 1 << MIN_SIZE_CLASS_SHIFT) {
+      return 0;
+    }
+    return 32 - numberOfLeadingZeros(capacity - 1) - MIN_SIZE_CLASS_SHIFT;
+  }
+
+  @Override
+  public ManagedByteBufferWrapper allocateManaged(int capacity) {
+    int index = sizeClassIndex(capacity);
+    if (index >= sizeClasses.length) {
+      misses.increment();
+      ByteBuffer buffer = allocateAndProfile(capacity);
+      return new ManagedByteBufferWrapper(buffer, b -> deallocateAndProfile(b.getDelegate()));
+    }
+
+    SizeClass sizeClass = sizeClasses[index];
+    Magazine magazine = getMagazine(index);
+    ByteBuffer pooled = magazine.pop();
+    if (pooled == null && sizeClass.takeFromDepot(magazine)) {
+      pooled = magazine.pop();
+    }
+
+    if (pooled == null) {
+      misses.increment();
+      trimIfNeeded();
+      pooled = allocateAndProfile(sizeClass.bufferCapacity);
+    } else {
+      hits.increment();
+    }
+
+    int wasted = sizeClass.bufferCapacity - capacity;
+    fragmentedBytes.add(wasted);
+
+    final ByteBuffer slab = pooled;
+    ByteBuffer view = wasted == 0 ? slab : slab.slice(0, capacity);
+    return new ManagedByteBufferWrapper(view, b -> {
+      fragmentedBytes.add(-wasted);
+      returnBuffer(index, slab);
+    });
+  }
+
+  private ThreadMagazines registerMagazines() {
+    ThreadMagazines threadMagazines = new ThreadMagazines(Thread.currentThread(), sizeClasses.length);
+    magazinesRegistry.add(threadMagazines);
+    return threadMagazines;
+  }
+
+  private Magazine getMagazine(int index) {
+    AtomicReferenceArray<Magazine> threadMagazines = magazines.get().magazines;
+    Magazine magazine = threadMagazines.get(index);
+    if (magazine == null) {
+      magazine = new Magazine(sizeClasses[index].rounds);
+      threadMagazines.set(index, magazine);
+    }
+    return magazine;
+  }
+
+  private void returnBuffer(int index, ByteBuffer slab) {
+    if (disposed) {
+      deallocateAndProfile(slab);
+      return;
+    }
+
+    slab.clear();
+    Magazine magazine = getMagazine(index);
+    if (magazine.push(slab)) {
+      return;
+    }
+
+    if (!disposed && sizeClasses[index].giveToDepot(magazine)) {
+      if (disposed) {
+        // raced with dispose, which may have already drained the depot
+        drainDepots();
+      }
+      if (magazine.push(slab)) {
+        return;
+      }
+    }
+    deallocateAndProfile(slab);
+  }
+
+  private void trimIfNeeded() {
+    long last = lastTrim.get();
+    long now = nanoTime();
+    if (now - last >= TRIM_INTERVAL_NANOS && lastTrim.compareAndSet(last, now)) {
+      trimDeadThreadsMagazines();
+    }
+  }
+
+  /**
+   * Frees the buffers cached in the magazines of threads that are no longer alive.
+   *
+   * @return whether any buffer was freed.
+   */
+  boolean trimDeadThreadsMagazines() {
+    boolean freed = false;
+    Iterator<ThreadMagazines> iterator = magazinesRegistry.iterator();
+    while (iterator.hasNext()) {
+      ThreadMagazines threadMagazines = iterator.next();
+      if (!threadMagazines.isOwnerAlive()) {
+        iterator.remove();
+        freed |= drain(threadMagazines);
+      }
+    }
+    return freed;
+  }
+
+  private boolean drain(ThreadMagazines threadMagazines) {
+    boolean freed = false;
+    for (int i = 0; i < threadMagazines.magazines.length(); i++) {
+      Magazine magazine = threadMagazines.magazines.get(i);
+      if (magazine != null) {
+        for (ByteBuffer buffer : magazine.drain()) {
+          deallocateAndProfile(buffer);
+          freed = true;
+        }
+      }
+    }
+    return freed;
+  }
+
+  private void drainDepots() {
+    for (SizeClass sizeClass : sizeClasses) {
+      ByteBuffer[] rounds;
+      while ((rounds = sizeClass.depot.poll()) != null) {
+        sizeClass.depotSize.decrementAndGet();
+        for (ByteBuffer buffer : rounds) {
+          deallocateAndProfile(buffer);
+        }
+      }
+    }
+  }
+
+  private ByteBuffer allocateAndProfile(int capacity) {
+    ByteBuffer buffer;
+    try {
+      buffer = allocateIfFits(capacity);
+    } catch (MaxStreamingMemoryExceededException e) {
+      // buffers held by gone threads may be what is keeping the memory bound exceeded
+      if (!trimDeadThreadsMagazines()) {
+        throw e;
+      }
+      buffer = allocateIfFits(capacity);
+    }
+    if (allocationDataProducer != null) {
+      allocationDataProducer.triggerProfilingEvent(newEventContext(capacity));
+    }
+    return buffer;
+  }
+
+  private void deallocateAndProfile(ByteBuffer buffer) {
+    doDeallocate(buffer);
+    if (deallocationDataProducer != null) {
+      deallocationDataProducer.triggerProfilingEvent(newEventContext(buffer.capacity()));
+    }
+  }
+
+  private ByteBufferProviderEventContext newEventContext(int size) {
+    return new DefaultByteBufferManagerEventContext(PROVIDER_NAME, currentTimeMillis(), size, getHits(), getMisses(),
+                                                    getFragmentedBytes());
+  }
+
+  /**
+   * @return how many allocations were served by a pooled buffer
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return how many allocations required a new buffer
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the amount of bytes currently lost because the buffers in use are bigger than what was requested
+   */
+  public long getFragmentedBytes() {
+    return fragmentedBytes.sum();
+  }
+
+  @Override
+  public void dispose() {
+    disposed = true;
+    drainDepots();
+    ThreadMagazines threadMagazines;
+    while ((threadMagazines = magazinesRegistry.poll()) != null) {
+      drain(threadMagazines);
+    }
+    magazines.remove();
+  }
+
+  /**
+   * The magazines of a thread, for each size class.
+   */
+  private static class ThreadMagazines {
+
+    private final WeakReference<Thread> owner;
+    private final AtomicReferenceArray<Magazine> magazines;
+
+    private ThreadMagazines(Thread owner, int sizeClassesCount) {
+      this.owner = new WeakReference<>(owner);
+      this.magazines = new AtomicReferenceArray<>(sizeClassesCount);
+    }
+
+    private boolean isOwnerAlive() {
+      Thread thread = owner.get();
+      return thread != null && thread.isAlive();
+    }
+  }
+
+  private static class SizeClass {
+
+    private final int bufferCapacity;
+    private final int rounds;
+    private final int maxDepotMagazines;
+    private final Queue<ByteBuffer[]> depot = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depotSize = new AtomicInteger(0);
+
+    private SizeClass(int bufferCapacity, int rounds, int maxDepotMagazines) {
+      this.bufferCapacity = bufferCapacity;
+      this.rounds = rounds;
+      this.maxDepotMagazines = maxDepotMagazines;
+    }
+
+    /**
+     * Swaps the given empty {@code magazine} contents for a full one from the depot, if any.
+     */
+    private boolean takeFromDepot(Magazine magazine) {
+      ByteBuffer[] full = depot.poll();
+      if (full == null) {
+        return false;
+      }
+      depotSize.decrementAndGet();
+      magazine.load(full);
+      return true;
+    }
+
+    /**
+     * Moves the contents of the given full {@code magazine} to the depot, leaving it empty. Returns {@code false} if the depot is
+     * already full.
+     */
+    private boolean giveToDepot(Magazine magazine) {
+      if (depotSize.incrementAndGet() > maxDepotMagazines) {
+        depotSize.decrementAndGet();
+        return false;
+      }
+      depot.offer(magazine.unload());
+      return true;
+    }
+  }
+
+  /**
+   * A per thread stack of free buffers of the same size class.
+   * <p>
+   * Only its owner thread pushes and pops, so the stack top is a plain field. Another thread may {@link #drain()} it concurrently
+   * though, so each round is taken with an atomic swap and whoever swaps a buffer out of its slot owns it. No lock is involved.
+   */
+  private static class Magazine {
+
+    private final AtomicReferenceArray<ByteBuffer> rounds;
+    private int count = 0;
+    private volatile boolean drained = false;
+
+    private Magazine(int size) {
+      rounds = new AtomicReferenceArray<>(size);
+    }
+
+    private ByteBuffer pop() {
+      while (count > 0) {
+        ByteBuffer buffer = rounds.getAndSet(--count, null);
+        if (buffer != null) {
+          return buffer;
+        }
+      }
+      return null;
+    }
+
+    private boolean push(ByteBuffer buffer) {
+      if (drained || count == rounds.length()) {
+        return false;
+      }
+      int slot = count++;
+      rounds.set(slot, buffer);
+      // either the drain sees the buffer in its slot, or this sees the magazine drained and takes it back
+      return !drained || rounds.getAndSet(slot, null) == null;
+    }
+
+    private void load(ByteBuffer[] full) {
+      for (int i = 0; i < full.length; i++) {
+        rounds.set(i, full[i]);
+      }
+      count = full.length;
+    }
+
+    private ByteBuffer[] unload() {
+      List<ByteBuffer> full = new ArrayList<>(count);
+      while (count > 0) {
+        ByteBuffer buffer = rounds.getAndSet(--count, null);
+        if (buffer != null) {
+          full.add(buffer);
+        }
+      }
+      return full.toArray(new ByteBuffer[full.size()]);
+    }
+
+    /**
+     * Empties this magazine and prevents any buffer from being pushed into it from now on.
+     */
+    private List<ByteBuffer> drain() {
+      drained = true;
+      List<ByteBuffer> buffers = new ArrayList<>(rounds.length());
+      for (int i = 0; i < rounds.length(); i++) {
+        ByteBuffer buffer = rounds.getAndSet(i, null);
+        if (buffer != null) {
+          buffers.add(buffer);
+        }
+      }
+      return buffers;
+    }
+  }
+}
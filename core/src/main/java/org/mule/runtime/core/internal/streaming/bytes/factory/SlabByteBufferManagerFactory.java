@@ -0,0 +1,24 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes.factory;
+
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManagerFactory;
+import org.mule.runtime.core.internal.streaming.bytes.SlabByteBufferManager;
+
+/**
+ * A {@link ByteBufferManagerFactory} which creates {@link SlabByteBufferManager} instances.
+ *
+ * @since 4.10
+ */
+public class SlabByteBufferManagerFactory implements ByteBufferManagerFactory {
+
+  @Override
+  public ByteBufferManager create() {
+    return new SlabByteBufferManager();
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.serialization.SerializationUtils.deserialize;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
+
+import static org.apache.commons.lang3.SerializationUtils.serialize;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.streaming.object.FileStoreCursorIteratorConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.commons.lang3.SerializationException;
+import org.slf4j.Logger;
+
+/**
+ * An {@link AbstractObjectStreamBuffer} implementation which keeps a bounded amount of {@link Bucket buckets} in memory and
+ * spills the rest to a local file.
+ * <p>
+ * Buckets are of a fixed size, so any position can be located without looking at the data. Once a bucket is full, it is never
+ * modified again, so it is written to the spill file at most once: the first time it is evicted from the least recently used
+ * resident buckets. Evicted buckets are read back from the file when a cursor needs them again.
+ * <p>
+ * Items of the stream need to be {@link java.io.Serializable} for being spilled.
+ *
+ * @param <T> The generic type of the items in the stream
+ * @since 4.10
+ */
+public class FileStoreObjectStreamBuffer<T> extends AbstractObjectStreamBuffer<T> {
+
+  private static final Logger LOGGER = getLogger(FileStoreObjectStreamBuffer.class);
+
+  static final int MAX_BUCKET_SIZE = 512;
+
+  private final int bucketSize;
+  private final int maxResidentBuckets;
+  private final ClassLoader classLoader;
+
+  // Access ordered, so that the eldest entry is the least recently used
+  private final Map<Integer, Bucket<T>> residentBuckets = new LinkedHashMap<>(16, 0.75f, true);
+  private long[] spillOffsets = new long[16];
+  private int[] spillLengths = new int[16];
+  private File spillFile;
+  private RandomAccessFile spillFileAccess;
+  private long spillTip = 0;
+
+  public FileStoreObjectStreamBuffer(Iterator<T> stream, FileStoreCursorIteratorConfig config) {
+    super(stream);
+    int maxInMemoryInstances = config.getMaxInMemoryInstances();
+    this.bucketSize = max(1, min(MAX_BUCKET_SIZE, maxInMemoryInstances / 4));
+    // one of the buckets in memory is always the one being filled
+    this.maxResidentBuckets = max(1, maxInMemoryInstances / bucketSize - 1);
+    this.classLoader = currentThread().getContextClassLoader();
+    fill(spillOffsets, -1);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Position toPosition(long position) {
+    return new Position((int) (position / bucketSize), (int) (position % bucketSize));
+  }
+
+  @Override
+  protected void initialize(Optional<Position> maxPosition, Bucket<T> initialBucket) {
+    setCurrentBucket(new Bucket<>(0, bucketSize));
+  }
+
+  @Override
+  protected Bucket<T> getPresentBucket(Position position) {
+    Bucket<T> currentBucket = getCurrentBucket();
+    if (currentBucket != null && currentBucket.getIndex() == position.getBucketIndex()) {
+      return currentBucket;
+    }
+
+    synchronized (residentBuckets) {
+      Bucket<T> bucket = residentBuckets.get(position.getBucketIndex());
+      if (bucket == null && isSpilled(position.getBucketIndex())) {
+        bucket = readSpilledBucket(position.getBucketIndex());
+        makeResident(bucket);
+      }
+      return bucket;
+    }
+  }
+
+  @Override
+  protected Bucket<T> onBucketOverflow(Bucket<T> overflownBucket) {
+    synchronized (residentBuckets) {
+      makeResident(overflownBucket);
+    }
+    return new Bucket<>(overflownBucket.getIndex() + 1, bucketSize);
+  }
+
+  private void makeResident(Bucket<T> bucket) {
+    residentBuckets.put(bucket.getIndex(), bucket);
+    if (residentBuckets.size() > maxResidentBuckets) {
+      Iterator<Bucket<T>> eldest = residentBuckets.values().iterator();
+      Bucket<T> evicted = eldest.next();
+      eldest.remove();
+      if (!isSpilled(evicted.getIndex())) {
+        spill(evicted);
+      }
+    }
+  }
+
+  private boolean isSpilled(int bucketIndex) {
+    return bucketIndex < spillOffsets.length && spillOffsets[bucketIndex] >= 0;
+  }
+
+  private void spill(Bucket<T> bucket) {
+    try {
+      byte[] data = serialize(bucket);
+      if (spillFileAccess == null) {
+        spillFile = createBufferFile("object-stream-buffer");
+        spillFileAccess = new RandomAccessFile(spillFile, "rw");
+      }
+      spillFileAccess.seek(spillTip);
+      spillFileAccess.write(data);
+
+      int index = bucket.getIndex();
+      if (index >= spillOffsets.length) {
+        int newLength = max(index + 1, spillOffsets.length * 2);
+        int oldLength = spillOffsets.length;
+        spillOffsets = copyOf(spillOffsets, newLength);
+        fill(spillOffsets, oldLength, newLength, -1);
+        spillLengths = copyOf(spillLengths, newLength);
+      }
+      spillOffsets[index] = spillTip;
+      spillLengths[index] = data.length;
+      spillTip += data.length;
+    } catch (IOException | SerializationException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not spill streamed items to disk. Items must be Serializable"),
+                                     e);
+    }
+  }
+
+  private Bucket<T> readSpilledBucket(int bucketIndex) {
+    try {
+      byte[] data = new byte[spillLengths[bucketIndex]];
+      spillFileAccess.seek(spillOffsets[bucketIndex]);
+      spillFileAccess.readFully(data);
+      return (Bucket<T>) deserialize(data, classLoader);
+    } catch (IOException | SerializationException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read spilled streamed items from disk"), e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void doClose() {
+    synchronized (residentBuckets) {
+      residentBuckets.clear();
+      if (spillFileAccess != null) {
+        try {
+          spillFileAccess.close();
+        } catch (IOException e) {
+          LOGGER.debug("Found exception closing spill file", e);
+        }
+        if (!spillFile.delete()) {
+          LOGGER.debug("Could not delete spill file {}, it will be deleted on exit", spillFile.getAbsolutePath());
+          spillFile.deleteOnExit();
+        }
+      }
+    }
+  }
+
+  @Override
+  protected void validateMaxBufferSizeNotExceeded(int instancesCount) {
+    // Nothing to do, instances beyond the in memory ones are spilled to disk
+  }
+
+  int getResidentBucketsCount() {
+    synchronized (residentBuckets) {
+      return residentBuckets.size();
+    }
+  }
+
+  boolean isSpilled() {
+    return spillFile != null;
+  }
+}
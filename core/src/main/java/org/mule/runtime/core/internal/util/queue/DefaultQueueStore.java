@@ -6,6 +6,10 @@
  */
 package org.mule.runtime.core.internal.util.queue;
 
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.getBoolean;
+
 import org.mule.runtime.api.serialization.SerializationProtocol;
 import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
 import org.mule.runtime.core.api.util.queue.QueueConfiguration;
@@ -19,6 +23,12 @@ import org.apache.commons.lang3.NotImplementedException;
  */
 public class DefaultQueueStore implements RecoverableQueueStore {
 
+  /**
+   * When set, persistent queues are stored with a {@link MappedFileQueueStoreDelegate} instead of a
+   * {@link DualRandomAccessFileQueueStoreDelegate}.
+   */
+  public static final String MAPPED_QUEUE_STORE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.mapped";
+
   private QueueConfiguration config;
   private final String name;
   private QueueStoreDelegate delegate;
@@ -44,7 +54,9 @@ public class DefaultQueueStore implements RecoverableQueueStore {
     if (this.config == null) {
       this.config = new DefaultQueueConfiguration();
     }
-    if (this.config.isPersistent()) {
+    if (this.config.isPersistent() && getBoolean(MAPPED_QUEUE_STORE_PROPERTY_KEY)) {
+      delegate = new MappedFileQueueStoreDelegate(this.name, workingDirectory, serializer, this.config.getCapacity());
+    } else if (this.config.isPersistent()) {
       delegate = new DualRandomAccessFileQueueStoreDelegate(this.name, workingDirectory,
                                                             serializer, this.config.getCapacity());
     } else {
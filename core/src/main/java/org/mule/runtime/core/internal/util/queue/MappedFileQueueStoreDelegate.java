@@ -0,0 +1,474 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.internal.util.queue.QueueFileProvider.toHex;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Comparator.comparingLong;
+
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.api.util.Preconditions;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link TransactionalQueueStoreDelegate} implementation that keeps the queue data in memory-mapped segment files.
+ * <p/>
+ * As opposed to {@link DualRandomAccessFileQueueStoreDelegate}, which does a {@code seek} and a synchronous {@code write} on a
+ * {@link java.io.RandomAccessFile} for each added or removed element, elements are written directly to the mapped pages and the
+ * changes are flushed to disk once every {@link #FORCE_EVERY_PROPERTY_KEY} writes and once per {@link #addAll(Collection)}
+ * batch. Writes to the mapped pages survive a crash of the process as soon as they are done, so forcing them is only needed to
+ * bound what is lost if the whole machine goes down; grouping the writes makes it possible to pay for a single force for many of
+ * them.
+ * <p/>
+ * Each segment starts with a sequence number which defines its order in the queue, followed by the records, each one being
+ * {@code [state][length][crc32][data]}. A record whose checksum does not match is considered torn and ends the scan of its
+ * segment on recovery. Segments whose elements have all been consumed are recycled for new elements instead of being deleted.
+ *
+ * @since 4.10
+ */
+public class MappedFileQueueStoreDelegate extends AbstractQueueStoreDelegate implements TransactionalQueueStoreDelegate {
+
+  private static final Logger LOGGER = getLogger(MappedFileQueueStoreDelegate.class);
+
+  public static final String SEGMENT_SIZE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.mapped.segmentSize";
+  public static final String FORCE_EVERY_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.mapped.forceEvery";
+
+  private static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+  private static final int DEFAULT_FORCE_EVERY = 64;
+  private static final String QUEUE_STORE_DIRECTORY = "queuestore";
+  private static final String MAPPED_DIRECTORY_SUFFIX = "-mapped";
+  private static final String SEGMENT_FILE_PREFIX = "segment-";
+
+  // sequence number of the segment
+  private static final int SEGMENT_HEADER_SIZE = 8;
+  // state + length + crc
+  private static final int RECORD_HEADER_SIZE = 1 + 4 + 4;
+
+  private static final byte FREE = 0;
+  private static final byte LIVE = 1;
+  private static final byte REMOVED = 2;
+
+  private final SerializationProtocol serializer;
+  private final File queueDirectory;
+  private final int segmentSize;
+  private final int forceEvery;
+
+  private final Deque<Segment> segments = new ArrayDeque<>();
+  private final Deque<Segment> freeSegments = new ArrayDeque<>();
+  private final Deque<RecordPointer> records = new ArrayDeque<>();
+  private Segment writeSegment;
+  private long nextSequence = 1;
+  private int nextSegmentIndex = 0;
+  private int pendingWrites = 0;
+
+  public MappedFileQueueStoreDelegate(String queueName, String workingDirectory, SerializationProtocol serializer,
+                                      int capacity) {
+    super(capacity);
+    this.serializer = serializer;
+    this.segmentSize = getInteger(SEGMENT_SIZE_PROPERTY_KEY, DEFAULT_SEGMENT_SIZE);
+    this.forceEvery = max(1, getInteger(FORCE_EVERY_PROPERTY_KEY, DEFAULT_FORCE_EVERY));
+    this.queueDirectory = createQueueDirectory(new File(workingDirectory, QUEUE_STORE_DIRECTORY), queueName);
+    recover();
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(format("Queue %s has %s messages", queueName, getSize()));
+    }
+  }
+
+  private static File createQueueDirectory(File queuesDirectory, String queueName) {
+    File directory = new File(queuesDirectory, queueName + MAPPED_DIRECTORY_SUFFIX);
+    if (!directory.exists() && !directory.mkdirs()) {
+      // if file system does not support the name provided then use a hex representation of the name.
+      directory = new File(queuesDirectory, toHex(queueName) + MAPPED_DIRECTORY_SUFFIX);
+      Preconditions.checkState(directory.exists() || directory.mkdirs(),
+                               "Could not create queue store directory " + directory.getAbsolutePath());
+    }
+    return directory;
+  }
+
+  @Override
+  protected void add(Serializable item) {
+    append(item, false);
+    forceIfNeeded();
+  }
+
+  @Override
+  protected void addFirst(Serializable item) throws InterruptedException {
+    append(item, true);
+    forceIfNeeded();
+  }
+
+  @Override
+  protected boolean doAddAll(Collection<? extends Serializable> items) {
+    for (Serializable item : items) {
+      append(item, false);
+    }
+    force();
+    return true;
+  }
+
+  @Override
+  protected Serializable removeFirst() throws InterruptedException {
+    RecordPointer pointer = records.pollFirst();
+    if (pointer == null) {
+      return null;
+    }
+    Serializable value = deserialize(pointer.read());
+    markRemoved(pointer);
+    forceIfNeeded();
+    return value;
+  }
+
+  @Override
+  protected Serializable getFirst() throws InterruptedException {
+    RecordPointer pointer = records.peekFirst();
+    return pointer == null ? null : deserialize(pointer.read());
+  }
+
+  @Override
+  protected int size() {
+    return records.size();
+  }
+
+  @Override
+  protected boolean isEmpty() {
+    return records.isEmpty();
+  }
+
+  @Override
+  protected void doClear() {
+    records.clear();
+    for (Segment segment : new ArrayList<>(segments)) {
+      recycle(segment);
+    }
+    writeSegment = null;
+  }
+
+  @Override
+  public synchronized void remove(Serializable value) {
+    Iterator<RecordPointer> iterator = records.iterator();
+    while (iterator.hasNext()) {
+      RecordPointer pointer = iterator.next();
+      if (deserialize(pointer.read()).equals(value)) {
+        iterator.remove();
+        markRemoved(pointer);
+        force();
+        return;
+      }
+    }
+  }
+
+  @Override
+  public synchronized boolean contains(Serializable value) {
+    for (RecordPointer pointer : records) {
+      if (deserialize(pointer.read()).equals(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public synchronized Collection<Serializable> allElements() {
+    List<Serializable> elements = new ArrayList<>(records.size());
+    for (RecordPointer pointer : records) {
+      try {
+        elements.add(deserialize(pointer.read()));
+      } catch (Exception e) {
+        LOGGER.warn("Failure trying to deserialize value " + e.getMessage());
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Failure trying to deserialize value", e);
+        }
+      }
+    }
+    return elements;
+  }
+
+  @Override
+  public synchronized void close() {
+    force();
+    closeSegments();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void dispose() {
+    closeSegments();
+    deleteQuietly(queueDirectory);
+  }
+
+  private void append(Serializable item, boolean first) {
+    byte[] data = serializer.serialize(item);
+    int recordSize = RECORD_HEADER_SIZE + data.length;
+
+    if (writeSegment == null || writeSegment.remaining() < recordSize) {
+      Segment full = writeSegment;
+      if (full != null && full.liveRecords == 0) {
+        // all of its elements were consumed while it was being written, nothing else will recycle it
+        recycle(full);
+      }
+      writeSegment = nextWriteSegment(recordSize);
+    }
+
+    RecordPointer pointer = writeSegment.write(data);
+    if (first) {
+      records.addFirst(pointer);
+    } else {
+      records.addLast(pointer);
+    }
+    pendingWrites++;
+  }
+
+  private void markRemoved(RecordPointer pointer) {
+    Segment segment = pointer.segment;
+    segment.buffer.put(pointer.offset, REMOVED);
+    pendingWrites++;
+    if (--segment.liveRecords == 0 && segment != writeSegment) {
+      recycle(segment);
+    }
+  }
+
+  private Segment nextWriteSegment(int recordSize) {
+    Segment segment = freeSegments.pollFirst();
+    if (segment == null || segment.capacity() < SEGMENT_HEADER_SIZE + recordSize) {
+      if (segment != null) {
+        freeSegments.addFirst(segment);
+      }
+      segment = openSegment(new File(queueDirectory, SEGMENT_FILE_PREFIX + nextSegmentIndex++),
+                            max(segmentSize, SEGMENT_HEADER_SIZE + recordSize));
+    }
+    segment.start(nextSequence++);
+    segments.addLast(segment);
+    return segment;
+  }
+
+  private void recycle(Segment segment) {
+    segments.remove(segment);
+    segment.reset();
+    if (segment.capacity() > segmentSize) {
+      // oversized segments for big elements are not kept around
+      segment.close();
+      deleteQuietly(segment.file);
+    } else {
+      freeSegments.addLast(segment);
+    }
+  }
+
+  private void forceIfNeeded() {
+    if (pendingWrites >= forceEvery) {
+      force();
+    }
+  }
+
+  private void force() {
+    for (Segment segment : segments) {
+      if (segment.dirty) {
+        segment.buffer.force();
+        segment.dirty = false;
+      }
+    }
+    pendingWrites = 0;
+  }
+
+  private void recover() {
+    File[] files = queueDirectory.listFiles(file -> file.isFile() && file.getName().startsWith(SEGMENT_FILE_PREFIX));
+    if (files == null) {
+      return;
+    }
+
+    List<Segment> recovered = new ArrayList<>();
+    for (File file : files) {
+      nextSegmentIndex = max(nextSegmentIndex, Integer.parseInt(file.getName().substring(SEGMENT_FILE_PREFIX.length())) + 1);
+      Segment segment = openSegment(file, (int) file.length());
+      if (segment.sequence == 0) {
+        freeSegments.addLast(segment);
+      } else {
+        recovered.add(segment);
+      }
+    }
+    recovered.sort(comparingLong(segment -> segment.sequence));
+
+    for (Segment segment : recovered) {
+      nextSequence = max(nextSequence, segment.sequence + 1);
+      segment.scan(records);
+      segments.addLast(segment);
+    }
+
+    // Only the last segment may still have room for new elements. Already consumed segments are recycled right away.
+    writeSegment = segments.peekLast();
+    for (Segment segment : new ArrayList<>(segments)) {
+      if (segment.liveRecords == 0 && segment != writeSegment) {
+        recycle(segment);
+      }
+    }
+  }
+
+  private Segment openSegment(File file, int size) {
+    try (FileChannel channel = FileChannel.open(file.toPath(), CREATE, READ, WRITE)) {
+      // the mapping remains valid after the channel is closed
+      return new Segment(file, channel.map(READ_WRITE, 0, size));
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private void closeSegments() {
+    for (Segment segment : segments) {
+      segment.close();
+    }
+    for (Segment segment : freeSegments) {
+      segment.close();
+    }
+    segments.clear();
+    freeSegments.clear();
+    records.clear();
+    writeSegment = null;
+  }
+
+  private Serializable deserialize(byte[] data) {
+    return serializer.deserialize(data);
+  }
+
+  private static final class Segment {
+
+    private final File file;
+    private MappedByteBuffer buffer;
+    private long sequence;
+    private int writePosition;
+    private int liveRecords;
+    private boolean dirty;
+
+    private Segment(File file, MappedByteBuffer buffer) {
+      this.file = file;
+      this.buffer = buffer;
+      this.sequence = buffer.getLong(0);
+      this.writePosition = SEGMENT_HEADER_SIZE;
+    }
+
+    private int capacity() {
+      return buffer.capacity();
+    }
+
+    private int remaining() {
+      return buffer.capacity() - writePosition;
+    }
+
+    private void start(long sequence) {
+      this.sequence = sequence;
+      buffer.putLong(0, sequence);
+      dirty = true;
+    }
+
+    private RecordPointer write(byte[] data) {
+      int offset = writePosition;
+      writePosition += RECORD_HEADER_SIZE + data.length;
+      // terminates the records so that leftovers of previous usages of the segment are never scanned
+      if (writePosition < buffer.capacity()) {
+        buffer.put(writePosition, FREE);
+      }
+      // the state is written last so that a torn record is never considered as live
+      buffer.putInt(offset + 1, data.length);
+      buffer.putInt(offset + 5, checksum(data));
+      buffer.put(offset + RECORD_HEADER_SIZE, data);
+      buffer.put(offset, LIVE);
+      liveRecords++;
+      dirty = true;
+      return new RecordPointer(this, offset);
+    }
+
+    private void scan(Deque<RecordPointer> records) {
+      int offset = SEGMENT_HEADER_SIZE;
+      while (offset + RECORD_HEADER_SIZE <= buffer.capacity()) {
+        byte state = buffer.get(offset);
+        int length = buffer.getInt(offset + 1);
+        if (state == FREE || length <= 0 || offset + RECORD_HEADER_SIZE + length > buffer.capacity()) {
+          break;
+        }
+        if (state == LIVE && buffer.getInt(offset + 5) != checksum(new RecordPointer(this, offset).read())) {
+          LOGGER.warn("Discarding torn record at offset {} of queue segment {} and the ones after it", offset,
+                      file.getAbsolutePath());
+          break;
+        }
+        if (state == LIVE) {
+          records.addLast(new RecordPointer(this, offset));
+          liveRecords++;
+        }
+        offset += RECORD_HEADER_SIZE + length;
+      }
+      writePosition = offset;
+    }
+
+    private void reset() {
+      // records are always terminated, so freeing the first one is enough to discard the whole segment
+      buffer.putLong(0, 0);
+      buffer.put(SEGMENT_HEADER_SIZE, FREE);
+      buffer.force();
+      sequence = 0;
+      writePosition = SEGMENT_HEADER_SIZE;
+      liveRecords = 0;
+      dirty = false;
+    }
+
+    private void close() {
+      if (dirty) {
+        buffer.force();
+      }
+      buffer = null;
+    }
+  }
+
+  private static int checksum(byte[] data) {
+    CRC32 crc = new CRC32();
+    crc.update(data);
+    return (int) crc.getValue();
+  }
+
+  private static final class RecordPointer {
+
+    private final Segment segment;
+    private final int offset;
+
+    private RecordPointer(Segment segment, int offset) {
+      this.segment = segment;
+      this.offset = offset;
+    }
+
+    private byte[] read() {
+      int length = segment.buffer.getInt(offset + 1);
+      byte[] data = new byte[length];
+      segment.buffer.get(offset + RECORD_HEADER_SIZE, data);
+      return data;
+    }
+  }
+}
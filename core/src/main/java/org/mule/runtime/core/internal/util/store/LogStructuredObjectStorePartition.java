@@ -0,0 +1,848 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.config.i18n.CoreMessages.failedToCreate;
+import static org.mule.runtime.core.api.util.FileUtils.cleanDirectory;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Long.getLong;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparingLong;
+import static java.util.stream.Collectors.toList;
+
+import static org.apache.commons.io.FileUtils.readFileToString;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.store.ExpirableObjectStore;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.ObjectStoreNotAvailableException;
+import org.mule.runtime.api.store.TemplateObjectStore;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+
+/**
+ * Persistent partition which, instead of writing one file per entry as {@link PersistentObjectStorePartition} does, appends
+ * every mutation to a segmented, append-only log and keeps an in-memory hash index pointing to the last record of each key.
+ * <p>
+ * Each record is framed as {@code [length][type][sequence][timestamp][keyLength][key][value][crc32]}. On recovery the segments
+ * are replayed in order, the record with the highest sequence number wins for each key and a torn tail on the last segment (the
+ * result of a crash in the middle of an append) is truncated.
+ * <p>
+ * Sealed segments whose live data drops below {@link #COMPACTION_THRESHOLD} of their size are compacted by copying the live
+ * records to the head of the log and deleting the old segment. Compaction is triggered from {@link #expire(long, int)}, which
+ * runs on the object store monitor. When a store or remove leaves a sealed segment below the threshold, a compaction is also
+ * submitted to the compaction executor given on construction, so partitions without expiration do not grow forever without
+ * the writer paying for it. Only one compaction runs at a time.
+ *
+ * @param <T> the serializable entity to be persisted by the partition
+ *
+ * @since 4.10
+ */
+public class LogStructuredObjectStorePartition<T extends Serializable> extends TemplateObjectStore<T>
+    implements ExpirableObjectStore<T>, Disposable {
+
+  private static final Logger LOGGER = getLogger(LogStructuredObjectStorePartition.class);
+
+  public static final String SEGMENT_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.logStructured.segmentSize";
+  public static final String SYNC_ON_WRITE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.logStructured.syncOnWrite";
+
+  private static final long DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+  private static final double COMPACTION_THRESHOLD = 0.5;
+
+  private static final String PARTITION_DESCRIPTOR_FILE = "partition-descriptor";
+  private static final String SEGMENT_FILE_PREFIX = "segment-";
+  private static final String SEGMENT_FILE_EXTENSION = ".log";
+
+  private static final byte PUT = 1;
+  private static final byte DELETE = 2;
+
+  // type + sequence + timestamp + keyLength
+  private static final int RECORD_HEADER_SIZE = 1 + 8 + 8 + 4;
+  private static final int LENGTH_SIZE = 4;
+  private static final int CRC_SIZE = 4;
+
+  private final ObjectSerializer serializer;
+  private final File partitionDirectory;
+  private final long segmentSize;
+  private final boolean syncOnWrite;
+  private final Executor compactionExecutor;
+  private String partitionName;
+
+  private final Map<String, LogEntry> index = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+  private volatile Segment activeSegment;
+  private long sequence;
+
+  // Set when a sealed segment drops below the compaction threshold, so the next store/remove schedules a compaction
+  private volatile boolean compactionPending = false;
+  private final AtomicBoolean compactionScheduled = new AtomicBoolean(false);
+  private final Lock compactionLock = new ReentrantLock();
+
+  private volatile boolean loaded = false;
+
+  // Serializes appends to the active segment, as well as segment rolling.
+  private final Lock appendLock = new ReentrantLock();
+
+  // Guards the lifecycle of the segments against concurrent reads. Reads are done with positional reads on the segment channels,
+  // so they can run concurrently with appends; only removing a segment requires exclusive access.
+  private final ReadWriteLock segmentsLock = new ReentrantReadWriteLock();
+  private final Lock segmentsReadLock = segmentsLock.readLock();
+  private final Lock segmentsWriteLock = segmentsLock.writeLock();
+
+  public LogStructuredObjectStorePartition(ObjectSerializer serializer, String partitionName, File partitionDirectory) {
+    this(serializer, partitionName, partitionDirectory, null);
+  }
+
+  /**
+   * @param compactionExecutor where the compactions triggered by stores and removes are run. If {@code null}, segments are only
+   *                           compacted from {@link #expire(long, int)} and {@link #compact()}.
+   */
+  public LogStructuredObjectStorePartition(ObjectSerializer serializer, String partitionName, File partitionDirectory,
+                                           Executor compactionExecutor) {
+    this.serializer = serializer;
+    this.partitionName = partitionName;
+    this.partitionDirectory = partitionDirectory;
+    this.compactionExecutor = compactionExecutor;
+    this.segmentSize = getLong(SEGMENT_SIZE_PROPERTY, DEFAULT_SEGMENT_SIZE);
+    this.syncOnWrite = getBoolean(SYNC_ON_WRITE_PROPERTY);
+  }
+
+  public LogStructuredObjectStorePartition(ObjectSerializer serializer, File partitionDirectory)
+      throws ObjectStoreNotAvailableException {
+    this(serializer, partitionDirectory, null);
+  }
+
+  public LogStructuredObjectStorePartition(ObjectSerializer serializer, File partitionDirectory, Executor compactionExecutor)
+      throws ObjectStoreNotAvailableException {
+    this(serializer, readPartitionFileName(partitionDirectory), partitionDirectory, compactionExecutor);
+  }
+
+  private static String readPartitionFileName(File partitionDirectory) throws ObjectStoreNotAvailableException {
+    File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
+    try {
+      return readFileToString(partitionDescriptorFile, UTF_8);
+    } catch (IOException e) {
+      throw new ObjectStoreNotAvailableException(e);
+    }
+  }
+
+  @Override
+  public synchronized void open() throws ObjectStoreException {
+    createDirectory(partitionDirectory);
+    createOrRetrievePartitionDescriptorFile();
+  }
+
+  @Override
+  public void close() throws ObjectStoreException {
+    // a running compaction must not find the segments closed under it
+    compactionLock.lock();
+    appendLock.lock();
+    segmentsWriteLock.lock();
+    try {
+      closeSegments();
+      try {
+        cleanDirectory(partitionDirectory);
+        partitionDirectory.delete();
+      } catch (IOException e) {
+        throw new ObjectStoreException(createStaticMessage("Could not close object store partition"), e);
+      }
+      index.clear();
+      loaded = false;
+    } finally {
+      segmentsWriteLock.unlock();
+      appendLock.unlock();
+      compactionLock.unlock();
+    }
+  }
+
+  /**
+   * Releases the file handles of the segments, keeping the data on disk so it is recovered the next time the partition is used.
+   */
+  @Override
+  public void dispose() {
+    compactionLock.lock();
+    appendLock.lock();
+    segmentsWriteLock.lock();
+    try {
+      closeSegments();
+      index.clear();
+      loaded = false;
+    } finally {
+      segmentsWriteLock.unlock();
+      appendLock.unlock();
+      compactionLock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    compactionLock.lock();
+    appendLock.lock();
+    segmentsWriteLock.lock();
+    try {
+      closeSegments();
+      try {
+        cleanDirectory(partitionDirectory);
+        createOrRetrievePartitionDescriptorFile();
+      } catch (IOException e) {
+        throw new ObjectStoreException(createStaticMessage("Could not clear ObjectStore"), e);
+      }
+      index.clear();
+      activeSegment = openSegment(0);
+      loaded = true;
+    } finally {
+      segmentsWriteLock.unlock();
+      appendLock.unlock();
+      compactionLock.unlock();
+    }
+  }
+
+  @Override
+  public List<String> allKeys() throws ObjectStoreException {
+    assureLoaded();
+    return unmodifiableList(new ArrayList<>(index.keySet()));
+  }
+
+  @Override
+  protected boolean doContains(String key) throws ObjectStoreException {
+    assureLoaded();
+    return index.containsKey(key);
+  }
+
+  @Override
+  protected void doStore(String key, T value) throws ObjectStoreException {
+    assureLoaded();
+
+    // Serialization is the expensive part, so it is done before taking the lock
+    byte[] valueBytes = serializer.getInternalProtocol().serialize(value);
+
+    appendLock.lock();
+    try {
+      if (index.containsKey(key)) {
+        throw new ObjectAlreadyExistsException();
+      }
+      index.put(key, append(PUT, ++sequence, currentTimeMillis(), key, valueBytes));
+    } finally {
+      appendLock.unlock();
+    }
+
+    scheduleCompactionIfNeeded();
+  }
+
+  @Override
+  protected T doRetrieve(String key) throws ObjectStoreException {
+    assureLoaded();
+
+    return loadLatest(key);
+  }
+
+  /**
+   * Loads the current value of the given key. If the segment the entry points to was removed by a concurrent compaction, the
+   * index already points to the relocated record, so it is looked up again.
+   */
+  private T loadLatest(String key) throws ObjectStoreException {
+    return serializer.getInternalProtocol().deserialize(loadLatestRecord(key).value);
+  }
+
+  private Record loadLatestRecord(String key) throws ObjectStoreException {
+    LogEntry previous = null;
+    while (true) {
+      LogEntry entry = index.get(key);
+      if (entry == null) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+      if (entry == previous) {
+        // compaction updates the index before removing a segment, so this can only be an inconsistent index
+        throw new ObjectStoreException(createStaticMessage(format("Segment of key '%s' in partition '%s' no longer exists",
+                                                                  key, partitionName)));
+      }
+      Record record = load(entry);
+      if (record != null) {
+        return record;
+      }
+      previous = entry;
+    }
+  }
+
+  @Override
+  public Map<String, T> retrieveAll() throws ObjectStoreException {
+    assureLoaded();
+
+    Map<String, T> values = new LinkedHashMap<>(index.size());
+    for (String key : index.keySet()) {
+      try {
+        values.put(key, loadLatest(key));
+      } catch (ObjectDoesNotExistException e) {
+        // removed concurrently
+      }
+    }
+    return values;
+  }
+
+  @Override
+  protected T doRemove(String key) throws ObjectStoreException {
+    assureLoaded();
+
+    Record removed;
+    appendLock.lock();
+    try {
+      removed = loadLatestRecord(key);
+      appendTombstone(key, index.get(key));
+    } finally {
+      appendLock.unlock();
+    }
+
+    scheduleCompactionIfNeeded();
+    // Deserialization is the expensive part, so it is done after releasing the lock
+    return serializer.getInternalProtocol().deserialize(removed.value);
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return true;
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    assureLoaded();
+
+    // only sort when there actually are entries in excess, the TTL check does not depend on the order
+    if (maxEntries != UNBOUNDED && index.size() > maxEntries) {
+      List<Entry<String, LogEntry>> entries = new ArrayList<>(index.entrySet());
+      int excess = entries.size() - maxEntries;
+      if (excess > 0) {
+        entries.sort(comparingLong(e -> e.getValue().sequence));
+        for (Entry<String, LogEntry> entry : entries.subList(0, excess)) {
+          expireEntry(entry);
+        }
+      }
+    }
+
+    if (entryTTL != UNBOUNDED) {
+      final long now = currentTimeMillis();
+      List<Entry<String, LogEntry>> expired = index.entrySet().stream()
+          .filter(entry -> (now - entry.getValue().timestamp) >= entryTTL)
+          .collect(toList());
+      for (Entry<String, LogEntry> entry : expired) {
+        expireEntry(entry);
+      }
+    }
+
+    compact();
+  }
+
+  private void expireEntry(Entry<String, LogEntry> entry) throws ObjectStoreException {
+    appendLock.lock();
+    try {
+      // Only expire the entry if it was not replaced since the snapshot was taken
+      if (index.get(entry.getKey()) == entry.getValue()) {
+        appendTombstone(entry.getKey(), entry.getValue());
+      }
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  /**
+   * Compacts every sealed segment whose ratio of live data is below {@link #COMPACTION_THRESHOLD}.
+   *
+   * @throws ObjectStoreException if a segment could not be compacted
+   */
+  public void compact() throws ObjectStoreException {
+    assureLoaded();
+
+    compactionLock.lock();
+    try {
+      doCompact();
+    } finally {
+      compactionLock.unlock();
+    }
+  }
+
+  /**
+   * Submits a compaction to the {@link #compactionExecutor} if a store/remove left a sealed segment below the threshold and no
+   * other compaction is already scheduled.
+   */
+  private void scheduleCompactionIfNeeded() {
+    if (compactionPending && compactionExecutor != null && compactionScheduled.compareAndSet(false, true)) {
+      try {
+        compactionExecutor.execute(this::compactInBackground);
+      } catch (RejectedExecutionException e) {
+        compactionScheduled.set(false);
+        LOGGER.debug("Compaction of partition '{}' was rejected, it will be retried on the next store/remove", partitionName, e);
+      }
+    }
+  }
+
+  private void compactInBackground() {
+    compactionLock.lock();
+    try {
+      // cleared before compacting, so segments left below the threshold while this runs schedule another compaction
+      compactionScheduled.set(false);
+      if (loaded) {
+        doCompact();
+      }
+    } catch (ObjectStoreException e) {
+      LOGGER.warn("Could not compact partition '{}'", partitionName, e);
+    } finally {
+      compactionLock.unlock();
+    }
+  }
+
+  private void doCompact() throws ObjectStoreException {
+    compactionPending = false;
+    for (Segment segment : new ArrayList<>(segments.values())) {
+      if (needsCompaction(segment)) {
+        compact(segment);
+      }
+    }
+  }
+
+  private boolean needsCompaction(Segment segment) {
+    return segment != activeSegment && segment.liveBytes.get() < segment.size * COMPACTION_THRESHOLD;
+  }
+
+  private void compact(Segment segment) throws ObjectStoreException {
+    boolean oldest = segments.firstKey() == segment.id;
+    long offset = 0;
+    try {
+      while (offset < segment.size) {
+        Record record = readRecord(segment.channel, offset, segment.size);
+        if (record == null) {
+          break;
+        }
+
+        appendLock.lock();
+        try {
+          if (record.type == PUT) {
+            LogEntry entry = index.get(record.key);
+            if (entry != null && entry.segmentId == segment.id && entry.offset == offset) {
+              index.replace(record.key, entry, append(PUT, record.sequence, record.timestamp, record.key, record.value));
+            }
+          } else if (!oldest && !index.containsKey(record.key)) {
+            // The tombstone has to outlive any older segment that may still hold a previous version of the key
+            append(DELETE, record.sequence, record.timestamp, record.key, new byte[0]);
+          }
+        } finally {
+          appendLock.unlock();
+        }
+
+        offset += record.length;
+      }
+
+      appendLock.lock();
+      try {
+        // Make sure the relocated records are durable before dropping the only other copy
+        activeSegment.channel.force(false);
+      } finally {
+        appendLock.unlock();
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage(format("Could not compact segment %s of partition '%s'",
+                                                                segment.file.getName(), partitionName)),
+                                     e);
+    }
+
+    segmentsWriteLock.lock();
+    try {
+      segments.remove(segment.id);
+      segment.close();
+      if (!segment.file.delete()) {
+        LOGGER.warn("Could not delete compacted segment {}", segment.file.getAbsolutePath());
+      }
+    } finally {
+      segmentsWriteLock.unlock();
+    }
+  }
+
+  private void appendTombstone(String key, LogEntry entry) throws ObjectStoreException {
+    append(DELETE, ++sequence, currentTimeMillis(), key, new byte[0]);
+    index.remove(key);
+    Segment segment = segments.get(entry.segmentId);
+    if (segment != null) {
+      segment.liveBytes.addAndGet(-entry.length);
+      if (needsCompaction(segment)) {
+        compactionPending = true;
+      }
+    }
+  }
+
+  /**
+   * Must be called while holding the {@link #appendLock}.
+   */
+  private LogEntry append(byte type, long recordSequence, long timestamp, String key, byte[] value)
+      throws ObjectStoreException {
+    byte[] keyBytes = key.getBytes(UTF_8);
+    int recordLength = RECORD_HEADER_SIZE + keyBytes.length + value.length;
+    int totalLength = LENGTH_SIZE + recordLength + CRC_SIZE;
+
+    ByteBuffer buffer = ByteBuffer.allocate(totalLength);
+    buffer.putInt(recordLength);
+    buffer.put(type);
+    buffer.putLong(recordSequence);
+    buffer.putLong(timestamp);
+    buffer.putInt(keyBytes.length);
+    buffer.put(keyBytes);
+    buffer.put(value);
+    CRC32 crc = new CRC32();
+    crc.update(buffer.array(), LENGTH_SIZE, recordLength);
+    buffer.putInt((int) crc.getValue());
+    buffer.flip();
+
+    try {
+      if (activeSegment.size > 0 && activeSegment.size + totalLength > segmentSize) {
+        rollSegment();
+      }
+
+      long offset = activeSegment.size;
+      while (buffer.hasRemaining()) {
+        activeSegment.channel.write(buffer, offset + buffer.position());
+      }
+      if (syncOnWrite) {
+        activeSegment.channel.force(false);
+      }
+      activeSegment.size += totalLength;
+
+      if (type == PUT) {
+        activeSegment.liveBytes.addAndGet(totalLength);
+      }
+      return new LogEntry(activeSegment.id, offset, totalLength, recordSequence, timestamp);
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage(format("Could not append to segment %s of partition '%s'",
+                                                                activeSegment.file.getName(), partitionName)),
+                                     e);
+    }
+  }
+
+  private void rollSegment() throws IOException, ObjectStoreException {
+    Segment sealed = activeSegment;
+    sealed.channel.force(false);
+    activeSegment = openSegment(sealed.id + 1);
+    if (needsCompaction(sealed)) {
+      compactionPending = true;
+    }
+  }
+
+  /**
+   * @return the record the entry points to, or {@code null} if its segment was already removed by a compaction.
+   */
+  private Record load(LogEntry entry) throws ObjectStoreException {
+    segmentsReadLock.lock();
+    try {
+      Segment segment = segments.get(entry.segmentId);
+      if (segment == null) {
+        return null;
+      }
+
+      Record record = readRecord(segment.channel, entry.offset, entry.offset + entry.length);
+      if (record == null) {
+        throw new ObjectStoreException(createStaticMessage(format("Corrupted record at offset %d of segment %s",
+                                                                  entry.offset, segment.file.getName())));
+      }
+      return record;
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      segmentsReadLock.unlock();
+    }
+  }
+
+  private void assureLoaded() throws ObjectStoreException {
+    if (!loaded) {
+      recover();
+    }
+  }
+
+  private void recover() throws ObjectStoreException {
+    appendLock.lock();
+    try {
+      // re-check under the lock so that only one thread performs the recovery
+      if (loaded) {
+        return;
+      }
+
+      File[] files = partitionDirectory.listFiles(file -> !file.isDirectory()
+          && file.getName().startsWith(SEGMENT_FILE_PREFIX)
+          && file.getName().endsWith(SEGMENT_FILE_EXTENSION));
+      if (files == null) {
+        files = new File[0];
+      }
+
+      Map<String, Long> tombstones = new LinkedHashMap<>();
+      for (File file : files) {
+        Segment segment = openSegment(parseSegmentId(file));
+        segment.size = segment.channel.size();
+      }
+
+      for (Segment segment : segments.values()) {
+        replay(segment, tombstones, segment.id == segments.lastKey());
+      }
+
+      // live bytes can only be computed once the winner for each key is known
+      for (LogEntry entry : index.values()) {
+        segments.get(entry.segmentId).liveBytes.addAndGet(entry.length);
+      }
+
+      activeSegment = segments.isEmpty() ? openSegment(0) : segments.lastEntry().getValue();
+      loaded = true;
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage(format("Could not restore object store data from %s",
+                                                                partitionDirectory.getAbsolutePath())),
+                                     e);
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  private void replay(Segment segment, Map<String, Long> tombstones, boolean last) throws IOException {
+    long offset = 0;
+    while (offset < segment.size) {
+      Record record = readRecord(segment.channel, offset, segment.size);
+      if (record == null) {
+        break;
+      }
+
+      sequence = max(sequence, record.sequence);
+      LogEntry current = index.get(record.key);
+      long currentSequence = current != null ? current.sequence : tombstones.getOrDefault(record.key, -1L);
+      // compacted copies keep their original sequence, so the later copy of the same record wins
+      if (record.sequence >= currentSequence) {
+        if (record.type == PUT) {
+          tombstones.remove(record.key);
+          index.put(record.key, new LogEntry(segment.id, offset, record.length, record.sequence, record.timestamp));
+        } else {
+          index.remove(record.key);
+          tombstones.put(record.key, record.sequence);
+        }
+      }
+
+      offset += record.length;
+    }
+
+    if (offset < segment.size) {
+      if (last) {
+        LOGGER.warn("Truncating incomplete record at offset {} of object store segment {}", offset,
+                    segment.file.getAbsolutePath());
+        segment.channel.truncate(offset);
+        segment.size = offset;
+      } else {
+        LOGGER.warn("Found corrupted record at offset {} of object store segment {}. The rest of the segment will be skipped",
+                    offset, segment.file.getAbsolutePath());
+      }
+    }
+  }
+
+  /**
+   * @return the record at the given {@code offset}, or {@code null} if it is incomplete or corrupted.
+   */
+  private Record readRecord(FileChannel channel, long offset, long limit) throws IOException {
+    if (offset + LENGTH_SIZE > limit) {
+      return null;
+    }
+    ByteBuffer lengthBuffer = ByteBuffer.allocate(LENGTH_SIZE);
+    readFully(channel, lengthBuffer, offset);
+    int recordLength = lengthBuffer.getInt(0);
+    if (recordLength < RECORD_HEADER_SIZE || offset + LENGTH_SIZE + recordLength + CRC_SIZE > limit) {
+      return null;
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(recordLength + CRC_SIZE);
+    readFully(channel, buffer, offset + LENGTH_SIZE);
+    CRC32 crc = new CRC32();
+    crc.update(buffer.array(), 0, recordLength);
+    if (buffer.getInt(recordLength) != (int) crc.getValue()) {
+      return null;
+    }
+
+    buffer.rewind();
+    byte type = buffer.get();
+    long recordSequence = buffer.getLong();
+    long timestamp = buffer.getLong();
+    int keyLength = buffer.getInt();
+    if (keyLength < 0 || keyLength > recordLength - RECORD_HEADER_SIZE) {
+      return null;
+    }
+    String key = new String(buffer.array(), RECORD_HEADER_SIZE, keyLength, UTF_8);
+    byte[] value = new byte[recordLength - RECORD_HEADER_SIZE - keyLength];
+    System.arraycopy(buffer.array(), RECORD_HEADER_SIZE + keyLength, value, 0, value.length);
+
+    return new Record(type, recordSequence, timestamp, key, value, LENGTH_SIZE + recordLength + CRC_SIZE);
+  }
+
+  private void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of segment");
+      }
+    }
+  }
+
+  private Segment openSegment(int id) throws ObjectStoreException {
+    File file = new File(partitionDirectory, format("%s%010d%s", SEGMENT_FILE_PREFIX, id, SEGMENT_FILE_EXTENSION));
+    try {
+      Segment segment = new Segment(id, file, FileChannel.open(file.toPath(), CREATE, READ, WRITE));
+      segments.put(id, segment);
+      return segment;
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not open segment " + file.getAbsolutePath()), e);
+    }
+  }
+
+  private int parseSegmentId(File file) {
+    String name = file.getName();
+    return Integer.parseInt(name.substring(SEGMENT_FILE_PREFIX.length(), name.length() - SEGMENT_FILE_EXTENSION.length()));
+  }
+
+  private void closeSegments() {
+    for (Segment segment : segments.values()) {
+      segment.close();
+    }
+    segments.clear();
+    activeSegment = null;
+  }
+
+  protected void createDirectory(File directory) throws ObjectStoreException {
+    try {
+      if (!directory.exists() && !directory.mkdirs()) {
+        throw new MuleRuntimeException(failedToCreate("object store directory " + directory.getAbsolutePath()));
+      }
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  protected File createOrRetrievePartitionDescriptorFile() throws ObjectStoreException {
+    try {
+      File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
+      if (partitionDescriptorFile.exists()) {
+        this.partitionName = readPartitionFileName(partitionDirectory);
+        return partitionDescriptorFile;
+      }
+      try (FileWriter fileWriter = new FileWriter(partitionDescriptorFile.getAbsolutePath(), UTF_8, false)) {
+        fileWriter.write(partitionName);
+        fileWriter.flush();
+      }
+      return partitionDescriptorFile;
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  public File getPartitionDirectory() {
+    return partitionDirectory;
+  }
+
+  public String getPartitionName() {
+    return partitionName;
+  }
+
+  /**
+   * @return the amount of segment files currently backing this partition.
+   */
+  int getSegmentsCount() {
+    return segments.size();
+  }
+
+  private static final class LogEntry {
+
+    private final int segmentId;
+    private final long offset;
+    private final int length;
+    private final long sequence;
+    private final long timestamp;
+
+    private LogEntry(int segmentId, long offset, int length, long sequence, long timestamp) {
+      this.segmentId = segmentId;
+      this.offset = offset;
+      this.length = length;
+      this.sequence = sequence;
+      this.timestamp = timestamp;
+    }
+  }
+
+  private static final class Record {
+
+    private final byte type;
+    private final long sequence;
+    private final long timestamp;
+    private final String key;
+    private final byte[] value;
+    private final int length;
+
+    private Record(byte type, long sequence, long timestamp, String key, byte[] value, int length) {
+      this.type = type;
+      this.sequence = sequence;
+      this.timestamp = timestamp;
+      this.key = key;
+      this.value = value;
+      this.length = length;
+    }
+  }
+
+  private static final class Segment {
+
+    private final int id;
+    private final File file;
+    private final FileChannel channel;
+    private final AtomicLong liveBytes = new AtomicLong();
+    // only modified while holding the append lock
+    private volatile long size;
+
+    private Segment(int id, File file, FileChannel channel) {
+      this.id = id;
+      this.file = file;
+      this.channel = channel;
+    }
+
+    private void close() {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        LOGGER.warn("Could not close segment " + file.getAbsolutePath(), e);
+      }
+    }
+  }
+}
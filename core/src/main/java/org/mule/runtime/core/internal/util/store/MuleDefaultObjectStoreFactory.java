@@ -6,21 +6,47 @@
  */
 package org.mule.runtime.core.internal.util.store;
 
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.getBoolean;
+
 import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
+import org.mule.runtime.core.internal.store.PartitionedLogStructuredObjectStore;
 import org.mule.runtime.core.internal.store.PartitionedPersistentObjectStore;
+import org.mule.runtime.core.internal.store.PartitionedTimeBucketedInMemoryObjectStore;
 
 import java.io.Serializable;
 
 public class MuleDefaultObjectStoreFactory implements DefaultObjectStoreFactory {
 
+  /**
+   * When set, the default persistent object store keeps its data in append-only logs (see
+   * {@link PartitionedLogStructuredObjectStore}) instead of one file per entry.
+   */
+  public static final String LOG_STRUCTURED_PERSISTENT_OBJECT_STORE_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "objectStore.persistent.logStructured";
+
+  /**
+   * When set, the default in memory object store groups entries in time buckets (see
+   * {@link PartitionedTimeBucketedInMemoryObjectStore}) so that expiring them does not walk the whole partition.
+   */
+  public static final String TIME_BUCKETED_IN_MEMORY_OBJECT_STORE_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "objectStore.inMemory.timeBucketed";
+
   @Override
   public ObjectStore<Serializable> createDefaultInMemoryObjectStore() {
+    if (getBoolean(TIME_BUCKETED_IN_MEMORY_OBJECT_STORE_PROPERTY)) {
+      return new PartitionedTimeBucketedInMemoryObjectStore<>();
+    }
     return new PartitionedInMemoryObjectStore<>();
   }
 
   @Override
   public ObjectStore<Serializable> createDefaultPersistentObjectStore() {
+    if (getBoolean(LOG_STRUCTURED_PERSISTENT_OBJECT_STORE_PROPERTY)) {
+      return new PartitionedLogStructuredObjectStore<>();
+    }
     return new PartitionedPersistentObjectStore<>();
   }
 }
@@ -7,9 +7,13 @@
 package org.mule.runtime.core.internal.util.store;
 
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 
 import static java.lang.String.format;
+import static java.lang.System.getProperty;
+import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.toSet;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import static org.slf4j.LoggerFactory.getLogger;
@@ -29,9 +33,11 @@ import org.mule.runtime.api.store.PartitionableExpirableObjectStore;
 import org.mule.runtime.api.store.PartitionableObjectStore;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.internal.store.AbstractPartitionableObjectStore;
+import org.mule.runtime.core.internal.store.PartitionedLogStructuredObjectStore;
 
 import java.io.Serializable;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -44,6 +50,12 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
   private static Logger LOGGER = getLogger(MuleObjectStoreManager.class);
   public static final int UNBOUNDED = 0;
 
+  /**
+   * Comma separated names of the persistent object stores that have to be backed by a
+   * {@link PartitionedLogStructuredObjectStore} instead of the base persistent store.
+   */
+  public static final String LOG_STRUCTURED_OBJECT_STORES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.logStructured.stores";
+
   private SchedulerService schedulerService;
   private Registry registry;
   private MuleContext muleContext;
@@ -59,6 +71,13 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
   private ObjectStore<?> baseTransientPartition;
   private ObjectStore<?> basePersistentPartition;
 
+  private final Set<String> logStructuredStoreNames = stream(getProperty(LOG_STRUCTURED_OBJECT_STORES_PROPERTY, "").split(","))
+      .map(String::trim)
+      .filter(name -> !name.isEmpty())
+      .collect(toSet());
+  private ObjectStore<?> logStructuredStore;
+  private boolean ownsLogStructuredStore;
+
   @Override
   public void initialise() throws InitialisationException {
     basePersistentStore = lookupBaseStore(basePersistentStoreKey, "Persistent");
@@ -67,6 +86,20 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
     try {
       baseTransientPartition = getPartitionFromBaseObjectStore(baseTransientStore, baseTransientStoreKey);
       basePersistentPartition = getPartitionFromBaseObjectStore(basePersistentStore, basePersistentStoreKey);
+
+      if (!logStructuredStoreNames.isEmpty()) {
+        if (basePersistentStore instanceof PartitionedLogStructuredObjectStore) {
+          // both would use the same directory, so the base store is shared instead of opening the same logs twice
+          logStructuredStore = basePersistentStore;
+        } else {
+          PartitionedLogStructuredObjectStore<Serializable> store =
+              new PartitionedLogStructuredObjectStore<>(muleContext.getConfiguration(), muleContext.getObjectSerializer(),
+                                                        schedulerService, muleContext.getSchedulerBaseConfig());
+          store.open();
+          logStructuredStore = store;
+          ownsLogStructuredStore = true;
+        }
+      }
     } catch (ObjectStoreException e) {
       throw new InitialisationException(e, this);
     }
@@ -92,6 +125,11 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
     baseTransientPartition = null;
     basePersistentStore = null;
     baseTransientStore = null;
+    if (ownsLogStructuredStore) {
+      disposeIfNeeded(logStructuredStore, LOGGER);
+      ownsLogStructuredStore = false;
+    }
+    logStructuredStore = null;
 
     stores.values().forEach(store -> disposeIfNeeded(store, LOGGER));
     stores.clear();
@@ -153,7 +191,7 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
   }
 
   private <T extends ObjectStore<?>> T doCreateObjectStore(String name, ObjectStoreSettings settings) {
-    final ObjectStore<? extends Serializable> baseStore = getBaseStore(settings);
+    final ObjectStore<? extends Serializable> baseStore = getBaseStore(name, settings);
     T store;
     try {
       store = getPartitionFromBaseObjectStore(baseStore, name);
@@ -168,8 +206,12 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
     return store;
   }
 
-  private <T extends ObjectStore<? extends Serializable>> T getBaseStore(ObjectStoreSettings settings) {
-    return settings.isPersistent() ? (T) basePersistentStore : (T) baseTransientStore;
+  private <T extends ObjectStore<? extends Serializable>> T getBaseStore(String name, ObjectStoreSettings settings) {
+    if (!settings.isPersistent()) {
+      return (T) baseTransientStore;
+    }
+    return logStructuredStore != null && logStructuredStoreNames.contains(name) ? (T) logStructuredStore
+        : (T) basePersistentStore;
   }
 
   private <T extends ObjectStore<? extends Serializable>> T getPartitionFromBaseObjectStore(
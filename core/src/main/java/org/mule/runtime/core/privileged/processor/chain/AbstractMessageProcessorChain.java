@@ -27,6 +27,7 @@ import static org.mule.runtime.core.api.util.StreamingUtils.updateEventForStream
 import static org.mule.runtime.core.api.util.StringUtils.isBlank;
 import static org.mule.runtime.core.internal.artifact.ArtifactClassLoaderFinder.artifactClassLoaderFinder;
 import static org.mule.runtime.core.internal.context.DefaultMuleContext.currentMuleContext;
+import static org.mule.runtime.core.internal.event.AbstractEventContext.NO_PROCESSOR_START_TIME;
 import static org.mule.runtime.core.internal.event.NullEventFactory.getNullEvent;
 import static org.mule.runtime.core.internal.processor.interceptor.ReactiveInterceptorAdapter.createInterceptors;
 import static org.mule.runtime.core.internal.processor.strategy.util.ProfilingUtils.getArtifactId;
@@ -45,7 +46,9 @@ import static org.mule.runtime.core.privileged.processor.chain.UnnamedComponent.
 
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
 import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 import static org.apache.commons.lang3.StringUtils.replace;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -60,6 +63,7 @@ import org.mule.runtime.api.artifact.Registry;
 import org.mule.runtime.api.component.Component;
 import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.event.Event;
+import org.mule.runtime.api.event.EventContext;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.functional.Either;
 import org.mule.runtime.api.lifecycle.InitialisationException;
@@ -75,11 +79,13 @@ import org.mule.runtime.core.api.context.notification.ServerNotificationHandler;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.exception.FlowExceptionHandler;
 import org.mule.runtime.core.api.execution.ExceptionContextProvider;
+import org.mule.runtime.core.api.management.stats.FlowConstructStatistics;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.processor.ReactiveProcessor;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.api.streaming.StreamingManager;
 import org.mule.runtime.core.internal.context.DefaultMuleContext;
+import org.mule.runtime.core.internal.event.AbstractEventContext;
 import org.mule.runtime.core.internal.exception.GlobalErrorHandler;
 import org.mule.runtime.core.internal.exception.MessagingExceptionResolver;
 import org.mule.runtime.core.internal.interception.InterceptorManager;
@@ -230,6 +236,10 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
   private ErrorMetricsFactory errorMetricsFactory;
   private ErrorMetrics errorMetrics;
 
+  private FlowConstructStatistics flowStatistics;
+  // The start time of the processor each event is being processed by is kept in its context
+  private boolean trackProcessorLatency;
+
   AbstractMessageProcessorChain(String name,
                                 Optional<ProcessingStrategy> processingStrategyOptional,
                                 List<Processor> processors, FlowExceptionHandler messagingExceptionHandler) {
@@ -473,6 +483,7 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
 
   private void notifyError(Processor processor, BaseEventContext context, final MessagingException resolvedException,
                            BiConsumer<BaseEventContext, ? super Exception> errorBubbler) {
+    endProcessorLatency(getProcessorPath(processor), context);
     errorNotification(processor)
         .andThen(t -> errorBubbler.accept(context, t))
         .accept(resolvedException);
@@ -519,14 +530,35 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
       ComponentTracer<CoreEvent> coreComponentTracer = getComponentTracer(processor, chainComponentTracer);
 
       return stream -> from(stream)
-          .doOnNext(event -> beforeComponentProcessingStrategy((Processor) processor, processorPath, event, coreComponentTracer))
+          .doOnNext(event -> {
+            beforeComponentProcessingStrategy((Processor) processor, processorPath, event, coreComponentTracer);
+            startProcessorLatency(processorPath, event);
+          })
           .transform(next)
-          .map(result -> afterComponentProcessingStrategy((Processor) processor, processorPath, result));
+          .map(result -> {
+            endProcessorLatency(processorPath, result.getContext());
+            return afterComponentProcessingStrategy((Processor) processor, processorPath, result);
+          });
     });
 
     return interceptors;
   }
 
+  private void startProcessorLatency(String processorPath, CoreEvent event) {
+    if (trackProcessorLatency && processorPath != null && event.getContext() instanceof AbstractEventContext context) {
+      context.setProcessorStartTime(nanoTime());
+    }
+  }
+
+  private void endProcessorLatency(String processorPath, EventContext eventContext) {
+    if (trackProcessorLatency && processorPath != null && eventContext instanceof AbstractEventContext context) {
+      long startTime = context.removeProcessorStartTime();
+      if (startTime != NO_PROCESSOR_START_TIME) {
+        flowStatistics.addProcessorExecutionTime(processorPath, NANOSECONDS.toMicros(nanoTime() - startTime));
+      }
+    }
+  }
+
   private void beforeProcessorInSameThread(CoreEvent event, Processor processor) {
     currentMuleContext.set(muleContext);
     setCurrentEvent((PrivilegedEvent) event);
@@ -780,6 +812,8 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
 
     errorMetrics = errorMetricsFactory.create(meterProvider.getMeterBuilder(MULE_RUNTIME_ERROR_METRICS).build());
 
+    trackProcessorLatency = flowStatistics != null && flowStatistics.isLatencyTrackingEnabled();
+
     synchronized (ALERTS_PER_DEPLOYMENT) {
       ALERTS_PER_DEPLOYMENT.putIfAbsent(resolveRegionContextClassLoader()
           .orElseGet(() -> currentThread().getContextClassLoader()), alertingSupport);
@@ -839,6 +873,16 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     this.chainComponentTracer = chainComponentTracer;
   }
 
+  /**
+   * @param flowStatistics the statistics of the flow this chain belongs to, where the execution time of its processors is added
+   *                       if {@link FlowConstructStatistics#isLatencyTrackingEnabled() enabled}.
+   *
+   * @since 4.10
+   */
+  public void setFlowStatistics(FlowConstructStatistics flowStatistics) {
+    this.flowStatistics = flowStatistics;
+  }
+
   public void setAlertingSupport(AlertingSupport alertingSupport) {
     this.alertingSupport = alertingSupport;
   }
@@ -10,6 +10,7 @@ import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.exception.FlowExceptionHandler;
+import org.mule.runtime.core.api.management.stats.FlowConstructStatistics;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.tracer.api.component.ComponentTracer;
@@ -37,6 +38,7 @@ public abstract class AbstractMessageProcessorChainBuilder implements MessagePro
   protected ComponentLocation location;
   protected MuleContext muleContext;
   protected ComponentTracer<CoreEvent> chainComponentTracer;
+  protected FlowConstructStatistics flowStatistics;
 
   public void setName(String name) {
     this.name = name;
@@ -55,6 +57,16 @@ public abstract class AbstractMessageProcessorChainBuilder implements MessagePro
     this.location = location;
   }
 
+  /**
+   * @param flowStatistics the statistics of the flow the built chain belongs to, where the execution time of its processors is
+   *                       added.
+   *
+   * @since 4.10
+   */
+  public void setFlowStatistics(FlowConstructStatistics flowStatistics) {
+    this.flowStatistics = flowStatistics;
+  }
+
   @Override
   public void setComponentTracer(ComponentTracer<CoreEvent> chainComponentTracer) {
     this.chainComponentTracer = chainComponentTracer;
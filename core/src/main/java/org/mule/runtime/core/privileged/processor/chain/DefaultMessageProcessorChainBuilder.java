@@ -87,6 +87,10 @@ public class DefaultMessageProcessorChainBuilder extends AbstractMessageProcesso
       messageProcessorChain.setComponentTracer(chainComponentTracer);
     }
 
+    if (flowStatistics != null) {
+      messageProcessorChain.setFlowStatistics(flowStatistics);
+    }
+
     return messageProcessorChain;
   }
 
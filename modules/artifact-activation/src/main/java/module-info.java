@@ -23,9 +23,11 @@ module org.mule.runtime.artifact.activation {
   requires transitive org.mule.runtime.core;
   requires org.mule.runtime.extension.model;
   requires transitive org.mule.runtime.extensions.api;
+  requires org.mule.runtime.extensions.api.persistence;
   requires org.mule.runtime.global.config;
   requires org.mule.runtime.jar.handling.utils;
   requires org.mule.runtime.jpms.utils;
+  requires org.mule.runtime.manifest;
   requires org.mule.runtime.maven.client.api;
   requires org.mule.runtime.metadata.model.api;
   requires org.mule.runtime.service;
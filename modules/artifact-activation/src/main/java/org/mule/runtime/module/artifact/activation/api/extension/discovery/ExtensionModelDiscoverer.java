@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.module.artifact.activation.api.extension.discovery;
 
+import static org.mule.runtime.module.artifact.activation.internal.extension.discovery.CachingExtensionModelGenerator.cachingIfEnabled;
+
 import static java.util.Collections.unmodifiableSet;
 
 import org.mule.api.annotation.NoImplement;
@@ -37,8 +39,8 @@ public interface ExtensionModelDiscoverer {
    */
   static ExtensionModelDiscoverer defaultExtensionModelDiscoverer(PluginClassLoaderSupplier classLoaderFactory,
                                                                   ExtensionModelLoaderRepository extensionModelLoaderRepository) {
-    return new DefaultExtensionModelDiscoverer(new RepositoryLookupExtensionModelGenerator(classLoaderFactory,
-                                                                                           extensionModelLoaderRepository));
+    return new DefaultExtensionModelDiscoverer(cachingIfEnabled(new RepositoryLookupExtensionModelGenerator(classLoaderFactory,
+                                                                                                            extensionModelLoaderRepository)));
   }
 
   /**
@@ -52,13 +54,13 @@ public interface ExtensionModelDiscoverer {
    */
   static ExtensionModelDiscoverer defaultExtensionModelDiscoverer(MuleDeployableArtifactClassLoader applicationClassLoader,
                                                                   ExtensionModelLoaderRepository extensionModelLoaderRepository) {
-    return new DefaultExtensionModelDiscoverer(new RepositoryLookupExtensionModelGenerator(artifactPluginDescriptor -> applicationClassLoader
+    return new DefaultExtensionModelDiscoverer(cachingIfEnabled(new RepositoryLookupExtensionModelGenerator(artifactPluginDescriptor -> applicationClassLoader
         .getArtifactPluginClassLoaders().stream()
         .filter(apcl -> apcl.getArtifactDescriptor().getBundleDescriptor().getGroupId()
             .equals(artifactPluginDescriptor.getBundleDescriptor().getGroupId())
             && apcl.getArtifactDescriptor().getBundleDescriptor().getArtifactId()
                 .equals(artifactPluginDescriptor.getBundleDescriptor().getArtifactId()))
-        .findAny().get(), extensionModelLoaderRepository));
+        .findAny().get(), extensionModelLoaderRepository)));
   }
 
   /**
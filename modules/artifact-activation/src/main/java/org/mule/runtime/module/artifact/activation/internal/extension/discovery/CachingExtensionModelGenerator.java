@@ -0,0 +1,371 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.activation.internal.extension.discovery;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.container.api.MuleFoldersUtil.getExecutionFolder;
+import static org.mule.runtime.extension.api.ExtensionConstants.JAVA_SDK_LOADER_ID;
+import static org.mule.runtime.manifest.api.MuleManifest.getMuleManifest;
+
+import static java.io.OutputStream.nullOutputStream;
+import static java.lang.Boolean.getBoolean;
+import static java.lang.System.getProperty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.isRegularFile;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.readString;
+import static java.nio.file.Files.writeString;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.sort;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.meta.model.EnrichableModel;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.api.meta.model.ModelProperty;
+import org.mule.runtime.api.meta.model.config.ConfigurationModel;
+import org.mule.runtime.api.meta.model.connection.ConnectionProviderModel;
+import org.mule.runtime.api.meta.model.connection.HasConnectionProviderModels;
+import org.mule.runtime.api.meta.model.construct.ConstructModel;
+import org.mule.runtime.api.meta.model.construct.HasConstructModels;
+import org.mule.runtime.api.meta.model.function.FunctionModel;
+import org.mule.runtime.api.meta.model.function.HasFunctionModels;
+import org.mule.runtime.api.meta.model.operation.HasOperationModels;
+import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.api.meta.model.parameter.ParameterGroupModel;
+import org.mule.runtime.api.meta.model.parameter.ParameterModel;
+import org.mule.runtime.api.meta.model.parameter.ParameterizedModel;
+import org.mule.runtime.api.meta.model.source.HasSourceModels;
+import org.mule.runtime.api.meta.model.source.SourceModel;
+import org.mule.runtime.api.meta.model.util.ExtensionWalker;
+import org.mule.runtime.extension.api.persistence.ExtensionModelJsonSerializer;
+import org.mule.runtime.module.artifact.activation.api.extension.discovery.ExtensionDiscoveryRequest;
+import org.mule.runtime.module.artifact.api.descriptor.ArtifactPluginDescriptor;
+import org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor;
+import org.mule.runtime.module.artifact.api.plugin.LoaderDescriber;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link ExtensionModelGenerator} that keeps the {@link ExtensionModel}s generated by a delegate serialized on disk, so that
+ * restarts and redeployments of plugins that did not change can skip the generation.
+ * <p>
+ * Entries are keyed by a digest of the runtime version, the plugin coordinates, the contents of the plugin jars, the loader and
+ * discovery parameters and the extensions the plugin depends on. Whenever any of those changes a new entry is generated, and
+ * entries for other runtime versions are discarded. Entries that cannot be read back are deleted and regenerated.
+ * <p>
+ * Only the information that survives JSON serialization is kept, so a model is only cached when serializing and deserializing it
+ * keeps all of its model properties. Models relying on runtime only properties (for instance, the implementing types of a Java
+ * extension) are always generated. Since that is always the case for the Java SDK loader, its models are generated right away,
+ * and so are the ones of any other loader once one of its models is found to rely on such properties.
+ * <p>
+ * Each runtime version keeps its entries in its own folder, flagged with a marker file. Only folders with that marker are
+ * discarded, so that pointing {@link #EXTENSION_MODEL_CACHE_FOLDER_PROPERTY} to an existing folder does not remove its contents.
+ *
+ * @since 4.10
+ */
+public class CachingExtensionModelGenerator implements ExtensionModelGenerator {
+
+  /**
+   * When set to {@code true}, the generated {@link ExtensionModel}s of plugins are cached on disk across deployments.
+   */
+  public static final String EXTENSION_MODEL_CACHE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "extensionModel.cache";
+
+  /**
+   * Folder where the cached {@link ExtensionModel}s are kept. Defaults to {@code extension-models} within the execution folder.
+   */
+  public static final String EXTENSION_MODEL_CACHE_FOLDER_PROPERTY = SYSTEM_PROPERTY_PREFIX + "extensionModel.cache.folder";
+
+  private static final Logger LOGGER = getLogger(CachingExtensionModelGenerator.class);
+
+  private static final String DEFAULT_CACHE_FOLDER = "extension-models";
+  private static final String ENTRY_EXTENSION = ".json";
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+  private static final String CACHE_MARKER = ".mule-extension-model-cache";
+
+  /**
+   * Wraps the given {@code generator} with a {@link CachingExtensionModelGenerator} if {@link #EXTENSION_MODEL_CACHE_PROPERTY} is
+   * enabled.
+   *
+   * @param generator the generator of the {@link ExtensionModel}s.
+   * @return the generator to use for discovering extension models.
+   */
+  public static ExtensionModelGenerator cachingIfEnabled(ExtensionModelGenerator generator) {
+    if (!getBoolean(EXTENSION_MODEL_CACHE_PROPERTY)) {
+      return generator;
+    }
+
+    String cacheFolder = getProperty(EXTENSION_MODEL_CACHE_FOLDER_PROPERTY);
+    return new CachingExtensionModelGenerator(generator,
+                                              cacheFolder != null ? Paths.get(cacheFolder)
+                                                  : new File(getExecutionFolder(), DEFAULT_CACHE_FOLDER).toPath(),
+                                              getMuleManifest().getProductVersion());
+  }
+
+  private final ExtensionModelGenerator delegate;
+  private final Path cacheFolder;
+  private final String runtimeVersion;
+  private final ExtensionModelJsonSerializer serializer = new ExtensionModelJsonSerializer(false);
+  private final Set<String> uncacheableLoaders = newKeySet();
+
+  private volatile boolean staleVersionsDiscarded;
+
+  public CachingExtensionModelGenerator(ExtensionModelGenerator delegate, Path cacheRootFolder, String runtimeVersion) {
+    this.delegate = delegate;
+    this.cacheFolder = cacheRootFolder.resolve(runtimeVersion);
+    this.runtimeVersion = runtimeVersion;
+    uncacheableLoaders.add(JAVA_SDK_LOADER_ID);
+  }
+
+  @Override
+  public ExtensionModel obtainExtensionModel(ExtensionDiscoveryRequest discoveryRequest,
+                                             ArtifactPluginDescriptor artifactPluginDescriptor,
+                                             Set<ExtensionModel> dependencies) {
+    Optional<LoaderDescriber> loaderDescriber = artifactPluginDescriptor.getExtensionModelDescriptorProperty();
+    if (loaderDescriber.isEmpty() || uncacheableLoaders.contains(loaderDescriber.get().getId())) {
+      return delegate.obtainExtensionModel(discoveryRequest, artifactPluginDescriptor, dependencies);
+    }
+
+    Optional<Path> entry = entryFor(discoveryRequest, artifactPluginDescriptor, dependencies);
+    if (entry.isEmpty()) {
+      return delegate.obtainExtensionModel(discoveryRequest, artifactPluginDescriptor, dependencies);
+    }
+
+    ExtensionModel cached = read(entry.get());
+    if (cached != null) {
+      LOGGER.debug("Using cached extension model of plugin '{}' from '{}'", artifactPluginDescriptor.getName(), entry.get());
+      return cached;
+    }
+
+    ExtensionModel extensionModel = delegate.obtainExtensionModel(discoveryRequest, artifactPluginDescriptor, dependencies);
+    if (extensionModel != null) {
+      write(entry.get(), extensionModel, artifactPluginDescriptor, loaderDescriber.get());
+    }
+    return extensionModel;
+  }
+
+  private Optional<Path> entryFor(ExtensionDiscoveryRequest discoveryRequest,
+                                  ArtifactPluginDescriptor artifactPluginDescriptor,
+                                  Set<ExtensionModel> dependencies) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+      update(digest, runtimeVersion);
+
+      BundleDescriptor bundleDescriptor = artifactPluginDescriptor.getBundleDescriptor();
+      if (bundleDescriptor == null) {
+        return Optional.empty();
+      }
+      update(digest, bundleDescriptor.getGroupId());
+      update(digest, bundleDescriptor.getArtifactId());
+      update(digest, bundleDescriptor.getVersion());
+      update(digest, bundleDescriptor.getClassifier().orElse(""));
+
+      URL[] urls = artifactPluginDescriptor.getClassLoaderConfiguration().getUrls();
+      if (urls.length == 0) {
+        return Optional.empty();
+      }
+      for (URL url : urls) {
+        if (!"file".equals(url.getProtocol())) {
+          return Optional.empty();
+        }
+        Path file = Paths.get(url.toURI());
+        if (!isRegularFile(file)) {
+          // Exploded plugins may be modified in place, so their contents cannot be checked cheaply
+          return Optional.empty();
+        }
+        update(digest, file.getFileName().toString());
+        try (InputStream content = new DigestInputStream(Files.newInputStream(file), digest)) {
+          content.transferTo(nullOutputStream());
+        }
+      }
+
+      artifactPluginDescriptor.getExtensionModelDescriptorProperty().ifPresent(describer -> {
+        update(digest, describer.getId());
+        update(digest, describer.getAttributes());
+      });
+      update(digest, discoveryRequest.getParameters());
+      update(digest, discoveryRequest.isEnrichDescriptions() + "," + discoveryRequest.isOCSEnabled() + ","
+          + discoveryRequest.isForceExtensionValidation() + "," + discoveryRequest.isResolveMinMuleVersion());
+
+      List<String> dependencyIds = new ArrayList<>(dependencies.size());
+      for (ExtensionModel dependency : dependencies) {
+        dependencyIds.add(dependency.getName() + ":" + dependency.getVersion() + ":"
+            + dependency.getArtifactCoordinates().map(Object::toString).orElse(""));
+      }
+      sort(dependencyIds);
+      dependencyIds.forEach(dependencyId -> update(digest, dependencyId));
+
+      return Optional.of(cacheFolder.resolve(HexFormat.of().formatHex(digest.digest()) + ENTRY_EXTENSION));
+    } catch (IOException | URISyntaxException | NoSuchAlgorithmException e) {
+      LOGGER.debug("Unable to compute the extension model cache key of plugin '{}'", artifactPluginDescriptor.getName(), e);
+      return Optional.empty();
+    }
+  }
+
+  private static void update(MessageDigest digest, Map<String, Object> values) {
+    new TreeMap<>(values).forEach((key, value) -> update(digest, key + "=" + value));
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    digest.update(value.getBytes(UTF_8));
+    // separator, so that consecutive values cannot be confused with each other
+    digest.update((byte) 0);
+  }
+
+  private ExtensionModel read(Path entry) {
+    if (!isRegularFile(entry)) {
+      return null;
+    }
+
+    try {
+      return serializer.deserialize(readString(entry, UTF_8));
+    } catch (Exception e) {
+      LOGGER.warn("Discarding unreadable cached extension model '{}'", entry, e);
+      try {
+        deleteIfExists(entry);
+      } catch (IOException deleteException) {
+        LOGGER.debug("Unable to delete cached extension model '{}'", entry, deleteException);
+      }
+      return null;
+    }
+  }
+
+  private void write(Path entry, ExtensionModel extensionModel, ArtifactPluginDescriptor artifactPluginDescriptor,
+                     LoaderDescriber loaderDescriber) {
+    Path temp = null;
+    try {
+      String serialized = serializer.serialize(extensionModel);
+      if (!modelPropertiesOf(extensionModel).equals(modelPropertiesOf(serializer.deserialize(serialized)))) {
+        LOGGER.debug("Extension model of plugin '{}' has model properties that cannot be serialized, "
+            + "models of loader '{}' will not be cached", artifactPluginDescriptor.getName(), loaderDescriber.getId());
+        uncacheableLoaders.add(loaderDescriber.getId());
+        return;
+      }
+
+      createDirectories(cacheFolder);
+      try {
+        Files.createFile(cacheFolder.resolve(CACHE_MARKER));
+      } catch (FileAlreadyExistsException e) {
+        // already flagged as a cache folder
+      }
+      discardStaleVersions();
+
+      // Write to a temp file first so that concurrent readers never see a partially written entry
+      temp = createTempFile(cacheFolder, entry.getFileName().toString(), ".tmp");
+      writeString(temp, serialized, UTF_8);
+      try {
+        move(temp, entry, ATOMIC_MOVE, REPLACE_EXISTING);
+      } catch (IOException e) {
+        move(temp, entry, REPLACE_EXISTING);
+      }
+      temp = null;
+    } catch (Exception e) {
+      LOGGER.warn("Unable to cache extension model of plugin '{}'", artifactPluginDescriptor.getName(), e);
+    } finally {
+      if (temp != null) {
+        deleteQuietly(temp.toFile());
+      }
+    }
+  }
+
+  private void discardStaleVersions() {
+    if (staleVersionsDiscarded) {
+      return;
+    }
+    staleVersionsDiscarded = true;
+
+    try (DirectoryStream<Path> versionFolders = Files.newDirectoryStream(cacheFolder.getParent())) {
+      for (Path versionFolder : versionFolders) {
+        // only folders created by this cache are discarded, anything else in the folder is left untouched
+        if (!versionFolder.equals(cacheFolder) && isRegularFile(versionFolder.resolve(CACHE_MARKER))) {
+          deleteQuietly(versionFolder.toFile());
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.debug("Unable to discard extension models cached for other runtime versions", e);
+    }
+  }
+
+  private static List<String> modelPropertiesOf(ExtensionModel extensionModel) {
+    List<String> modelProperties = new ArrayList<>();
+    collectModelProperties(extensionModel.getName(), extensionModel, modelProperties);
+
+    new ExtensionWalker() {
+
+      @Override
+      protected void onConfiguration(ConfigurationModel model) {
+        collectModelProperties(model.getName(), model, modelProperties);
+      }
+
+      @Override
+      protected void onConnectionProvider(HasConnectionProviderModels owner, ConnectionProviderModel model) {
+        collectModelProperties(model.getName(), model, modelProperties);
+      }
+
+      @Override
+      protected void onOperation(HasOperationModels owner, OperationModel model) {
+        collectModelProperties(model.getName(), model, modelProperties);
+      }
+
+      @Override
+      protected void onSource(HasSourceModels owner, SourceModel model) {
+        collectModelProperties(model.getName(), model, modelProperties);
+      }
+
+      @Override
+      protected void onConstruct(HasConstructModels owner, ConstructModel model) {
+        collectModelProperties(model.getName(), model, modelProperties);
+      }
+
+      @Override
+      protected void onFunction(HasFunctionModels owner, FunctionModel model) {
+        collectModelProperties(model.getName(), model, modelProperties);
+      }
+
+      @Override
+      protected void onParameter(ParameterizedModel owner, ParameterGroupModel groupModel, ParameterModel model) {
+        collectModelProperties(owner.getName() + "." + model.getName(), model, modelProperties);
+      }
+    }.walk(extensionModel);
+
+    sort(modelProperties);
+    return modelProperties;
+  }
+
+  private static void collectModelProperties(String ownerName, EnrichableModel model, List<String> modelProperties) {
+    for (ModelProperty modelProperty : model.getModelProperties()) {
+      modelProperties.add(ownerName + "#" + modelProperty.getName());
+    }
+  }
+}
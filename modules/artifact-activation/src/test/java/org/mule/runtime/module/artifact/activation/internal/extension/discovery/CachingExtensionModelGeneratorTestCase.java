@@ -0,0 +1,224 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.activation.internal.extension.discovery;
+
+import static org.mule.runtime.api.meta.Category.COMMUNITY;
+import static org.mule.runtime.core.api.extension.provider.MuleExtensionModelProvider.setConfigurerFactory;
+import static org.mule.runtime.extension.api.ExtensionConstants.ALL_SUPPORTED_JAVA_VERSIONS;
+import static org.mule.test.allure.AllureConstants.ExtensionModelDiscoveryFeature.EXTENSION_MODEL_DISCOVERY;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.list;
+import static java.nio.file.Files.writeString;
+import static java.util.Collections.emptySet;
+import static java.util.Optional.of;
+import static java.util.stream.Collectors.toList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.extension.api.loader.ExtensionLoadingContext;
+import org.mule.runtime.extension.api.loader.ExtensionModelLoader;
+import org.mule.runtime.extension.api.metadata.ComponentMetadataConfigurer;
+import org.mule.runtime.extension.api.metadata.ComponentMetadataConfigurerFactory;
+import org.mule.runtime.module.artifact.activation.api.extension.discovery.ExtensionDiscoveryRequest;
+import org.mule.runtime.module.artifact.activation.api.extension.discovery.ExtensionModelLoaderRepository;
+import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
+import org.mule.runtime.module.artifact.api.descriptor.ArtifactPluginDescriptor;
+import org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor;
+import org.mule.runtime.module.artifact.api.descriptor.ClassLoaderConfiguration.ClassLoaderConfigurationBuilder;
+import org.mule.runtime.module.artifact.api.plugin.LoaderDescriber;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.qameta.allure.Feature;
+
+@Feature(EXTENSION_MODEL_DISCOVERY)
+public class CachingExtensionModelGeneratorTestCase extends AbstractMuleTestCase {
+
+  private static final String PLUGIN_NAME = "myPlugin";
+  private static final String RUNTIME_VERSION = "4.10.0";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final AtomicInteger generations = new AtomicInteger();
+  private final ExtensionDiscoveryRequest discoveryRequest =
+      new DefaultExtensionDiscoveryRequest(emptySet(), emptySet(), false, false, true);
+
+  private File pluginJar;
+  private File cacheFolder;
+  private ArtifactPluginDescriptor descriptor;
+  private ExtensionModelGenerator delegate;
+  private ExtensionModelGenerator generator;
+
+  @Before
+  public void setup() throws IOException {
+    setConfigurerFactory(createMockedFactory());
+
+    pluginJar = temporaryFolder.newFile("my-plugin.jar");
+    writeString(pluginJar.toPath(), "contents", UTF_8);
+    cacheFolder = temporaryFolder.newFolder("cache");
+
+    LoaderDescriber loaderDescriber = new LoaderDescriber("test");
+    descriptor = new ArtifactPluginDescriptor(PLUGIN_NAME);
+    descriptor.setExtensionModelDescriptorProperty(loaderDescriber);
+    descriptor.setBundleDescriptor(new BundleDescriptor.Builder().setGroupId("myGroup").setArtifactId(PLUGIN_NAME)
+        .setVersion("1.0").setClassifier("mule-plugin").build());
+    descriptor.setClassLoaderConfiguration(new ClassLoaderConfigurationBuilder()
+        .containing(pluginJar.toURI().toURL())
+        .build());
+
+    ExtensionModelLoaderRepository loaderRepository = mock(ExtensionModelLoaderRepository.class);
+    when(loaderRepository.getExtensionModelLoader(loaderDescriber)).thenReturn(of(new TestExtensionModelLoader()));
+
+    ArtifactClassLoader artifactClassLoader = mock(ArtifactClassLoader.class);
+    when(artifactClassLoader.getClassLoader()).thenReturn(this.getClass().getClassLoader());
+
+    delegate = new RepositoryLookupExtensionModelGenerator(artifactPluginDescriptor -> artifactClassLoader, loaderRepository);
+    generator = createGenerator(delegate);
+  }
+
+  private ExtensionModelGenerator createGenerator(ExtensionModelGenerator delegate) {
+    return createGenerator(delegate, RUNTIME_VERSION);
+  }
+
+  private ExtensionModelGenerator createGenerator(ExtensionModelGenerator delegate, String runtimeVersion) {
+    return new CachingExtensionModelGenerator((request, plugin, dependencies) -> {
+      generations.incrementAndGet();
+      return delegate.obtainExtensionModel(request, plugin, dependencies);
+    }, cacheFolder.toPath(), runtimeVersion);
+  }
+
+  @Test
+  public void cachedModelIsReused() {
+    ExtensionModel generated = generator.obtainExtensionModel(discoveryRequest, descriptor, emptySet());
+    ExtensionModel cached = generator.obtainExtensionModel(discoveryRequest, descriptor, emptySet());
+
+    assertThat(generations.get(), is(1));
+    assertThat(cached.getName(), is(generated.getName()));
+    assertThat(cached.getVersion(), is(generated.getVersion()));
+  }
+
+  @Test
+  public void changedJarIsRegenerated() throws IOException {
+    generator.obtainExtensionModel(discoveryRequest, descriptor, emptySet());
+    writeString(pluginJar.toPath(), "changed contents", UTF_8);
+    generator.obtainExtensionModel(discoveryRequest, descriptor, emptySet());
+
+    assertThat(generations.get(), is(2));
+    assertThat(entries(), hasSize(2));
+  }
+
+  @Test
+  public void differentRequestIsRegenerated() {
+    generator.obtainExtensionModel(discoveryRequest, descriptor, emptySet());
+    generator.obtainExtensionModel(new DefaultExtensionDiscoveryRequest(emptySet(), emptySet(), false, true, true),
+                                   descriptor, emptySet());
+
+    assertThat(generations.get(), is(2));
+  }
+
+  @Test
+  public void corruptEntryIsRegenerated() throws IOException {
+    generator.obtainExtensionModel(discoveryRequest, descriptor, emptySet());
+    for (Path entry : entries()) {
+      writeString(entry, "{not a model", UTF_8);
+    }
+
+    ExtensionModel regenerated = generator.obtainExtensionModel(discoveryRequest, descriptor, emptySet());
+    generator.obtainExtensionModel(discoveryRequest, descriptor, emptySet());
+
+    assertThat(generations.get(), is(2));
+    assertThat(regenerated.getName(), is("test"));
+  }
+
+  @Test
+  public void pluginWithoutJarsIsNotCached() {
+    descriptor.setClassLoaderConfiguration(new ClassLoaderConfigurationBuilder().build());
+
+    generator.obtainExtensionModel(discoveryRequest, descriptor, emptySet());
+    generator.obtainExtensionModel(discoveryRequest, descriptor, emptySet());
+
+    assertThat(generations.get(), is(2));
+  }
+
+  @Test
+  public void otherRuntimeVersionsAreDiscarded() throws IOException {
+    File staleVersion = new File(cacheFolder, "4.9.0");
+    createGenerator(delegate, staleVersion.getName()).obtainExtensionModel(discoveryRequest, descriptor, emptySet());
+    assertThat(staleVersion.exists(), is(true));
+
+    generator.obtainExtensionModel(discoveryRequest, descriptor, emptySet());
+
+    assertThat(staleVersion.exists(), is(false));
+    assertThat(entries(), hasSize(1));
+  }
+
+  @Test
+  public void foldersNotCreatedByTheCacheAreKept() throws IOException {
+    File unrelatedFolder = temporaryFolder.newFolder("cache", "unrelated");
+    File unrelatedFile = new File(cacheFolder, "unrelated.txt");
+    writeString(unrelatedFile.toPath(), "contents", UTF_8);
+
+    generator.obtainExtensionModel(discoveryRequest, descriptor, emptySet());
+
+    assertThat(unrelatedFolder.exists(), is(true));
+    assertThat(unrelatedFile.exists(), is(true));
+    assertThat(entries(), hasSize(1));
+  }
+
+  private List<Path> entries() throws IOException {
+    try (Stream<Path> entries = list(cacheFolder.toPath().resolve(RUNTIME_VERSION))) {
+      return entries.filter(entry -> entry.getFileName().toString().endsWith(".json")).collect(toList());
+    }
+  }
+
+  private static ComponentMetadataConfigurerFactory createMockedFactory() {
+    return new ComponentMetadataConfigurerFactory() {
+
+      @Override
+      public ComponentMetadataConfigurer create() {
+        return mock(ComponentMetadataConfigurer.class, RETURNS_DEEP_STUBS);
+      }
+    };
+  }
+
+  private static class TestExtensionModelLoader extends ExtensionModelLoader {
+
+    @Override
+    public String getId() {
+      return "test";
+    }
+
+    @Override
+    protected void declareExtension(ExtensionLoadingContext context) {
+      context.getExtensionDeclarer()
+          .named("test")
+          .onVersion("0.1")
+          .withCategory(COMMUNITY)
+          .fromVendor("Mulesoft")
+          .supportingJavaVersions(ALL_SUPPORTED_JAVA_VERSIONS);
+    }
+  }
+}
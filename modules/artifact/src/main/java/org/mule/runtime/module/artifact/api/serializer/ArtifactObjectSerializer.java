@@ -6,11 +6,15 @@
  */
 package org.mule.runtime.module.artifact.api.serializer;
 
+import static org.mule.runtime.core.internal.serialization.CompactSerializationProtocol.COMPACT_SERIALIZATION_PROPERTY;
+
+import static java.lang.Boolean.getBoolean;
 import static java.util.Objects.requireNonNull;
 
 import org.mule.api.annotation.NoInstantiate;
 import org.mule.runtime.api.serialization.ObjectSerializer;
 import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.internal.serialization.CompactSerializationProtocol;
 import org.mule.runtime.core.internal.serialization.JavaExternalSerializerProtocol;
 import org.mule.runtime.module.artifact.api.classloader.ClassLoaderRepository;
 import org.mule.runtime.module.artifact.api.serializer.protocol.CustomJavaSerializationProtocol;
@@ -19,19 +23,23 @@ import org.mule.runtime.module.artifact.api.serializer.protocol.CustomJavaSerial
 public final class ArtifactObjectSerializer implements ObjectSerializer {
 
   private volatile JavaExternalSerializerProtocol javaExternalSerializerProtocol;
-  private volatile CustomJavaSerializationProtocol javaInternalSerializerProtocol;
+  private volatile SerializationProtocol internalSerializerProtocol;
 
   public ArtifactObjectSerializer(ClassLoaderRepository classLoaderRepository, ClassLoader executionClassLoader) {
     requireNonNull(classLoaderRepository, "ClassLoaderRepository cannot be null");
     requireNonNull(executionClassLoader, "executionClassLoader cannot be null");
 
     javaExternalSerializerProtocol = new JavaExternalSerializerProtocol(executionClassLoader);
-    javaInternalSerializerProtocol = new CustomJavaSerializationProtocol(classLoaderRepository, executionClassLoader);
+    SerializationProtocol javaInternalSerializerProtocol =
+        new CustomJavaSerializationProtocol(classLoaderRepository, executionClassLoader);
+    internalSerializerProtocol = getBoolean(COMPACT_SERIALIZATION_PROPERTY)
+        ? new CompactSerializationProtocol(javaInternalSerializerProtocol, executionClassLoader)
+        : javaInternalSerializerProtocol;
   }
 
   @Override
   public SerializationProtocol getInternalProtocol() {
-    return javaInternalSerializerProtocol;
+    return internalSerializerProtocol;
   }
 
   @Override
@@ -7,6 +7,7 @@
 package org.mule.runtime.module.artifact.api.serializer.protocol;
 
 import static org.mule.runtime.core.api.util.IOUtils.toByteArray;
+import static org.mule.runtime.core.internal.serialization.CompactSerializationProtocol.isCompactFormat;
 
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
@@ -15,11 +16,14 @@ import org.mule.api.annotation.NoInstantiate;
 import org.mule.runtime.api.serialization.SerializationException;
 import org.mule.runtime.api.streaming.bytes.CursorStream;
 import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.core.internal.serialization.AbstractSerializationProtocol;
+import org.mule.runtime.core.internal.serialization.CompactSerializationProtocol;
 import org.mule.runtime.module.artifact.api.classloader.ClassLoaderRepository;
 import org.mule.runtime.module.artifact.api.serializer.ArtifactClassLoaderObjectInputStream;
 import org.mule.runtime.module.artifact.api.serializer.ArtifactClassLoaderObjectOutputStream;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -37,6 +41,7 @@ public class CustomJavaSerializationProtocol extends AbstractSerializationProtoc
 
   private final ClassLoaderRepository classLoaderRepository;
   private final ClassLoader executionClassLoader;
+  private final LazyValue<CompactSerializationProtocol> compactProtocol;
 
   /**
    * Creates a new serialization protocol to serialize/deserialize classes provided by any class loader defined in the provided
@@ -51,6 +56,7 @@ public class CustomJavaSerializationProtocol extends AbstractSerializationProtoc
 
     this.classLoaderRepository = classLoaderRepository;
     this.executionClassLoader = executionClassLoader;
+    this.compactProtocol = new LazyValue<>(() -> new CompactSerializationProtocol(this, executionClassLoader));
   }
 
   /**
@@ -85,6 +91,14 @@ public class CustomJavaSerializationProtocol extends AbstractSerializationProtoc
     requireNonNull(inputStream, "Cannot deserialize a null stream");
     requireNonNull(classLoader, "Cannot deserialize with a null classloader");
 
+    if (!inputStream.markSupported()) {
+      inputStream = new BufferedInputStream(inputStream);
+    }
+    // data persisted while the compact protocol was enabled
+    if (isCompactFormat(inputStream)) {
+      return compactProtocol.get().deserialize(inputStream.readAllBytes(), classLoader);
+    }
+
     try (ObjectInputStream in = new ArtifactClassLoaderObjectInputStream(classLoaderRepository, inputStream)) {
       Object obj = in.readObject();
 
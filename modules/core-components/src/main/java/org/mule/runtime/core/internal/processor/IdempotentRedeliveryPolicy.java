@@ -15,6 +15,7 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
 import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.compile;
+import static org.mule.runtime.core.internal.serialization.CompactSerializationProtocol.registerSharedCodec;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
 
 import static java.lang.String.format;
@@ -41,11 +42,15 @@ import org.mule.runtime.core.api.execution.ExceptionContextProvider;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 import org.mule.runtime.core.api.transaction.TransactionCoordination;
 import org.mule.runtime.core.internal.exception.MessagingExceptionResolver;
+import org.mule.runtime.core.internal.serialization.CompactSerializationProtocol.Codec;
+import org.mule.runtime.core.internal.serialization.CompactSerializationProtocol.Reader;
+import org.mule.runtime.core.internal.serialization.CompactSerializationProtocol.Writer;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.exception.ErrorTypeLocator;
 import org.mule.runtime.core.privileged.exception.MessageRedeliveredException;
 import org.mule.runtime.core.privileged.exception.MessagingException;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.LinkedList;
@@ -84,6 +89,23 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
 
   private static final Logger LOGGER = getLogger(IdempotentRedeliveryPolicy.class);
 
+  static {
+    // the counters are read from the store only by this policy, so this is registered before the first one is read
+    registerSharedCodec(RedeliveryCounter.class, new Codec<RedeliveryCounter>() {
+
+      @Override
+      public void write(RedeliveryCounter value, Writer writer) throws IOException {
+        writer.writeValue(value.getCounter());
+        writer.writeValue(value.getErrors());
+      }
+
+      @Override
+      public RedeliveryCounter read(Reader reader) throws IOException {
+        return new RedeliveryCounter((AtomicInteger) reader.readValue(), (List<Error>) reader.readValue());
+      }
+    });
+  }
+
   private final MessagingExceptionResolver exceptionResolver = new MessagingExceptionResolver(this);
 
   @Inject
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.lang.Math.max;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.slf4j.Logger;
+
+/**
+ * In memory Bloom filter of the ids known to be in the store of an {@link IdempotentMessageValidator}, used to skip reading the
+ * store for ids which were definitely not seen before.
+ * <p>
+ * A filter may only be wrong by claiming it knows an id which is not in the store: ids removed from the store by expiration
+ * stay in the filter, and ids are only added after being stored. Those false positives just cost a store read. Ids stored by
+ * other nodes of a shared store are missed by the filter, so the validator must still rely on
+ * {@link ObjectStore#store(String, java.io.Serializable)} rejecting existing keys.
+ * <p>
+ * The filter is rebuilt from {@link ObjectStore#allKeys()} when the validator starts, when it gets more ids than it was sized for
+ * and when too many false positives are found, which is how expired ids are eventually dropped. Rebuilds run in the background,
+ * as reading all the keys of a persistent store may take a while, and the new filter is swapped in once complete. Meanwhile the
+ * previous filter keeps answering, or, before the first rebuild completes, every lookup goes to the store.
+ *
+ * @since 4.10
+ */
+public class IdempotentIdFilter {
+
+  private static final Logger LOGGER = getLogger(IdempotentIdFilter.class);
+
+  static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+  private final ObjectStore<String> store;
+  private final Executor rebuildExecutor;
+  private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+  private final LongAdder definiteMisses = new LongAdder();
+  private final LongAdder possibleHits = new LongAdder();
+  private final LongAdder falsePositives = new LongAdder();
+  private final AtomicLong insertions = new AtomicLong(0);
+  private final AtomicLong falsePositivesSinceRebuild = new AtomicLong(0);
+
+  private volatile int expectedIds;
+  private volatile BloomFilter<CharSequence> filter;
+  // ids put while a rebuild is reading the store, which may be missing from the keys it read
+  private volatile Queue<String> idsPutWhileRebuilding;
+
+  /**
+   * Creates a new instance, which sends every lookup to the store until the first {@link #rebuild()} completes.
+   *
+   * @param store           the store which ids are tracked
+   * @param expectedIds     the initial amount of ids the filter is sized for
+   * @param rebuildExecutor the executor where rebuilds are run
+   */
+  public IdempotentIdFilter(ObjectStore<String> store, int expectedIds, Executor rebuildExecutor) {
+    this.store = store;
+    this.expectedIds = max(1, expectedIds);
+    this.rebuildExecutor = rebuildExecutor;
+  }
+
+  /**
+   * @param id a message id
+   * @return {@code false} if the id is definitely not in the store, {@code true} if it may be.
+   */
+  public boolean mightContain(String id) {
+    BloomFilter<CharSequence> current = filter;
+    if (current == null || current.mightContain(id)) {
+      possibleHits.increment();
+      return true;
+    }
+    definiteMisses.increment();
+    return false;
+  }
+
+  /**
+   * Records that the given {@code id} is now in the store.
+   */
+  public void put(String id) {
+    // queued before reading the filter, so that an id put in a filter being replaced is still added to the new one
+    Queue<String> pending = idsPutWhileRebuilding;
+    if (pending != null) {
+      pending.add(id);
+    }
+    BloomFilter<CharSequence> current = filter;
+    if (current != null) {
+      current.put(id);
+    }
+    if (insertions.incrementAndGet() > expectedIds) {
+      rebuild();
+    }
+  }
+
+  /**
+   * Records that an id for which {@link #mightContain(String)} returned {@code true} was not in the store.
+   */
+  public void falsePositive() {
+    falsePositives.increment();
+    if (filter == null) {
+      // the first rebuild is in progress, lookups just go to the store
+      return;
+    }
+    // the filter is sized for 1% of false positives, so this many means it is mostly tracking expired ids
+    if (falsePositivesSinceRebuild.incrementAndGet() > max(100, expectedIds * FALSE_POSITIVE_PROBABILITY * 2)) {
+      rebuild();
+    }
+  }
+
+  /**
+   * Replaces the filter in the background with one holding the ids currently in the store. Does nothing if a rebuild is already
+   * in progress.
+   */
+  public void rebuild() {
+    if (!rebuilding.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      rebuildExecutor.execute(this::doRebuild);
+    } catch (RejectedExecutionException e) {
+      LOGGER.warn("Could not schedule the rebuild of the idempotent id filter, the previous one will be kept: "
+          + e.getMessage());
+      rebuilding.set(false);
+    }
+  }
+
+  private void doRebuild() {
+    Queue<String> pending = new ConcurrentLinkedQueue<>();
+    idsPutWhileRebuilding = pending;
+    try {
+      List<String> ids = store.allKeys();
+      int newExpectedIds = max(expectedIds, ids.size() * 2);
+      BloomFilter<CharSequence> newFilter = newFilter(newExpectedIds);
+      ids.forEach(newFilter::put);
+
+      expectedIds = newExpectedIds;
+      filter = newFilter;
+      insertions.set(ids.size());
+      falsePositivesSinceRebuild.set(0);
+      pending.forEach(newFilter::put);
+    } catch (ObjectStoreException e) {
+      LOGGER.warn("Could not rebuild idempotent id filter, the previous one will be kept: " + e.getMessage());
+    } catch (RuntimeException e) {
+      LOGGER.warn("Could not rebuild idempotent id filter, the previous one will be kept", e);
+    } finally {
+      idsPutWhileRebuilding = null;
+      rebuilding.set(false);
+    }
+  }
+
+  private static BloomFilter<CharSequence> newFilter(int expectedIds) {
+    return BloomFilter.create(Funnels.stringFunnel(UTF_8), expectedIds, FALSE_POSITIVE_PROBABILITY);
+  }
+
+  /**
+   * @return how many lookups were answered by the filter alone, skipping the store
+   */
+  public long getDefiniteMisses() {
+    return definiteMisses.sum();
+  }
+
+  /**
+   * @return how many lookups required reading the store
+   */
+  public long getPossibleHits() {
+    return possibleHits.sum();
+  }
+
+  /**
+   * @return how many of the {@link #getPossibleHits() possible hits} were not actually in the store
+   */
+  public long getFalsePositives() {
+    return falsePositives.sum();
+  }
+}
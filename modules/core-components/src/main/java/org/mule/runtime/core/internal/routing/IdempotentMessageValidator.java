@@ -10,6 +10,7 @@ import static org.mule.runtime.api.config.MuleRuntimeFeature.RETHROW_EXCEPTIONS_
 import static org.mule.runtime.api.el.BindingContextUtils.CORRELATION_ID;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
 import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_POSTFIX;
 import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_PREFIX;
@@ -19,6 +20,8 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.compile;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
 import static java.lang.String.format;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -33,6 +36,9 @@ import org.mule.runtime.api.el.ExpressionLanguageSession;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.lifecycle.Lifecycle;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerConfig;
+import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.api.store.ObjectAlreadyExistsException;
 import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
@@ -67,6 +73,17 @@ public class IdempotentMessageValidator extends AbstractComponent
 
   private static final Logger LOGGER = getLogger(IdempotentMessageValidator.class);
 
+  /**
+   * When set, ids are first looked up in an {@link IdempotentIdFilter}, so that the store is only read for ids that may have been
+   * seen before.
+   */
+  public static final String ID_FILTER_PROPERTY = SYSTEM_PROPERTY_PREFIX + "idempotentValidator.idFilter";
+
+  /**
+   * The amount of ids the {@link IdempotentIdFilter} is initially sized for. It grows as needed.
+   */
+  public static final String ID_FILTER_EXPECTED_IDS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "idempotentValidator.idFilter.expectedIds";
+
   protected MuleContext muleContext;
 
   @Inject
@@ -76,6 +93,9 @@ public class IdempotentMessageValidator extends AbstractComponent
   @Inject
   private FeatureFlaggingService featureFlaggingService;
 
+  @Inject
+  private SchedulerService schedulerService;
+
   protected volatile ObjectStore<String> store;
   protected ObjectStore<String> privateStore;
   protected String storePrefix;
@@ -86,6 +106,8 @@ public class IdempotentMessageValidator extends AbstractComponent
   private CompiledExpression compiledIdExpression;
   private CompiledExpression compiledValueExpression;
   private boolean rethrowEnabled;
+  private IdempotentIdFilter idFilter;
+  private Scheduler idFilterScheduler;
 
   @Override
   public void setMuleContext(MuleContext context) {
@@ -104,6 +126,11 @@ public class IdempotentMessageValidator extends AbstractComponent
                  this.getClass().getName(), UUID.randomUUID());
     }
     setupObjectStore();
+    if (getBoolean(ID_FILTER_PROPERTY)) {
+      idFilterScheduler = schedulerService.ioScheduler(SchedulerConfig.config()
+          .withName(this.getClass().getName() + ".idFilter - " + getLocation().getLocation()));
+      idFilter = new IdempotentIdFilter(store, getInteger(ID_FILTER_EXPECTED_IDS_PROPERTY, 100_000), idFilterScheduler);
+    }
     if (featureFlaggingService.isEnabled(RETHROW_EXCEPTIONS_IN_IDEMPOTENT_MESSAGE_VALIDATOR)) {
       setRethrowEnabled(true);
     }
@@ -131,6 +158,9 @@ public class IdempotentMessageValidator extends AbstractComponent
   @Override
   public void start() throws MuleException {
     startIfNeeded(store);
+    if (idFilter != null) {
+      idFilter.rebuild();
+    }
   }
 
   @Override
@@ -140,6 +170,9 @@ public class IdempotentMessageValidator extends AbstractComponent
 
   @Override
   public void dispose() {
+    if (idFilterScheduler != null) {
+      idFilterScheduler.stop();
+    }
     disposeIfNeeded(store, LOGGER);
   }
 
@@ -179,6 +212,21 @@ public class IdempotentMessageValidator extends AbstractComponent
     this.store = store;
   }
 
+  /**
+   * @return the {@link IdempotentIdFilter} in front of the store, or {@code null} if not enabled through
+   *         {@link #ID_FILTER_PROPERTY}
+   * @since 4.10
+   */
+  public IdempotentIdFilter getIdFilter() {
+    return idFilter;
+  }
+
+  private void stored(String id) {
+    if (idFilter != null) {
+      idFilter.put(id);
+    }
+  }
+
   private boolean accept(CoreEvent event) {
     BindingContext bindingContext = event.asBindingContext();
     try (ExpressionLanguageSession session = muleContext.getExpressionManager().openSession(bindingContext)) {
@@ -188,6 +236,7 @@ public class IdempotentMessageValidator extends AbstractComponent
       if (event != null && isNewMessage(event, id)) {
         try {
           store.store(id, value);
+          stored(id);
           return true;
         } catch (ObjectAlreadyExistsException ex) {
           return false;
@@ -217,6 +266,7 @@ public class IdempotentMessageValidator extends AbstractComponent
 
       if (event != null && isNewMessage(event, id)) {
         store.store(id, value);
+        stored(id);
         return true;
       } else {
         return false;
@@ -252,7 +302,19 @@ public class IdempotentMessageValidator extends AbstractComponent
           initialise();
         }
       }
-      return !store.contains(id);
+      if (idFilter == null) {
+        return !store.contains(id);
+      }
+
+      // A missed id is still rejected when storing it, if it was stored by someone else
+      if (!idFilter.mightContain(id)) {
+        return true;
+      }
+      boolean isNew = !store.contains(id);
+      if (isNew) {
+        idFilter.falsePositive();
+      }
+      return isNew;
     } catch (MuleException e) {
       LOGGER.error("Exception attempting to determine idempotency of incoming message for " + getLocation().getRootContainerName()
           + " from the connector "
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+/**
+ * Incrementally aggregates the results of the routes of a fork-join router into a single {@link Message}, as each route
+ * completes. Only the accumulated value is retained, not the result of each route.
+ *
+ * @param <A> the type of the accumulated value.
+ *
+ * @see StreamingForkJoinStrategyFactory
+ * @since 4.10
+ */
+public interface ForkJoinResultReducer<A> {
+
+  /**
+   * @param original the event that entered the router.
+   * @return the accumulated value before any route completes.
+   */
+  A initial(CoreEvent original);
+
+  /**
+   * Called once for each successful route, in the order the routes complete. The position of the route is available from the
+   * {@link CoreEvent#getGroupCorrelation() group correlation} of the route result.
+   *
+   * @param accumulated the accumulated value so far.
+   * @param routeResult the result event of a route.
+   * @return the new accumulated value.
+   */
+  A accumulate(A accumulated, CoreEvent routeResult);
+
+  /**
+   * @param accumulated the accumulated value once all the routes completed.
+   * @return the message of the result event of the router.
+   */
+  Message complete(A accumulated);
+
+  /**
+   * @return the {@link DataType} of the payload of the message returned by {@link #complete(Object)}.
+   */
+  DataType getResultDataType();
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static reactor.core.Exceptions.propagate;
+
+import org.mule.runtime.api.config.FeatureFlaggingService;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.util.Pair;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.privileged.exception.EventProcessingException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * {@link ForkJoinStrategy} that:
+ * <ul>
+ * <li>Performs parallel execution of route pairs subject to {@code maxConcurrency}.
+ * <li>Merges variables using a last-wins strategy, in the order the routes complete.
+ * <li>Hands the result of each route to a {@link ForkJoinResultReducer} as soon as it completes, so the results of the routes
+ * are not held until all of them complete and the memory used is bounded by {@code maxConcurrency} rather than by the amount of
+ * routes.
+ * <li>Emits the message built by the reducer once all routes complete, with an optional timeout.
+ * <li>Will process all routes, regardless of errors, and propagate a composite exception where there were one or more errors.
+ * The {@link org.mule.runtime.core.privileged.routing.RoutingResult} of that exception only has the failed routes, since the
+ * results of the successful ones are not kept.
+ * </ul>
+ *
+ * @since 4.10
+ */
+public class StreamingForkJoinStrategyFactory extends BaseForkJoinStrategyFactory {
+
+  private final ForkJoinResultReducer<Object> reducer;
+
+  public StreamingForkJoinStrategyFactory(ForkJoinResultReducer<?> reducer, FeatureFlaggingService featureFlaggingService) {
+    this(reducer, true, featureFlaggingService);
+  }
+
+  @SuppressWarnings("unchecked")
+  public StreamingForkJoinStrategyFactory(ForkJoinResultReducer<?> reducer, boolean mergeVariables,
+                                          FeatureFlaggingService featureFlaggingService) {
+    super(mergeVariables, featureFlaggingService);
+    this.reducer = (ForkJoinResultReducer<Object>) reducer;
+  }
+
+  @Override
+  protected boolean isOrdered() {
+    return false;
+  }
+
+  @Override
+  protected Publisher<CoreEvent> join(CoreEvent original, CoreEvent.Builder resultBuilder,
+                                      Flux<Pair<CoreEvent, EventProcessingException>> results,
+                                      boolean isDetailedLogEnabled) {
+    return results
+        .reduceWith(() -> new StreamingJoin(original), StreamingJoin::add)
+        .map(join -> join.complete(resultBuilder, isDetailedLogEnabled));
+  }
+
+  @Override
+  public DataType getResultDataType() {
+    return reducer.getResultDataType();
+  }
+
+  /**
+   * The state of a single fork-join execution: the accumulated value, the variables merged so far and the failed routes.
+   */
+  private final class StreamingJoin {
+
+    private final CoreEvent original;
+    private final Map<String, TypedValue<?>> routeVars = new HashMap<>();
+    private final List<Pair<CoreEvent, EventProcessingException>> failures = new ArrayList<>();
+    private Object accumulated;
+
+    private StreamingJoin(CoreEvent original) {
+      this.original = original;
+      this.accumulated = reducer.initial(original);
+    }
+
+    private StreamingJoin add(Pair<CoreEvent, EventProcessingException> routeResult) {
+      CoreEvent routeEvent = routeResult.getFirst();
+      if (hasNewError(routeEvent, original)) {
+        failures.add(routeResult);
+      } else if (failures.isEmpty()) {
+        // once a route failed the result is discarded, so there is no point in aggregating any more results
+        accumulated = reducer.accumulate(accumulated, routeEvent);
+        mergeVariables(original, routeVars, routeEvent);
+      }
+      return this;
+    }
+
+    private CoreEvent complete(CoreEvent.Builder resultBuilder, boolean isDetailedLogEnabled) {
+      if (!failures.isEmpty()) {
+        throw propagate(createCompositeRoutingException(original, failures, isDetailedLogEnabled));
+      }
+      routeVars.forEach(resultBuilder::addVariable);
+      return resultBuilder.message(reducer.complete(accumulated)).build();
+    }
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.mule.test.allure.AllureConstants.ComponentsFeature.CORE_COMPONENTS;
+import static org.mule.test.allure.AllureConstants.ComponentsFeature.IdempotentMessageValidator.IDEMPOTENT_MESSAGE_VALIDATOR;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.tck.core.util.store.InMemoryObjectStore;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(CORE_COMPONENTS)
+@Story(IDEMPOTENT_MESSAGE_VALIDATOR)
+public class IdempotentIdFilterTestCase extends AbstractMuleTestCase {
+
+  private ObjectStore<String> store;
+  private IdempotentIdFilter filter;
+
+  @Before
+  public void before() {
+    store = new InMemoryObjectStore<>();
+    filter = new IdempotentIdFilter(store, 1000, Runnable::run);
+    filter.rebuild();
+  }
+
+  @Test
+  public void unknownIdIsDefiniteMiss() {
+    assertThat(filter.mightContain("1"), is(false));
+    assertThat(filter.getDefiniteMisses(), is(1L));
+    assertThat(filter.getPossibleHits(), is(0L));
+  }
+
+  @Test
+  public void storedIdMightBeContained() {
+    filter.put("1");
+
+    assertThat(filter.mightContain("1"), is(true));
+    assertThat(filter.getPossibleHits(), is(1L));
+  }
+
+  @Test
+  public void rebuildLoadsStoredIds() throws Exception {
+    store.store("1", "value");
+    store.store("2", "value");
+    assertThat(filter.mightContain("1"), is(false));
+
+    filter.rebuild();
+
+    assertThat(filter.mightContain("1"), is(true));
+    assertThat(filter.mightContain("2"), is(true));
+  }
+
+  @Test
+  public void rebuildDropsRemovedIds() throws Exception {
+    store.store("1", "value");
+    filter.put("1");
+    store.remove("1");
+
+    filter.rebuild();
+
+    assertThat(filter.mightContain("1"), is(false));
+  }
+
+  @Test
+  public void tooManyFalsePositivesRebuild() throws Exception {
+    filter.put("1");
+    for (int i = 0; i < 100; ++i) {
+      filter.falsePositive();
+    }
+    assertThat(filter.mightContain("1"), is(true));
+
+    filter.falsePositive();
+
+    assertThat(filter.getFalsePositives(), is(101L));
+    assertThat(filter.mightContain("1"), is(false));
+  }
+
+  @Test
+  public void storeIsReadUntilFirstRebuildCompletes() throws Exception {
+    List<Runnable> rebuilds = new ArrayList<>();
+    filter = new IdempotentIdFilter(store, 1000, rebuilds::add);
+    store.store("1", "value");
+
+    filter.rebuild();
+    assertThat(filter.mightContain("1"), is(true));
+    assertThat(filter.mightContain("2"), is(true));
+
+    rebuilds.get(0).run();
+    assertThat(filter.mightContain("1"), is(true));
+    assertThat(filter.mightContain("2"), is(false));
+  }
+
+  @Test
+  public void previousFilterAnswersWhileRebuilding() throws Exception {
+    List<Runnable> rebuilds = new ArrayList<>();
+    filter = new IdempotentIdFilter(store, 1000, rebuilds::add);
+    filter.rebuild();
+    rebuilds.remove(0).run();
+
+    store.store("1", "value");
+    filter.rebuild();
+    assertThat(filter.mightContain("1"), is(false));
+    store.store("2", "value");
+    filter.put("2");
+    assertThat(filter.mightContain("2"), is(true));
+
+    rebuilds.remove(0).run();
+    assertThat(filter.mightContain("1"), is(true));
+    assertThat(filter.mightContain("2"), is(true));
+  }
+
+  @Test
+  public void idsPutDuringRebuildAreKept() throws Exception {
+    ObjectStore<String> slowStore = spy(store);
+    filter = new IdempotentIdFilter(slowStore, 1000, Runnable::run);
+    doAnswer(invocation -> {
+      List<String> keys = (List<String>) invocation.callRealMethod();
+      // stored after the keys were read
+      store.store("late", "value");
+      filter.put("late");
+      return keys;
+    }).when(slowStore).allKeys();
+
+    filter.rebuild();
+
+    assertThat(filter.mightContain("late"), is(true));
+  }
+
+  @Test
+  public void saturatedFilterIsRebuilt() throws Exception {
+    filter = new IdempotentIdFilter(store, 10, Runnable::run);
+    filter.rebuild();
+    for (int i = 0; i < 11; ++i) {
+      store.store("id" + i, "value");
+      filter.put("id" + i);
+    }
+
+    for (int i = 0; i < 11; ++i) {
+      assertThat(filter.mightContain("id" + i), is(true));
+    }
+  }
+}
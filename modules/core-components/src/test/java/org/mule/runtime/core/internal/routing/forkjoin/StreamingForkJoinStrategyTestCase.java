@@ -0,0 +1,212 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.api.metadata.DataType.NUMBER;
+import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.STREAMING;
+
+import static java.util.Arrays.asList;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.privileged.processor.InternalProcessor;
+import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
+import org.mule.runtime.core.privileged.routing.RoutingResult;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Story;
+
+@Story(STREAMING)
+public class StreamingForkJoinStrategyTestCase extends AbstractForkJoinStrategyTestCase {
+
+  private final AtomicInteger accumulations = new AtomicInteger();
+
+  @Override
+  protected ForkJoinStrategy createStrategy(ProcessingStrategy processingStrategy, int concurrency, boolean delayErrors,
+                                            long timeout) {
+    return new StreamingForkJoinStrategyFactory(new SumReducer(), getFeatureFlaggingService())
+        .createForkJoinStrategy(processingStrategy, concurrency, delayErrors, timeout, scheduler, timeoutErrorType, scheduler,
+                                false);
+  }
+
+  @Test
+  @Description("This strategy reduces the result of each route as it completes.")
+  public void reduce() throws Throwable {
+    CoreEvent result = invokeStrategyBlocking(strategy, testEvent(),
+                                              asList(createRoutingPair(of(1)), createRoutingPair(of(2)),
+                                                     createRoutingPair(of(3))));
+
+    assertThat(result.getMessage().getPayload().getValue(), is(6));
+    assertThat(accumulations.get(), is(3));
+  }
+
+  @Test
+  @Description("Routes are reduced in the order they complete rather than in the order of the routes.")
+  public void reduceInCompletionOrder() throws Throwable {
+    StringBuilder completionOrder = new StringBuilder();
+    strategy = new StreamingForkJoinStrategyFactory(new ForkJoinResultReducer<StringBuilder>() {
+
+      @Override
+      public StringBuilder initial(CoreEvent original) {
+        return completionOrder;
+      }
+
+      @Override
+      public StringBuilder accumulate(StringBuilder accumulated, CoreEvent routeResult) {
+        return accumulated.append(routeResult.getGroupCorrelation().get().getSequence());
+      }
+
+      @Override
+      public Message complete(StringBuilder accumulated) {
+        return of(accumulated.toString());
+      }
+
+      @Override
+      public DataType getResultDataType() {
+        return DataType.STRING;
+      }
+    }, getFeatureFlaggingService())
+        .createForkJoinStrategy(processingStrategy, 2, true, Long.MAX_VALUE, scheduler, timeoutErrorType, scheduler, false);
+
+    CoreEvent result = invokeStrategyBlocking(strategy, testEvent(),
+                                              asList(createRoutingPairWithSleep(of(1), 250), createRoutingPair(of(2))));
+
+    assertThat(result.getMessage().getPayload().getValue(), is("10"));
+  }
+
+  @Test
+  @Description("The result data type is the one of the reducer.")
+  public void resultDataType() {
+    assertThat(new StreamingForkJoinStrategyFactory(new SumReducer(), getFeatureFlaggingService()).getResultDataType(),
+               is(NUMBER));
+  }
+
+  @Override
+  @Test
+  @Description("When a route timeout occurs all routes are still executed and a CompositeRoutingException is thrown with details of the timeout error only, since successful results are not kept.")
+  public void timeoutDelayed() throws Throwable {
+    strategy = createStrategy(processingStrategy, 1, true, 50);
+
+    Processor spyProcessor = createProcessorSpy(of(2));
+
+    expectedException.expect(instanceOf(CompositeRoutingException.class));
+
+    invokeStrategyBlocking(strategy, testEvent(),
+                           asList(createRoutingPairWithSleep(of(1), 250), of(testEvent(), createChain(spyProcessor))),
+                           throwable -> {
+                             verify(spyProcessor, times(1)).process(any(CoreEvent.class));
+                             CompositeRoutingException compositeRoutingException =
+                                 assertCompositeRoutingException(throwable, 1);
+                             RoutingResult routingResult = assertRoutingResult(compositeRoutingException, 0, 1);
+                             for (Error failure : routingResult.getFailures().values()) {
+                               assertThat(failure.getCause(), instanceOf(TimeoutException.class));
+                             }
+                           });
+  }
+
+  @Override
+  @Test
+  @Description("When an error occurs all routes are executed regardless and a CompositeRoutingException is thrown containing a RoutingResult with details of the failures only, since successful results are not kept.")
+  public void errorDelayed() throws Throwable {
+    Processor processorSpy = createProcessorSpy(testEvent().getMessage());
+
+    RuntimeException exception1 = new IllegalStateException();
+    RoutingPair failingPair1 = of(testEvent(), createFailingRoutingPair(exception1));
+    RuntimeException exception2 = new UnsupportedOperationException();
+    RoutingPair failingPair2 = of(testEvent(), createFailingRoutingPair(exception2));
+    RoutingPair okPair = of(testEvent(), createChain(processorSpy));
+
+    expectedException.expect(instanceOf(CompositeRoutingException.class));
+
+    invokeStrategyBlocking(strategy, testEvent(), asList(failingPair1, failingPair2, okPair), throwable -> {
+      verify(processorSpy, times(1)).process(any(CoreEvent.class));
+      CompositeRoutingException compositeRoutingException = assertCompositeRoutingException(throwable, 2);
+      RoutingResult routingResult = assertRoutingResult(compositeRoutingException, 0, 2);
+      assertThat(routingResult.getFailures().get("0").getCause(), is(exception1));
+      assertThat(routingResult.getFailures().get("1").getCause(), is(exception2));
+    });
+  }
+
+  private CompositeRoutingException assertCompositeRoutingException(Throwable throwable, int errors) {
+    assertThat(throwable, instanceOf(CompositeRoutingException.class));
+    CompositeRoutingException compositeRoutingException = (CompositeRoutingException) throwable;
+    assertThat(compositeRoutingException.getErrors().size(), greaterThanOrEqualTo(errors));
+    return compositeRoutingException;
+  }
+
+  private RoutingResult assertRoutingResult(CompositeRoutingException compositeRoutingException, int results, int errors) {
+    assertThat(compositeRoutingException.getErrorMessage().getPayload().getValue(), instanceOf(RoutingResult.class));
+    RoutingResult routingResult = (RoutingResult) compositeRoutingException.getErrorMessage().getPayload().getValue();
+    assertThat(routingResult.getResults().size(), is(results));
+    assertThat(routingResult.getFailures().size(), is(errors));
+    return routingResult;
+  }
+
+  private MessageProcessorChain createFailingRoutingPair(RuntimeException exception) throws MuleException {
+    return createChain((FailingProcessor) event -> {
+      throw exception;
+    });
+  }
+
+  private RoutingPair createRoutingPairWithSleep(Message result, long sleep) throws MuleException {
+    return of(testEvent(), createChain(new SleepingProcessor(result, sleep)));
+  }
+
+  private class SumReducer implements ForkJoinResultReducer<Integer> {
+
+    @Override
+    public Integer initial(CoreEvent original) {
+      return 0;
+    }
+
+    @Override
+    public Integer accumulate(Integer accumulated, CoreEvent routeResult) {
+      accumulations.incrementAndGet();
+      // routes in the inherited tests return the payload of the test event
+      Object value = routeResult.getMessage().getPayload().getValue();
+      return value instanceof Integer ? accumulated + (Integer) value : accumulated;
+    }
+
+    @Override
+    public Message complete(Integer accumulated) {
+      return of(accumulated);
+    }
+
+    @Override
+    public DataType getResultDataType() {
+      return NUMBER;
+    }
+  }
+
+  @FunctionalInterface
+  private interface FailingProcessor extends Processor, InternalProcessor {
+
+  }
+}
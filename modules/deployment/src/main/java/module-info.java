@@ -28,6 +28,7 @@ module org.mule.runtime.deployment {
   requires org.mule.runtime.extensions.api;
   requires org.mule.runtime.extensions.spring.support;
   requires org.mule.runtime.global.config;
+  requires org.mule.runtime.manifest;
   requires org.mule.runtime.maven.client.api;
   requires org.mule.runtime.policy.api;
   requires org.mule.runtime.properties.config;
@@ -10,8 +10,12 @@ import static org.mule.runtime.module.deployment.internal.ArtifactDeploymentStat
 import static org.mule.runtime.module.deployment.internal.ArtifactDeploymentStatusTracker.DeploymentState.DEPLOYING;
 import static org.mule.runtime.module.deployment.internal.ArtifactDeploymentStatusTracker.DeploymentState.FAILED;
 
+import static java.lang.System.nanoTime;
 import static java.util.Collections.unmodifiableMap;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
+import org.mule.runtime.api.artifact.Registry;
+import org.mule.runtime.api.config.custom.CustomizationService;
 import org.mule.runtime.module.deployment.api.DeploymentListener;
 
 import java.util.Map;
@@ -32,24 +36,113 @@ public class ArtifactDeploymentStatusTracker implements DeploymentListener {
   }
 
   protected Map<String, DeploymentState> deploymentStates = new ConcurrentHashMap<>();
+  protected Map<String, DeploymentTimes> deploymentTimes = new ConcurrentHashMap<>();
 
   public Map<String, DeploymentState> getDeploymentStates() {
     return unmodifiableMap(deploymentStates);
   }
 
+  /**
+   * @return the time spent on each phase of the last deployment of each artifact.
+   * @since 4.10
+   */
+  public Map<String, DeploymentTimes> getDeploymentTimes() {
+    return unmodifiableMap(deploymentTimes);
+  }
+
   @Override
   public void onDeploymentStart(String artifactName) {
     deploymentStates.put(artifactName, DEPLOYING);
+    deploymentTimes.put(artifactName, new DeploymentTimes());
   }
 
   @Override
   public void onDeploymentSuccess(String artifactName) {
     deploymentStates.put(artifactName, DEPLOYED);
+    DeploymentTimes times = deploymentTimes.get(artifactName);
+    if (times != null) {
+      times.finished = nanoTime();
+    }
   }
 
   @Override
   public void onDeploymentFailure(String artifactName, Throwable failureCause) {
     deploymentStates.put(artifactName, FAILED);
+    DeploymentTimes times = deploymentTimes.get(artifactName);
+    if (times != null) {
+      times.finished = nanoTime();
+    }
+  }
+
+  @Override
+  public void onArtifactCreated(String artifactName, CustomizationService customizationService) {
+    DeploymentTimes times = deploymentTimes.get(artifactName);
+    if (times != null) {
+      times.created = nanoTime();
+    }
+  }
+
+  @Override
+  public void onArtifactInitialised(String artifactName, Registry registry) {
+    DeploymentTimes times = deploymentTimes.get(artifactName);
+    if (times != null) {
+      times.initialised = nanoTime();
+    }
+  }
+
+  @Override
+  public void onArtifactStarted(String artifactName, Registry registry) {
+    DeploymentTimes times = deploymentTimes.get(artifactName);
+    if (times != null) {
+      times.started = nanoTime();
+    }
+  }
+
+  /**
+   * Time spent on each phase of the deployment of an artifact. Phases not reached by the deployment are reported as {@code -1}.
+   *
+   * @since 4.10
+   */
+  public static final class DeploymentTimes {
+
+    private final long deploymentStarted = nanoTime();
+    private volatile long created;
+    private volatile long initialised;
+    private volatile long started;
+    private volatile long finished;
+
+    /**
+     * @return milliseconds from the start of the deployment until the artifact context was created, including the creation of
+     *         its class loaders.
+     */
+    public long getCreationTime() {
+      return elapsedMillis(deploymentStarted, created);
+    }
+
+    /**
+     * @return milliseconds spent parsing the configuration and initialising the artifact.
+     */
+    public long getInitialisationTime() {
+      return elapsedMillis(created, initialised);
+    }
+
+    /**
+     * @return milliseconds spent starting the artifact.
+     */
+    public long getStartTime() {
+      return elapsedMillis(initialised, started);
+    }
+
+    /**
+     * @return milliseconds spent on the whole deployment.
+     */
+    public long getTotalTime() {
+      return elapsedMillis(deploymentStarted, finished);
+    }
+
+    private static long elapsedMillis(long from, long to) {
+      return from == 0 || to == 0 ? -1 : NANOSECONDS.toMillis(to - from);
+    }
   }
 
 }
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptor.MULE_ARTIFACT_JSON_DESCRIPTOR_LOCATION;
+
+import static java.lang.Thread.currentThread;
+import static java.nio.file.FileSystems.getDefault;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Optional.empty;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.module.artifact.api.Artifact;
+import org.mule.runtime.module.artifact.api.descriptor.DeployableArtifactDescriptor;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+
+/**
+ * Watches the deployment directories and the directories holding the config resources of the deployed artifacts using a
+ * {@link WatchService}, so that {@link DeploymentDirectoryWatcher} reacts to changes as soon as they happen and only checks the
+ * artifacts that actually changed.
+ *
+ * @since 4.10
+ */
+public final class DeploymentDirectoryChangeWatcher implements Closeable {
+
+  private static final Logger LOGGER = getLogger(DeploymentDirectoryChangeWatcher.class);
+
+  private final WatchService watchService;
+  private final ArtifactWatches applications = new ArtifactWatches();
+  private final ArtifactWatches domains = new ArtifactWatches();
+  private final AtomicBoolean overflow = new AtomicBoolean();
+
+  /**
+   * Creates a watcher for the given deployment directories.
+   *
+   * @param appsDir    the directory where applications are deployed.
+   * @param domainsDir the directory where domains are deployed.
+   * @return the created watcher, or {@link Optional#empty()} if the directories cannot be watched in this platform.
+   */
+  public static Optional<DeploymentDirectoryChangeWatcher> create(File appsDir, File domainsDir) {
+    WatchService watchService = null;
+    try {
+      watchService = getDefault().newWatchService();
+      register(watchService, appsDir.toPath());
+      register(watchService, domainsDir.toPath());
+      return Optional.of(new DeploymentDirectoryChangeWatcher(watchService));
+    } catch (IOException | UnsupportedOperationException e) {
+      LOGGER.warn("Unable to watch the deployment directories for changes, they will be polled instead", e);
+      if (watchService != null) {
+        try {
+          watchService.close();
+        } catch (IOException closeException) {
+          LOGGER.debug("Error closing watch service", closeException);
+        }
+      }
+      return empty();
+    }
+  }
+
+  private static WatchKey register(WatchService watchService, Path directory) throws IOException {
+    return directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+  }
+
+  private DeploymentDirectoryChangeWatcher(WatchService watchService) {
+    this.watchService = watchService;
+  }
+
+  /**
+   * Starts watching the config resources of the given application.
+   *
+   * @return {@code false} if some of its directories could not be watched, in which case it is reported as changed.
+   */
+  public boolean watchApplication(Artifact<?> application) {
+    return applications.watch(application);
+  }
+
+  /**
+   * Stops watching the config resources of the application with the given name.
+   */
+  public void unwatchApplication(String applicationName) {
+    applications.unwatch(applicationName);
+  }
+
+  /**
+   * Starts watching the config resources of the given domain.
+   *
+   * @return {@code false} if some of its directories could not be watched, in which case it is reported as changed.
+   */
+  public boolean watchDomain(Artifact<?> domain) {
+    return domains.watch(domain);
+  }
+
+  /**
+   * Stops watching the config resources of the domain with the given name.
+   */
+  public void unwatchDomain(String domainName) {
+    domains.unwatch(domainName);
+  }
+
+  /**
+   * @return the names of the applications whose config resources changed since the last call.
+   */
+  public Set<String> drainChangedApplications() {
+    return applications.drainChanged();
+  }
+
+  /**
+   * @return the names of the domains whose config resources changed since the last call.
+   */
+  public Set<String> drainChangedDomains() {
+    return domains.drainChanged();
+  }
+
+  /**
+   * @return {@code true} if some events were lost since the last call, in which case all the artifacts have to be checked.
+   */
+  public boolean drainOverflow() {
+    return overflow.getAndSet(false);
+  }
+
+  /**
+   * Waits for changes in the watched directories, calling {@code onChange} every time some are detected. Returns once this
+   * watcher is {@link #close() closed}.
+   *
+   * @param onChange the callback to invoke when changes are detected.
+   */
+  public void processEvents(Runnable onChange) {
+    try {
+      while (true) {
+        WatchKey key = watchService.take();
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (event.kind() == OVERFLOW) {
+            overflow.set(true);
+          }
+          changed = true;
+        }
+
+        applications.keyChanged(key);
+        domains.keyChanged(key);
+        if (!key.reset()) {
+          // the directory is no longer accessible, it will be registered again if its artifact is redeployed
+          applications.discard(key);
+          domains.discard(key);
+        }
+
+        if (changed) {
+          onChange.run();
+        }
+      }
+    } catch (ClosedWatchServiceException e) {
+      // the watcher was closed
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    watchService.close();
+  }
+
+  private final class ArtifactWatches {
+
+    private final Map<WatchKey, Set<String>> artifactsByKey = new ConcurrentHashMap<>();
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+
+    boolean watch(Artifact<?> artifact) {
+      boolean watched = true;
+      for (Path directory : resourceDirectoriesOf(artifact)) {
+        try {
+          artifactsByKey.computeIfAbsent(register(watchService, directory), key -> ConcurrentHashMap.newKeySet())
+              .add(artifact.getArtifactName());
+        } catch (IOException | ClosedWatchServiceException e) {
+          LOGGER.debug("Unable to watch directory '{}' of artifact '{}'", directory, artifact.getArtifactName(), e);
+          // without events for this artifact, make sure it is checked at least once
+          changed.add(artifact.getArtifactName());
+          watched = false;
+        }
+      }
+      return watched;
+    }
+
+    void unwatch(String artifactName) {
+      changed.remove(artifactName);
+      artifactsByKey.entrySet().removeIf(entry -> {
+        entry.getValue().remove(artifactName);
+        if (entry.getValue().isEmpty()) {
+          entry.getKey().cancel();
+          return true;
+        }
+        return false;
+      });
+    }
+
+    void keyChanged(WatchKey key) {
+      Set<String> artifactNames = artifactsByKey.get(key);
+      if (artifactNames != null) {
+        changed.addAll(artifactNames);
+      }
+    }
+
+    void discard(WatchKey key) {
+      artifactsByKey.remove(key);
+    }
+
+    Set<String> drainChanged() {
+      Set<String> drained = new HashSet<>();
+      for (Iterator<String> iterator = changed.iterator(); iterator.hasNext();) {
+        drained.add(iterator.next());
+        iterator.remove();
+      }
+      return drained;
+    }
+
+    private Set<Path> resourceDirectoriesOf(Artifact<?> artifact) {
+      Set<Path> directories = new HashSet<>();
+      for (File resourceFile : artifact.getResourceFiles()) {
+        addParentDirectory(resourceFile, directories);
+      }
+      addParentDirectory(new File(((DeployableArtifactDescriptor) artifact.getDescriptor()).getArtifactLocation(),
+                                  MULE_ARTIFACT_JSON_DESCRIPTOR_LOCATION),
+                         directories);
+      return directories;
+    }
+
+    private void addParentDirectory(File file, Set<Path> directories) {
+      File directory = file.getParentFile();
+      if (directory != null && directory.isDirectory()) {
+        directories.add(directory.toPath());
+      }
+    }
+  }
+}
@@ -12,7 +12,6 @@ import static org.mule.runtime.core.internal.util.splash.SplashScreen.miniSplash
 import static org.mule.runtime.module.deployment.impl.internal.util.DeploymentPropertiesUtils.getPersistedDeploymentProperties;
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.JAR_FILE_SUFFIX;
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.ZIP_FILE_SUFFIX;
-import static org.mule.runtime.module.deployment.internal.DeploymentUtils.deployExplodedDomains;
 import static org.mule.runtime.module.deployment.internal.DeploymentUtils.listFiles;
 
 import static java.lang.String.format;
@@ -53,6 +52,7 @@ import org.mule.runtime.module.deployment.internal.util.ObservableList;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.File;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -62,7 +62,10 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import org.apache.commons.io.filefilter.AndFileFilter;
@@ -77,23 +80,43 @@ import org.slf4j.Logger;
  * It will deploy the applications at the container startup process. It will periodically scan the artifact directories in order
  * to process new deployments, remove artifacts that were previously deployed but the anchor file was removed and redeploy those
  * applications which configuration has changed.
+ * <p/>
+ * When {@link #USE_WATCH_SERVICE_PROPERTY} is set, the directories are watched for changes instead of being periodically scanned,
+ * and only the artifacts which resources changed are checked for redeployment.
  */
 public class DeploymentDirectoryWatcher implements Runnable {
 
   public static final String ARTIFACT_ANCHOR_SUFFIX = "-anchor.txt";
   public static final String CHANGE_CHECK_INTERVAL_PROPERTY = "mule.launcher.changeCheckInterval";
+
+  /**
+   * When set, the deployment directories are watched for changes using the file system notifications instead of being polled
+   * every {@link #CHANGE_CHECK_INTERVAL_PROPERTY}. Polling is still used where such notifications are not supported.
+   *
+   * @since 4.10
+   */
+  public static final String USE_WATCH_SERVICE_PROPERTY = "mule.launcher.useWatchService";
+
+  /**
+   * Time to wait after a change is notified before checking for changes, so a burst of changes (i.e.: copying an artifact) is
+   * processed in a single check. Only used when {@link #USE_WATCH_SERVICE_PROPERTY} is set.
+   *
+   * @since 4.10
+   */
+  public static final String CHANGE_DEBOUNCE_PROPERTY = "mule.launcher.changeDebounce";
   public static final IOFileFilter JAR_ARTIFACT_FILTER =
       new AndFileFilter(new SuffixFileFilter(JAR_FILE_SUFFIX, INSENSITIVE), FileFileFilter.FILE);
   public static final IOFileFilter ZIP_ARTIFACT_FILTER =
       new AndFileFilter(new SuffixFileFilter(ZIP_FILE_SUFFIX, INSENSITIVE), FileFileFilter.FILE);
 
   protected static final int DEFAULT_CHANGES_CHECK_INTERVAL_MS = 5000;
+  protected static final int DEFAULT_CHANGE_DEBOUNCE_MS = 250;
 
   private static final Logger logger = getLogger(DeploymentDirectoryWatcher.class);
   private static final Logger SPLASH_LOGGER = getLogger("org.mule.runtime.core.internal.logging");
 
   private final ReentrantLock deploymentLock;
-  private final ArchiveDeployer<DomainDescriptor, Domain> domainArchiveDeployer;
+  protected final ArchiveDeployer<DomainDescriptor, Domain> domainArchiveDeployer;
   protected final ArchiveDeployer<ApplicationDescriptor, Application> applicationArchiveDeployer;
   protected final Supplier<SchedulerService> schedulerServiceSupplier;
   private final ArtifactTimestampListener<Application> applicationTimestampListener;
@@ -105,6 +128,9 @@ public class DeploymentDirectoryWatcher implements Runnable {
   private final File domainsDir;
   private final boolean disposeArtifactsOnStop;
   private Scheduler artifactDirMonitorScheduler;
+  private Scheduler artifactDirWatcherScheduler;
+  private volatile DeploymentDirectoryChangeWatcher changeWatcher;
+  private final AtomicBoolean changeCheckPending = new AtomicBoolean();
 
   protected volatile boolean dirty;
 
@@ -141,6 +167,17 @@ public class DeploymentDirectoryWatcher implements Runnable {
         }
         dirty = true;
       }
+      DeploymentDirectoryChangeWatcher watcher = changeWatcher;
+      if (watcher != null) {
+        if (e instanceof ElementAddedEvent) {
+          if (!watcher.watchApplication((Application) e.getNewValue())) {
+            // no changes would be notified for it, so it is checked right away
+            scheduleTriggeredCheck();
+          }
+        } else if (e instanceof ElementRemovedEvent) {
+          watcher.unwatchApplication(((Application) e.getNewValue()).getArtifactName());
+        }
+      }
     });
     domains.addPropertyChangeListener(e -> {
       if (e instanceof ElementAddedEvent || e instanceof ElementRemovedEvent) {
@@ -149,6 +186,17 @@ public class DeploymentDirectoryWatcher implements Runnable {
         }
         dirty = true;
       }
+      DeploymentDirectoryChangeWatcher watcher = changeWatcher;
+      if (watcher != null) {
+        if (e instanceof ElementAddedEvent) {
+          if (!watcher.watchDomain((Domain) e.getNewValue())) {
+            // no changes would be notified for it, so it is checked right away
+            scheduleTriggeredCheck();
+          }
+        } else if (e instanceof ElementRemovedEvent) {
+          watcher.unwatchDomain(((Domain) e.getNewValue()).getArtifactName());
+        }
+      }
     });
     this.schedulerServiceSupplier = schedulerServiceSupplier;
     this.applicationTimestampListener = new ArtifactTimestampListener<>(applications);
@@ -179,7 +227,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
         String[] packagedDomains = listFiles(domainsDir, JAR_ARTIFACT_FILTER);
 
         deployPackedDomains(packagedDomains);
-        deployExplodedDomains(domainArchiveDeployer, explodedDomains);
+        deployExplodedDomains(explodedDomains);
         String[] apps = appString.split(":");
         apps = removeDuplicateAppNames(apps);
 
@@ -258,6 +306,15 @@ public class DeploymentDirectoryWatcher implements Runnable {
     }
   }
 
+  static int getChangeDebounceMs() {
+    try {
+      String value = getProperty(CHANGE_DEBOUNCE_PROPERTY);
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      return DEFAULT_CHANGE_DEBOUNCE_MS;
+    }
+  }
+
   private void scheduleChangeMonitor() {
     final int reloadIntervalMs = getChangesCheckIntervalMs();
     SchedulerConfig schedulerConfig = SchedulerConfig.config()
@@ -266,9 +323,57 @@ public class DeploymentDirectoryWatcher implements Runnable {
         .withMaxConcurrentTasks(1);
 
     artifactDirMonitorScheduler = schedulerServiceSupplier.get().customScheduler(schedulerConfig);
-    artifactDirMonitorScheduler.scheduleWithFixedDelay(this, reloadIntervalMs, reloadIntervalMs, MILLISECONDS);
 
-    SPLASH_LOGGER.info(miniSplash(format("Mule is up and kicking (every %dms)", reloadIntervalMs)));
+    Optional<DeploymentDirectoryChangeWatcher> watcher = Boolean.getBoolean(USE_WATCH_SERVICE_PROPERTY)
+        ? DeploymentDirectoryChangeWatcher.create(appsDir, domainsDir)
+        : empty();
+    if (watcher.isPresent()) {
+      startChangeWatcher(watcher.get());
+      SPLASH_LOGGER.info(miniSplash("Mule is up and kicking (watching for changes)"));
+    } else {
+      artifactDirMonitorScheduler.scheduleWithFixedDelay(this, reloadIntervalMs, reloadIntervalMs, MILLISECONDS);
+      SPLASH_LOGGER.info(miniSplash(format("Mule is up and kicking (every %dms)", reloadIntervalMs)));
+    }
+  }
+
+  private void startChangeWatcher(DeploymentDirectoryChangeWatcher watcher) {
+    changeWatcher = watcher;
+    // artifacts deployed before the watcher was available
+    boolean watched = true;
+    for (Domain domain : domains) {
+      watched &= watcher.watchDomain(domain);
+    }
+    for (Application application : applications) {
+      watched &= watcher.watchApplication(application);
+    }
+
+    artifactDirWatcherScheduler = schedulerServiceSupplier.get().customScheduler(SchedulerConfig.config()
+        .withName("Mule.app.deployer.watcher")
+        .withPriority(MIN_PRIORITY)
+        .withMaxConcurrentTasks(1));
+    artifactDirWatcherScheduler.submit(() -> watcher.processEvents(this::scheduleTriggeredCheck));
+    if (!watched) {
+      scheduleTriggeredCheck();
+    }
+  }
+
+  /**
+   * Schedules a check for changes after the debounce time, unless there is one already pending.
+   */
+  private void scheduleTriggeredCheck() {
+    if (changeCheckPending.compareAndSet(false, true)) {
+      try {
+        artifactDirMonitorScheduler.schedule(this::runTriggeredCheck, getChangeDebounceMs(), MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        // the watcher is being stopped
+        changeCheckPending.set(false);
+      }
+    }
+  }
+
+  private void runTriggeredCheck() {
+    changeCheckPending.set(false);
+    checkForChanges(true);
   }
 
   protected void deployPackedApps(String[] zips) {
@@ -307,6 +412,14 @@ public class DeploymentDirectoryWatcher implements Runnable {
   // deploy exploded apps
   @Override
   public void run() {
+    checkForChanges(false);
+  }
+
+  /**
+   * @param triggered whether the check was triggered by a change notified by {@link #changeWatcher}, in which case only the
+   *                  artifacts with changes are checked for redeployment.
+   */
+  private void checkForChanges(boolean triggered) {
     try {
       if (logger.isDebugEnabled()) {
         logger.debug("Checking for changes...");
@@ -318,9 +431,21 @@ public class DeploymentDirectoryWatcher implements Runnable {
           logger.debug("Another deployment operation in progress, will skip this cycle. Owner thread: "
               + ((DebuggableReentrantLock) deploymentLock).getOwner());
         }
+        if (triggered) {
+          // the notified changes would be lost otherwise
+          scheduleTriggeredCheck();
+        }
         return;
       }
 
+      Predicate<String> domainsToCheck = name -> true;
+      Predicate<String> applicationsToCheck = name -> true;
+      DeploymentDirectoryChangeWatcher watcher = changeWatcher;
+      if (triggered && watcher != null && !watcher.drainOverflow()) {
+        domainsToCheck = watcher.drainChangedDomains()::contains;
+        applicationsToCheck = watcher.drainChangedApplications()::contains;
+      }
+
       undeployRemovedApps();
 
       undeployRemovedDomains();
@@ -331,7 +456,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
       String[] domains = listFiles(domainsDir, DIRECTORY);
       final String[] domainZips = listFiles(domainsDir, JAR_ARTIFACT_FILTER);
 
-      redeployModifiedDomains();
+      redeployModifiedDomains(domainsToCheck);
 
       deployPackedDomains(domainZips);
 
@@ -340,9 +465,9 @@ public class DeploymentDirectoryWatcher implements Runnable {
         domains = listFiles(domainsDir, DIRECTORY);
       }
 
-      deployExplodedDomains(domainArchiveDeployer, domains);
+      deployExplodedDomains(domains);
 
-      redeployModifiedApplications();
+      redeployModifiedApplications(applicationsToCheck);
 
       // list new apps
       String[] apps = listFiles(appsDir, DIRECTORY);
@@ -458,7 +583,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
     return anchors;
   }
 
-  private void deployPackedDomains(String[] zips) {
+  protected void deployPackedDomains(String[] zips) {
     for (String zip : zips) {
       try {
         domainArchiveDeployer.deployPackagedArtifact(zip, empty());
@@ -468,6 +593,10 @@ public class DeploymentDirectoryWatcher implements Runnable {
     }
   }
 
+  protected void deployExplodedDomains(String[] domains) {
+    DeploymentUtils.deployExplodedDomains(domainArchiveDeployer, domains);
+  }
+
   private void deleteAllAnchors() {
     deleteAnchorsFromDirectory(domainsDir);
     deleteAnchorsFromDirectory(appsDir);
@@ -494,19 +623,22 @@ public class DeploymentDirectoryWatcher implements Runnable {
     return appNames.toArray(new String[appNames.size()]);
   }
 
-  private void redeployModifiedDomains() {
-    Collection<String> redeployableDomains = getArtifactsToRedeploy(domains, domainTimestampListener);
+  private void redeployModifiedDomains(Predicate<String> domainsToCheck) {
+    Collection<String> redeployableDomains = getArtifactsToRedeploy(domains, domainsToCheck, domainTimestampListener);
     redeployModifiedArtifacts(redeployableDomains, domainArchiveDeployer);
   }
 
-  private void redeployModifiedApplications() {
-    Collection<String> redeployableApplications = getArtifactsToRedeploy(applications, applicationTimestampListener);
+  private void redeployModifiedApplications(Predicate<String> applicationsToCheck) {
+    Collection<String> redeployableApplications =
+        getArtifactsToRedeploy(applications, applicationsToCheck, applicationTimestampListener);
     redeployModifiedArtifacts(redeployableApplications, applicationArchiveDeployer);
   }
 
   private <D extends DeployableArtifactDescriptor, T extends DeployableArtifact<D>> Collection<String> getArtifactsToRedeploy(Collection<T> collection,
+                                                                                                                              Predicate<String> artifactsToCheck,
                                                                                                                               ArtifactTimestampListener<T> artifactTimestampListener) {
     return collection.stream()
+        .filter(artifact -> artifactsToCheck.test(artifact.getArtifactName()))
         .filter(artifact -> artifact.getDescriptor().isRedeploymentEnabled())
         .filter(artifactTimestampListener::isArtifactResourceUpdated)
         .map(DeployableArtifact::getArtifactName)
@@ -527,6 +659,18 @@ public class DeploymentDirectoryWatcher implements Runnable {
   }
 
   private void stopAppDirMonitorTimer() {
+    DeploymentDirectoryChangeWatcher watcher = changeWatcher;
+    if (watcher != null) {
+      changeWatcher = null;
+      try {
+        watcher.close();
+      } catch (IOException e) {
+        logger.debug("Error closing deployment directory watcher", e);
+      }
+    }
+    if (artifactDirWatcherScheduler != null) {
+      artifactDirWatcherScheduler.shutdownNow();
+    }
     if (artifactDirMonitorScheduler != null) {
       artifactDirMonitorScheduler.shutdown();
       try {
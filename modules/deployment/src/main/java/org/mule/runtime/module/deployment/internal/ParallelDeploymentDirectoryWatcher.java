@@ -11,8 +11,11 @@ import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
 import static java.lang.Thread.currentThread;
 import static java.util.Optional.empty;
 
+import static org.slf4j.LoggerFactory.getLogger;
+
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.deployment.model.api.DeploymentException;
 import org.mule.runtime.deployment.model.api.application.Application;
 import org.mule.runtime.deployment.model.api.domain.Domain;
 import org.mule.runtime.module.artifact.api.descriptor.ApplicationDescriptor;
@@ -27,8 +30,15 @@ import java.util.concurrent.Future;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
+import org.slf4j.Logger;
+
 /**
- * Provides parallel deployment of Mule applications.
+ * Provides parallel deployment of Mule applications and domains.
+ * <p/>
+ * Domains are deployed in parallel among them, and once all of them are ready the applications are deployed in parallel among
+ * them. Within each artifact, the objects are initialised concurrently following their dependency graph only when
+ * {@link org.mule.runtime.core.internal.lifecycle.RegistryLifecycleCallback#PARALLEL_INITIALISATION_PROPERTY} is set, and are
+ * always started sequentially.
  *
  * @since 3.8.2
  */
@@ -36,6 +46,8 @@ public class ParallelDeploymentDirectoryWatcher extends DeploymentDirectoryWatch
 
   public static final int MAX_APPS_IN_PARALLEL_DEPLOYMENT = 20;
 
+  private static final Logger LOGGER = getLogger(ParallelDeploymentDirectoryWatcher.class);
+
   private Scheduler threadPoolExecutor;
 
   public ParallelDeploymentDirectoryWatcher(DomainBundleArchiveDeployer domainBundleDeployer,
@@ -47,6 +59,53 @@ public class ParallelDeploymentDirectoryWatcher extends DeploymentDirectoryWatch
           schedulerServiceSupplier, deploymentLock);
   }
 
+  @Override
+  protected void deployPackedDomains(String[] zips) {
+    if (zips.length == 0) {
+      return;
+    }
+
+    List<Callable<Object>> tasks = new ArrayList<>(zips.length);
+    for (final String zip : zips) {
+      tasks.add(() -> {
+        try {
+          domainArchiveDeployer.deployPackagedArtifact(zip, empty());
+        } catch (Exception e) {
+          // Ignore and continue
+        }
+        return null;
+      });
+    }
+
+    waitForTasksToFinish(tasks);
+  }
+
+  @Override
+  protected void deployExplodedDomains(String[] domains) {
+    List<Callable<Object>> tasks = new ArrayList<>(domains.length);
+
+    for (final String addedDomain : domains) {
+      try {
+        if (domainArchiveDeployer.isUpdatedZombieArtifact(addedDomain)) {
+          tasks.add(() -> {
+            try {
+              domainArchiveDeployer.deployExplodedArtifact(addedDomain, empty());
+            } catch (Exception e) {
+              LOGGER.error("Error deploying domain '{}'", addedDomain, e);
+            }
+            return null;
+          });
+        }
+      } catch (DeploymentException e) {
+        LOGGER.error("Error deploying domain '{}'", addedDomain, e);
+      }
+    }
+
+    if (!tasks.isEmpty()) {
+      waitForTasksToFinish(tasks);
+    }
+  }
+
   @Override
   protected void deployPackedApps(String[] zips) {
     if (zips.length == 0) {
@@ -6,12 +6,16 @@
  */
 package org.mule.runtime.module.deployment.internal;
 
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.getBoolean;
 import static java.lang.String.format;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.core.internal.util.splash.SimpleLoggingTable;
 import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.deployment.internal.ArtifactDeploymentStatusTracker.DeploymentTimes;
 import org.mule.runtime.module.deployment.api.DeploymentService;
 import org.mule.runtime.module.deployment.api.StartupListener;
 
@@ -24,9 +28,19 @@ import org.slf4j.Logger;
 
 /**
  * Prints application status summary table on Mule startup.
+ * <p/>
+ * When {@link #DEPLOYMENT_TIMING_REPORT_PROPERTY} is set, it also prints the time spent on each deployment phase of every
+ * artifact.
  */
 public class StartupSummaryDeploymentListener implements StartupListener {
 
+  /**
+   * When set, the startup summary includes the time spent creating, initialising and starting each deployed artifact.
+   *
+   * @since 4.10
+   */
+  public static final String DEPLOYMENT_TIMING_REPORT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "deployment.timingReport";
+
   private static final Logger SPLASH_LOGGER = getLogger("org.mule.runtime.core.internal.logging");
 
   private static final String APPLICATION_LABEL = "APPLICATION";
@@ -35,6 +49,12 @@ public class StartupSummaryDeploymentListener implements StartupListener {
   private static final int ARTIFACT_NAME_LABEL_LENGTH = 45;
   private static final int STATUS_LABEL_LENGTH = 18;
   private static final int DOMAIN_OWNER_LABEL_LENGTH = 30;
+  private static final String ARTIFACT_LABEL = "ARTIFACT";
+  private static final String CREATE_LABEL = "CREATE (ms)";
+  private static final String INITIALISE_LABEL = "INIT (ms)";
+  private static final String START_LABEL = "START (ms)";
+  private static final String TOTAL_LABEL = "TOTAL (ms)";
+  private static final int TIME_LABEL_LENGTH = 23;
 
   private static final String UNKNOWN_ARTIFACT_NAME = "UNKNOWN";
 
@@ -95,6 +115,38 @@ public class StartupSummaryDeploymentListener implements StartupListener {
       message = format("%n%s", domainTable);
     }
 
+    if (getBoolean(DEPLOYMENT_TIMING_REPORT_PROPERTY)) {
+      message = format("%s%n%s", message, createTimingTable());
+    }
+
     SPLASH_LOGGER.info(message);
   }
+
+  private SimpleLoggingTable createTimingTable() {
+    SimpleLoggingTable timingTable = new SimpleLoggingTable();
+    timingTable.addColumn(ARTIFACT_LABEL, ARTIFACT_NAME_LABEL_LENGTH);
+    timingTable.addColumn(CREATE_LABEL, TIME_LABEL_LENGTH);
+    timingTable.addColumn(INITIALISE_LABEL, TIME_LABEL_LENGTH);
+    timingTable.addColumn(START_LABEL, TIME_LABEL_LENGTH);
+    timingTable.addColumn(TOTAL_LABEL, TIME_LABEL_LENGTH);
+
+    addTimingRows(timingTable, tracker.getDomainDeploymentStatusTracker().getDeploymentTimes());
+    addTimingRows(timingTable, tracker.getApplicationDeploymentStatusTracker().getDeploymentTimes());
+    return timingTable;
+  }
+
+  private void addTimingRows(SimpleLoggingTable timingTable, Map<String, DeploymentTimes> deploymentTimes) {
+    for (Map.Entry<String, DeploymentTimes> entry : deploymentTimes.entrySet()) {
+      DeploymentTimes times = entry.getValue();
+      timingTable.addDataRow(new String[] {entry.getKey(),
+          formatTime(times.getCreationTime()),
+          formatTime(times.getInitialisationTime()),
+          formatTime(times.getStartTime()),
+          formatTime(times.getTotalTime())});
+    }
+  }
+
+  private String formatTime(long millis) {
+    return millis < 0 ? "-" : Long.toString(millis);
+  }
 }
@@ -39,6 +39,7 @@ import org.mule.runtime.deployment.model.api.artifact.ArtifactContextConfigurati
 
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * Implementation of {@link ArtifactConfigurationProcessor} that parses the XML configuration files and delegates to
@@ -51,6 +52,22 @@ public final class AstXmlParserArtifactConfigurationProcessor extends AbstractAs
   @Override
   protected ArtifactAst obtainArtifactAst(ArtifactContextConfiguration artifactContextConfiguration)
       throws ConfigurationException {
+    return obtainArtifactAst(artifactContextConfiguration, (value, resolvedValue) -> {
+    });
+  }
+
+  /**
+   * Parses the config files of the artifact, notifying {@code resolutionListener} of every value the parser resolves properties
+   * in (for instance, the locations of imported files) along with the value it was resolved to.
+   *
+   * @param artifactContextConfiguration the configuration of the artifact to parse.
+   * @param resolutionListener           notified of the values resolved while parsing.
+   * @return the parsed {@link ArtifactAst}.
+   * @throws ConfigurationException if the config files cannot be parsed.
+   */
+  ArtifactAst obtainArtifactAst(ArtifactContextConfiguration artifactContextConfiguration,
+                                BiConsumer<String, String> resolutionListener)
+      throws ConfigurationException {
     return createApplicationModel(artifactContextConfiguration.getMuleContext(),
                                   artifactContextConfiguration.getArtifactDeclaration(),
                                   artifactContextConfiguration.getConfigResources(),
@@ -60,7 +77,18 @@ public final class AstXmlParserArtifactConfigurationProcessor extends AbstractAs
                                       .map(ArtifactContext::getArtifactAst)
                                       .orElse(emptyArtifact()),
                                   artifactContextConfiguration.isDisableXmlValidations(),
-                                  artifactContextConfiguration.getExpressionLanguageMetadataService());
+                                  artifactContextConfiguration.getExpressionLanguageMetadataService(),
+                                  resolutionListener);
+  }
+
+  /**
+   * @param artifactProperties the properties of the artifact.
+   * @return the resolver the parser resolves properties with.
+   */
+  static ConfigurationPropertiesResolver createPropertyResolver(Map<String, String> artifactProperties) {
+    return new ConfigurationPropertiesHierarchyBuilder()
+        .withApplicationProperties(artifactProperties)
+        .build();
   }
 
   private Set<ExtensionModel> getExtensions(ExtensionManager extensionManager) {
@@ -74,7 +102,8 @@ public final class AstXmlParserArtifactConfigurationProcessor extends AbstractAs
                                              ArtifactType artifactType,
                                              ArtifactAst parentArtifactAst,
                                              boolean disableXmlValidations,
-                                             ExpressionLanguageMetadataService expressionLanguageMetadataService)
+                                             ExpressionLanguageMetadataService expressionLanguageMetadataService,
+                                             BiConsumer<String, String> resolutionListener)
       throws ConfigurationException {
 
     Set<ExtensionModel> extensions = getExtensions(muleContext.getExtensionManager());
@@ -92,7 +121,8 @@ public final class AstXmlParserArtifactConfigurationProcessor extends AbstractAs
                                                                                                          artifactProperties,
                                                                                                          artifactType,
                                                                                                          parentArtifactAst,
-                                                                                                         disableValidations),
+                                                                                                         disableValidations,
+                                                                                                         resolutionListener),
                                                        extensions,
                                                        disableXmlValidations,
                                                        muleContext.getExecutionClassLoader(),
@@ -116,14 +146,17 @@ public final class AstXmlParserArtifactConfigurationProcessor extends AbstractAs
                                            Map<String, String> artifactProperties,
                                            ArtifactType artifactType,
                                            ArtifactAst parentArtifactAst,
-                                           boolean disableXmlValidations) {
-    ConfigurationPropertiesResolver propertyResolver = new ConfigurationPropertiesHierarchyBuilder()
-        .withApplicationProperties(artifactProperties)
-        .build();
+                                           boolean disableXmlValidations,
+                                           BiConsumer<String, String> resolutionListener) {
+    ConfigurationPropertiesResolver propertyResolver = createPropertyResolver(artifactProperties);
 
     FeatureFlaggingService featureFlaggingService = getFeatureFlaggingService(muleContext);
     Builder builder = AstXmlParser.builder()
-        .withPropertyResolver(propertyKey -> (String) propertyResolver.resolveValue(propertyKey))
+        .withPropertyResolver(propertyKey -> {
+          String resolvedValue = (String) propertyResolver.resolveValue(propertyKey);
+          resolutionListener.accept(propertyKey, resolvedValue);
+          return resolvedValue;
+        })
         .withExtensionModels(extensions)
         .withArtifactType(toAstArtifactType(artifactType))
         .withParentArtifact(resolveParentArtifact(parentArtifactAst, artifactType, featureFlaggingService));
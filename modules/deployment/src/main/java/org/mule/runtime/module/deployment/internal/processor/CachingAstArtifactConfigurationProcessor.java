@@ -0,0 +1,341 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal.processor;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.APP;
+import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.DOMAIN;
+import static org.mule.runtime.manifest.api.MuleManifest.getMuleManifest;
+import static org.mule.runtime.module.deployment.internal.processor.AstXmlParserArtifactConfigurationProcessor.createPropertyResolver;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.isRegularFile;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.newInputStream;
+import static java.nio.file.Files.newOutputStream;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.sort;
+import static java.util.stream.Collectors.toSet;
+
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.ast.api.ArtifactAst;
+import org.mule.runtime.ast.api.ImportedResource;
+import org.mule.runtime.ast.api.serialization.ArtifactAstDeserializer;
+import org.mule.runtime.ast.api.serialization.ArtifactAstSerializer;
+import org.mule.runtime.ast.api.serialization.ArtifactAstSerializerProvider;
+import org.mule.runtime.config.api.properties.ConfigurationPropertiesResolver;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.ConfigurationException;
+import org.mule.runtime.core.api.extension.ExtensionManager;
+import org.mule.runtime.deployment.model.api.artifact.ArtifactContext;
+import org.mule.runtime.deployment.model.api.artifact.ArtifactContextConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+
+/**
+ * Decorates an {@link AstXmlParserArtifactConfigurationProcessor} keeping the parsed {@link ArtifactAst} serialized in the
+ * working directory of the artifact, so that restarts and redeployments of an artifact whose configuration did not change can
+ * skip the parsing of its config files.
+ * <p>
+ * An entry is keyed by the runtime version, the config files, the artifact properties and the extensions available to the
+ * artifact, and is only used if the contents of all the config files the artifact was parsed from, including the imported ones,
+ * are still the same, and if the values the parser resolved properties in (for instance, the locations of imported files) still
+ * resolve to the same values, as those may depend on system properties or environment variables.
+ *
+ * @since 4.10
+ */
+public final class CachingAstArtifactConfigurationProcessor extends AbstractAstConfigurationProcessor {
+
+  /**
+   * When set to {@code true}, the parsed {@link ArtifactAst} of applications and domains is cached in their working directory.
+   * <p>
+   * Only the parsing of the config files is skipped. Post processing of the AST, such as the expansion of XML SDK operations, and
+   * its validation still take place on every deployment.
+   */
+  public static final String ARTIFACT_AST_CACHE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "artifactAst.cache";
+
+  private static final Logger LOGGER = getLogger(CachingAstArtifactConfigurationProcessor.class);
+
+  private static final String CACHE_FOLDER = "ast-cache";
+  private static final String AST_EXTENSION = ".ast";
+  private static final String RESOURCES_EXTENSION = ".resources";
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+  private static final String RESOURCE_PREFIX = "resource.";
+  private static final String RESOLVED_VALUE_PREFIX = "resolved.";
+
+  private static final String SERIALIZATION_FORMAT = "JSON";
+  private static final String SERIALIZATION_FORMAT_VERSION = "1.0";
+
+  private final AstXmlParserArtifactConfigurationProcessor delegate;
+  private final ArtifactAstSerializer serializer =
+      new ArtifactAstSerializerProvider().getSerializer(SERIALIZATION_FORMAT, SERIALIZATION_FORMAT_VERSION);
+  private final ArtifactAstDeserializer deserializer = new ArtifactAstSerializerProvider().getDeserializer();
+
+  public CachingAstArtifactConfigurationProcessor(AstXmlParserArtifactConfigurationProcessor delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  protected ArtifactAst obtainArtifactAst(ArtifactContextConfiguration artifactContextConfiguration)
+      throws ConfigurationException {
+    MuleContext muleContext = artifactContextConfiguration.getMuleContext();
+    String workingDirectory = muleContext.getConfiguration().getWorkingDirectory();
+    if (artifactContextConfiguration.getArtifactDeclaration() != null
+        || !(APP.equals(artifactContextConfiguration.getArtifactType())
+            || DOMAIN.equals(artifactContextConfiguration.getArtifactType()))
+        || workingDirectory == null) {
+      return delegate.obtainArtifactAst(artifactContextConfiguration);
+    }
+
+    Set<ExtensionModel> extensions = getExtensions(muleContext.getExtensionManager());
+    Path cacheFolder = Paths.get(workingDirectory, CACHE_FOLDER);
+    String key;
+    try {
+      key = keyFor(artifactContextConfiguration, extensions);
+    } catch (NoSuchAlgorithmException e) {
+      return delegate.obtainArtifactAst(artifactContextConfiguration);
+    }
+
+    Path astEntry = cacheFolder.resolve(key + AST_EXTENSION);
+    Path resourcesEntry = cacheFolder.resolve(key + RESOURCES_EXTENSION);
+
+    ArtifactAst cached = read(astEntry, resourcesEntry, artifactContextConfiguration, extensions);
+    if (cached != null) {
+      LOGGER.debug("Using cached AST for artifact '{}'", muleContext.getConfiguration().getId());
+      return cached;
+    }
+
+    Map<String, String> resolvedValues = new ConcurrentHashMap<>();
+    ArtifactAst artifactAst = delegate.obtainArtifactAst(artifactContextConfiguration,
+                                                         (value, resolvedValue) -> resolvedValues
+                                                             .put(value, String.valueOf(resolvedValue)));
+    write(cacheFolder, astEntry, resourcesEntry, artifactAst, artifactContextConfiguration, extensions, resolvedValues);
+    return artifactAst;
+  }
+
+  private String keyFor(ArtifactContextConfiguration artifactContextConfiguration, Set<ExtensionModel> extensions)
+      throws NoSuchAlgorithmException {
+    MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+    update(digest, getMuleManifest().getProductVersion());
+    update(digest, String.valueOf(artifactContextConfiguration.getMuleContext().getConfiguration().getId()));
+    update(digest, artifactContextConfiguration.getArtifactType().name());
+    update(digest, Boolean.toString(artifactContextConfiguration.isDisableXmlValidations()));
+    for (String configResource : artifactContextConfiguration.getConfigResources()) {
+      update(digest, configResource);
+    }
+    new TreeMap<>(artifactContextConfiguration.getArtifactProperties())
+        .forEach((key, value) -> update(digest, key + "=" + value));
+
+    List<String> extensionIds = new ArrayList<>(extensions.size());
+    for (ExtensionModel extension : extensions) {
+      extensionIds.add(extension.getName() + ":" + extension.getVersion() + ":"
+          + extension.getArtifactCoordinates().map(Object::toString).orElse(""));
+    }
+    sort(extensionIds);
+    extensionIds.forEach(extensionId -> update(digest, extensionId));
+
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    digest.update(value.getBytes(UTF_8));
+    // separator, so that consecutive values cannot be confused with each other
+    digest.update((byte) 0);
+  }
+
+  private ArtifactAst read(Path astEntry, Path resourcesEntry, ArtifactContextConfiguration artifactContextConfiguration,
+                           Set<ExtensionModel> extensions) {
+    if (!isRegularFile(astEntry) || !isRegularFile(resourcesEntry)) {
+      return null;
+    }
+
+    try {
+      ClassLoader executionClassLoader = artifactContextConfiguration.getMuleContext().getExecutionClassLoader();
+      Properties resourceDigests = new Properties();
+      try (InputStream resourcesStream = newInputStream(resourcesEntry)) {
+        resourceDigests.load(resourcesStream);
+      }
+      ConfigurationPropertiesResolver propertyResolver = null;
+      for (String name : resourceDigests.stringPropertyNames()) {
+        if (name.startsWith(RESOURCE_PREFIX)) {
+          String resource = name.substring(RESOURCE_PREFIX.length());
+          if (!resourceDigests.getProperty(name).equals(digestOf(executionClassLoader, resource))) {
+            LOGGER.debug("Config resource '{}' changed, discarding cached AST '{}'", resource, astEntry);
+            discard(astEntry, resourcesEntry);
+            return null;
+          }
+        } else if (name.startsWith(RESOLVED_VALUE_PREFIX)) {
+          if (propertyResolver == null) {
+            propertyResolver = createPropertyResolver(artifactContextConfiguration.getArtifactProperties());
+          }
+          String value = name.substring(RESOLVED_VALUE_PREFIX.length());
+          if (!resourceDigests.getProperty(name).equals(String.valueOf(propertyResolver.resolveValue(value)))) {
+            LOGGER.debug("Value '{}' now resolves differently, discarding cached AST '{}'", value, astEntry);
+            discard(astEntry, resourcesEntry);
+            return null;
+          }
+        } else {
+          LOGGER.debug("Unknown entry '{}', discarding cached AST '{}'", name, astEntry);
+          discard(astEntry, resourcesEntry);
+          return null;
+        }
+      }
+
+      try (InputStream astStream = newInputStream(astEntry)) {
+        return deserializer.deserialize(astStream,
+                                        name -> extensions.stream()
+                                            .filter(extension -> extension.getName().equals(name))
+                                            .findFirst()
+                                            .orElse(null),
+                                        artifactContextConfiguration.getParentArtifactContext()
+                                            .map(ArtifactContext::getArtifactAst)
+                                            .orElse(null));
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Discarding unreadable cached AST '{}'", astEntry, e);
+      discard(astEntry, resourcesEntry);
+      return null;
+    }
+  }
+
+  private void write(Path cacheFolder, Path astEntry, Path resourcesEntry, ArtifactAst artifactAst,
+                     ArtifactContextConfiguration artifactContextConfiguration, Set<ExtensionModel> extensions,
+                     Map<String, String> resolvedValues) {
+    Set<String> extensionNames = extensions.stream().map(ExtensionModel::getName).collect(toSet());
+    if (!artifactAst.dependencies().stream().allMatch(dependency -> extensionNames.contains(dependency.getName()))) {
+      // The artifact defines its own extension model, which is not available to resolve a deserialized AST
+      return;
+    }
+
+    try {
+      ClassLoader executionClassLoader = artifactContextConfiguration.getMuleContext().getExecutionClassLoader();
+      Set<String> resources = new LinkedHashSet<>();
+      for (String configResource : artifactContextConfiguration.getConfigResources()) {
+        resources.add(configResource);
+      }
+      for (ImportedResource importedResource : artifactAst.importedResources()) {
+        resources.add(importedResource.getResourceLocation());
+      }
+
+      Properties resourceDigests = new Properties();
+      for (String resource : resources) {
+        String resourceDigest = digestOf(executionClassLoader, resource);
+        if (resourceDigest == null) {
+          LOGGER.debug("Config resource '{}' cannot be read, the AST will not be cached", resource);
+          return;
+        }
+        resourceDigests.setProperty(RESOURCE_PREFIX + resource, resourceDigest);
+      }
+      resolvedValues.forEach((value, resolvedValue) -> resourceDigests.setProperty(RESOLVED_VALUE_PREFIX + value, resolvedValue));
+
+      createDirectories(cacheFolder);
+      discardOtherEntries(cacheFolder, astEntry, resourcesEntry);
+
+      // The resources entry is written last, so an AST entry is never used before it is complete
+      writeAtomically(cacheFolder, astEntry, out -> serializer.serialize(artifactAst).transferTo(out));
+      writeAtomically(cacheFolder, resourcesEntry, out -> resourceDigests.store(out, null));
+    } catch (Exception e) {
+      LOGGER.warn("Unable to cache AST for artifact '{}'",
+                  artifactContextConfiguration.getMuleContext().getConfiguration().getId(), e);
+      discard(astEntry, resourcesEntry);
+    }
+  }
+
+  private static String digestOf(ClassLoader executionClassLoader, String resource) throws IOException {
+    URL url = executionClassLoader.getResource(resource);
+    if (url == null) {
+      File file = new File(resource);
+      if (!file.isFile()) {
+        return null;
+      }
+      url = file.toURI().toURL();
+    }
+
+    try {
+      MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+      try (InputStream content = url.openStream()) {
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+          digest.update(buffer, 0, read);
+        }
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IOException(e);
+    }
+  }
+
+  private static void writeAtomically(Path cacheFolder, Path entry, EntryWriter writer) throws IOException {
+    Path temp = createTempFile(cacheFolder, entry.getFileName().toString(), ".tmp");
+    try {
+      try (OutputStream out = newOutputStream(temp)) {
+        writer.write(out);
+      }
+      try {
+        move(temp, entry, ATOMIC_MOVE, REPLACE_EXISTING);
+      } catch (IOException e) {
+        move(temp, entry, REPLACE_EXISTING);
+      }
+    } finally {
+      deleteQuietly(temp.toFile());
+    }
+  }
+
+  private static void discardOtherEntries(Path cacheFolder, Path astEntry, Path resourcesEntry) throws IOException {
+    try (DirectoryStream<Path> entries = Files.newDirectoryStream(cacheFolder)) {
+      for (Path entry : entries) {
+        if (!entry.equals(astEntry) && !entry.equals(resourcesEntry)) {
+          deleteQuietly(entry.toFile());
+        }
+      }
+    }
+  }
+
+  private static void discard(Path astEntry, Path resourcesEntry) {
+    deleteQuietly(resourcesEntry.toFile());
+    deleteQuietly(astEntry.toFile());
+  }
+
+  private Set<ExtensionModel> getExtensions(ExtensionManager extensionManager) {
+    return extensionManager == null ? emptySet() : extensionManager.getExtensions();
+  }
+
+  @FunctionalInterface
+  private interface EntryWriter {
+
+    void write(OutputStream out) throws IOException;
+  }
+}
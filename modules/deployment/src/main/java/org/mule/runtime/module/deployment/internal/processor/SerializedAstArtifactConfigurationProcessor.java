@@ -7,7 +7,9 @@
 package org.mule.runtime.module.deployment.internal.processor;
 
 import static org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptorConstants.SERIALIZED_ARTIFACT_AST_LOCATION;
+import static org.mule.runtime.module.deployment.internal.processor.CachingAstArtifactConfigurationProcessor.ARTIFACT_AST_CACHE_PROPERTY;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.String.format;
 import static java.util.Collections.emptySet;
 
@@ -109,7 +111,10 @@ public class SerializedAstArtifactConfigurationProcessor extends AbstractAstConf
   }
 
   public static ArtifactConfigurationProcessor serializedAstWithFallbackArtifactConfigurationProcessor() {
+    AstXmlParserArtifactConfigurationProcessor astXmlParserProcessor = new AstXmlParserArtifactConfigurationProcessor();
     return new FallbackArtifactConfigurationProcessor(new SerializedAstArtifactConfigurationProcessor(),
-                                                      new AstXmlParserArtifactConfigurationProcessor());
+                                                      getBoolean(ARTIFACT_AST_CACHE_PROPERTY)
+                                                          ? new CachingAstArtifactConfigurationProcessor(astXmlParserProcessor)
+                                                          : astXmlParserProcessor);
   }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.test.internal;
+
+import static org.mule.runtime.module.deployment.internal.ArtifactDeploymentStatusTracker.DeploymentState.DEPLOYED;
+import static org.mule.runtime.module.deployment.internal.ArtifactDeploymentStatusTracker.DeploymentState.FAILED;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+
+import org.mule.runtime.api.artifact.Registry;
+import org.mule.runtime.api.config.custom.CustomizationService;
+import org.mule.runtime.module.deployment.internal.ArtifactDeploymentStatusTracker;
+import org.mule.runtime.module.deployment.internal.ArtifactDeploymentStatusTracker.DeploymentTimes;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.junit.Test;
+
+public class ArtifactDeploymentStatusTrackerTestCase extends AbstractMuleTestCase {
+
+  private static final String ARTIFACT_NAME = "app";
+
+  private final ArtifactDeploymentStatusTracker tracker = new ArtifactDeploymentStatusTracker();
+
+  @Test
+  public void tracksTimeOfEveryPhase() {
+    tracker.onDeploymentStart(ARTIFACT_NAME);
+    tracker.onArtifactCreated(ARTIFACT_NAME, mock(CustomizationService.class));
+    tracker.onArtifactInitialised(ARTIFACT_NAME, mock(Registry.class));
+    tracker.onArtifactStarted(ARTIFACT_NAME, mock(Registry.class));
+    tracker.onDeploymentSuccess(ARTIFACT_NAME);
+
+    DeploymentTimes times = tracker.getDeploymentTimes().get(ARTIFACT_NAME);
+    assertThat(tracker.getDeploymentStates().get(ARTIFACT_NAME), is(DEPLOYED));
+    assertThat(times.getCreationTime(), greaterThanOrEqualTo(0L));
+    assertThat(times.getInitialisationTime(), greaterThanOrEqualTo(0L));
+    assertThat(times.getStartTime(), greaterThanOrEqualTo(0L));
+    assertThat(times.getTotalTime(), greaterThanOrEqualTo(0L));
+  }
+
+  @Test
+  public void phasesNotReachedAreNotReported() {
+    tracker.onDeploymentStart(ARTIFACT_NAME);
+    tracker.onArtifactCreated(ARTIFACT_NAME, mock(CustomizationService.class));
+    tracker.onDeploymentFailure(ARTIFACT_NAME, new RuntimeException());
+
+    DeploymentTimes times = tracker.getDeploymentTimes().get(ARTIFACT_NAME);
+    assertThat(tracker.getDeploymentStates().get(ARTIFACT_NAME), is(FAILED));
+    assertThat(times.getCreationTime(), greaterThanOrEqualTo(0L));
+    assertThat(times.getInitialisationTime(), is(-1L));
+    assertThat(times.getStartTime(), is(-1L));
+    assertThat(times.getTotalTime(), greaterThanOrEqualTo(0L));
+  }
+
+  @Test
+  public void redeploymentResetsTimes() {
+    tracker.onDeploymentStart(ARTIFACT_NAME);
+    tracker.onArtifactCreated(ARTIFACT_NAME, mock(CustomizationService.class));
+    tracker.onDeploymentSuccess(ARTIFACT_NAME);
+    tracker.onDeploymentStart(ARTIFACT_NAME);
+
+    DeploymentTimes times = tracker.getDeploymentTimes().get(ARTIFACT_NAME);
+    assertThat(times.getCreationTime(), is(-1L));
+    assertThat(times.getTotalTime(), is(-1L));
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.test.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.writeString;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.artifact.api.descriptor.ApplicationDescriptor;
+import org.mule.runtime.module.deployment.internal.DeploymentDirectoryChangeWatcher;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeploymentDirectoryChangeWatcherTestCase extends AbstractMuleTestCase {
+
+  private static final String APP_NAME = "app";
+  private static final long PROBE_TIMEOUT = 15000;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File appsDir;
+  private File configFile;
+  private Application application;
+  private DeploymentDirectoryChangeWatcher watcher;
+  private Thread eventsThread;
+  private final AtomicInteger notifications = new AtomicInteger();
+
+  @Before
+  public void setUp() throws IOException {
+    appsDir = temporaryFolder.newFolder("apps");
+    File domainsDir = temporaryFolder.newFolder("domains");
+    File appFolder = new File(appsDir, APP_NAME);
+    File configFolder = new File(appFolder, "config");
+    configFolder.mkdirs();
+    configFile = new File(configFolder, "mule-config.xml");
+    writeString(configFile.toPath(), "<mule/>", UTF_8);
+
+    ApplicationDescriptor descriptor = new ApplicationDescriptor(APP_NAME);
+    descriptor.setArtifactLocation(appFolder);
+    application = mock(Application.class);
+    when(application.getArtifactName()).thenReturn(APP_NAME);
+    when(application.getResourceFiles()).thenReturn(new File[] {configFile});
+    when(application.getDescriptor()).thenReturn(descriptor);
+
+    watcher = DeploymentDirectoryChangeWatcher.create(appsDir, domainsDir).get();
+    assertThat(watcher.watchApplication(application), is(true));
+    eventsThread = new Thread(() -> watcher.processEvents(notifications::incrementAndGet));
+    eventsThread.start();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    watcher.close();
+    eventsThread.join(PROBE_TIMEOUT);
+  }
+
+  @Test
+  public void changedConfigIsNotified() throws IOException {
+    writeString(configFile.toPath(), "<mule></mule>", UTF_8);
+
+    Set<String> changed = new HashSet<>();
+    new PollingProber(PROBE_TIMEOUT, 100).check(new JUnitLambdaProbe(() -> {
+      changed.addAll(watcher.drainChangedApplications());
+      assertThat(changed, contains(APP_NAME));
+      return true;
+    }));
+    assertThat(notifications.get() > 0, is(true));
+  }
+
+  @Test
+  public void newArtifactIsNotified() throws IOException {
+    writeString(new File(appsDir, "other-app.jar").toPath(), "", UTF_8);
+
+    new PollingProber(PROBE_TIMEOUT, 100).check(new JUnitLambdaProbe(() -> notifications.get() > 0));
+    assertThat(watcher.drainChangedApplications(), empty());
+  }
+
+  @Test
+  public void unwatchedArtifactIsNotNotified() throws IOException {
+    watcher.unwatchApplication(APP_NAME);
+    writeString(configFile.toPath(), "<mule></mule>", UTF_8);
+    // a change in a watched directory, to know when events have been processed
+    writeString(new File(appsDir, "other-app.jar").toPath(), "", UTF_8);
+
+    new PollingProber(PROBE_TIMEOUT, 100).check(new JUnitLambdaProbe(() -> notifications.get() > 0));
+    assertThat(watcher.drainChangedApplications(), empty());
+  }
+
+  @Test
+  public void artifactThatCannotBeWatchedIsReportedAsChanged() throws IOException {
+    DeploymentDirectoryChangeWatcher closedWatcher =
+        DeploymentDirectoryChangeWatcher.create(appsDir, temporaryFolder.newFolder("otherDomains")).get();
+    closedWatcher.close();
+
+    assertThat(closedWatcher.watchApplication(application), is(false));
+    assertThat(closedWatcher.drainChangedApplications(), contains(APP_NAME));
+  }
+
+  @Test
+  public void closeStopsProcessingEvents() throws Exception {
+    watcher.close();
+
+    eventsThread.join(PROBE_TIMEOUT);
+    assertThat(eventsThread.isAlive(), is(false));
+  }
+}
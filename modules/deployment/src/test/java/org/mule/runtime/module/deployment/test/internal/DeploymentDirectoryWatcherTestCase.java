@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.test.internal;
+
+import static org.mule.runtime.module.deployment.internal.DeploymentDirectoryWatcher.CHANGE_DEBOUNCE_PROPERTY;
+import static org.mule.runtime.module.deployment.internal.DeploymentDirectoryWatcher.USE_WATCH_SERVICE_PROPERTY;
+import static org.mule.test.allure.AllureConstants.ArtifactDeploymentFeature.APP_DEPLOYMENT;
+import static org.mule.test.allure.AllureConstants.DeploymentTypeFeature.RedeploymentStory.APPLICATION_REDEPLOYMENT;
+
+import static java.lang.Thread.sleep;
+import static java.util.Arrays.asList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Contains tests for the redeployment of applications when the deployment directories are watched for changes instead of being
+ * polled.
+ */
+@Feature(APP_DEPLOYMENT)
+@Story(APPLICATION_REDEPLOYMENT)
+public class DeploymentDirectoryWatcherTestCase extends AbstractApplicationDeploymentTestCase {
+
+  private static final int CHANGE_DEBOUNCE_MS = 100;
+
+  @Rule
+  public SystemProperty useWatchService = new SystemProperty(USE_WATCH_SERVICE_PROPERTY, "true");
+
+  @Rule
+  public SystemProperty changeDebounce = new SystemProperty(CHANGE_DEBOUNCE_PROPERTY, Integer.toString(CHANGE_DEBOUNCE_MS));
+
+  public DeploymentDirectoryWatcherTestCase(boolean parallelDeployment) {
+    super(parallelDeployment);
+  }
+
+  @Parameters(name = "Parallel: {0}")
+  public static List<Boolean> params() {
+    // Only run without parallel deployment since this configuration does not affect re-deployment at all
+    return asList(false);
+  }
+
+  @Test
+  public void redeploysOnlyChangedApp() throws Exception {
+    addPackedAppFromBuilder(dummyAppDescriptorFileBuilder);
+    addPackedAppFromBuilder(emptyAppFileBuilder);
+
+    startDeployment();
+
+    assertApplicationDeploymentSuccess(applicationDeploymentListener, dummyAppDescriptorFileBuilder.getId());
+    assertApplicationDeploymentSuccess(applicationDeploymentListener, emptyAppFileBuilder.getId());
+    reset(applicationDeploymentListener);
+
+    // the changes check interval is too long for the change to be detected by polling
+    touchConfigFile(dummyAppDescriptorFileBuilder.getDeployedPath());
+
+    assertApplicationRedeploymentSuccess(dummyAppDescriptorFileBuilder.getId());
+    verify(applicationDeploymentListener, never()).onRedeploymentStart(emptyAppFileBuilder.getId());
+    assertThat(deploymentService.getApplications().size(), is(2));
+  }
+
+  @Test
+  public void changeNotifiedWhileDeploymentLockIsHeldIsNotLost() throws Exception {
+    addPackedAppFromBuilder(dummyAppDescriptorFileBuilder);
+
+    startDeployment();
+
+    assertApplicationDeploymentSuccess(applicationDeploymentListener, dummyAppDescriptorFileBuilder.getId());
+    reset(applicationDeploymentListener);
+
+    ReentrantLock deploymentLock = deploymentService.getLock();
+    deploymentLock.lock();
+    try {
+      touchConfigFile(dummyAppDescriptorFileBuilder.getDeployedPath());
+      // give the triggered check time to find the lock held
+      sleep(CHANGE_DEBOUNCE_MS * 10);
+      verify(applicationDeploymentListener, never()).onRedeploymentStart(anyString());
+    } finally {
+      deploymentLock.unlock();
+    }
+
+    assertApplicationRedeploymentSuccess(dummyAppDescriptorFileBuilder.getId());
+  }
+
+  private void touchConfigFile(String applicationPath) {
+    File configFile = new File(new File(appsDir, applicationPath), getConfigFilePathWithinArtifact(MULE_CONFIG_XML_FILE));
+    assertThat(configFile.setLastModified(configFile.lastModified() + FILE_TIMESTAMP_PRECISION_MILLIS), is(true));
+  }
+}
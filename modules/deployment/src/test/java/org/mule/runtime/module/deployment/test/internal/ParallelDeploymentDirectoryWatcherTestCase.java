@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.test.internal;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.deployment.model.api.DeploymentException;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.deployment.model.api.domain.Domain;
+import org.mule.runtime.module.artifact.api.descriptor.ApplicationDescriptor;
+import org.mule.runtime.module.artifact.api.descriptor.DomainDescriptor;
+import org.mule.runtime.module.deployment.internal.ArchiveDeployer;
+import org.mule.runtime.module.deployment.internal.DomainBundleArchiveDeployer;
+import org.mule.runtime.module.deployment.internal.ParallelDeploymentDirectoryWatcher;
+import org.mule.runtime.module.deployment.internal.util.ObservableList;
+import org.mule.tck.SimpleUnitTestSupportSchedulerService;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ParallelDeploymentDirectoryWatcherTestCase extends AbstractMuleTestCase {
+
+  private static final String FIRST_DOMAIN = "domain1";
+  private static final String SECOND_DOMAIN = "domain2";
+  private static final String BROKEN_DOMAIN = "broken";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final SimpleUnitTestSupportSchedulerService schedulerService = new SimpleUnitTestSupportSchedulerService();
+
+  private ArchiveDeployer<DomainDescriptor, Domain> domainDeployer;
+  private ParallelDeploymentDirectoryWatcher watcher;
+
+  @Before
+  public void setUp() throws Exception {
+    File appsDir = temporaryFolder.newFolder("apps");
+    File domainsDir = temporaryFolder.newFolder("domains");
+    new File(domainsDir, FIRST_DOMAIN).mkdirs();
+    new File(domainsDir, SECOND_DOMAIN).mkdirs();
+    new File(domainsDir, BROKEN_DOMAIN).mkdirs();
+
+    domainDeployer = mock(ArchiveDeployer.class);
+    when(domainDeployer.getDeploymentDirectory()).thenReturn(domainsDir);
+    ArchiveDeployer<ApplicationDescriptor, Application> applicationDeployer = mock(ArchiveDeployer.class);
+    when(applicationDeployer.getDeploymentDirectory()).thenReturn(appsDir);
+
+    watcher = new ParallelDeploymentDirectoryWatcher(mock(DomainBundleArchiveDeployer.class), domainDeployer, applicationDeployer,
+                                                     new ObservableList<>(), new ObservableList<>(), () -> schedulerService,
+                                                     new ReentrantLock());
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    schedulerService.stop();
+  }
+
+  @Test
+  public void explodedDomainsAreDeployedConcurrently() {
+    when(domainDeployer.isUpdatedZombieArtifact(anyString())).thenReturn(true);
+    when(domainDeployer.isUpdatedZombieArtifact(BROKEN_DOMAIN)).thenReturn(false);
+
+    // each deployment waits for the other one, so they only complete if both run at the same time
+    CountDownLatch deploying = new CountDownLatch(2);
+    Set<String> deployed = ConcurrentHashMap.newKeySet();
+    when(domainDeployer.deployExplodedArtifact(anyString(), any())).thenAnswer(invocation -> {
+      deploying.countDown();
+      if (deploying.await(10, SECONDS)) {
+        deployed.add(invocation.getArgument(0));
+      }
+      return null;
+    });
+
+    watcher.run();
+
+    assertThat(deployed, containsInAnyOrder(FIRST_DOMAIN, SECOND_DOMAIN));
+  }
+
+  @Test
+  public void failureCheckingDomainDoesNotPreventOthersFromDeploying() {
+    when(domainDeployer.isUpdatedZombieArtifact(anyString())).thenReturn(true);
+    when(domainDeployer.isUpdatedZombieArtifact(BROKEN_DOMAIN))
+        .thenThrow(new DeploymentException(createStaticMessage("Broken domain")));
+
+    watcher.run();
+
+    verify(domainDeployer).deployExplodedArtifact(eq(FIRST_DOMAIN), any());
+    verify(domainDeployer).deployExplodedArtifact(eq(SECOND_DOMAIN), any());
+    verify(domainDeployer, never()).deployExplodedArtifact(eq(BROKEN_DOMAIN), any());
+  }
+}
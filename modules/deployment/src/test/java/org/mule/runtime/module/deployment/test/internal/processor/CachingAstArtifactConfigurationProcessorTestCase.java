@@ -0,0 +1,171 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.test.internal.processor;
+
+import static org.mule.runtime.config.internal.context.BaseSpringMuleContextServiceConfigurator.DISABLE_TRANSFORMERS_SUPPORT;
+import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.APP;
+import static org.mule.runtime.core.api.extension.provider.MuleExtensionModelProvider.getExtensionModel;
+import static org.mule.tck.util.MuleContextUtils.addExtensionModelToMock;
+import static org.mule.tck.util.MuleContextUtils.mockContextWithServices;
+
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.list;
+import static java.nio.file.Files.writeString;
+import static java.util.stream.Collectors.toList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.ast.api.ArtifactAst;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.ConfigurationException;
+import org.mule.runtime.deployment.model.api.artifact.ArtifactContextConfiguration;
+import org.mule.runtime.module.deployment.internal.processor.AstXmlParserArtifactConfigurationProcessor;
+import org.mule.runtime.module.deployment.internal.processor.CachingAstArtifactConfigurationProcessor;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CachingAstArtifactConfigurationProcessorTestCase extends AbstractMuleTestCase {
+
+  private static final String CONFIG_TEMPLATE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<mule xmlns=\"http://www.mulesoft.org/schema/mule/core\"\n"
+      + "      xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+      + "      xsi:schemaLocation=\"http://www.mulesoft.org/schema/mule/core http://www.mulesoft.org/schema/mule/core/current/mule.xsd\">\n"
+      + "%s\n"
+      + "</mule>\n";
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty disableExpressionsSupport = new SystemProperty(DISABLE_TRANSFORMERS_SUPPORT, "true");
+
+  private CachingAstArtifactConfigurationProcessor configurationBuilder;
+  private MuleContext muleContext;
+  private File configsFolder;
+  private File cacheFolder;
+
+  @Before
+  public void setUp() throws Exception {
+    configsFolder = tempFolder.newFolder("configs");
+    File workingDirectory = tempFolder.newFolder("working");
+    cacheFolder = new File(workingDirectory, "ast-cache");
+
+    muleContext = mockContextWithServices();
+    addExtensionModelToMock(muleContext, getExtensionModel());
+    when(muleContext.getConfiguration().getWorkingDirectory()).thenReturn(workingDirectory.getAbsolutePath());
+    when(muleContext.getExecutionClassLoader())
+        .thenReturn(new URLClassLoader(new URL[] {configsFolder.toURI().toURL()}, this.getClass().getClassLoader()));
+
+    configurationBuilder = new CachingAstArtifactConfigurationProcessor(new AstXmlParserArtifactConfigurationProcessor());
+
+    writeConfig("main.xml", "<import file=\"imported.xml\"/>\n<flow name=\"main\"><logger/></flow>");
+    writeConfig("imported.xml", "<flow name=\"imported\"><logger/></flow>");
+  }
+
+  @Test
+  public void unchangedConfigUsesCachedAst() throws Exception {
+    assertThat(deploy().topLevelComponents(), hasSize(2));
+    List<Path> entries = cacheEntries();
+    assertThat(entries, hasSize(2));
+    for (Path entry : entries) {
+      entry.toFile().setLastModified(0);
+    }
+
+    assertThat(deploy().topLevelComponents(), hasSize(2));
+    for (Path entry : cacheEntries()) {
+      assertThat(entry.toFile().lastModified(), is(0L));
+    }
+  }
+
+  @Test
+  public void changedConfigIsParsedAgain() throws Exception {
+    deploy();
+    writeConfig("main.xml", "<import file=\"imported.xml\"/>\n<flow name=\"main\"><logger/></flow>\n"
+        + "<flow name=\"other\"><logger/></flow>");
+
+    assertThat(deploy().topLevelComponents(), hasSize(3));
+    assertThat(cacheEntries(), hasSize(2));
+  }
+
+  @Test
+  public void changedImportedConfigIsParsedAgain() throws Exception {
+    deploy();
+    writeConfig("imported.xml", "<flow name=\"imported\"><logger/></flow>\n<flow name=\"other\"><logger/></flow>");
+
+    assertThat(deploy().topLevelComponents(), hasSize(3));
+  }
+
+  @Test
+  public void importResolvedDifferentlyIsParsedAgain() throws Exception {
+    writeConfig("main.xml", "<import file=\"${env}.xml\"/>\n<flow name=\"main\"><logger/></flow>");
+    writeConfig("dev.xml", "<flow name=\"dev\"><logger/></flow>");
+    writeConfig("prod.xml", "<flow name=\"prod\"><logger/></flow>\n<flow name=\"other\"><logger/></flow>");
+
+    try {
+      setProperty("env", "dev");
+      assertThat(deploy().topLevelComponents(), hasSize(2));
+
+      setProperty("env", "prod");
+      assertThat(deploy().topLevelComponents(), hasSize(3));
+      assertThat(cacheEntries(), hasSize(2));
+    } finally {
+      clearProperty("env");
+    }
+  }
+
+  @Test
+  public void corruptCachedAstIsParsedAgain() throws Exception {
+    deploy();
+    for (Path entry : cacheEntries()) {
+      if (entry.toString().endsWith(".ast")) {
+        writeString(entry, "not an ast", UTF_8);
+      }
+    }
+
+    assertThat(deploy().topLevelComponents(), hasSize(2));
+    assertThat(cacheEntries(), hasSize(2));
+  }
+
+  private ArtifactAst deploy() throws ConfigurationException {
+    return configurationBuilder.createArtifactContext(ArtifactContextConfiguration.builder()
+        .setConfigResources(new String[] {"main.xml"})
+        .setArtifactType(APP)
+        .setMuleContext(muleContext)
+        .setEnableLazyInitialization(false)
+        .setDisableXmlValidations(false)
+        .build())
+        .getArtifactAst();
+  }
+
+  private void writeConfig(String name, String content) throws IOException {
+    writeString(new File(configsFolder, name).toPath(), String.format(CONFIG_TEMPLATE, content), UTF_8);
+  }
+
+  private List<Path> cacheEntries() throws IOException {
+    try (Stream<Path> entries = list(cacheFolder.toPath())) {
+      return entries.collect(toList());
+    }
+  }
+}
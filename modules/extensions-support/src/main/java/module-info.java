@@ -46,6 +46,7 @@ module org.mule.runtime.extensions.support {
   requires org.mule.runtime.metadata.model.message;
   requires org.mule.runtime.metadata.model.xml;
   requires org.mule.runtime.metadata.support;
+  requires org.mule.runtime.metrics.api;
   requires org.mule.runtime.oauth.api;
   requires org.mule.runtime.policy.api;
   requires org.mule.runtime.profiling.api;
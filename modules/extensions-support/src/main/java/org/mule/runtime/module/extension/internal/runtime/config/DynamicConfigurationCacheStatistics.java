@@ -0,0 +1,156 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.config;
+
+import org.mule.runtime.metrics.api.meter.Meter;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the cache of {@link org.mule.runtime.extension.api.runtime.config.ConfigurationInstance configuration
+ * instances} kept by a {@link DynamicConfigurationProvider}.
+ *
+ * @since 4.10
+ */
+public final class DynamicConfigurationCacheStatistics {
+
+  public static final String HITS_NAME = "hits";
+  public static final String HITS_DESCRIPTION = "Lookups served by an existing instance";
+  public static final String MISSES_NAME = "misses";
+  public static final String MISSES_DESCRIPTION = "Lookups that required creating an instance";
+  public static final String CREATIONS_NAME = "creations";
+  public static final String CREATIONS_DESCRIPTION = "Instances created successfully";
+  public static final String EVICTIONS_NAME = "evictions";
+  public static final String EVICTIONS_DESCRIPTION = "Instances evicted to keep the cache under its maximum size";
+  public static final String EXPIRATIONS_NAME = "expirations";
+  public static final String EXPIRATIONS_DESCRIPTION = "Instances expired by the expiration policy";
+  public static final String AVERAGE_CREATION_TIME_NAME = "creation.time.average";
+  public static final String AVERAGE_CREATION_TIME_DESCRIPTION = "Average Instance Creation Time (ns)";
+  public static final String MAX_CREATION_TIME_NAME = "creation.time.max";
+  public static final String MAX_CREATION_TIME_DESCRIPTION = "Max Instance Creation Time (ns)";
+  public static final String CREATION_TIME_UNIT = "ns";
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder creations = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder expirations = new LongAdder();
+  private final LongAdder creationTimeNanos = new LongAdder();
+  private final LongAccumulator maxCreationTimeNanos = new LongAccumulator(Math::max, 0);
+
+  void recordHit() {
+    hits.increment();
+  }
+
+  void recordMiss() {
+    misses.increment();
+  }
+
+  void recordCreation(long elapsedNanos) {
+    creations.increment();
+    creationTimeNanos.add(elapsedNanos);
+    maxCreationTimeNanos.accumulate(elapsedNanos);
+  }
+
+  void recordEviction() {
+    evictions.increment();
+  }
+
+  void recordExpiration() {
+    expirations.increment();
+  }
+
+  /**
+   * @return how many times an already existing instance was returned.
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return how many times a new instance had to be created.
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return how many instances were created successfully. Creations that failed are counted as {@link #getMisses() misses} only.
+   */
+  public long getCreations() {
+    return creations.sum();
+  }
+
+  /**
+   * @return how many instances were removed from the cache to keep it under its maximum size.
+   */
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * @return how many instances were removed from the cache because they expired.
+   */
+  public long getExpirations() {
+    return expirations.sum();
+  }
+
+  /**
+   * @return the average time it took to successfully create, initialise and start an instance, in nanoseconds.
+   */
+  public long getAverageCreationTimeNanos() {
+    long created = creations.sum();
+    return created == 0 ? 0 : creationTimeNanos.sum() / created;
+  }
+
+  /**
+   * @return the longest time it took to create, initialise and start an instance, in nanoseconds.
+   */
+  public long getMaxCreationTimeNanos() {
+    return maxCreationTimeNanos.get();
+  }
+
+  /**
+   * Publishes these statistics as instruments of the given {@code meter}.
+   *
+   * @param meter the {@link Meter} of the owning {@link DynamicConfigurationProvider}
+   */
+  void trackUsingMeter(Meter meter) {
+    meter.counterBuilder(HITS_NAME)
+        .withValueSupplier(this::getHits)
+        .withDescription(HITS_DESCRIPTION).build();
+    meter.counterBuilder(MISSES_NAME)
+        .withValueSupplier(this::getMisses)
+        .withDescription(MISSES_DESCRIPTION).build();
+    meter.counterBuilder(CREATIONS_NAME)
+        .withValueSupplier(this::getCreations)
+        .withDescription(CREATIONS_DESCRIPTION).build();
+    meter.counterBuilder(EVICTIONS_NAME)
+        .withValueSupplier(this::getEvictions)
+        .withDescription(EVICTIONS_DESCRIPTION).build();
+    meter.counterBuilder(EXPIRATIONS_NAME)
+        .withValueSupplier(this::getExpirations)
+        .withDescription(EXPIRATIONS_DESCRIPTION).build();
+    meter.gaugeBuilder(AVERAGE_CREATION_TIME_NAME)
+        .withValueSupplier(this::getAverageCreationTimeNanos)
+        .withDescription(AVERAGE_CREATION_TIME_DESCRIPTION)
+        .withUnit(CREATION_TIME_UNIT).build();
+    meter.gaugeBuilder(MAX_CREATION_TIME_NAME)
+        .withValueSupplier(this::getMaxCreationTimeNanos)
+        .withDescription(MAX_CREATION_TIME_DESCRIPTION)
+        .withUnit(CREATION_TIME_UNIT).build();
+  }
+
+  @Override
+  public String toString() {
+    return "DynamicConfigurationCacheStatistics{hits=" + getHits() + ", misses=" + getMisses() + ", creations="
+        + getCreations() + ", evictions=" + getEvictions()
+        + ", expirations=" + getExpirations() + ", averageCreationTimeNanos=" + getAverageCreationTimeNanos()
+        + ", maxCreationTimeNanos=" + getMaxCreationTimeNanos() + "}";
+  }
+}
@@ -6,10 +6,12 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.config;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.System.nanoTime;
 import static java.util.Optional.ofNullable;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
-import static org.mule.runtime.api.util.collection.Collectors.toImmutableList;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.assertNotStopping;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
@@ -17,6 +19,7 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
 import static org.mule.runtime.extension.api.values.ValueResolvingException.UNKNOWN;
+import static org.mule.runtime.metrics.api.meter.MeterProperties.MULE_METER_ARTIFACT_ID_ATTRIBUTE;
 import static org.mule.runtime.module.extension.internal.value.ValueProviderUtils.valuesWithClassLoader;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -42,6 +45,7 @@ import org.mule.runtime.extension.api.runtime.config.ConfigurationStats;
 import org.mule.runtime.extension.api.runtime.config.ExpirableConfigurationProvider;
 import org.mule.runtime.extension.api.values.ConfigurationParameterValueProvider;
 import org.mule.runtime.extension.api.values.ValueResolvingException;
+import org.mule.runtime.metrics.api.MeterProvider;
 import org.mule.runtime.module.extension.api.runtime.resolver.ConnectionProviderValueResolver;
 import org.mule.runtime.module.extension.api.runtime.resolver.ResolverSet;
 import org.mule.runtime.module.extension.api.runtime.resolver.ResolverSetResult;
@@ -50,17 +54,27 @@ import org.mule.runtime.module.extension.api.runtime.resolver.ValueResolvingCont
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 import org.mule.runtime.module.extension.internal.value.DefaultValueProviderMediator;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 
 import org.slf4j.Logger;
 
+import jakarta.inject.Inject;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 /**
  * A {@link ConfigurationProvider} which continuously evaluates the same {@link ResolverSet} and then uses the resulting
  * {@link ResolverSetResult} to build an instance of type {@code T}
@@ -69,12 +83,31 @@ import org.slf4j.Logger;
  * {@link #resolverSet#resolve(Object)}, the resulting {@link ResolverSetResult} might not end up generating a new instance. This
  * is so because {@link ResolverSetResult} instances are put in a cache to guarantee that equivalent evaluations of the
  * {@code resolverSet} return the same instance.
+ * <p>
+ * Instances are created by the first thread that needs them, without holding any lock of the cache, while other threads
+ * needing the same instance wait for it. The cache may be bounded through {@link #DYNAMIC_CONFIG_MAX_INSTANCES_PROPERTY}, in
+ * which case the least valuable instances are evicted when it is full. Evicted instances are stopped and disposed as expired
+ * ones once they are no longer in use.
+ * <p>
+ * The {@link DynamicConfigurationCacheStatistics statistics} of the cache are published through the {@link MeterProvider} of the
+ * artifact.
  *
  * @since 4.0.0
  */
 public final class DynamicConfigurationProvider extends LifecycleAwareConfigurationProvider
     implements ExpirableConfigurationProvider, ConfigurationParameterValueProvider {
 
+  /**
+   * The maximum amount of configuration instances that each dynamic configuration keeps. When not set or not positive, the
+   * amount of instances is only limited by their expiration policy.
+   *
+   * @since 4.10
+   */
+  public static final String DYNAMIC_CONFIG_MAX_INSTANCES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "dynamicConfig.maxInstances";
+
+  public static final String DYNAMIC_CONFIG_CACHE_STATISTICS_NAME = "dynamic-config-cache-statistics";
+  public static final String DYNAMIC_CONFIG_CACHE_STATISTICS_DESCRIPTION = "Dynamic configuration cache statistics";
+
   private static final Logger LOGGER = getLogger(DynamicConfigurationProvider.class);
 
   private final ConfigurationInstanceFactory configurationInstanceFactory;
@@ -82,13 +115,15 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
   private final ConnectionProviderValueResolver connectionProviderResolver;
   private final ExpirationPolicy expirationPolicy;
 
-  private final Map<Pair<ResolverSetResult, ResolverSetResult>, ConfigurationInstance> cache = new ConcurrentHashMap<>();
-  private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
-  private final Lock cacheReadLock = cacheLock.readLock();
-  private final Lock cacheWriteLock = cacheLock.writeLock();
+  private final Cache<Pair<ResolverSetResult, ResolverSetResult>, CacheEntry> cache;
+  private final Queue<EvictedConfiguration> evicted = new ConcurrentLinkedQueue<>();
+  private final DynamicConfigurationCacheStatistics cacheStatistics = new DynamicConfigurationCacheStatistics();
   private final ReflectionCache reflectionCache;
   private final ExpressionManager expressionManager;
 
+  @Inject
+  private MeterProvider meterProvider;
+
   /**
    * Creates a new instance
    *
@@ -119,6 +154,21 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     this.resolverSet = resolverSet;
     this.connectionProviderResolver = connectionProviderResolver;
     this.expirationPolicy = expirationPolicy;
+    this.cache = createCache(getInteger(DYNAMIC_CONFIG_MAX_INSTANCES_PROPERTY, 0));
+  }
+
+  private Cache<Pair<ResolverSetResult, ResolverSetResult>, CacheEntry> createCache(int maxInstances) {
+    Caffeine<Object, Object> builder = Caffeine.newBuilder()
+        // Just enqueues the evicted instance, no need to do it in another thread
+        .executor(Runnable::run);
+    if (maxInstances > 0) {
+      builder.maximumSize(maxInstances);
+    }
+    return builder.<Pair<ResolverSetResult, ResolverSetResult>, CacheEntry>removalListener((key, entry, cause) -> {
+      if (cause.wasEvicted()) {
+        onEviction(entry);
+      }
+    }).build();
   }
 
   /**
@@ -145,20 +195,77 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
 
   private ConfigurationInstance getConfiguration(Pair<ResolverSetResult, ResolverSetResult> resolverSetResult, CoreEvent event)
       throws Exception {
+    final ConcurrentMap<Pair<ResolverSetResult, ResolverSetResult>, CacheEntry> entries = cache.asMap();
+    while (true) {
+      CacheEntry entry = cache.getIfPresent(resolverSetResult);
+      if (entry == null) {
+        CacheEntry newEntry = new CacheEntry();
+        entry = entries.putIfAbsent(resolverSetResult, newEntry);
+        if (entry == null) {
+          return createEntryConfiguration(resolverSetResult, newEntry, event);
+        }
+      }
+
+      ConfigurationInstance configuration = awaitConfiguration(entry);
+      updateUsageStatistic(configuration);
+      // Fails if the instance expired concurrently, in which case a new one is needed
+      if (entry.markUsed()) {
+        cacheStatistics.recordHit();
+        return configuration;
+      }
+    }
+  }
+
+  private ConfigurationInstance createEntryConfiguration(Pair<ResolverSetResult, ResolverSetResult> resolverSetResult,
+                                                         CacheEntry entry, CoreEvent event)
+      throws Exception {
+    cacheStatistics.recordMiss();
+    final long start = nanoTime();
 
     ConfigurationInstance configuration;
-    cacheReadLock.lock();
     try {
-      configuration = cache.computeIfAbsent(resolverSetResult, (r) -> createConfiguration(r, event));
-      updateUsageStatistic(configuration);
-      return configuration;
-    } catch (WrappingRuntimeException e) {
-      throw e.getWrappedException();
-    } finally {
-      cacheReadLock.unlock();
+      configuration = createConfiguration(resolverSetResult, event);
+    } catch (Throwable t) {
+      // Let the threads waiting for this instance fail too
+      entry.configuration.completeExceptionally(t);
+      cache.asMap().remove(resolverSetResult, entry);
+      if (t instanceof Error) {
+        throw (Error) t;
+      }
+      // checked exceptions may be sneaky thrown by the extension
+      throw t instanceof Exception ? unwrap((Exception) t) : new MuleRuntimeException(t);
+    }
+
+    cacheStatistics.recordCreation(nanoTime() - start);
+    updateUsageStatistic(configuration);
+    entry.markUsed();
+    entry.configuration.complete(configuration);
+    return configuration;
+  }
+
+  private ConfigurationInstance awaitConfiguration(CacheEntry entry) throws Exception {
+    try {
+      return entry.configuration.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw unwrap((Exception) e.getCause());
+      }
+      throw e;
     }
   }
 
+  private Exception unwrap(Exception e) {
+    return e instanceof WrappingRuntimeException ? ((WrappingRuntimeException) e).getWrappedException() : e;
+  }
+
+  private void onEviction(CacheEntry entry) {
+    entry.markEvicted();
+    entry.configuration.thenAccept(configuration -> {
+      cacheStatistics.recordEviction();
+      evicted.add(new EvictedConfiguration(configuration));
+    });
+  }
+
   private void updateUsageStatistic(ConfigurationInstance configuration) {
     MutableConfigurationStats stats = (MutableConfigurationStats) configuration.getStatistics();
     stats.updateLastUsed();
@@ -228,16 +335,34 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
 
   @Override
   public List<ConfigurationInstance> getExpired() {
-    cacheWriteLock.lock();
-    try {
-      return cache.entrySet().stream().filter(entry -> isExpired(entry.getValue())).map(entry -> {
-        cache.remove(entry.getKey());
-        unRegisterConfiguration(entry.getValue());
-        return entry.getValue();
-      }).collect(toImmutableList());
-    } finally {
-      cacheWriteLock.unlock();
+    List<ConfigurationInstance> expired = new ArrayList<>();
+
+    for (Entry<Pair<ResolverSetResult, ResolverSetResult>, CacheEntry> cached : cache.asMap().entrySet()) {
+      CacheEntry entry = cached.getValue();
+      if (!entry.configuration.isDone() || entry.configuration.isCompletedExceptionally()) {
+        continue;
+      }
+
+      ConfigurationInstance configuration = entry.configuration.join();
+      if (entry.markExpired(() -> isExpired(configuration))) {
+        cache.asMap().remove(cached.getKey(), entry);
+        unRegisterConfiguration(configuration);
+        cacheStatistics.recordExpiration();
+        expired.add(configuration);
+      }
     }
+
+    Iterator<EvictedConfiguration> evictedIterator = evicted.iterator();
+    while (evictedIterator.hasNext()) {
+      EvictedConfiguration evictedConfiguration = evictedIterator.next();
+      if (evictedConfiguration.isUnused()) {
+        evictedIterator.remove();
+        unRegisterConfiguration(evictedConfiguration.configuration);
+        expired.add(evictedConfiguration.configuration);
+      }
+    }
+
+    return expired;
   }
 
   private boolean isExpired(ConfigurationInstance configuration) {
@@ -253,6 +378,13 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     } catch (InitialisationException e) {
       throw new MuleRuntimeException(e);
     }
+
+    if (meterProvider != null) {
+      cacheStatistics.trackUsingMeter(meterProvider.getMeterBuilder(DYNAMIC_CONFIG_CACHE_STATISTICS_NAME)
+          .withDescription(DYNAMIC_CONFIG_CACHE_STATISTICS_DESCRIPTION)
+          .withMeterAttribute(MULE_METER_ARTIFACT_ID_ATTRIBUTE, getName() + "-" + muleContext.getConfiguration().getId())
+          .build());
+    }
   }
 
   @Override
@@ -355,8 +487,74 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
   }
 
   /**
-   * Used to preserve exception throwing behaviour in {@link #getConfiguration} as the method {@link #createConfiguration} can no
-   * longer throw checked exception as it is used inside {@link Map#computeIfAbsent}.
+   * @return the statistics of the cache of configuration instances of this provider.
+   * @since 4.10
+   */
+  public DynamicConfigurationCacheStatistics getCacheStatistics() {
+    return cacheStatistics;
+  }
+
+  /**
+   * Holds a cached configuration instance, which is complete once its creation finishes.
+   * <p>
+   * Tracks the uses of the instance so that it is not expired while being handed to a caller: expiring it fails if it was used
+   * after checking if it is expired, and using it fails once it is expired.
+   */
+  private static final class CacheEntry {
+
+    private static final long EXPIRED = -1;
+
+    private final CompletableFuture<ConfigurationInstance> configuration = new CompletableFuture<>();
+    private final AtomicLong uses = new AtomicLong();
+
+    private boolean markUsed() {
+      long current;
+      do {
+        current = uses.get();
+        if (current == EXPIRED) {
+          return false;
+        }
+      } while (!uses.compareAndSet(current, current + 1));
+      return true;
+    }
+
+    private boolean markExpired(BooleanSupplier isExpired) {
+      long current = uses.get();
+      return current != EXPIRED && isExpired.getAsBoolean() && uses.compareAndSet(current, EXPIRED);
+    }
+
+    private void markEvicted() {
+      uses.set(EXPIRED);
+    }
+  }
+
+  /**
+   * A configuration instance evicted from the cache, which is disposed once it was not used between two checks, so that callers
+   * that got it just before its eviction can finish using it.
+   */
+  private static final class EvictedConfiguration {
+
+    private final ConfigurationInstance configuration;
+    private long lastUsedMillis;
+    private boolean checked;
+
+    private EvictedConfiguration(ConfigurationInstance configuration) {
+      this.configuration = configuration;
+      this.lastUsedMillis = configuration.getStatistics().getLastUsedMillis();
+    }
+
+    private boolean isUnused() {
+      ConfigurationStats stats = configuration.getStatistics();
+      boolean unused = checked && stats.getActiveComponents() == 0 && stats.getLastUsedMillis() == lastUsedMillis;
+      lastUsedMillis = stats.getLastUsedMillis();
+      checked = true;
+      return unused;
+    }
+  }
+
+  /**
+   * Used to preserve exception throwing behaviour in {@link #getConfiguration} as the method {@link #createConfiguration} can not
+   * throw checked exceptions, so that its failures can also be handed to the threads waiting for the same instance.
    */
   private static class WrappingRuntimeException extends RuntimeException {
 
@@ -11,6 +11,8 @@ import static org.mule.runtime.core.api.util.StreamingUtils.supportsStreaming;
 import static org.mule.runtime.extension.privileged.util.ComponentDeclarationUtils.isPagedOperation;
 import static org.mule.runtime.module.extension.internal.ExtensionProperties.CONNECTION_PARAM;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.meta.model.ComponentModel;
@@ -21,19 +23,26 @@ import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
 import org.mule.runtime.extension.api.runtime.operation.Interceptor;
 import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContextAdapter;
 import org.mule.runtime.module.extension.internal.ExtensionProperties;
+import org.mule.runtime.module.extension.internal.runtime.execution.interceptor.AsyncPreparingInterceptor;
 import org.mule.runtime.tracer.api.component.ComponentTracer;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
  * Implements simple connection management by using the {@link #before(ExecutionContext)} phase to set a connection as parameter
  * value of key {@link ExtensionProperties#CONNECTION_PARAM} into an {@link ExecutionContext}.
+ * <p>
+ * When {@link #prepare(ExecutionContext)} is invoked, the connection is obtained asynchronously and then set by the
+ * {@link #before(ExecutionContext)} phase.
  *
  * @since 4.0
  */
-public final class ConnectionInterceptor implements Interceptor<ComponentModel> {
+public final class ConnectionInterceptor implements Interceptor<ComponentModel>, AsyncPreparingInterceptor {
 
   private static final String CLOSE_CONNECTION_COMMAND = "closeCommand";
+  private static final String PREPARED_CONNECTION = "preparedConnection";
+  private static final CompletableFuture<Void> NOTHING_TO_PREPARE = completedFuture(null);
 
   private final ExtensionConnectionSupplier connectionSupplier;
 
@@ -45,6 +54,38 @@ public final class ConnectionInterceptor implements Interceptor<ComponentModel>
     this.operationConnectionTracer = operationConnectionTracer;
   }
 
+  /**
+   * Obtains the connection to be set by {@link #before(ExecutionContext)} without blocking the calling thread while the
+   * connection pool is exhausted.
+   *
+   * @param executionContext the {@link ExecutionContext} for the operation to be executed
+   * @return a future completed once the connection is obtained
+   */
+  @Override
+  public CompletableFuture<Void> prepare(ExecutionContext executionContext) {
+    ExecutionContextAdapter<ComponentModel> context = (ExecutionContextAdapter) executionContext;
+    if (isPagedOperation(context.getComponentModel()) || context.getVariable(CONNECTION_PARAM) != null) {
+      return NOTHING_TO_PREPARE;
+    }
+
+    return connectionSupplier.getConnectionAsync(context, operationConnectionTracer)
+        .thenAccept(connectionHandler -> context.setVariable(PREPARED_CONNECTION, connectionHandler));
+  }
+
+  /**
+   * Releases the connection obtained by {@link #prepare(ExecutionContext)}, if any.
+   *
+   * @param executionContext the {@link ExecutionContext} for the operation that is not going to be executed
+   */
+  @Override
+  public void discardPrepared(ExecutionContext executionContext) {
+    ConnectionHandler<?> connectionHandler =
+        ((ExecutionContextAdapter<ComponentModel>) executionContext).removeVariable(PREPARED_CONNECTION);
+    if (connectionHandler != null) {
+      connectionHandler.release();
+    }
+  }
+
   /**
    * Adds a {@code Connection} as a parameter in the {@code operationContext}, following the considerations in this type's
    * javadoc.
@@ -62,7 +103,8 @@ public final class ConnectionInterceptor implements Interceptor<ComponentModel>
 
     ExecutionContextAdapter<OperationModel> context = (ExecutionContextAdapter) executionContext;
     if (context.getVariable(CONNECTION_PARAM) == null) {
-      context.setVariable(CONNECTION_PARAM, getConnection(context));
+      ConnectionHandler<?> connectionHandler = context.removeVariable(PREPARED_CONNECTION);
+      context.setVariable(CONNECTION_PARAM, connectionHandler != null ? connectionHandler : getConnection(context));
 
       if (!supportsStreaming(componentModel)) {
         setCloseCommand(executionContext, () -> release(executionContext));
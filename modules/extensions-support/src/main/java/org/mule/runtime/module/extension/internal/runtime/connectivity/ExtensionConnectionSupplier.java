@@ -11,6 +11,8 @@ import static org.mule.runtime.extension.api.util.NameUtils.getComponentModelTyp
 
 import static java.lang.Boolean.parseBoolean;
 import static java.lang.String.format;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionHandler;
@@ -21,6 +23,7 @@ import org.mule.runtime.api.tx.TransactionException;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.connector.ConnectionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.connection.ConnectionManagerAdapter;
 import org.mule.runtime.core.internal.profiling.InternalProfilingService;
 import org.mule.runtime.core.privileged.transaction.TransactionConfig;
 import org.mule.runtime.extension.api.connectivity.TransactionalConnection;
@@ -34,6 +37,7 @@ import org.mule.runtime.tracer.api.component.ComponentTracer;
 import org.mule.runtime.tracer.api.EventTracer;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import jakarta.inject.Inject;
 
@@ -91,6 +95,54 @@ public class ExtensionConnectionSupplier {
     return connectionHandler;
   }
 
+  /**
+   * Asynchronous version of {@link #getConnection(ExecutionContextAdapter, ComponentTracer)}. If the connections are pooled and
+   * the pool is exhausted, the returned future is completed once a connection is released, without blocking the calling thread.
+   * <p>
+   * Connections for transacted executions, or when connections are lazy, are obtained in the calling thread.
+   *
+   * @param executionContext          an {@link ExecutionContextAdapter}
+   * @param operationConnectionTracer a {@link ComponentTracer} that will be used to trace the connection obtention.
+   * @return a future completed with a {@link ConnectionHandler}, or with the exception found obtaining it
+   * @since 4.10
+   */
+  public CompletableFuture<ConnectionHandler<?>> getConnectionAsync(ExecutionContextAdapter<? extends ComponentModel> executionContext,
+                                                                    ComponentTracer<CoreEvent> operationConnectionTracer) {
+    if (lazyConnections || executionContext.getTransactionConfig().isPresent()
+        || !(connectionManager instanceof ConnectionManagerAdapter)) {
+      try {
+        return completedFuture(getConnection(executionContext, operationConnectionTracer));
+      } catch (Exception e) {
+        return failedFuture(e);
+      }
+    }
+
+    final Object config;
+    try {
+      config = getConnectionOwner(executionContext);
+    } catch (Exception e) {
+      return failedFuture(e);
+    }
+
+    if (operationConnectionTracer != null) {
+      operationConnectionTracer.startSpan(executionContext.getEvent());
+    }
+
+    CompletableFuture<ConnectionHandler<?>> result = new CompletableFuture<>();
+    ((ConnectionManagerAdapter) connectionManager).getConnectionAsync(config).whenComplete((connectionHandler, t) -> {
+      if (operationConnectionTracer != null) {
+        operationConnectionTracer.endCurrentSpan(executionContext.getEvent());
+      }
+
+      if (t != null) {
+        result.completeExceptionally(t);
+      } else {
+        result.complete(connectionHandler);
+      }
+    });
+    return result;
+  }
+
   private ConnectionHandler<?> getConnectionHandler(ExecutionContextAdapter<? extends ComponentModel> executionContext)
       throws ConnectionException, TransactionException {
     return executionContext.getTransactionConfig().isPresent()
@@ -127,8 +179,10 @@ public class ExtensionConnectionSupplier {
 
   private <T> ConnectionHandler<T> getTransactionlessConnectionHandler(ExecutionContext executionContext)
       throws ConnectionException {
+    return connectionManager.getConnection(getConnectionOwner(executionContext));
+  }
 
-
+  private Object getConnectionOwner(ExecutionContext executionContext) {
     final Optional<ConfigurationInstance> configuration = executionContext.getConfiguration();
     Optional<ConnectionProvider> connectionProvider = configuration.flatMap(ConfigurationInstance::getConnectionProvider);
 
@@ -144,7 +198,7 @@ public class ExtensionConnectionSupplier {
                                              configRef));
     }
 
-    return connectionManager.getConnection(configuration.get().getValue());
+    return configuration.get().getValue();
   }
 
   @Inject
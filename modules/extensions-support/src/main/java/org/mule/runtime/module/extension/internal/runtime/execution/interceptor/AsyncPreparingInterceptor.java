@@ -0,0 +1,40 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.execution.interceptor;
+
+import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
+import org.mule.runtime.extension.api.runtime.operation.Interceptor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An {@link Interceptor} which may need to wait for a resource before its {@link Interceptor#before(ExecutionContext)} phase can
+ * be executed, and is able to do so without blocking the calling thread.
+ * <p>
+ * {@link #prepare(ExecutionContext)} is invoked before the {@code before} phase of the {@link InterceptorChain}. Whatever is
+ * obtained there has to be consumed by the {@code before} phase of this same interceptor.
+ *
+ * @since 4.10
+ */
+public interface AsyncPreparingInterceptor {
+
+  /**
+   * Obtains the resources the {@link Interceptor#before(ExecutionContext)} phase of this interceptor will need.
+   *
+   * @param executionContext the {@link ExecutionContext}
+   * @return a future completed once the resources are available, or with the exception found obtaining them
+   */
+  CompletableFuture<Void> prepare(ExecutionContext executionContext);
+
+  /**
+   * Releases whatever {@link #prepare(ExecutionContext)} obtained, for when the {@code before} phase that would consume it is not
+   * going to be executed.
+   *
+   * @param executionContext the {@link ExecutionContext}
+   */
+  void discardPrepared(ExecutionContext executionContext);
+}
@@ -12,6 +12,7 @@ import org.mule.runtime.extension.api.runtime.operation.Interceptor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Groups an ordered list of {@link Interceptor interceptors} that will be applied as one.
@@ -60,6 +61,28 @@ public interface InterceptorChain {
     return new Builder();
   }
 
+  /**
+   * Executes the {@link AsyncPreparingInterceptor#prepare(ExecutionContext)} phase on each added interceptor which implements it,
+   * sequentially and in the order in which they were added.
+   * <p>
+   * When the returned future completes successfully, {@link #before(ExecutionContext, ExecutorCallback)} is to be invoked.
+   *
+   * @param executionContext the {@link ExecutionContext}
+   * @return a future completed once all the interceptors are prepared, or with the exception found preparing them
+   * @since 4.10
+   */
+  CompletableFuture<Void> prepare(ExecutionContext executionContext);
+
+  /**
+   * Executes the {@link AsyncPreparingInterceptor#discardPrepared(ExecutionContext)} phase on each added interceptor which
+   * implements it. To be invoked instead of {@link #before(ExecutionContext, ExecutorCallback)} when the execution is abandoned
+   * after {@link #prepare(ExecutionContext)} completed.
+   *
+   * @param executionContext the {@link ExecutionContext}
+   * @since 4.10
+   */
+  void discardPrepared(ExecutionContext executionContext);
+
   /**
    * Executes the {@link Interceptor#before(ExecutionContext)} phase on each added interceptor.
    * <p>
@@ -7,6 +7,8 @@
 package org.mule.runtime.module.extension.internal.runtime.execution.interceptor;
 
 import static java.lang.String.format;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 import static java.util.stream.Collectors.toList;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -15,6 +17,7 @@ import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
 import org.mule.runtime.extension.api.runtime.operation.Interceptor;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 
@@ -27,6 +30,8 @@ class LinkedInterceptorChain implements InterceptorChain {
 
   private static final Logger LOGGER = getLogger(LinkedInterceptorChain.class);
 
+  private static final String PREPARE = "prepare";
+  private static final String DISCARD_PREPARED = "discardPrepared";
   private static final String BEFORE = "before";
   private static final String ON_SUCCESS = "onSuccess";
   private static final String ON_ERROR = "onError";
@@ -64,6 +69,44 @@ class LinkedInterceptorChain implements InterceptorChain {
     this.interceptor = interceptor;
   }
 
+  @Override
+  public CompletableFuture<Void> prepare(ExecutionContext executionContext) {
+    CompletableFuture<Void> prepared;
+    if (interceptor instanceof AsyncPreparingInterceptor) {
+      try {
+        prepared = ((AsyncPreparingInterceptor) interceptor).prepare(executionContext);
+      } catch (Throwable t) {
+        logError(t, PREPARE, false);
+        return failedFuture(t);
+      }
+    } else {
+      prepared = null;
+    }
+
+    if (next == null) {
+      return prepared != null ? prepared : completedFuture(null);
+    } else if (prepared == null) {
+      return next.prepare(executionContext);
+    } else {
+      return prepared.thenCompose(v -> next.prepare(executionContext));
+    }
+  }
+
+  @Override
+  public void discardPrepared(ExecutionContext executionContext) {
+    if (interceptor instanceof AsyncPreparingInterceptor) {
+      try {
+        ((AsyncPreparingInterceptor) interceptor).discardPrepared(executionContext);
+      } catch (Throwable t) {
+        logError(t, DISCARD_PREPARED, true);
+      }
+    }
+
+    if (next != null) {
+      next.discardPrepared(executionContext);
+    }
+  }
+
   @Override
   public Throwable before(ExecutionContext executionContext, ExecutorCallback callback) {
     try {
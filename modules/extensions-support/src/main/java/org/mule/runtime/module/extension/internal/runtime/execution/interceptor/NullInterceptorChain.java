@@ -6,9 +6,13 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.execution.interceptor;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
 import org.mule.runtime.extension.api.runtime.operation.CompletableComponentExecutor.ExecutorCallback;
 import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * {@link InterceptorChain} implementation based on the Null Object pattern.
  *
@@ -18,8 +22,20 @@ class NullInterceptorChain implements InterceptorChain {
 
   static final InterceptorChain INSTANCE = new NullInterceptorChain();
 
+  private static final CompletableFuture<Void> PREPARED = completedFuture(null);
+
   private NullInterceptorChain() {}
 
+  @Override
+  public CompletableFuture<Void> prepare(ExecutionContext executionContext) {
+    return PREPARED;
+  }
+
+  @Override
+  public void discardPrepared(ExecutionContext executionContext) {
+    // nothing to discard
+  }
+
   @Override
   public Throwable before(ExecutionContext executionContext, ExecutorCallback callback) {
     return null;
@@ -31,6 +31,7 @@ import org.mule.runtime.api.exception.ErrorTypeRepository;
 import org.mule.runtime.api.meta.model.ComponentModel;
 import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.meta.model.declaration.fluent.ConfigurationDeclaration;
+import org.mule.runtime.api.meta.model.operation.OperationModel;
 import org.mule.runtime.api.notification.NotificationDispatcher;
 import org.mule.runtime.api.profiling.ProfilingDataProducer;
 import org.mule.runtime.api.profiling.type.context.ComponentThreadingProfilingEventContext;
@@ -53,6 +54,8 @@ import org.mule.runtime.module.extension.internal.runtime.execution.interceptor.
 import org.mule.runtime.tracer.api.component.ComponentTracer;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
@@ -86,6 +89,7 @@ public final class DefaultExecutionMediator<M extends ComponentModel> implements
   private final ComponentModel operationModel;
   private final ProfilingDataProducer<ComponentThreadingProfilingEventContext, CoreEvent> threadReleaseDataProducer;
   private final ComponentTracer<CoreEvent> operationComponentTracer;
+  private final boolean prepareInterceptorsAsync;
 
   private static final Logger LOGGER = getLogger(DefaultExecutionMediator.class);
 
@@ -109,6 +113,8 @@ public final class DefaultExecutionMediator<M extends ComponentModel> implements
     this.notificationDispatcher = notificationDispatcher;
     this.resultTransformer = resultTransformer;
     this.operationModel = operationModel;
+    // Blocking operations already run on a thread that can wait for a connection
+    this.prepareInterceptorsAsync = operationModel instanceof OperationModel && !((OperationModel) operationModel).isBlocking();
 
     // The effective execution ClassLoader will be a composition with the extension ClassLoader being used first and
     // then the default execution ClassLoader which may depend on the execution context.
@@ -238,6 +244,51 @@ public final class DefaultExecutionMediator<M extends ComponentModel> implements
   private void executeCommand(CompletableComponentExecutor<M> executor,
                               ExecutionContextAdapter<M> context,
                               ExecutorCallback callback) {
+    if (prepareInterceptorsAsync && !context.getTransactionConfig().isPresent()) {
+      CompletableFuture<Void> prepared = interceptorChain.prepare(context);
+      if (!prepared.isDone()) {
+        // not using whenCompleteAsync, since a rejection from the scheduler would be thrown to the thread completing the future
+        prepared.whenComplete((v, e) -> {
+          try {
+            context.getCurrentScheduler().execute(() -> onPrepared(executor, context, callback, e));
+          } catch (RejectedExecutionException rejected) {
+            interceptorChain.discardPrepared(context);
+            callback.error(e != null ? unwrap(e) : rejected);
+          }
+        });
+        return;
+      } else if (prepared.isCompletedExceptionally()) {
+        try {
+          prepared.join();
+        } catch (CompletionException e) {
+          callback.error(unwrap(e));
+          return;
+        }
+      }
+    }
+
+    doExecuteCommand(executor, context, callback);
+  }
+
+  private void onPrepared(CompletableComponentExecutor<M> executor,
+                          ExecutionContextAdapter<M> context,
+                          ExecutorCallback callback,
+                          Throwable prepareError) {
+    if (prepareError != null) {
+      interceptorChain.discardPrepared(context);
+      callback.error(unwrap(prepareError));
+    } else {
+      doExecuteCommand(executor, context, callback);
+    }
+  }
+
+  private Throwable unwrap(Throwable t) {
+    return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+  }
+
+  private void doExecuteCommand(CompletableComponentExecutor<M> executor,
+                                ExecutionContextAdapter<M> context,
+                                ExecutorCallback callback) {
     Throwable t = interceptorChain.before(context, callback);
     if (t == null) {
       if (resultTransformer != null) {
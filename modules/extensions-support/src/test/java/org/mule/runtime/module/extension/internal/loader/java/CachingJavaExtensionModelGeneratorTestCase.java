@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.loader.java;
+
+import static org.mule.runtime.core.api.extension.provider.MuleExtensionModelProvider.getExtensionModel;
+import static org.mule.runtime.manifest.api.MuleManifest.getMuleManifest;
+import static org.mule.runtime.module.extension.internal.loader.java.AbstractJavaExtensionModelLoader.TYPE_PROPERTY_NAME;
+import static org.mule.runtime.module.extension.internal.loader.java.AbstractJavaExtensionModelLoader.VERSION;
+import static org.mule.runtime.module.extension.internal.loader.java.DefaultJavaExtensionModelLoader.JAVA_LOADER_ID;
+import static org.mule.test.allure.AllureConstants.ExtensionModelDiscoveryFeature.EXTENSION_MODEL_DISCOVERY;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.writeString;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Optional.of;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.module.artifact.activation.api.extension.discovery.ExtensionDiscoveryRequest;
+import org.mule.runtime.module.artifact.activation.api.extension.discovery.ExtensionModelLoaderRepository;
+import org.mule.runtime.module.artifact.activation.internal.extension.discovery.CachingExtensionModelGenerator;
+import org.mule.runtime.module.artifact.activation.internal.extension.discovery.DefaultExtensionDiscoveryRequest;
+import org.mule.runtime.module.artifact.activation.internal.extension.discovery.ExtensionModelGenerator;
+import org.mule.runtime.module.artifact.activation.internal.extension.discovery.RepositoryLookupExtensionModelGenerator;
+import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
+import org.mule.runtime.module.artifact.api.descriptor.ArtifactPluginDescriptor;
+import org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor;
+import org.mule.runtime.module.artifact.api.descriptor.ClassLoaderConfiguration;
+import org.mule.runtime.module.artifact.api.descriptor.ClassLoaderConfiguration.ClassLoaderConfigurationBuilder;
+import org.mule.runtime.module.artifact.api.plugin.LoaderDescriber;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.test.heisenberg.extension.HeisenbergExtension;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.qameta.allure.Feature;
+
+@Feature(EXTENSION_MODEL_DISCOVERY)
+public class CachingJavaExtensionModelGeneratorTestCase extends AbstractMuleTestCase {
+
+  private static final String RUNTIME_VERSION = "4.10.0";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final AtomicInteger generations = new AtomicInteger();
+  private final ExtensionDiscoveryRequest discoveryRequest =
+      new DefaultExtensionDiscoveryRequest(emptySet(), emptySet(), false, false, true);
+  private final Set<ExtensionModel> dependencies = singleton(getExtensionModel());
+
+  private File cacheFolder;
+  private ClassLoaderConfiguration classLoaderConfiguration;
+  private ExtensionModelLoaderRepository loaderRepository;
+  private ExtensionModelGenerator generator;
+
+  @Before
+  public void setup() throws IOException {
+    File pluginJar = temporaryFolder.newFile("heisenberg.jar");
+    writeString(pluginJar.toPath(), "contents", UTF_8);
+    cacheFolder = temporaryFolder.newFolder("cache");
+    classLoaderConfiguration = spy(new ClassLoaderConfigurationBuilder()
+        .containing(pluginJar.toURI().toURL())
+        .build());
+
+    loaderRepository = mock(ExtensionModelLoaderRepository.class);
+    when(loaderRepository.getExtensionModelLoader(any())).thenReturn(of(new DefaultJavaExtensionModelLoader()));
+
+    ArtifactClassLoader artifactClassLoader = mock(ArtifactClassLoader.class);
+    when(artifactClassLoader.getClassLoader()).thenReturn(HeisenbergExtension.class.getClassLoader());
+
+    ExtensionModelGenerator delegate =
+        new RepositoryLookupExtensionModelGenerator(artifactPluginDescriptor -> artifactClassLoader, loaderRepository);
+    generator = new CachingExtensionModelGenerator((request, plugin, dependencies) -> {
+      generations.incrementAndGet();
+      return delegate.obtainExtensionModel(request, plugin, dependencies);
+    }, cacheFolder.toPath(), RUNTIME_VERSION);
+  }
+
+  @Test
+  public void javaExtensionIsNotCached() {
+    ArtifactPluginDescriptor descriptor = heisenbergDescriptor(JAVA_LOADER_ID);
+
+    ExtensionModel first = generator.obtainExtensionModel(discoveryRequest, descriptor, dependencies);
+    ExtensionModel second = generator.obtainExtensionModel(discoveryRequest, descriptor, dependencies);
+
+    assertThat(generations.get(), is(2));
+    assertThat(first.getName(), is(HeisenbergExtension.HEISENBERG));
+    assertThat(second.getName(), is(HeisenbergExtension.HEISENBERG));
+    // the key is not even computed, so the plugin jars are not read
+    verify(classLoaderConfiguration, never()).getUrls();
+    assertThat(cacheFolder.list(), is(emptyArray()));
+  }
+
+  @Test
+  public void loaderOfModelsWithRuntimeOnlyPropertiesIsNotCachedAnymore() {
+    ArtifactPluginDescriptor descriptor = heisenbergDescriptor("wrappedJava");
+
+    generator.obtainExtensionModel(discoveryRequest, descriptor, dependencies);
+    generator.obtainExtensionModel(discoveryRequest, descriptor, dependencies);
+
+    assertThat(generations.get(), is(2));
+    verify(classLoaderConfiguration, times(1)).getUrls();
+    assertThat(cacheFolder.list(), is(emptyArray()));
+  }
+
+  private ArtifactPluginDescriptor heisenbergDescriptor(String loaderId) {
+    LoaderDescriber loaderDescriber = new LoaderDescriber(loaderId);
+    Map<String, Object> attributes = new HashMap<>();
+    attributes.put(TYPE_PROPERTY_NAME, HeisenbergExtension.class.getName());
+    attributes.put(VERSION, getMuleManifest().getProductVersion());
+    loaderDescriber.addAttributes(attributes);
+
+    ArtifactPluginDescriptor descriptor = new ArtifactPluginDescriptor("heisenberg");
+    descriptor.setExtensionModelDescriptorProperty(loaderDescriber);
+    descriptor.setBundleDescriptor(new BundleDescriptor.Builder().setGroupId("org.mule.tests")
+        .setArtifactId("mule-heisenberg-extension").setVersion("1.0").setClassifier("mule-plugin").build());
+    descriptor.setClassLoaderConfiguration(classLoaderConfiguration);
+    return descriptor;
+  }
+}
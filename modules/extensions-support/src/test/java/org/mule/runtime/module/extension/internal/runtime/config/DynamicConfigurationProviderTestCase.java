@@ -8,6 +8,10 @@ package org.mule.runtime.module.extension.internal.runtime.config;
 
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.util.collection.Collectors.toImmutableList;
+import static org.mule.runtime.module.extension.internal.runtime.config.DynamicConfigurationCacheStatistics.CREATIONS_NAME;
+import static org.mule.runtime.module.extension.internal.runtime.config.DynamicConfigurationCacheStatistics.HITS_NAME;
+import static org.mule.runtime.module.extension.internal.runtime.config.DynamicConfigurationCacheStatistics.MISSES_NAME;
+import static org.mule.runtime.module.extension.internal.runtime.config.DynamicConfigurationProvider.DYNAMIC_CONFIG_MAX_INSTANCES_PROPERTY;
 import static org.mule.test.module.extension.internal.util.ExtensionsTestUtils.mockClassLoaderModelProperty;
 import static org.mule.test.module.extension.internal.util.ExtensionsTestUtils.mockConfigurationInstance;
 import static org.mule.test.module.extension.internal.util.ExtensionsTestUtils.visitableMock;
@@ -23,13 +27,18 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.oneOf;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
 
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Answers.RETURNS_SELF;
+import static org.mockito.ArgumentCaptor.forClass;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -53,6 +62,9 @@ import org.mule.runtime.core.api.el.ExpressionManagerSession;
 import org.mule.runtime.core.internal.config.ImmutableExpirationPolicy;
 import org.mule.runtime.extension.api.runtime.ExpirationPolicy;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.runtime.metrics.api.instrument.builder.LongCounterBuilder;
+import org.mule.runtime.metrics.api.instrument.builder.LongGaugeBuilder;
+import org.mule.runtime.metrics.api.meter.Meter;
 import org.mule.runtime.module.extension.api.runtime.resolver.ResolverSet;
 import org.mule.runtime.module.extension.api.runtime.resolver.ResolverSetResult;
 import org.mule.runtime.module.extension.api.runtime.resolver.ValueResolvingContext;
@@ -61,8 +73,10 @@ import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 import org.mule.tck.size.SmallTest;
 import org.mule.test.heisenberg.extension.HeisenbergExtension;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.Supplier;
 
 import com.google.common.collect.ImmutableList;
 
@@ -70,6 +84,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnit;
@@ -126,15 +141,19 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
 
     when(connectionProviderResolver.getResolverSet()).thenReturn(empty());
     when(connectionProviderResolver.resolve(any())).thenReturn(null);
-    provider = new DynamicConfigurationProvider(CONFIG_NAME, extensionModel, configurationModel, resolverSet,
-                                                connectionProviderResolver, expirationPolicy, new ReflectionCache(),
-                                                expressionManager, muleContext);
+    provider = createProvider();
 
     super.before();
     provider.initialise();
     provider.start();
   }
 
+  private DynamicConfigurationProvider createProvider() {
+    return new DynamicConfigurationProvider(CONFIG_NAME, extensionModel, configurationModel, resolverSet,
+                                            connectionProviderResolver, expirationPolicy, new ReflectionCache(),
+                                            expressionManager, muleContext);
+  }
+
   @After
   public void after() throws MuleException {
     stopIfNecessary();
@@ -167,6 +186,57 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
 
     ValueResolvingContext ctx = ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build();
     verify(resolverSet, times(count)).resolve(ctx);
+
+    DynamicConfigurationCacheStatistics statistics = ((DynamicConfigurationProvider) provider).getCacheStatistics();
+    assertThat(statistics.getMisses(), is(1L));
+    assertThat(statistics.getHits(), is((long) count - 1));
+  }
+
+  @Test
+  public void statisticsArePublishedThroughMeter() throws Exception {
+    Meter meter = mock(Meter.class);
+    LongCounterBuilder hitsBuilder = mock(LongCounterBuilder.class, RETURNS_SELF);
+    LongCounterBuilder missesBuilder = mock(LongCounterBuilder.class, RETURNS_SELF);
+    when(meter.counterBuilder(any())).thenReturn(mock(LongCounterBuilder.class, RETURNS_SELF));
+    when(meter.counterBuilder(HITS_NAME)).thenReturn(hitsBuilder);
+    when(meter.counterBuilder(MISSES_NAME)).thenReturn(missesBuilder);
+    when(meter.gaugeBuilder(any())).thenReturn(mock(LongGaugeBuilder.class, RETURNS_SELF));
+
+    ((DynamicConfigurationProvider) provider).getCacheStatistics().trackUsingMeter(meter);
+    provider.get(event);
+    provider.get(event);
+
+    ArgumentCaptor<Supplier<Long>> hits = forClass(Supplier.class);
+    verify(hitsBuilder).withValueSupplier(hits.capture());
+    ArgumentCaptor<Supplier<Long>> misses = forClass(Supplier.class);
+    verify(missesBuilder).withValueSupplier(misses.capture());
+    verify(meter).counterBuilder(CREATIONS_NAME);
+    assertThat(hits.getValue().get(), is(1L));
+    assertThat(misses.getValue().get(), is(1L));
+  }
+
+  @Test
+  public void failedCreationsAreNotCountedAsCreations() throws Exception {
+    doThrow(new ConfigurationException(createStaticMessage("Init failed!"))).when(connectionProviderResolver).resolve(any());
+    assertThrows(MuleRuntimeException.class, () -> provider.get(event));
+
+    when(connectionProviderResolver.resolve(any())).thenReturn(null);
+    provider.get(event);
+
+    DynamicConfigurationCacheStatistics statistics = ((DynamicConfigurationProvider) provider).getCacheStatistics();
+    assertThat(statistics.getMisses(), is(2L));
+    assertThat(statistics.getCreations(), is(1L));
+  }
+
+  @Test
+  public void checkedExceptionThrownOnCreationIsPropagated() throws Exception {
+    IOException toThrow = new IOException("Sneaky!");
+    doAnswer(invocation -> {
+      throw toThrow;
+    }).when(connectionProviderResolver).resolve(any());
+
+    var thrown = assertThrows(Exception.class, () -> provider.get(event));
+    assertThat(thrown, not(instanceOf(ClassCastException.class)));
   }
 
   @Test
@@ -279,6 +349,35 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     assertThat(instance.getDispose(), is(1));
   }
 
+  @Test
+  public void evictedInstanceExpiresOnceUnused() throws Exception {
+    stopIfNecessary();
+    disposeIfNecessary();
+
+    System.setProperty(DYNAMIC_CONFIG_MAX_INSTANCES_PROPERTY, "1");
+    try {
+      provider = createProvider();
+    } finally {
+      System.clearProperty(DYNAMIC_CONFIG_MAX_INSTANCES_PROPERTY);
+    }
+    muleContext.getInjector().inject(provider);
+    provider.initialise();
+    provider.start();
+
+    HeisenbergExtension instance1 = (HeisenbergExtension) provider.get(event).getValue();
+    HeisenbergExtension instance2 = makeAlternateInstance();
+
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+    assertThat(provider.getCacheStatistics().getEvictions(), is(1L));
+
+    // Not disposed right away, in case it was handed to a caller just before its eviction
+    assertThat(provider.getExpired().isEmpty(), is(true));
+
+    List<ConfigurationInstance> expired = provider.getExpired();
+    assertThat(expired, hasSize(1));
+    assertThat(expired.get(0).getValue(), oneOf(instance1, instance2));
+  }
+
   private HeisenbergExtension makeAlternateInstance() throws Exception {
     ResolverSetResult alternateResult = mock(ResolverSetResult.class, Mockito.RETURNS_DEEP_STUBS);
     when(alternateResult.asMap()).thenReturn(new HashMap<>());
@@ -6,7 +6,14 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.connectivity;
 
+import static org.mule.runtime.module.extension.internal.ExtensionProperties.CONNECTION_PARAM;
+
 import static java.util.Optional.empty;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
 
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,6 +36,7 @@ import org.mule.test.petstore.extension.PetStoreConnector;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -95,6 +103,58 @@ public class ConnectionInterceptorTestCase extends AbstractMuleContextTestCase {
     verify(connectionSupplier, never()).getConnection(eq(operationContext), any());
   }
 
+  @Test
+  public void preparedConnectionIsUsed() throws Exception {
+    ConnectionHandler preparedConnectionHandler = mock(ConnectionHandler.class);
+    CompletableFuture<ConnectionHandler<?>> connection = new CompletableFuture<>();
+    when(connectionSupplier.getConnectionAsync(eq(operationContext), any(ComponentTracer.class))).thenReturn(connection);
+
+    CompletableFuture<Void> prepared = interceptor.prepare(operationContext);
+    assertThat(prepared.isDone(), is(false));
+
+    connection.complete(preparedConnectionHandler);
+    assertThat(prepared.isDone(), is(true));
+
+    interceptor.before(operationContext);
+    assertThat(operationContext.getVariable(CONNECTION_PARAM), is(sameInstance(preparedConnectionHandler)));
+    verify(connectionSupplier, never()).getConnection(eq(operationContext), any());
+
+    interceptor.onSuccess(operationContext, null);
+    interceptor.after(operationContext, null);
+    verify(preparedConnectionHandler).release();
+  }
+
+  @Test
+  public void discardedPreparedConnectionIsReleased() throws Exception {
+    ConnectionHandler preparedConnectionHandler = mock(ConnectionHandler.class);
+    CompletableFuture<ConnectionHandler<?>> connection = completedFuture(preparedConnectionHandler);
+    when(connectionSupplier.getConnectionAsync(eq(operationContext), any(ComponentTracer.class))).thenReturn(connection);
+
+    interceptor.prepare(operationContext);
+    interceptor.discardPrepared(operationContext);
+
+    verify(preparedConnectionHandler).release();
+    interceptor.before(operationContext);
+    assertThat(operationContext.getVariable(CONNECTION_PARAM), is(sameInstance(connectionHandler)));
+  }
+
+  @Test
+  public void pagedOperationIsNotPrepared() throws Exception {
+    when(operationModel.getModelProperty(PagedOperationModelProperty.class))
+        .thenReturn(Optional.of(new PagedOperationModelProperty()));
+
+    assertThat(interceptor.prepare(operationContext).isDone(), is(true));
+    verify(connectionSupplier, never()).getConnectionAsync(eq(operationContext), any());
+  }
+
+  @Test
+  public void alreadyConnectedIsNotPrepared() throws Exception {
+    operationContext.setVariable(CONNECTION_PARAM, connectionHandler);
+
+    assertThat(interceptor.prepare(operationContext).isDone(), is(true));
+    verify(connectionSupplier, never()).getConnectionAsync(eq(operationContext), any());
+  }
+
   @Test
   public void onSuccess() throws Exception {
     interceptor.before(operationContext);
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.metrics.api.instrument;
+
+import org.mule.runtime.metrics.api.meter.Meter;
+
+import java.util.function.BiConsumer;
+
+/**
+ * An asynchronous gauge for long measurements. The value is not recorded but observed through a callback when it is read.
+ *
+ * @since 4.10
+ */
+public interface LongGauge extends Instrument {
+
+  /**
+   * No operation {@link LongGauge} implementation.
+   */
+  LongGauge NO_OP = new LongGauge() {
+
+    @Override
+    public String getName() {
+      return "NO_OP";
+    }
+
+    @Override
+    public String getDescription() {
+      return "NO_OP";
+    }
+
+    @Override
+    public Meter getMeter() {
+      return Meter.NO_OP;
+    }
+
+    @Override
+    public long getValueAsLong() {
+      return 0;
+    }
+
+    @Override
+    public String getUnit() {
+      return "";
+    }
+
+    @Override
+    public void forEachAttribute(BiConsumer<String, String> biConsumer) {
+      // Nothing to do
+    }
+  };
+
+  /**
+   * @return the current value of the gauge.
+   */
+  long getValueAsLong();
+
+  /**
+   * @return the unit for this measurement.
+   */
+  String getUnit();
+
+  /**
+   * Applies the consumer for each attribute of the gauge, not including the ones of its {@link Meter}.
+   *
+   * @param biConsumer the {@link BiConsumer} to apply for each attribute.
+   */
+  void forEachAttribute(BiConsumer<String, String> biConsumer);
+}
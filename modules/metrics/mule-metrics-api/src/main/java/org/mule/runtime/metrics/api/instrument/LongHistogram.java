@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.metrics.api.instrument;
+
+import org.mule.runtime.metrics.api.meter.Meter;
+
+/**
+ * A histogram for registering the distribution of long measurements, such as latencies.
+ * <p>
+ * Implementations are expected to be safe to use from many threads concurrently and to not allocate memory when recording a
+ * value, so that they can be used on the hot path.
+ *
+ * @since 4.10
+ */
+public interface LongHistogram extends Instrument {
+
+  /**
+   * No operation {@link LongHistogram} implementation.
+   */
+  LongHistogram NO_OP = new LongHistogram() {
+
+    @Override
+    public String getName() {
+      return "NO_OP";
+    }
+
+    @Override
+    public String getDescription() {
+      return "NO_OP";
+    }
+
+    @Override
+    public Meter getMeter() {
+      return Meter.NO_OP;
+    }
+
+    @Override
+    public void record(long value) {
+      // Nothing to do
+    }
+
+    @Override
+    public long getCount() {
+      return 0;
+    }
+
+    @Override
+    public long getSum() {
+      return 0;
+    }
+
+    @Override
+    public long getMin() {
+      return 0;
+    }
+
+    @Override
+    public long getMax() {
+      return 0;
+    }
+
+    @Override
+    public long getValueAtPercentile(double percentile) {
+      return 0;
+    }
+
+    @Override
+    public String getUnit() {
+      return "";
+    }
+  };
+
+  /**
+   * Records a value. Should not be negative.
+   *
+   * @param value the value to record.
+   */
+  void record(long value);
+
+  /**
+   * @return the amount of recorded values.
+   */
+  long getCount();
+
+  /**
+   * @return the sum of the recorded values.
+   */
+  long getSum();
+
+  /**
+   * @return the minimum recorded value, or 0 if no value was recorded. Implementations may only consider the values recorded
+   *         recently.
+   */
+  long getMin();
+
+  /**
+   * @return the maximum recorded value, or 0 if no value was recorded. Implementations may only consider the values recorded
+   *         recently.
+   */
+  long getMax();
+
+  /**
+   * @param percentile the percentile to get, between 0 and 100.
+   * @return an approximation of the recorded value at the given percentile, or 0 if no value was recorded. Implementations may
+   *         only consider the values recorded recently.
+   */
+  long getValueAtPercentile(double percentile);
+
+  /**
+   * @return the unit for this measurement.
+   */
+  String getUnit();
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.metrics.api.instrument.builder;
+
+import org.mule.runtime.metrics.api.instrument.LongGauge;
+
+import java.util.function.Supplier;
+
+/**
+ * Builder class for {@link LongGauge}.
+ *
+ * @since 4.10
+ */
+public interface LongGaugeBuilder extends InstrumentBuilder<LongGauge> {
+
+  /**
+   * No operation {@link LongGaugeBuilder} implementation. It will always return a no operation {@link LongGauge} implementation.
+   */
+  LongGaugeBuilder NO_OP = new LongGaugeBuilder() {
+
+    @Override
+    public LongGaugeBuilder withDescription(String description) {
+      return this;
+    }
+
+    @Override
+    public LongGaugeBuilder withUnit(String unit) {
+      return this;
+    }
+
+    @Override
+    public LongGaugeBuilder withValueSupplier(Supplier<Long> valueSupplier) {
+      return this;
+    }
+
+    @Override
+    public LongGaugeBuilder withAttribute(String key, String value) {
+      return this;
+    }
+
+    @Override
+    public LongGauge build() {
+      return LongGauge.NO_OP;
+    }
+  };
+
+  /**
+   * @param valueSupplier the value {@link Supplier} to invoke when {@link LongGauge#getValueAsLong()} is invoked.
+   * @return the corresponding {@link LongGaugeBuilder}
+   */
+  LongGaugeBuilder withValueSupplier(Supplier<Long> valueSupplier);
+
+  /**
+   * Adds an attribute to the gauge, exported along with the attributes of its meter. Gauges with the same name and different
+   * attributes are different series of the same instrument.
+   *
+   * @param key   the key of the attribute.
+   * @param value the value of the attribute.
+   * @return the corresponding {@link LongGaugeBuilder}
+   */
+  LongGaugeBuilder withAttribute(String key, String value);
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.metrics.api.instrument.builder;
+
+import org.mule.runtime.metrics.api.instrument.LongHistogram;
+
+/**
+ * Builder class for {@link LongHistogram}.
+ *
+ * @since 4.10
+ */
+public interface LongHistogramBuilder extends InstrumentBuilder<LongHistogram> {
+
+  /**
+   * No operation {@link LongHistogramBuilder} implementation. It will always return a no operation {@link LongHistogram}
+   * implementation.
+   */
+  LongHistogramBuilder NO_OP = new LongHistogramBuilder() {
+
+    @Override
+    public LongHistogramBuilder withDescription(String description) {
+      return this;
+    }
+
+    @Override
+    public LongHistogramBuilder withUnit(String unit) {
+      return this;
+    }
+
+    @Override
+    public LongHistogramBuilder withPrecision(int subBucketBits) {
+      return this;
+    }
+
+    @Override
+    public LongHistogram build() {
+      return LongHistogram.NO_OP;
+    }
+  };
+
+  /**
+   * Sets the precision of the histogram to build. Each power of two range of values is split in {@code 2^subBucketBits}
+   * buckets, so the relative error of the reported percentiles is bounded by {@code 1 / 2^subBucketBits}.
+   *
+   * @param subBucketBits the amount of bits used for the sub buckets, between 1 and 10.
+   * @return the {@link LongHistogramBuilder}.
+   */
+  LongHistogramBuilder withPrecision(int subBucketBits);
+}
@@ -7,6 +7,8 @@
 package org.mule.runtime.metrics.api.meter;
 
 import org.mule.runtime.metrics.api.instrument.builder.LongCounterBuilder;
+import org.mule.runtime.metrics.api.instrument.builder.LongGaugeBuilder;
+import org.mule.runtime.metrics.api.instrument.builder.LongHistogramBuilder;
 import org.mule.runtime.metrics.api.instrument.builder.LongUpDownCounterBuilder;
 
 import java.util.function.BiConsumer;
@@ -82,4 +84,24 @@ public interface Meter {
    */
   LongCounterBuilder counterBuilder(String name);
 
+  /**
+   * @param name the name of the instrument.
+   * @return the {@link LongHistogramBuilder}
+   *
+   * @since 4.10
+   */
+  default LongHistogramBuilder histogramBuilder(String name) {
+    return LongHistogramBuilder.NO_OP;
+  }
+
+  /**
+   * @param name the name of the instrument.
+   * @return the {@link LongGaugeBuilder}
+   *
+   * @since 4.10
+   */
+  default LongGaugeBuilder gaugeBuilder(String name) {
+    return LongGaugeBuilder.NO_OP;
+  }
+
 }
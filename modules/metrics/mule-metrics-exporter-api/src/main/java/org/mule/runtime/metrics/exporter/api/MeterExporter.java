@@ -7,6 +7,8 @@
 package org.mule.runtime.metrics.exporter.api;
 
 import org.mule.runtime.metrics.api.instrument.LongCounter;
+import org.mule.runtime.metrics.api.instrument.LongGauge;
+import org.mule.runtime.metrics.api.instrument.LongHistogram;
 import org.mule.runtime.metrics.api.instrument.LongUpDownCounter;
 import org.mule.runtime.metrics.api.meter.Meter;
 
@@ -38,6 +40,28 @@ public interface MeterExporter {
    */
   void enableExport(LongUpDownCounter upDownCounter);
 
+  /**
+   * Enables the exportation process for a {@link LongHistogram}.
+   *
+   * @param histogram the instrument to export.
+   *
+   * @since 4.10
+   */
+  default void enableExport(LongHistogram histogram) {
+    // Nothing to do by default.
+  }
+
+  /**
+   * Enables the exportation process for a {@link LongGauge}.
+   *
+   * @param gauge the instrument to export.
+   *
+   * @since 4.10
+   */
+  default void enableExport(LongGauge gauge) {
+    // Nothing to do by default.
+  }
+
   /**
    * Disposes the {@link MeterExporter}.
    */
@@ -15,6 +15,8 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 
 import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.metrics.api.instrument.LongCounter;
+import org.mule.runtime.metrics.api.instrument.LongGauge;
+import org.mule.runtime.metrics.api.instrument.LongHistogram;
 import org.mule.runtime.metrics.api.instrument.LongUpDownCounter;
 import org.mule.runtime.metrics.exporter.api.MeterExporter;
 import org.mule.runtime.metrics.exporter.config.api.MeterExporterConfiguration;
@@ -28,8 +30,10 @@ import java.util.Objects;
 
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.LongCounterBuilder;
+import io.opentelemetry.api.metrics.LongGaugeBuilder;
 import io.opentelemetry.api.metrics.LongUpDownCounterBuilder;
 import io.opentelemetry.api.metrics.ObservableLongCounter;
+import io.opentelemetry.api.metrics.ObservableLongGauge;
 import io.opentelemetry.api.metrics.ObservableLongUpDownCounter;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.api.metrics.Meter;
@@ -45,8 +49,14 @@ import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
  */
 public class OpenTelemetryMeterExporter implements MeterExporter, Disposable {
 
+  public static final String HISTOGRAM_COUNT_SUFFIX = ".count";
+  public static final String HISTOGRAM_SUM_SUFFIX = ".sum";
+  public static final String HISTOGRAM_QUANTILE_ATTRIBUTE = "quantile";
+  private static final double[] HISTOGRAM_EXPORTED_PERCENTILES = {50, 90, 99};
+
   private final List<ObservableLongCounter> counters = new ArrayList<>();
   private final List<ObservableLongUpDownCounter> upDownCounters = new ArrayList<>();
+  private final List<ObservableLongGauge> gauges = new ArrayList<>();
   private final Map<String, Meter> openTelemetryMeters = new HashMap<>();
   private final MeterProvider meterProvider;
   private final PeriodicMetricReader periodicMetricReader;
@@ -106,6 +116,61 @@ public class OpenTelemetryMeterExporter implements MeterExporter, Disposable {
         .add(longUpDownCounter.buildWithCallback(measurement -> measurement.record(upDownCounter.getValueAsLong(), attributes)));
   }
 
+  @Override
+  public synchronized void enableExport(LongGauge longGauge) {
+    Meter openTelemetryMeter = openTelemetryMeters.get(longGauge.getMeter().getName());
+    Attributes attributes = new OpentelemetryExporterAttributes(longGauge.getMeter(), longGauge::forEachAttribute);
+    LongGaugeBuilder longGaugeBuilder =
+        openTelemetryMeter.gaugeBuilder(longGauge.getName()).setDescription(longGauge.getDescription()).ofLongs();
+
+    if (longGauge.getUnit() != null) {
+      longGaugeBuilder = longGaugeBuilder.setUnit(longGauge.getUnit());
+    }
+
+    gauges.add(longGaugeBuilder.buildWithCallback(measurement -> measurement.record(longGauge.getValueAsLong(), attributes)));
+  }
+
+  /**
+   * Open telemetry does not provide asynchronous histograms, so the {@link LongHistogram} is exported in a summary fashion: the
+   * count and sum as counters and some quantiles as a gauge with a {@value #HISTOGRAM_QUANTILE_ATTRIBUTE} attribute.
+   */
+  @Override
+  public synchronized void enableExport(LongHistogram longHistogram) {
+    org.mule.runtime.metrics.api.meter.Meter meter = longHistogram.getMeter();
+    Meter openTelemetryMeter = openTelemetryMeters.get(meter.getName());
+    Attributes attributes = new OpentelemetryExporterAttributes(meter);
+
+    counters.add(openTelemetryMeter.counterBuilder(longHistogram.getName() + HISTOGRAM_COUNT_SUFFIX)
+        .setDescription(longHistogram.getDescription())
+        .buildWithCallback(measurement -> measurement.record(longHistogram.getCount(), attributes)));
+
+    LongCounterBuilder sumBuilder = openTelemetryMeter.counterBuilder(longHistogram.getName() + HISTOGRAM_SUM_SUFFIX)
+        .setDescription(longHistogram.getDescription());
+    if (longHistogram.getUnit() != null) {
+      sumBuilder = sumBuilder.setUnit(longHistogram.getUnit());
+    }
+    counters.add(sumBuilder.buildWithCallback(measurement -> measurement.record(longHistogram.getSum(), attributes)));
+
+    Map<Double, Attributes> quantileAttributes = new HashMap<>();
+    for (double percentile : HISTOGRAM_EXPORTED_PERCENTILES) {
+      quantileAttributes.put(percentile,
+                             new OpentelemetryExporterAttributes(meter, HISTOGRAM_QUANTILE_ATTRIBUTE,
+                                                                 Double.toString(percentile / 100)));
+    }
+    Attributes maxAttributes = new OpentelemetryExporterAttributes(meter, HISTOGRAM_QUANTILE_ATTRIBUTE, "1.0");
+
+    LongGaugeBuilder quantilesBuilder = openTelemetryMeter.gaugeBuilder(longHistogram.getName())
+        .setDescription(longHistogram.getDescription()).ofLongs();
+    if (longHistogram.getUnit() != null) {
+      quantilesBuilder = quantilesBuilder.setUnit(longHistogram.getUnit());
+    }
+    gauges.add(quantilesBuilder.buildWithCallback(measurement -> {
+      quantileAttributes.forEach((percentile, quantileAttribute) -> measurement
+          .record(longHistogram.getValueAtPercentile(percentile), quantileAttribute));
+      measurement.record(longHistogram.getMax(), maxAttributes);
+    }));
+  }
+
   @Override
   public synchronized void registerMeterToExport(org.mule.runtime.metrics.api.meter.Meter meter) {
     openTelemetryMeters.put(meter.getName(), meterProvider.meterBuilder(meter.getName()).build());
@@ -115,6 +180,7 @@ public class OpenTelemetryMeterExporter implements MeterExporter, Disposable {
   public void dispose() {
     counters.forEach(ObservableLongCounter::close);
     upDownCounters.forEach(ObservableLongUpDownCounter::close);
+    gauges.forEach(ObservableLongGauge::close);
 
     if (periodicMetricReader != null) {
       periodicMetricReader.shutdown();
@@ -13,6 +13,7 @@ import org.mule.runtime.metrics.api.meter.Meter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
@@ -29,6 +30,30 @@ public class OpentelemetryExporterAttributes implements Attributes {
     meter.forEachAttribute((key, value) -> attributesToExport.put(stringKey(key), value));
   }
 
+  /**
+   * @param meter          the {@link Meter} whose attributes are exported.
+   * @param attributeKey   an additional attribute to export, such as the quantile of a histogram.
+   * @param attributeValue the value for the additional attribute.
+   *
+   * @since 4.10
+   */
+  public OpentelemetryExporterAttributes(Meter meter, String attributeKey, String attributeValue) {
+    this(meter);
+    attributesToExport.put(stringKey(attributeKey), attributeValue);
+  }
+
+  /**
+   * @param meter                the {@link Meter} whose attributes are exported.
+   * @param instrumentAttributes applies the given consumer to the attributes of the instrument, which are exported along with
+   *                             the ones of the meter.
+   *
+   * @since 4.10
+   */
+  public OpentelemetryExporterAttributes(Meter meter, Consumer<BiConsumer<String, String>> instrumentAttributes) {
+    this(meter);
+    instrumentAttributes.accept((key, value) -> attributesToExport.put(stringKey(key), value));
+  }
+
   @Override
   public <T> T get(AttributeKey<T> key) {
     return (T) attributesToExport.get(key);
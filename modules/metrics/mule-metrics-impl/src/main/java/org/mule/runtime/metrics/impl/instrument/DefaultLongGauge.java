@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.metrics.impl.instrument;
+
+import static java.util.Optional.ofNullable;
+
+import org.mule.runtime.metrics.api.instrument.LongGauge;
+import org.mule.runtime.metrics.api.instrument.builder.LongGaugeBuilder;
+import org.mule.runtime.metrics.api.meter.Meter;
+import org.mule.runtime.metrics.exporter.api.MeterExporter;
+import org.mule.runtime.metrics.impl.instrument.repository.InstrumentRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * An implementation of {@link LongGauge}.
+ */
+public class DefaultLongGauge implements LongGauge {
+
+  public static DefaultLongGaugeBuilder builder(String name, Meter meter) {
+    return new DefaultLongGaugeBuilder(name, meter);
+  }
+
+  private final String name;
+  private final String description;
+  private final String unit;
+  private final Meter meter;
+  private final Supplier<Long> valueSupplier;
+  private final Map<String, String> attributes;
+
+  private DefaultLongGauge(String name, String description, String unit, Meter meter, Supplier<Long> valueSupplier,
+                           Map<String, String> attributes) {
+    this.name = name;
+    this.description = description;
+    this.unit = unit;
+    this.meter = meter;
+    this.valueSupplier = valueSupplier;
+    this.attributes = attributes;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public Meter getMeter() {
+    return meter;
+  }
+
+  @Override
+  public long getValueAsLong() {
+    return valueSupplier.get();
+  }
+
+  @Override
+  public String getUnit() {
+    return unit;
+  }
+
+  @Override
+  public void forEachAttribute(BiConsumer<String, String> biConsumer) {
+    attributes.forEach(biConsumer);
+  }
+
+  public static class DefaultLongGaugeBuilder implements LongGaugeBuilder {
+
+    private final String name;
+    private final Meter meter;
+    private InstrumentRepository instrumentRepository;
+    private String description;
+    private String unit;
+    private MeterExporter meterExporter;
+    private Supplier<Long> valueSupplier = () -> 0L;
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+
+    public DefaultLongGaugeBuilder(String name, Meter meter) {
+      this.name = name;
+      this.meter = meter;
+    }
+
+    @Override
+    public DefaultLongGaugeBuilder withDescription(String description) {
+      this.description = description;
+      return this;
+    }
+
+    @Override
+    public DefaultLongGaugeBuilder withUnit(String unit) {
+      this.unit = unit;
+      return this;
+    }
+
+    @Override
+    public DefaultLongGaugeBuilder withValueSupplier(Supplier<Long> valueSupplier) {
+      this.valueSupplier = valueSupplier;
+      return this;
+    }
+
+    @Override
+    public DefaultLongGaugeBuilder withAttribute(String key, String value) {
+      attributes.put(key, value);
+      return this;
+    }
+
+    public DefaultLongGaugeBuilder withInstrumentRepository(InstrumentRepository instrumentRepository) {
+      this.instrumentRepository = instrumentRepository;
+      return this;
+    }
+
+    public DefaultLongGaugeBuilder withMeterExporter(MeterExporter meterExporter) {
+      this.meterExporter = meterExporter;
+      return this;
+    }
+
+    @Override
+    public LongGauge build() {
+      return ofNullable(instrumentRepository)
+          .map(repository -> (LongGauge) repository.create(attributes.isEmpty() ? name : name + attributes, key -> doBuild()))
+          .orElseGet(this::doBuild);
+    }
+
+    private LongGauge doBuild() {
+      DefaultLongGauge gauge = new DefaultLongGauge(name, description, unit, meter, valueSupplier, new LinkedHashMap<>(attributes));
+
+      if (meterExporter != null) {
+        meterExporter.enableExport(gauge);
+      }
+
+      return gauge;
+    }
+  }
+}
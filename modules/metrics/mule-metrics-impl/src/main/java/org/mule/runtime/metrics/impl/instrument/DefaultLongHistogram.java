@@ -0,0 +1,313 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.metrics.impl.instrument;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.ceil;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.Optional.ofNullable;
+
+import org.mule.runtime.metrics.api.instrument.LongHistogram;
+import org.mule.runtime.metrics.api.instrument.builder.LongHistogramBuilder;
+import org.mule.runtime.metrics.api.meter.Meter;
+import org.mule.runtime.metrics.exporter.api.MeterExporter;
+import org.mule.runtime.metrics.impl.instrument.repository.InstrumentRepository;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * An implementation of {@link LongHistogram}.
+ * <p>
+ * Values are counted in log-linear buckets, in the same fashion as HdrHistogram: values lower than {@code 2^subBucketBits} have
+ * their own bucket, and every following power of two range is split in {@code 2^subBucketBits} equally sized buckets. Recording
+ * a value is a couple of atomic increments, without locks nor allocation.
+ * <p>
+ * The count and the sum are accumulated since the histogram was created, but the min, the max and the percentiles are computed
+ * over a recent window only, so that they reflect the current behavior instead of being diluted by the whole history: values are
+ * recorded in the current interval, which is rotated once the configured window elapses, and the reported values cover the
+ * current and the previous intervals.
+ */
+public class DefaultLongHistogram implements LongHistogram {
+
+  public static final int DEFAULT_SUB_BUCKET_BITS = 5;
+
+  public static final long DEFAULT_WINDOW_NANOS = MINUTES.toNanos(1);
+
+  public static DefaultLongHistogramBuilder builder(String name, Meter meter) {
+    return new DefaultLongHistogramBuilder(name, meter);
+  }
+
+  private final String name;
+  private final String description;
+  private final String unit;
+  private final Meter meter;
+
+  private final int subBucketBits;
+  private final int subBucketCount;
+  private final int bucketsLength;
+  private final long windowNanos;
+  private final LongSupplier nanoClock;
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+
+  private volatile Interval current;
+  private volatile Interval previous;
+
+  private DefaultLongHistogram(String name, String description, String unit, Meter meter, int subBucketBits, long windowNanos,
+                               LongSupplier nanoClock) {
+    this.name = name;
+    this.description = description;
+    this.unit = unit;
+    this.meter = meter;
+    this.subBucketBits = subBucketBits;
+    this.subBucketCount = 1 << subBucketBits;
+    this.bucketsLength = (64 - subBucketBits + 1) * subBucketCount;
+    this.windowNanos = windowNanos;
+    this.nanoClock = nanoClock;
+    long now = nanoClock.getAsLong();
+    this.current = new Interval(now, bucketsLength);
+    this.previous = new Interval(now - windowNanos, bucketsLength);
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public Meter getMeter() {
+    return meter;
+  }
+
+  @Override
+  public String getUnit() {
+    return unit;
+  }
+
+  @Override
+  public void record(long value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("The value to record must not be negative");
+    }
+    // a value racing a rotation may land in the interval that just became the previous one, which is still reported
+    currentInterval().record(bucketIndex(value), value);
+    count.increment();
+    sum.add(value);
+  }
+
+  @Override
+  public long getCount() {
+    return count.sum();
+  }
+
+  @Override
+  public long getSum() {
+    return sum.sum();
+  }
+
+  @Override
+  public long getMin() {
+    Interval recent = currentInterval();
+    long value = Math.min(recent.min.get(), previous.min.get());
+    return value == Long.MAX_VALUE ? 0 : value;
+  }
+
+  @Override
+  public long getMax() {
+    Interval recent = currentInterval();
+    long value = Math.max(recent.max.get(), previous.max.get());
+    return value == Long.MIN_VALUE ? 0 : value;
+  }
+
+  @Override
+  public long getValueAtPercentile(double percentile) {
+    Interval recent = currentInterval();
+    Interval older = previous;
+    long[] snapshot = new long[bucketsLength];
+    long total = 0;
+    for (int i = 0; i < snapshot.length; i++) {
+      snapshot[i] = recent.buckets.get(i) + older.buckets.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    long target = Math.max(1, (long) ceil(min(100.0, percentile) / 100.0 * total));
+    long accumulated = 0;
+    for (int i = 0; i < snapshot.length; i++) {
+      accumulated += snapshot[i];
+      if (accumulated >= target) {
+        return min(highestEquivalentValue(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * Discards all the recorded values.
+   */
+  public synchronized void reset() {
+    long now = nanoClock.getAsLong();
+    current = new Interval(now, bucketsLength);
+    previous = new Interval(now - windowNanos, bucketsLength);
+    count.reset();
+    sum.reset();
+  }
+
+  private Interval currentInterval() {
+    Interval interval = current;
+    if (nanoClock.getAsLong() - interval.start < windowNanos) {
+      return interval;
+    }
+    return rotate();
+  }
+
+  private synchronized Interval rotate() {
+    long now = nanoClock.getAsLong();
+    Interval interval = current;
+    long elapsed = now - interval.start;
+    if (elapsed < windowNanos) {
+      return interval;
+    }
+    // if a whole window went by without rotating, the current interval is too old to be reported at all
+    previous = elapsed < 2 * windowNanos ? interval : new Interval(now - windowNanos, bucketsLength);
+    current = new Interval(now, bucketsLength);
+    return current;
+  }
+
+  private int bucketIndex(long value) {
+    if (value < subBucketCount) {
+      return (int) value;
+    }
+    int shift = 63 - numberOfLeadingZeros(value) - subBucketBits;
+    // the value shifted is in [subBucketCount, 2 * subBucketCount)
+    return (shift + 1) * subBucketCount + (int) (value >>> shift) - subBucketCount;
+  }
+
+  private long highestEquivalentValue(int index) {
+    if (index < subBucketCount) {
+      return index;
+    }
+    int shift = index / subBucketCount - 1;
+    long subBucket = index % subBucketCount + subBucketCount;
+    return ((subBucket + 1) << shift) - 1;
+  }
+
+  private static final class Interval {
+
+    private final long start;
+    private final AtomicLongArray buckets;
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    private Interval(long start, int bucketsLength) {
+      this.start = start;
+      this.buckets = new AtomicLongArray(bucketsLength);
+    }
+
+    private void record(int bucketIndex, long value) {
+      buckets.incrementAndGet(bucketIndex);
+      min.accumulate(value);
+      max.accumulate(value);
+    }
+  }
+
+  public static class DefaultLongHistogramBuilder implements LongHistogramBuilder {
+
+    private final String name;
+    private final Meter meter;
+    private InstrumentRepository instrumentRepository;
+    private String description;
+    private String unit;
+    private int subBucketBits = DEFAULT_SUB_BUCKET_BITS;
+    private long windowNanos = DEFAULT_WINDOW_NANOS;
+    private LongSupplier nanoClock = System::nanoTime;
+    private MeterExporter meterExporter;
+
+    public DefaultLongHistogramBuilder(String name, Meter meter) {
+      this.name = name;
+      this.meter = meter;
+    }
+
+    @Override
+    public DefaultLongHistogramBuilder withDescription(String description) {
+      this.description = description;
+      return this;
+    }
+
+    @Override
+    public DefaultLongHistogramBuilder withUnit(String unit) {
+      this.unit = unit;
+      return this;
+    }
+
+    @Override
+    public DefaultLongHistogramBuilder withPrecision(int subBucketBits) {
+      if (subBucketBits < 1 || subBucketBits > 10) {
+        throw new IllegalArgumentException("The sub bucket bits must be between 1 and 10");
+      }
+      this.subBucketBits = subBucketBits;
+      return this;
+    }
+
+    /**
+     * @param window the length of the interval the min, the max and the percentiles are computed over. The reported values
+     *               cover between one and two of these intervals.
+     * @return this builder.
+     */
+    public DefaultLongHistogramBuilder withWindow(Duration window) {
+      if (window.isNegative() || window.isZero()) {
+        throw new IllegalArgumentException("The window must be positive");
+      }
+      this.windowNanos = window.toNanos();
+      return this;
+    }
+
+    DefaultLongHistogramBuilder withNanoClock(LongSupplier nanoClock) {
+      this.nanoClock = nanoClock;
+      return this;
+    }
+
+    public DefaultLongHistogramBuilder withInstrumentRepository(InstrumentRepository instrumentRepository) {
+      this.instrumentRepository = instrumentRepository;
+      return this;
+    }
+
+    public DefaultLongHistogramBuilder withMeterExporter(MeterExporter meterExporter) {
+      this.meterExporter = meterExporter;
+      return this;
+    }
+
+    @Override
+    public LongHistogram build() {
+      return ofNullable(instrumentRepository)
+          .map(repository -> (LongHistogram) repository.create(name, name -> doBuild()))
+          .orElseGet(this::doBuild);
+    }
+
+    private LongHistogram doBuild() {
+      DefaultLongHistogram histogram = new DefaultLongHistogram(name, description, unit, meter, subBucketBits, windowNanos, nanoClock);
+
+      if (meterExporter != null) {
+        meterExporter.enableExport(histogram);
+      }
+
+      return histogram;
+    }
+  }
+}
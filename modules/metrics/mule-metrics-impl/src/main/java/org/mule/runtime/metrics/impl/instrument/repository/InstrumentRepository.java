@@ -8,8 +8,8 @@ package org.mule.runtime.metrics.impl.instrument.repository;
 
 import org.mule.runtime.metrics.api.instrument.Instrument;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -19,7 +19,7 @@ import java.util.function.Function;
  */
 public class InstrumentRepository {
 
-  Map<String, Instrument> instrumentMap = new HashMap<>();
+  Map<String, Instrument> instrumentMap = new ConcurrentHashMap<>();
 
   /**
    * @param name            the name of the {@link Instrument}
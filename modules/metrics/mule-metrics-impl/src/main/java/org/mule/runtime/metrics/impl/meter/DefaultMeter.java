@@ -7,10 +7,14 @@
 package org.mule.runtime.metrics.impl.meter;
 
 import org.mule.runtime.metrics.api.instrument.builder.LongCounterBuilder;
+import org.mule.runtime.metrics.api.instrument.builder.LongGaugeBuilder;
+import org.mule.runtime.metrics.api.instrument.builder.LongHistogramBuilder;
 import org.mule.runtime.metrics.api.instrument.builder.LongUpDownCounterBuilder;
 import org.mule.runtime.metrics.api.meter.Meter;
 import org.mule.runtime.metrics.exporter.api.MeterExporter;
 import org.mule.runtime.metrics.impl.instrument.DefaultLongCounter;
+import org.mule.runtime.metrics.impl.instrument.DefaultLongGauge;
+import org.mule.runtime.metrics.impl.instrument.DefaultLongHistogram;
 import org.mule.runtime.metrics.impl.instrument.DefaultLongUpDownCounter;
 import org.mule.runtime.metrics.impl.instrument.repository.InstrumentRepository;
 import org.mule.runtime.metrics.impl.meter.builder.MeterBuilderWithRepository;
@@ -76,4 +80,18 @@ public class DefaultMeter implements Meter {
         .withMeterExporter(meterExporter);
   }
 
+  @Override
+  public LongHistogramBuilder histogramBuilder(String histogramName) {
+    return DefaultLongHistogram.builder(histogramName, this)
+        .withInstrumentRepository(instrumentRepository)
+        .withMeterExporter(meterExporter);
+  }
+
+  @Override
+  public LongGaugeBuilder gaugeBuilder(String gaugeName) {
+    return DefaultLongGauge.builder(gaugeName, this)
+        .withInstrumentRepository(instrumentRepository)
+        .withMeterExporter(meterExporter);
+  }
+
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.metrics.impl.instrument;
+
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.METRICS_IMPLEMENTATION;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.metrics.api.instrument.LongGauge;
+import org.mule.runtime.metrics.api.meter.Meter;
+import org.mule.runtime.metrics.exporter.api.MeterExporter;
+import org.mule.runtime.metrics.impl.instrument.repository.InstrumentRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Feature(PROFILING)
+@Story(METRICS_IMPLEMENTATION)
+public class DefaultLongGaugeTestCase {
+
+  private static final String INSTRUMENT_NAME = "long-gauge-test";
+
+  @Test
+  public void testBuildWithoutInstrumentRepository() {
+    String instrumentDescription = "Long Gauge test";
+    String unit = "test-unit";
+    String meterName = "test-meter";
+    Meter meter = mock(Meter.class);
+    when(meter.getName()).thenReturn(meterName);
+    AtomicLong value = new AtomicLong(0);
+    LongGauge gauge = DefaultLongGauge.builder(INSTRUMENT_NAME, meter)
+        .withDescription(instrumentDescription)
+        .withUnit(unit)
+        .withValueSupplier(value::get)
+        .build();
+    assertThat(gauge.getName(), equalTo(INSTRUMENT_NAME));
+    assertThat(gauge.getDescription(), equalTo(instrumentDescription));
+    assertThat(gauge.getUnit(), equalTo(unit));
+    assertThat(gauge.getMeter().getName(), equalTo(meterName));
+
+    assertThat(gauge.getValueAsLong(), equalTo(0L));
+    value.set(42);
+    assertThat(gauge.getValueAsLong(), equalTo(42L));
+    value.set(7);
+    assertThat(gauge.getValueAsLong(), equalTo(7L));
+  }
+
+  @Test
+  public void testWithInstrumentRepository() {
+    Meter meter = mock(Meter.class);
+    InstrumentRepository repository = new InstrumentRepository();
+    LongGauge gauge = DefaultLongGauge.builder(INSTRUMENT_NAME, meter).withInstrumentRepository(repository).build();
+    LongGauge sameGauge = DefaultLongGauge.builder(INSTRUMENT_NAME, meter).withInstrumentRepository(repository).build();
+    assertThat(sameGauge, sameInstance(gauge));
+  }
+
+  @Test
+  public void gaugesWithDifferentAttributesAreDifferentSeries() {
+    Meter meter = mock(Meter.class);
+    InstrumentRepository repository = new InstrumentRepository();
+    LongGauge gauge = DefaultLongGauge.builder(INSTRUMENT_NAME, meter).withInstrumentRepository(repository)
+        .withAttribute("location", "flow/processors/0").withValueSupplier(() -> 1L).build();
+    LongGauge otherGauge = DefaultLongGauge.builder(INSTRUMENT_NAME, meter).withInstrumentRepository(repository)
+        .withAttribute("location", "flow/processors/1").withValueSupplier(() -> 2L).build();
+    LongGauge sameGauge = DefaultLongGauge.builder(INSTRUMENT_NAME, meter).withInstrumentRepository(repository)
+        .withAttribute("location", "flow/processors/0").build();
+
+    assertThat(otherGauge, not(sameInstance(gauge)));
+    assertThat(sameGauge, sameInstance(gauge));
+    assertThat(otherGauge.getValueAsLong(), equalTo(2L));
+
+    Map<String, String> attributes = new HashMap<>();
+    gauge.forEachAttribute(attributes::put);
+    assertThat(attributes, hasEntry("location", "flow/processors/0"));
+  }
+
+  @Test
+  public void exportIsEnabledOnBuild() {
+    MeterExporter meterExporter = mock(MeterExporter.class);
+    LongGauge gauge = DefaultLongGauge.builder(INSTRUMENT_NAME, mock(Meter.class)).withMeterExporter(meterExporter).build();
+    verify(meterExporter).enableExport(gauge);
+  }
+}
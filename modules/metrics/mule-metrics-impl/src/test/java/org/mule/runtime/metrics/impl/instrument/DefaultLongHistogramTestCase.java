@@ -0,0 +1,187 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.metrics.impl.instrument;
+
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.METRICS_IMPLEMENTATION;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.metrics.api.instrument.LongHistogram;
+import org.mule.runtime.metrics.api.meter.Meter;
+import org.mule.runtime.metrics.exporter.api.MeterExporter;
+import org.mule.runtime.metrics.impl.instrument.repository.InstrumentRepository;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Feature(PROFILING)
+@Story(METRICS_IMPLEMENTATION)
+public class DefaultLongHistogramTestCase {
+
+  private static final String INSTRUMENT_NAME = "long-histogram-test";
+
+  @Test
+  public void testBuildWithoutInstrumentRepository() {
+    String instrumentDescription = "Long Histogram test";
+    String unit = "ms";
+    String meterName = "test-meter";
+    Meter meter = mock(Meter.class);
+    when(meter.getName()).thenReturn(meterName);
+    LongHistogram histogram =
+        DefaultLongHistogram.builder(INSTRUMENT_NAME, meter).withDescription(instrumentDescription).withUnit(unit).build();
+    assertThat(histogram.getName(), equalTo(INSTRUMENT_NAME));
+    assertThat(histogram.getDescription(), equalTo(instrumentDescription));
+    assertThat(histogram.getUnit(), equalTo(unit));
+    assertThat(histogram.getMeter().getName(), equalTo(meterName));
+  }
+
+  @Test
+  public void testWithInstrumentRepository() {
+    Meter meter = mock(Meter.class);
+    InstrumentRepository repository = new InstrumentRepository();
+    LongHistogram histogram = DefaultLongHistogram.builder(INSTRUMENT_NAME, meter).withInstrumentRepository(repository).build();
+    LongHistogram sameHistogram =
+        DefaultLongHistogram.builder(INSTRUMENT_NAME, meter).withInstrumentRepository(repository).build();
+    assertThat(sameHistogram, sameInstance(histogram));
+  }
+
+  @Test
+  public void exportIsEnabledOnBuild() {
+    MeterExporter meterExporter = mock(MeterExporter.class);
+    LongHistogram histogram =
+        DefaultLongHistogram.builder(INSTRUMENT_NAME, mock(Meter.class)).withMeterExporter(meterExporter).build();
+    verify(meterExporter).enableExport(histogram);
+  }
+
+  @Test
+  public void emptyHistogram() {
+    LongHistogram histogram = DefaultLongHistogram.builder(INSTRUMENT_NAME, mock(Meter.class)).build();
+    assertThat(histogram.getCount(), equalTo(0L));
+    assertThat(histogram.getMin(), equalTo(0L));
+    assertThat(histogram.getMax(), equalTo(0L));
+    assertThat(histogram.getValueAtPercentile(99), equalTo(0L));
+  }
+
+  @Test
+  public void summaryValues() {
+    LongHistogram histogram = DefaultLongHistogram.builder(INSTRUMENT_NAME, mock(Meter.class)).build();
+    for (long i = 1; i <= 1000; i++) {
+      histogram.record(i);
+    }
+    assertThat(histogram.getCount(), equalTo(1000L));
+    assertThat(histogram.getSum(), equalTo(500500L));
+    assertThat(histogram.getMin(), equalTo(1L));
+    assertThat(histogram.getMax(), equalTo(1000L));
+  }
+
+  @Test
+  public void percentilesAreWithinPrecision() {
+    LongHistogram histogram = DefaultLongHistogram.builder(INSTRUMENT_NAME, mock(Meter.class)).withPrecision(5).build();
+    for (long i = 1; i <= 100000; i++) {
+      histogram.record(i);
+    }
+    // 5 sub bucket bits give a relative error lower than 1 / 32
+    assertPercentile(histogram, 50, 50000);
+    assertPercentile(histogram, 90, 90000);
+    assertPercentile(histogram, 99, 99000);
+    assertThat(histogram.getValueAtPercentile(100), equalTo(100000L));
+  }
+
+  @Test
+  public void smallValuesAreExact() {
+    LongHistogram histogram = DefaultLongHistogram.builder(INSTRUMENT_NAME, mock(Meter.class)).build();
+    histogram.record(0);
+    histogram.record(3);
+    histogram.record(7);
+    assertThat(histogram.getValueAtPercentile(0), equalTo(0L));
+    assertThat(histogram.getValueAtPercentile(50), equalTo(3L));
+    assertThat(histogram.getValueAtPercentile(100), equalTo(7L));
+  }
+
+  @Test
+  public void hugeValues() {
+    LongHistogram histogram = DefaultLongHistogram.builder(INSTRUMENT_NAME, mock(Meter.class)).build();
+    histogram.record(Long.MAX_VALUE);
+    assertThat(histogram.getValueAtPercentile(50), equalTo(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void reset() {
+    DefaultLongHistogram histogram = (DefaultLongHistogram) DefaultLongHistogram.builder(INSTRUMENT_NAME, mock(Meter.class)).build();
+    histogram.record(10);
+    histogram.reset();
+    assertThat(histogram.getCount(), equalTo(0L));
+    assertThat(histogram.getSum(), equalTo(0L));
+    assertThat(histogram.getMax(), equalTo(0L));
+    assertThat(histogram.getValueAtPercentile(50), equalTo(0L));
+  }
+
+  @Test
+  public void percentilesOnlyConsiderRecentWindow() {
+    AtomicLong clock = new AtomicLong();
+    LongHistogram histogram = DefaultLongHistogram.builder(INSTRUMENT_NAME, mock(Meter.class))
+        .withWindow(Duration.ofSeconds(10)).withNanoClock(clock::get).build();
+    for (int i = 0; i < 1000; i++) {
+      histogram.record(1000);
+    }
+
+    clock.addAndGet(SECONDS.toNanos(10));
+    histogram.record(10);
+    assertThat(histogram.getMin(), equalTo(10L));
+    assertThat(histogram.getMax(), equalTo(1000L));
+    assertThat(histogram.getValueAtPercentile(50), equalTo(1000L));
+
+    clock.addAndGet(SECONDS.toNanos(10));
+    histogram.record(10);
+    assertThat(histogram.getMax(), equalTo(10L));
+    assertThat(histogram.getValueAtPercentile(99), equalTo(10L));
+    assertThat(histogram.getCount(), equalTo(1002L));
+  }
+
+  @Test
+  public void idleWindowsAreDiscarded() {
+    AtomicLong clock = new AtomicLong();
+    LongHistogram histogram = DefaultLongHistogram.builder(INSTRUMENT_NAME, mock(Meter.class))
+        .withWindow(Duration.ofSeconds(10)).withNanoClock(clock::get).build();
+    histogram.record(1000);
+
+    clock.addAndGet(SECONDS.toNanos(25));
+    assertThat(histogram.getMax(), equalTo(0L));
+    assertThat(histogram.getValueAtPercentile(50), equalTo(0L));
+    assertThat(histogram.getCount(), equalTo(1L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeValuesAreRejected() {
+    DefaultLongHistogram.builder(INSTRUMENT_NAME, mock(Meter.class)).build().record(-1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidPrecision() {
+    DefaultLongHistogram.builder(INSTRUMENT_NAME, mock(Meter.class)).withPrecision(11);
+  }
+
+  private void assertPercentile(LongHistogram histogram, double percentile, long expected) {
+    assertThat(histogram.getValueAtPercentile(percentile),
+               both(greaterThanOrEqualTo(expected)).and(lessThanOrEqualTo(expected + expected / 32)));
+  }
+}
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.config.internal;
 
+import static java.lang.Math.max;
 import static java.util.Arrays.stream;
 import static java.util.Collections.reverse;
 import static java.util.Objects.requireNonNull;
@@ -21,8 +22,10 @@ import org.mule.runtime.core.internal.lifecycle.phases.LifecycleObjectSorter;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.jgrapht.alg.connectivity.ConnectivityInspector;
 import org.jgrapht.graph.DefaultDirectedGraph;
@@ -162,19 +165,7 @@ public class DependencyGraphLifecycleObjectSorter implements LifecycleObjectSort
    */
   @Override
   public List<Object> getSortedObjects() {
-    List<BeanWrapper> res = dependencyGraphs.stream().map(graph -> {
-
-      List<BeanWrapper> sortedObjects = newArrayList(new TopologicalOrderIterator<>(graph, (o1, o2) -> {
-        if (getLifeCycleObjectNameOrder().getOrDefault(o1.getName(), -1) > getLifeCycleObjectNameOrder()
-            .getOrDefault(o2.getName(), -1)) {
-          return -1;
-        } else {
-          return 1;
-        }
-      }));
-      reverse(sortedObjects);
-      return sortedObjects;
-    }).reduce(new ArrayList<>(), (sortedObjectList, b) -> {
+    List<BeanWrapper> res = dependencyGraphs.stream().map(this::sort).reduce(new ArrayList<>(), (sortedObjectList, b) -> {
       for (BeanWrapper v : b) {
         if (!sortedObjectList.contains(v)) {
           sortedObjectList.add(v);
@@ -188,6 +179,54 @@ public class DependencyGraphLifecycleObjectSorter implements LifecycleObjectSort
 
   }
 
+  /**
+   * The objects in each graph(bucket) are grouped by their depth in the graph: objects without prerequisites go in the first
+   * group, and every other object goes in the group after the deepest of its prerequisites. The groups of each graph(bucket) come
+   * after the ones of the previous graphs, and each object is only added the first time it is found, as in
+   * {@link #getSortedObjects()}.
+   *
+   * @return A list with the groups of objects that can be initialised/disposed concurrently
+   */
+  @Override
+  public List<List<Object>> getSortedObjectGroups() {
+    List<List<Object>> groups = new ArrayList<>();
+    Set<BeanWrapper> grouped = new HashSet<>();
+    for (DefaultDirectedGraph<BeanWrapper, DefaultEdge> graph : dependencyGraphs) {
+      Map<BeanWrapper, Integer> depths = new HashMap<>();
+      List<List<Object>> graphGroups = new ArrayList<>();
+      // prerequisites come first in the sorted list, so their depth is already known
+      for (BeanWrapper bean : sort(graph)) {
+        int depth = 0;
+        for (DefaultEdge edge : graph.outgoingEdgesOf(bean)) {
+          depth = max(depth, depths.get(graph.getEdgeTarget(edge)) + 1);
+        }
+        depths.put(bean, depth);
+
+        if (grouped.add(bean)) {
+          while (graphGroups.size() <= depth) {
+            graphGroups.add(new ArrayList<>());
+          }
+          graphGroups.get(depth).add(bean.getWrappedObject());
+        }
+      }
+      graphGroups.stream().filter(group -> !group.isEmpty()).forEach(groups::add);
+    }
+    return groups;
+  }
+
+  private List<BeanWrapper> sort(DefaultDirectedGraph<BeanWrapper, DefaultEdge> graph) {
+    List<BeanWrapper> sortedObjects = newArrayList(new TopologicalOrderIterator<>(graph, (o1, o2) -> {
+      if (getLifeCycleObjectNameOrder().getOrDefault(o1.getName(), -1) > getLifeCycleObjectNameOrder()
+          .getOrDefault(o2.getName(), -1)) {
+        return -1;
+      } else {
+        return 1;
+      }
+    }));
+    reverse(sortedObjects);
+    return sortedObjects;
+  }
+
   /**
    * Provides the information that will be needed for the comparison during the top sort
    *
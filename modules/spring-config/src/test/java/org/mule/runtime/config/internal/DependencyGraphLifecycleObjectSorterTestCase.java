@@ -16,6 +16,7 @@ import static java.util.Collections.emptyMap;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.anyOf;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsInRelativeOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
@@ -211,6 +212,66 @@ public class DependencyGraphLifecycleObjectSorterTestCase {
                                                 containsInRelativeOrder(objectC, objectB)));
   }
 
+  @Test
+  @Description("Components sharing the same prerequisite go in the same group, after the one of the prerequisite. " +
+      "A -> C, B -> C: C should be in a group before the one of A and B.")
+  public void groupComponentsWithSharedChildTest() {
+    BeanWrapper componentA = new BeanWrapper("objectA", objectA);
+    BeanWrapper componentB = new BeanWrapper("objectB", objectB);
+    BeanWrapper componentC = new BeanWrapper("objectC", objectC);
+
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfA = new HashMap<>();
+    transitiveDependenciesOfA.put(componentA, asList(componentC));
+    transitiveDependenciesOfA.put(componentC, emptyList());
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfB = new HashMap<>();
+    transitiveDependenciesOfB.put(componentB, asList(componentC));
+    transitiveDependenciesOfB.put(componentC, emptyList());
+
+    when(resolver.getTransitiveDependencies("objectA", streamingManagerGraphIndex)).thenReturn(transitiveDependenciesOfA);
+    when(resolver.getTransitiveDependencies("objectB", streamingManagerGraphIndex)).thenReturn(transitiveDependenciesOfB);
+    when(resolver.getTransitiveDependencies("objectC", streamingManagerGraphIndex)).thenReturn(emptyMap());
+
+    sorter.addObject("objectA", objectA);
+    sorter.addObject("objectB", objectB);
+    sorter.addObject("objectC", objectC);
+
+    List<List<Object>> groups = sorter.getSortedObjectGroups();
+    assertThat(groups.toString(), groups.size(), is(2));
+    assertThat(groups.get(0), contains(objectC));
+    assertThat(groups.get(1), containsInAnyOrder(objectA, objectB));
+  }
+
+  @Test
+  @Description("Components that depend on each other go in different groups. " +
+      "A -> C and C -> B should return the groups B - C - A.")
+  public void groupDependentComponentsTest() {
+    BeanWrapper componentA = new BeanWrapper("objectA", objectA);
+    BeanWrapper componentB = new BeanWrapper("objectB", objectB);
+    BeanWrapper componentC = new BeanWrapper("objectC", objectC);
+
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfA = new LinkedHashMap<>();
+    transitiveDependenciesOfA.put(componentA, asList(componentC));
+    transitiveDependenciesOfA.put(componentC, asList(componentB));
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfB = new LinkedHashMap<>();
+    transitiveDependenciesOfB.put(componentB, emptyList());
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfC = new LinkedHashMap<>();
+    transitiveDependenciesOfC.put(componentC, emptyList());
+
+    when(resolver.getTransitiveDependencies("objectA", streamingManagerGraphIndex)).thenReturn(transitiveDependenciesOfA);
+    when(resolver.getTransitiveDependencies("objectB", streamingManagerGraphIndex)).thenReturn(transitiveDependenciesOfB);
+    when(resolver.getTransitiveDependencies("objectC", streamingManagerGraphIndex)).thenReturn(transitiveDependenciesOfC);
+
+    sorter.addObject("objectA", objectA);
+    sorter.addObject("objectB", objectB);
+    sorter.addObject("objectC", objectC);
+
+    List<List<Object>> groups = sorter.getSortedObjectGroups();
+    assertThat(groups.toString(), groups.size(), is(3));
+    assertThat(groups.get(0), contains(objectB));
+    assertThat(groups.get(1), contains(objectC));
+    assertThat(groups.get(2), contains(objectA));
+  }
+
   @Test(expected = NullPointerException.class)
   @Description("If a null component is added to the graph, it will throw NullPointerException.")
   public void handleNullObjectTest() {
@@ -78,6 +78,26 @@ public class OpenTelemetrySpanExporterConfigurationProperties {
   public static final String MULE_OPEN_TELEMETRY_EXPORTER_METRICS_LOG_FREQUENCY =
       MULE_OPEN_TELEMETRY_EXPORTER + ".metricsLogFrequency";
 
+  // Tail sampling
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ENABLED =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.enabled";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_LATENCY_THRESHOLD =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.latencyThreshold";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ERRORS =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.errors";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_SPAN_NAMES =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.spanNames";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_BUFFERED_SPANS =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.maxBufferedSpans";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_DECISION_WAIT =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.decisionWait";
+
   // Sampling
 
   public static final String PARENTBASED_ALWAYS_ON_SAMPLER = "parentbased_always_on";
@@ -21,6 +21,7 @@ import static org.mule.runtime.tracer.exporter.impl.OpenTelemetrySpanExporterUti
 import static org.mule.runtime.tracer.exporter.impl.OpenTelemetrySpanExporterUtils.STATUS;
 import static org.mule.runtime.tracer.exporter.impl.OpenTelemetrySpanExporterUtils.THREAD_END_NAME_KEY;
 import static org.mule.runtime.tracer.exporter.impl.OpenTelemetrySpanExporterUtils.getNameWithoutNamespace;
+import static org.mule.runtime.tracer.exporter.impl.OpenTelemetrySpanExporterUtils.getStringAttributeKey;
 import static org.mule.runtime.tracer.exporter.impl.OpenTelemetryTraceIdUtils.extractContextFromTraceParent;
 import static org.mule.runtime.tracer.impl.span.InternalSpan.getAsInternalSpan;
 
@@ -29,7 +30,6 @@ import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 
-import static io.opentelemetry.api.common.AttributeKey.stringKey;
 import static io.opentelemetry.api.common.Attributes.of;
 import static io.opentelemetry.api.trace.SpanContext.getInvalid;
 import static io.opentelemetry.api.trace.SpanKind.INTERNAL;
@@ -97,7 +97,8 @@ public class OpenTelemetrySpanExporter implements SpanExporter, SpanData, Readab
   private final InternalSpan internalSpan;
   private final String artifactId;
   private final String artifactType;
-  private final Map<String, String> rootAttributes = new HashMap<>();
+  // Only spans which are not roots and get root attributes need this map, so it is created when needed
+  private Map<String, String> rootAttributes;
   private final SpanProcessor spanProcessor;
   private final Resource resource;
   private final boolean enableMuleAncestorIdManagement;
@@ -150,7 +151,13 @@ public class OpenTelemetrySpanExporter implements SpanExporter, SpanData, Readab
 
   @Override
   public <T> T get(AttributeKey<T> attributeKey) {
-    throw new UnsupportedOperationException();
+    Object[] value = new Object[1];
+    forEach((key, keyValue) -> {
+      if (key.equals(attributeKey)) {
+        value[0] = keyValue;
+      }
+    });
+    return (T) value[0];
   }
 
   @Override
@@ -158,7 +165,7 @@ public class OpenTelemetrySpanExporter implements SpanExporter, SpanData, Readab
     biConsumer.accept(ARTIFACT_ID, artifactId);
     biConsumer.accept(ARTIFACT_TYPE, artifactType);
     biConsumer.accept(THREAD_END_NAME_KEY, endThreadNameValue);
-    internalSpan.forEachAttribute((key, value) -> biConsumer.accept(stringKey(key), value));
+    internalSpan.forEachAttribute((key, value) -> biConsumer.accept(getStringAttributeKey(key), value));
 
   }
 
@@ -220,6 +227,9 @@ public class OpenTelemetrySpanExporter implements SpanExporter, SpanData, Readab
     if (isRootSpan) {
       internalSpan.addAttribute(rootAttributeKey, rootAttributeValue);
     } else {
+      if (rootAttributes == null) {
+        rootAttributes = new HashMap<>();
+      }
       this.rootAttributes.put(rootAttributeKey, rootAttributeValue);
     }
   }
@@ -293,7 +303,9 @@ public class OpenTelemetrySpanExporter implements SpanExporter, SpanData, Readab
       // Propagates the root name until it finds a root.
       if (rootName != null) {
         childOpenTelemetrySpanExporter.setRootName(rootName);
-        rootAttributes.forEach(childOpenTelemetrySpanExporter::setRootAttribute);
+        if (rootAttributes != null) {
+          rootAttributes.forEach(childOpenTelemetrySpanExporter::setRootAttribute);
+        }
       }
 
       // In case "no export until" is set, and it is not a child span that resets that condition (because
@@ -482,12 +494,12 @@ public class OpenTelemetrySpanExporter implements SpanExporter, SpanData, Readab
 
   @Override
   public long getLatencyNanos() {
-    return 0;
+    return getEndEpochNanos() - getStartEpochNanos();
   }
 
   @Override
   public <T> T getAttribute(AttributeKey<T> attributeKey) {
-    throw new UnsupportedOperationException();
+    return get(attributeKey);
   }
 
   @Override
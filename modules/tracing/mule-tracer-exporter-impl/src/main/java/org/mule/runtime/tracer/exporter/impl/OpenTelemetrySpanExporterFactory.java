@@ -20,6 +20,9 @@ import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.profiling.tracing.Span;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerConfig;
+import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.tracer.api.sniffer.ExportedSpanSniffer;
 import org.mule.runtime.tracer.api.sniffer.SpanSnifferManager;
@@ -68,6 +71,8 @@ public class OpenTelemetrySpanExporterFactory implements SpanExporterFactory, Di
   private String artifactId;
   private String artifactType;
   private boolean addMuleAncestorSpanId;
+  private SchedulerService schedulerService;
+  private Scheduler tailSamplingScheduler;
 
   public OpenTelemetrySpanExporterFactory() {}
 
@@ -86,6 +91,11 @@ public class OpenTelemetrySpanExporterFactory implements SpanExporterFactory, Di
     this.muleContext = muleContext;
   }
 
+  @Inject
+  public void setSchedulerService(SchedulerService schedulerService) {
+    this.schedulerService = schedulerService;
+  }
+
   @Inject
   public void setFeatureFlaggingService(FeatureFlaggingService featureFlaggingService) {
     this.featureFlaggingService = featureFlaggingService;
@@ -111,7 +121,17 @@ public class OpenTelemetrySpanExporterFactory implements SpanExporterFactory, Di
     }
     LOGGER.info("Mule Open Telemetry Tracer Exporter is enabled.");
     return OpenTelemetryResources.resolveOpenTelemetrySpanProcessor(configuration, privilegedConfiguration,
-                                                                    resolveOpenTelemetrySpanExporter());
+                                                                    resolveOpenTelemetrySpanExporter(),
+                                                                    this::getTailSamplingScheduler);
+  }
+
+  private synchronized Scheduler getTailSamplingScheduler() {
+    if (tailSamplingScheduler == null) {
+      tailSamplingScheduler = schedulerService.customScheduler(SchedulerConfig.config()
+          .withName(artifactId + ".tailSampling")
+          .withMaxConcurrentTasks(1));
+    }
+    return tailSamplingScheduler;
   }
 
   private boolean isExportEnabled() {
@@ -160,6 +180,11 @@ public class OpenTelemetrySpanExporterFactory implements SpanExporterFactory, Di
   @Override
   public void dispose() {
     silentlyShutdown(spanProcessor);
+    synchronized (this) {
+      if (tailSamplingScheduler != null) {
+        tailSamplingScheduler.stop();
+      }
+    }
   }
 
   protected Sampler resolveSampler() {
@@ -24,6 +24,9 @@ import static io.opentelemetry.sdk.trace.samplers.Sampler.parentBased;
 import static io.opentelemetry.sdk.trace.samplers.Sampler.traceIdRatioBased;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
 
@@ -54,6 +57,31 @@ public class OpenTelemetrySpanExporterUtils {
   public static final String SPAN_KIND = "span.kind.override";
   public static final String STATUS = "status.override";
 
+  // Attribute names come mostly from a fixed set, but user defined tracing variables are also exported as attributes.
+  private static final int MAX_CACHED_ATTRIBUTE_KEYS = 1024;
+  private static final Map<String, AttributeKey<String>> ATTRIBUTE_KEYS = new ConcurrentHashMap<>();
+
+  /**
+   * @param key an attribute name.
+   * @return a string {@link AttributeKey} for the given name, shared among all the exported spans as long as the amount of
+   *         distinct names stays bounded.
+   */
+  public static AttributeKey<String> getStringAttributeKey(String key) {
+    AttributeKey<String> attributeKey = ATTRIBUTE_KEYS.get(key);
+    if (attributeKey != null) {
+      return attributeKey;
+    }
+
+    attributeKey = stringKey(key);
+    if (ATTRIBUTE_KEYS.size() < MAX_CACHED_ATTRIBUTE_KEYS) {
+      AttributeKey<String> previous = ATTRIBUTE_KEYS.putIfAbsent(key, attributeKey);
+      if (previous != null) {
+        return previous;
+      }
+    }
+    return attributeKey;
+  }
+
   public static String getNameWithoutNamespace(String name) {
     int index = name.lastIndexOf(":");
     if (index != -1) {
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.tracer.exporter.impl.metrics;
 
+import static org.mule.runtime.tracer.exporter.impl.optel.resources.TailSamplingSpanProcessor.TAIL_SAMPLED_SPANS;
+
 import static io.opentelemetry.sdk.metrics.data.AggregationTemporality.CUMULATIVE;
 
 import java.util.Collection;
@@ -24,7 +26,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Metric exporter that will log information about the Open Telemetry export queue (currently backed by a
  * {@link io.opentelemetry.sdk.trace.export.BatchSpanProcessor}. Information about dropped spans will be logged as part of the
- * application logs in order to facilitate troubleshooting.
+ * application logs in order to facilitate troubleshooting, as well as the spans discarded by tail sampling, if enabled.
  *
  * @since 4.5.1
  *
@@ -36,12 +38,15 @@ public class OpenTelemetryExportQueueMetrics implements MetricExporter {
   public static final String PROCESSED_SPANS = "processedSpans";
 
   private Long loggedDroppedSpans = 0L;
+  private long loggedTailSamplingDroppedSpans = 0L;
 
   @Override
   public CompletableResultCode export(Collection<MetricData> metrics) {
     metrics.forEach(metricData -> {
       if (metricData.getName().equals(PROCESSED_SPANS)) {
         checkForDroppedSpans(metricData);
+      } else if (metricData.getName().equals(TAIL_SAMPLED_SPANS)) {
+        checkForTailSamplingDroppedSpans(metricData);
       }
     });
     return CompletableResultCode.ofSuccess();
@@ -82,6 +87,23 @@ public class OpenTelemetryExportQueueMetrics implements MetricExporter {
     }
   }
 
+  /**
+   * Logs the amount of spans discarded by tail sampling if it has increased since the last call to this method.
+   *
+   * @param metricData Metric data about the tail sampled spans.
+   */
+  private void checkForTailSamplingDroppedSpans(MetricData metricData) {
+    long currentDroppedSpans = metricData.getLongSumData().getPoints().stream()
+        .filter(pointData -> Boolean.TRUE.equals(pointData.getAttributes().get(AttributeKey.booleanKey("dropped"))))
+        .mapToLong(LongPointData::getValue)
+        .sum();
+    if (currentDroppedSpans > loggedTailSamplingDroppedSpans) {
+      METRICS_LOGGER.info("Tail sampling: {} spans have been discarded. Total spans discarded since the export started: {}",
+                          currentDroppedSpans - loggedTailSamplingDroppedSpans, currentDroppedSpans);
+      loggedTailSamplingDroppedSpans = currentDroppedSpans;
+    }
+  }
+
   @Override
   public CompletableResultCode flush() {
     return CompletableResultCode.ofSuccess();
@@ -17,6 +17,12 @@ import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExpor
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_INITIAL_BACKOFF;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_MAX_BACKOFF;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_METRICS_LOG_FREQUENCY;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_DECISION_WAIT;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ENABLED;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ERRORS;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_LATENCY_THRESHOLD;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_BUFFERED_SPANS;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_SPAN_NAMES;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TIMEOUT;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TYPE;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER;
@@ -63,6 +69,10 @@ public class OpenTelemetryAutoConfigurableSpanExporterConfiguration implements S
   private static final String DEFAULT_MAX_BATCH_SIZE = "512";
   private static final String DEFAULT_SCHEDULED_DELAY = "5000";
 
+  private static final String DEFAULT_TAIL_SAMPLING_LATENCY_THRESHOLD = "1000";
+  private static final String DEFAULT_TAIL_SAMPLING_MAX_BUFFERED_SPANS = "10000";
+  private static final String DEFAULT_TAIL_SAMPLING_DECISION_WAIT = "30000";
+
   private static final String DEFAULT_SAMPLER = PARENTBASED_TRACEIDRATIO_SAMPLER;
   private static final String DEFAULT_SAMPLER_ARG = "0.1";
 
@@ -114,6 +124,15 @@ public class OpenTelemetryAutoConfigurableSpanExporterConfiguration implements S
     defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_BATCH_SCHEDULED_DELAY, DEFAULT_SCHEDULED_DELAY);
     defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER, DEFAULT_SAMPLER);
     defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER_ARG, DEFAULT_SAMPLER_ARG);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ENABLED, "false");
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_LATENCY_THRESHOLD,
+                                   DEFAULT_TAIL_SAMPLING_LATENCY_THRESHOLD);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ERRORS, "true");
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_SPAN_NAMES, "");
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_BUFFERED_SPANS,
+                                   DEFAULT_TAIL_SAMPLING_MAX_BUFFERED_SPANS);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_DECISION_WAIT,
+                                   DEFAULT_TAIL_SAMPLING_DECISION_WAIT);
   }
 
   @Override
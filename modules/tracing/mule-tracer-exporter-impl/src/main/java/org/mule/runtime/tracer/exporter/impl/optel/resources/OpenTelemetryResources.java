@@ -11,6 +11,12 @@ import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExpor
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_ENDPOINT;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_MAX_BATCH_SIZE;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_METRICS_LOG_FREQUENCY;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_DECISION_WAIT;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ENABLED;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ERRORS;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_LATENCY_THRESHOLD;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_BUFFERED_SPANS;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_SPAN_NAMES;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TYPE;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER_ARG;
@@ -18,6 +24,7 @@ import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExpor
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterEnvProperties.OTEL_TRACES_SAMPLER_ENV;
 import static org.mule.runtime.tracer.exporter.impl.config.type.OpenTelemetryExporterTransport.valueOf;
 
+import static java.lang.Boolean.parseBoolean;
 import static java.lang.Integer.parseInt;
 import static java.lang.Long.parseLong;
 import static java.time.Duration.ofMillis;
@@ -33,6 +40,10 @@ import org.mule.runtime.tracer.exporter.impl.OpenTelemetrySpanExporterUtils;
 import org.mule.runtime.tracer.exporter.impl.metrics.OpenTelemetryExportQueueMetrics;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
@@ -89,7 +100,8 @@ public class OpenTelemetryResources {
 
   public static SpanProcessor resolveOpenTelemetrySpanProcessor(SpanExporterConfiguration spanExporterConfiguration,
                                                                 SpanExporterConfiguration privilegedSpanExporterConfiguration,
-                                                                SpanExporter spanExporter)
+                                                                SpanExporter spanExporter,
+                                                                Supplier<ScheduledExecutorService> tailSamplingScheduler)
       throws SpanExporterConfiguratorException {
 
     LOGGER.debug("Mule Open Telemetry Tracer Exporter Endpoint is {}",
@@ -106,12 +118,44 @@ public class OpenTelemetryResources {
     int batchQueueSize =
         parseInt(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_BATCH_QUEUE_SIZE));
 
-    return builder(spanExporter)
+    SdkMeterProvider meterProvider = getMeterProvider(spanExporterConfiguration);
+    SpanProcessor batchSpanProcessor = builder(spanExporter)
         .setMaxQueueSize(batchQueueSize)
-        .setMeterProvider(getMeterProvider(spanExporterConfiguration))
+        .setMeterProvider(meterProvider)
         .setScheduleDelay(parseLong(privilegedSpanExporterConfiguration
             .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_BATCH_SCHEDULED_DELAY)), MILLISECONDS)
         .setMaxExportBatchSize(maxBatchSize).build();
+
+    if (!parseBoolean(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ENABLED))) {
+      return batchSpanProcessor;
+    }
+
+    LOGGER.debug("Mule Open Telemetry Tracer Exporter tail sampling is enabled");
+    return new TailSamplingSpanProcessor(batchSpanProcessor,
+                                         parseLong(spanExporterConfiguration
+                                             .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_LATENCY_THRESHOLD)),
+                                         parseBoolean(spanExporterConfiguration
+                                             .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ERRORS)),
+                                         getSpanNames(spanExporterConfiguration
+                                             .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_SPAN_NAMES)),
+                                         parseInt(spanExporterConfiguration
+                                             .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_BUFFERED_SPANS)),
+                                         parseLong(spanExporterConfiguration
+                                             .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_DECISION_WAIT)),
+                                         meterProvider,
+                                         tailSamplingScheduler.get());
+  }
+
+  private static Set<String> getSpanNames(String spanNames) {
+    Set<String> names = new HashSet<>();
+    if (spanNames != null) {
+      for (String name : spanNames.split(",")) {
+        if (!name.trim().isEmpty()) {
+          names.add(name.trim());
+        }
+      }
+    }
+    return names;
   }
 
   public static SpanExporter resolveOpenTelemetrySpanExporter(SpanExporterConfiguration spanExporterConfiguration)
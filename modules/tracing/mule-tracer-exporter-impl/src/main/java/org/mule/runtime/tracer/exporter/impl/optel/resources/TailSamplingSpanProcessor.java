@@ -0,0 +1,242 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl.optel.resources;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static io.opentelemetry.api.common.AttributeKey.booleanKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.api.trace.StatusCode.ERROR;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+/**
+ * A {@link SpanProcessor} that holds the ended spans of each trace and, once its local root span ends, decides whether the whole
+ * trace is passed on to a delegate processor or discarded.
+ * <p>
+ * A trace is kept if any of its spans has an error status, if it took at least the latency threshold or if any of its spans has
+ * one of the configured names, matched against both the span name and its location, so that flows and operations can be kept by
+ * the name they have in the application. The local root span is the one with no parent or a remote parent. Traces whose root
+ * span has not ended after the decision wait are decided with the spans buffered so far by a periodic sweep, which runs on the
+ * given scheduler instead of on the threads ending spans. If the amount of buffered spans reaches the limit,
+ * new spans are passed on without buffering, so that nothing that may be relevant is discarded for lack of memory.
+ * <p>
+ * The amount of kept and discarded spans is reported through the {@value #TAIL_SAMPLED_SPANS} counter.
+ *
+ * @since 4.10
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+  public static final String TAIL_SAMPLED_SPANS = "tailSampledSpans";
+
+  private static final Attributes DROPPED = Attributes.of(booleanKey("dropped"), true);
+  private static final Attributes KEPT = Attributes.of(booleanKey("dropped"), false);
+  private static final long SWEEP_INTERVAL_NANOS = SECONDS.toNanos(1);
+  // the attribute holding the location of the component a span belongs to, which for flows is their name
+  private static final AttributeKey<String> LOCATION = stringKey("location");
+
+  private final SpanProcessor delegate;
+  private final long latencyThresholdNanos;
+  private final boolean keepErrors;
+  private final Set<String> spanNames;
+  private final int maxBufferedSpans;
+  private final long decisionWaitNanos;
+  private final LongCounter tailSampledSpans;
+
+  private final ConcurrentMap<String, TraceBuffer> traces = new ConcurrentHashMap<>();
+  private final AtomicInteger bufferedSpans = new AtomicInteger();
+  private final ScheduledFuture<?> sweepTask;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param delegate                the processor the kept spans are passed on to.
+   * @param latencyThresholdMillis  traces lasting at least this are kept. A negative value disables this rule.
+   * @param keepErrors              whether traces with a span with error status are kept.
+   * @param spanNames               traces with a span with one of these names or locations are kept.
+   * @param maxBufferedSpans        the maximum amount of spans held for all the traces.
+   * @param decisionWaitMillis      how long to wait for the local root span of a trace to end.
+   * @param meterProvider           the provider for the counter of kept and discarded spans.
+   * @param sweepScheduler          the scheduler where traces whose root span did not end in time are decided.
+   */
+  public TailSamplingSpanProcessor(SpanProcessor delegate, long latencyThresholdMillis, boolean keepErrors,
+                                   Set<String> spanNames, int maxBufferedSpans, long decisionWaitMillis,
+                                   MeterProvider meterProvider, ScheduledExecutorService sweepScheduler) {
+    this.delegate = delegate;
+    this.latencyThresholdNanos = latencyThresholdMillis < 0 ? MAX_VALUE : MILLISECONDS.toNanos(latencyThresholdMillis);
+    this.keepErrors = keepErrors;
+    this.spanNames = spanNames;
+    this.maxBufferedSpans = maxBufferedSpans;
+    this.decisionWaitNanos = MILLISECONDS.toNanos(decisionWaitMillis);
+    this.tailSampledSpans = meterProvider.get(TailSamplingSpanProcessor.class.getName())
+        .counterBuilder(TAIL_SAMPLED_SPANS)
+        .setDescription("The number of spans kept or discarded by tail sampling")
+        .setUnit("1")
+        .build();
+    this.sweepTask =
+        sweepScheduler.scheduleWithFixedDelay(this::sweep, SWEEP_INTERVAL_NANOS, SWEEP_INTERVAL_NANOS, NANOSECONDS);
+  }
+
+  @Override
+  public void onStart(Context parentContext, ReadWriteSpan span) {
+    delegate.onStart(parentContext, span);
+  }
+
+  @Override
+  public boolean isStartRequired() {
+    return delegate.isStartRequired();
+  }
+
+  @Override
+  public void onEnd(ReadableSpan span) {
+    String traceId = span.getSpanContext().getTraceId();
+    if (isLocalRoot(span)) {
+      TraceBuffer trace = traces.remove(traceId);
+      if (trace == null) {
+        trace = new TraceBuffer(System.nanoTime());
+      }
+      decide(trace.close(span), true);
+    } else if (bufferedSpans.incrementAndGet() > maxBufferedSpans) {
+      bufferedSpans.decrementAndGet();
+      tailSampledSpans.add(1, KEPT);
+      delegate.onEnd(span);
+    } else {
+      while (!traces.computeIfAbsent(traceId, id -> new TraceBuffer(System.nanoTime())).add(span)) {
+        // the trace was concurrently decided, any later span goes to a new buffer
+      }
+    }
+  }
+
+  @Override
+  public boolean isEndRequired() {
+    return true;
+  }
+
+  @Override
+  public CompletableResultCode forceFlush() {
+    return delegate.forceFlush();
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    sweepTask.cancel(false);
+    traces.keySet().forEach(traceId -> {
+      TraceBuffer trace = traces.remove(traceId);
+      if (trace != null) {
+        decide(trace.close(null), false);
+      }
+    });
+    return delegate.shutdown();
+  }
+
+  /**
+   * @return the amount of spans currently held until their trace is decided.
+   */
+  public int getBufferedSpans() {
+    return bufferedSpans.get();
+  }
+
+  private static boolean isLocalRoot(ReadableSpan span) {
+    SpanContext parentSpanContext = span.getParentSpanContext();
+    return !parentSpanContext.isValid() || parentSpanContext.isRemote();
+  }
+
+  /**
+   * Decides the traces whose local root span did not end within the decision wait.
+   */
+  void sweep() {
+    long now = System.nanoTime();
+    traces.forEach((traceId, trace) -> {
+      if (now - trace.createdAt >= decisionWaitNanos && traces.remove(traceId, trace)) {
+        decide(trace.close(null), false);
+      }
+    });
+  }
+
+  private void decide(List<ReadableSpan> spans, boolean withRoot) {
+    // the local root is never buffered
+    bufferedSpans.addAndGet(withRoot ? 1 - spans.size() : -spans.size());
+
+    if (shouldKeep(spans)) {
+      tailSampledSpans.add(spans.size(), KEPT);
+      spans.forEach(delegate::onEnd);
+    } else {
+      tailSampledSpans.add(spans.size(), DROPPED);
+    }
+  }
+
+  private boolean shouldKeep(List<ReadableSpan> spans) {
+    long start = MAX_VALUE;
+    long end = 0;
+    for (ReadableSpan span : spans) {
+      SpanData spanData = span.toSpanData();
+      if (keepErrors && spanData.getStatus().getStatusCode() == ERROR) {
+        return true;
+      }
+      if (!spanNames.isEmpty() && (spanNames.contains(span.getName()) || spanNames.contains(span.getAttribute(LOCATION)))) {
+        return true;
+      }
+      start = min(start, spanData.getStartEpochNanos());
+      end = max(end, spanData.getEndEpochNanos());
+    }
+    return end - start >= latencyThresholdNanos;
+  }
+
+  /**
+   * The spans of a trace ended so far. Once closed, no more spans are accepted.
+   */
+  private static final class TraceBuffer {
+
+    private final long createdAt;
+    private final List<ReadableSpan> spans = new ArrayList<>();
+    private boolean closed;
+
+    private TraceBuffer(long createdAt) {
+      this.createdAt = createdAt;
+    }
+
+    private synchronized boolean add(ReadableSpan span) {
+      if (closed) {
+        return false;
+      }
+      spans.add(span);
+      return true;
+    }
+
+    private synchronized List<ReadableSpan> close(ReadableSpan root) {
+      closed = true;
+      if (root != null) {
+        spans.add(root);
+      }
+      return spans;
+    }
+  }
+}
@@ -299,7 +299,8 @@ public class OpenTelemetryExporterConfigTestCase {
     SdkTracerProviderBuilder sdkTracerProviderBuilder = SdkTracerProvider.builder()
         .addSpanProcessor(resolveOpenTelemetrySpanProcessor(spanExporterConfiguration,
                                                             spanExporterConfiguration,
-                                                            resolveOpenTelemetrySpanExporter(spanExporterConfiguration)))
+                                                            resolveOpenTelemetrySpanExporter(spanExporterConfiguration),
+                                                            () -> null))
         .setResource(getResource(serviceName));
 
     OpenTelemetry openTelemetry = OpenTelemetrySdk.builder()
@@ -313,7 +314,8 @@ public class OpenTelemetryExporterConfigTestCase {
   private void exportSpan(Map<String, String> properties) {
     OpenTelemetryAutoConfigurableSpanExporterConfiguration spanExporterConfiguration = getSpanExporterConfiguration(properties);
     SpanProcessor spanProcessor = resolveOpenTelemetrySpanProcessor(spanExporterConfiguration, spanExporterConfiguration,
-                                                                    resolveOpenTelemetrySpanExporter(spanExporterConfiguration));
+                                                                    resolveOpenTelemetrySpanExporter(spanExporterConfiguration),
+                                                                    () -> null);
     Tracer tracer = getTracer(getSpanExporterConfiguration(properties), TEST_SERVICE_NAME);
     ReadableSpan span = (ReadableSpan) tracer.spanBuilder(getUUID()).startSpan();
 
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl.optel.resources;
+
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.OPEN_TELEMETRY_EXPORTER;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static io.opentelemetry.api.trace.StatusCode.ERROR;
+import static io.opentelemetry.api.trace.StatusCode.UNSET;
+import static io.opentelemetry.api.trace.TraceFlags.getSampled;
+import static io.opentelemetry.api.trace.TraceState.getDefault;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_MOCKS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Before;
+import org.junit.Test;
+
+@Feature(PROFILING)
+@Story(OPEN_TELEMETRY_EXPORTER)
+public class TailSamplingSpanProcessorTestCase {
+
+  private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+  private static final String ROOT_SPAN_ID = "b7ad6b7169203331";
+  private static final String CHILD_SPAN_ID = "00f067aa0ba902b7";
+  private static final long LATENCY_THRESHOLD_MILLIS = 1000;
+
+  private SpanProcessor delegate;
+  private ScheduledExecutorService sweepScheduler;
+  private TailSamplingSpanProcessor processor;
+
+  @Before
+  public void before() {
+    delegate = mock(SpanProcessor.class);
+    sweepScheduler = mock(ScheduledExecutorService.class, RETURNS_MOCKS);
+    processor = new TailSamplingSpanProcessor(delegate, LATENCY_THRESHOLD_MILLIS, true, singleton("important-flow"), 10, 30000,
+                                              MeterProvider.noop(), sweepScheduler);
+  }
+
+  @Test
+  public void fastTraceIsDiscarded() {
+    ReadableSpan child = span("child", CHILD_SPAN_ID, ROOT_SPAN_ID, 10, UNSET);
+    ReadableSpan root = span("flow", ROOT_SPAN_ID, null, 20, UNSET);
+
+    processor.onEnd(child);
+    assertThat(processor.getBufferedSpans(), is(1));
+    processor.onEnd(root);
+
+    verify(delegate, never()).onEnd(any());
+    assertThat(processor.getBufferedSpans(), is(0));
+  }
+
+  @Test
+  public void traceWithErrorIsKept() {
+    ReadableSpan child = span("child", CHILD_SPAN_ID, ROOT_SPAN_ID, 10, ERROR);
+    ReadableSpan root = span("flow", ROOT_SPAN_ID, null, 20, UNSET);
+
+    processor.onEnd(child);
+    verify(delegate, never()).onEnd(any());
+    processor.onEnd(root);
+
+    verify(delegate).onEnd(child);
+    verify(delegate).onEnd(root);
+    assertThat(processor.getBufferedSpans(), is(0));
+  }
+
+  @Test
+  public void slowTraceIsKept() {
+    ReadableSpan root = span("flow", ROOT_SPAN_ID, null, LATENCY_THRESHOLD_MILLIS, UNSET);
+
+    processor.onEnd(root);
+
+    verify(delegate).onEnd(root);
+  }
+
+  @Test
+  public void traceWithConfiguredNameIsKept() {
+    ReadableSpan root = span("important-flow", ROOT_SPAN_ID, null, 1, UNSET);
+
+    processor.onEnd(root);
+
+    verify(delegate).onEnd(root);
+  }
+
+  @Test
+  public void traceWithConfiguredFlowLocationIsKept() {
+    ReadableSpan root = span("mule:flow", ROOT_SPAN_ID, null, 1, UNSET);
+    when(root.getAttribute(AttributeKey.stringKey("location"))).thenReturn("important-flow");
+
+    processor.onEnd(root);
+
+    verify(delegate).onEnd(root);
+  }
+
+  @Test
+  public void flowWithOtherLocationIsDiscarded() {
+    ReadableSpan root = span("mule:flow", ROOT_SPAN_ID, null, 1, UNSET);
+    when(root.getAttribute(AttributeKey.stringKey("location"))).thenReturn("other-flow");
+
+    processor.onEnd(root);
+
+    verify(delegate, never()).onEnd(any());
+  }
+
+  @Test
+  public void sweepDecidesTracesWithoutRoot() {
+    processor = new TailSamplingSpanProcessor(delegate, LATENCY_THRESHOLD_MILLIS, true, emptySet(), 10, 0,
+                                              MeterProvider.noop(), sweepScheduler);
+    ReadableSpan child = span("child", CHILD_SPAN_ID, ROOT_SPAN_ID, 10, ERROR);
+
+    processor.onEnd(child);
+    verify(delegate, never()).onEnd(any());
+
+    processor.sweep();
+
+    verify(delegate).onEnd(child);
+    assertThat(processor.getBufferedSpans(), is(0));
+  }
+
+  @Test
+  public void spansBeyondBufferLimitArePassedOn() {
+    processor = new TailSamplingSpanProcessor(delegate, LATENCY_THRESHOLD_MILLIS, true, emptySet(), 1, 30000,
+                                              MeterProvider.noop(), sweepScheduler);
+    ReadableSpan buffered = span("child", CHILD_SPAN_ID, ROOT_SPAN_ID, 10, UNSET);
+    ReadableSpan overflown = span("otherChild", "53995c3f42cd8ad8", ROOT_SPAN_ID, 10, UNSET);
+
+    processor.onEnd(buffered);
+    processor.onEnd(overflown);
+
+    verify(delegate, never()).onEnd(buffered);
+    verify(delegate).onEnd(overflown);
+    assertThat(processor.getBufferedSpans(), is(1));
+  }
+
+  @Test
+  public void pendingTracesAreDecidedOnShutdown() {
+    ReadableSpan child = span("child", CHILD_SPAN_ID, ROOT_SPAN_ID, 10, ERROR);
+
+    processor.onEnd(child);
+    processor.shutdown();
+
+    verify(delegate).onEnd(child);
+    verify(delegate).shutdown();
+    assertThat(processor.getBufferedSpans(), is(0));
+  }
+
+  private static ReadableSpan span(String name, String spanId, String parentSpanId, long durationMillis,
+                                   StatusCode statusCode) {
+    ReadableSpan span = mock(ReadableSpan.class);
+    SpanData spanData = mock(SpanData.class);
+    StatusData statusData = mock(StatusData.class);
+    when(statusData.getStatusCode()).thenReturn(statusCode);
+    when(spanData.getStatus()).thenReturn(statusData);
+    when(spanData.getStartEpochNanos()).thenReturn(0L);
+    when(spanData.getEndEpochNanos()).thenReturn(MILLISECONDS.toNanos(durationMillis));
+    when(span.toSpanData()).thenReturn(spanData);
+    when(span.getName()).thenReturn(name);
+    when(span.getSpanContext()).thenReturn(SpanContext.create(TRACE_ID, spanId, getSampled(), getDefault()));
+    when(span.getParentSpanContext()).thenReturn(parentSpanId == null
+        ? SpanContext.getInvalid()
+        : SpanContext.create(TRACE_ID, parentSpanId, getSampled(), getDefault()));
+    return span;
+  }
+}
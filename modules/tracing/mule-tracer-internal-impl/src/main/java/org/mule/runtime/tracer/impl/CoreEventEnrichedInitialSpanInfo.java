@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.tracer.impl;
 
+import static java.util.Collections.emptyMap;
+
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.privileged.event.PrivilegedEvent;
 import org.mule.runtime.tracer.api.span.info.EnrichedInitialSpanInfo;
@@ -27,16 +29,21 @@ public class CoreEventEnrichedInitialSpanInfo implements EnrichedInitialSpanInfo
   private final InitialSpanInfo baseInitialSpanInfo;
   private final String correlationId;
   private final String threadStartName;
-  private final String threadStartId;
-  private final Map<String, String> tracingVariables = new HashMap<>();
+  private final long threadStartId;
+  private final Map<String, String> tracingVariables;
 
   public CoreEventEnrichedInitialSpanInfo(InitialSpanInfo baseInitialSpanInfo, CoreEvent coreEvent) {
     this.baseInitialSpanInfo = baseInitialSpanInfo;
     this.correlationId = coreEvent.getCorrelationId();
     this.threadStartName = Thread.currentThread().getName();
-    this.threadStartId = Long.toString(Thread.currentThread().getId());
+    this.threadStartId = Thread.currentThread().getId();
     if (coreEvent instanceof PrivilegedEvent) {
-      ((PrivilegedEvent) coreEvent).getLoggingVariables().ifPresent(tracingVariables::putAll);
+      this.tracingVariables = ((PrivilegedEvent) coreEvent).getLoggingVariables()
+          .filter(variables -> !variables.isEmpty())
+          .<Map<String, String>>map(HashMap::new)
+          .orElse(emptyMap());
+    } else {
+      this.tracingVariables = emptyMap();
     }
   }
 
@@ -55,7 +62,7 @@ public class CoreEventEnrichedInitialSpanInfo implements EnrichedInitialSpanInfo
     baseInitialSpanInfo.forEachAttribute(biConsumer);
     biConsumer.accept(CORRELATION_ID_KEY, correlationId);
     biConsumer.accept(THREAD_START_NAME_KEY, threadStartName);
-    biConsumer.accept(THREAD_START_ID_KEY, threadStartId);
+    biConsumer.accept(THREAD_START_ID_KEY, Long.toString(threadStartId));
     tracingVariables.forEach(biConsumer);
   }
 
@@ -41,7 +41,9 @@ public class ExportOnEndExecutionSpan implements InternalSpan {
   private final InternalSpan parent;
   private final Long startTime;
   private Long endTime;
-  private final Map<String, String> additionalAttributes = new HashMap<>();
+  private SpanDuration duration;
+  // Most spans get no additional attributes, so the map is only created when needed
+  private Map<String, String> additionalAttributes;
 
   private ExportOnEndExecutionSpan(SpanExporterFactory spanExporterFactory, InitialSpanInfo initialSpanInfo, Long startTime,
                                    InternalSpan parent) {
@@ -86,6 +88,7 @@ public class ExportOnEndExecutionSpan implements InternalSpan {
   @Override
   public void end(long endTime) {
     this.endTime = endTime;
+    this.duration = new DefaultSpanDuration(startTime, endTime);
     this.spanExporter.export();
   }
 
@@ -103,7 +106,7 @@ public class ExportOnEndExecutionSpan implements InternalSpan {
   @Override
   public void forEachAttribute(BiConsumer<String, String> biConsumer) {
     initialSpanInfo.forEachAttribute(biConsumer);
-    if (!additionalAttributes.isEmpty()) {
+    if (additionalAttributes != null) {
       additionalAttributes.forEach(biConsumer);
     }
   }
@@ -135,6 +138,10 @@ public class ExportOnEndExecutionSpan implements InternalSpan {
 
   @Override
   public SpanDuration getDuration() {
+    // The exporter reads the duration several times once the span has ended
+    if (duration != null) {
+      return duration;
+    }
     return new DefaultSpanDuration(startTime, endTime);
   }
 
@@ -149,7 +156,7 @@ public class ExportOnEndExecutionSpan implements InternalSpan {
 
   @Override
   public int getAttributesCount() {
-    return initialSpanInfo.getInitialAttributesCount() + additionalAttributes.size();
+    return initialSpanInfo.getInitialAttributesCount() + (additionalAttributes == null ? 0 : additionalAttributes.size());
   }
 
   @Override
@@ -184,6 +191,9 @@ public class ExportOnEndExecutionSpan implements InternalSpan {
   @Override
   public void addAttribute(String key, String value) {
     if (!key.equals(SPAN_KIND) && !key.equals(STATUS)) {
+      if (additionalAttributes == null) {
+        additionalAttributes = new HashMap<>();
+      }
       additionalAttributes.put(key, value);
     }
     spanExporter.onAdditionalAttribute(key, value);
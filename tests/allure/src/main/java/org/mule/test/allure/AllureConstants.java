@@ -480,6 +480,7 @@ public interface AllureConstants {
       String COLLECT_LIST = "Collect List";
       String COLLECT_MAP = "Collect Map";
       String JOIN_ONLY = "Join Only";
+      String STREAMING = "Streaming";
     }
 
   }
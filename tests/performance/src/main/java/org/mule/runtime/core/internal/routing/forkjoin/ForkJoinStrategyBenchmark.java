@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static org.mule.runtime.api.metadata.DataType.NUMBER;
+import static org.mule.runtime.core.api.error.Errors.ComponentIdentifiers.Handleable.TIMEOUT;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChain;
+
+import static java.util.Optional.empty;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import static org.mockito.Mockito.mock;
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.slf4j.LoggerFactory.getLogger;
+import static reactor.core.publisher.Flux.fromIterable;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.config.FeatureFlaggingService;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.message.ErrorType;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.processor.strategy.DirectProcessingStrategyFactory;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategyFactory;
+import org.mule.runtime.core.privileged.processor.InternalProcessor;
+import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import reactor.core.publisher.Mono;
+
+@BenchmarkMode({Throughput, SampleTime})
+@OutputTimeUnit(MICROSECONDS)
+public class ForkJoinStrategyBenchmark extends AbstractBenchmark {
+
+  private static final Logger LOGGER = getLogger(ForkJoinStrategyBenchmark.class);
+
+  @Param({"collectList", "streaming"})
+  public String strategyType;
+
+  @Param({"2", "16", "128"})
+  public int routes;
+
+  @Param({"1", "16"})
+  public int maxConcurrency;
+
+  private MuleContext muleContext;
+  private ProcessingStrategy processingStrategy;
+  private Scheduler scheduler;
+  private ForkJoinStrategy strategy;
+  private CoreEvent original;
+  private final List<MessageProcessorChain> chains = new ArrayList<>();
+  private final List<RoutingPair> routingPairs = new ArrayList<>();
+
+  @Setup
+  public void setUp() throws MuleException {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+
+    processingStrategy = new DirectProcessingStrategyFactory().create(muleContext, "fork_join_mb");
+    startIfNeeded(processingStrategy);
+    scheduler = muleContext.getSchedulerService().ioScheduler();
+    ErrorType timeoutErrorType = muleContext.getErrorTypeRepository().getErrorType(TIMEOUT).get();
+
+    strategy = createStrategyFactory().createForkJoinStrategy(processingStrategy, maxConcurrency, true, Long.MAX_VALUE,
+                                                              scheduler, timeoutErrorType, scheduler, false);
+
+    Flow flow = createFlow(muleContext);
+    original = createEvent(flow);
+    for (int i = 0; i < routes; ++i) {
+      MessageProcessorChain chain = newChain(empty(), (BenchmarkProcessor) event -> {
+        Blackhole.consumeCPU(100);
+        return event;
+      });
+      initialiseIfNeeded(chain, muleContext);
+      chains.add(chain);
+      routingPairs.add(RoutingPair.of(original, chain));
+    }
+  }
+
+  private ForkJoinStrategyFactory createStrategyFactory() {
+    FeatureFlaggingService featureFlaggingService = mock(FeatureFlaggingService.class);
+    if (strategyType.equals("streaming")) {
+      return new StreamingForkJoinStrategyFactory(new CountReducer(), featureFlaggingService);
+    }
+    return new CollectListForkJoinStrategyFactory(featureFlaggingService);
+  }
+
+  @TearDown
+  public void tearDown() throws MuleException {
+    disposeIfNeeded(chains, LOGGER);
+    chains.clear();
+    routingPairs.clear();
+    stopIfNeeded(processingStrategy);
+    scheduler.stop();
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public CoreEvent forkJoin() {
+    return Mono.from(strategy.forkJoin(original, fromIterable(routingPairs))).block();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public CoreEvent forkJoinConcurrently() {
+    return forkJoin();
+  }
+
+  @FunctionalInterface
+  private interface BenchmarkProcessor extends Processor, InternalProcessor {
+
+  }
+
+  private static class CountReducer implements ForkJoinResultReducer<Integer> {
+
+    @Override
+    public Integer initial(CoreEvent original) {
+      return 0;
+    }
+
+    @Override
+    public Integer accumulate(Integer accumulated, CoreEvent routeResult) {
+      return accumulated + 1;
+    }
+
+    @Override
+    public Message complete(Integer accumulated) {
+      return Message.of(accumulated);
+    }
+
+    @Override
+    public DataType getResultDataType() {
+      return NUMBER;
+    }
+  }
+}
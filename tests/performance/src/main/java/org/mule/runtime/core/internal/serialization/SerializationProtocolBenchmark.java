@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static org.mule.runtime.api.metadata.DataType.STRING;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition.StoreValue;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+@OutputTimeUnit(NANOSECONDS)
+public class SerializationProtocolBenchmark extends AbstractBenchmark {
+
+  @Param({"java", "compact"})
+  public String protocol;
+
+  private SerializationProtocol serializationProtocol;
+
+  private StoreValue<Serializable> storeValue;
+  private TypedValue<String> typedValue;
+  private byte[] serializedStoreValue;
+  private byte[] serializedTypedValue;
+
+  @Setup
+  public void setUp() {
+    ClassLoader classLoader = SerializationProtocolBenchmark.class.getClassLoader();
+    JavaExternalSerializerProtocol javaProtocol = new JavaExternalSerializerProtocol(classLoader);
+    serializationProtocol = protocol.equals("compact")
+        ? new CompactSerializationProtocol(javaProtocol, classLoader)
+        : javaProtocol;
+
+    HashMap<String, Serializable> value = new HashMap<>();
+    value.put("counter", new AtomicInteger(3));
+    value.put("timestamp", System.currentTimeMillis());
+    List<String> items = new ArrayList<>();
+    for (int i = 0; i < 10; ++i) {
+      items.add("item-" + i);
+    }
+    value.put("items", (Serializable) items);
+    storeValue = new StoreValue<>("key", value);
+    typedValue = new TypedValue<>(PAYLOAD, STRING);
+
+    serializedStoreValue = serializationProtocol.serialize(storeValue);
+    serializedTypedValue = serializationProtocol.serialize(typedValue);
+  }
+
+  @Benchmark
+  public byte[] serializeStoreValue() {
+    return serializationProtocol.serialize(storeValue);
+  }
+
+  @Benchmark
+  public Object deserializeStoreValue() {
+    return serializationProtocol.deserialize(serializedStoreValue);
+  }
+
+  @Benchmark
+  public byte[] serializeTypedValue() {
+    return serializationProtocol.serialize(typedValue);
+  }
+
+  @Benchmark
+  public Object deserializeTypedValue() {
+    return serializationProtocol.deserialize(serializedTypedValue);
+  }
+}
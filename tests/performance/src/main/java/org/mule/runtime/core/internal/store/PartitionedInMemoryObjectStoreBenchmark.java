@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import static java.lang.Math.floorMod;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.store.ObjectStoreException;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Threads;
+
+@BenchmarkMode({Throughput, SampleTime})
+@OutputTimeUnit(NANOSECONDS)
+public class PartitionedInMemoryObjectStoreBenchmark extends AbstractBenchmark {
+
+  private static final int STORED_KEYS = 10000;
+
+  @Param({"128", "4096", "65536"})
+  public int payloadSize;
+
+  @Param({"1", "16"})
+  public int partitionCount;
+
+  private final AtomicLong keyCounter = new AtomicLong();
+  private final AtomicLong retrieveCounter = new AtomicLong();
+
+  private PartitionedInMemoryObjectStore<byte[]> store;
+  private String[] partitions;
+  private byte[] payload;
+
+  @Setup
+  public void setUp() throws ObjectStoreException {
+    store = new PartitionedInMemoryObjectStore<>();
+
+    partitions = new String[partitionCount];
+    for (int i = 0; i < partitionCount; ++i) {
+      partitions[i] = "partition-" + i;
+      store.open(partitions[i]);
+    }
+
+    payload = new byte[payloadSize];
+    new Random(payloadSize).nextBytes(payload);
+    for (int i = 0; i < STORED_KEYS; ++i) {
+      store.store("stored-" + i, payload, partitionFor(i));
+    }
+  }
+
+  private String partitionFor(long index) {
+    return partitions[floorMod(index, partitionCount)];
+  }
+
+  @Benchmark
+  public byte[] storeAndRemove() throws ObjectStoreException {
+    long index = keyCounter.incrementAndGet();
+    String key = "key-" + index;
+    String partition = partitionFor(index);
+    store.store(key, payload, partition);
+    return store.remove(key, partition);
+  }
+
+  @Benchmark
+  public byte[] retrieve() throws ObjectStoreException {
+    long index = retrieveCounter.incrementAndGet() % STORED_KEYS;
+    return store.retrieve("stored-" + index, partitionFor(index));
+  }
+
+  @Benchmark
+  public boolean expire() throws ObjectStoreException {
+    // Nothing is old enough or over the max entries, so this measures the bookkeeping done on every expiration run
+    store.expire(Long.MAX_VALUE, STORED_KEYS, partitions[0]);
+    return store.contains("stored-0", partitions[0]);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public byte[] storeAndRemoveConcurrently() throws ObjectStoreException {
+    return storeAndRemove();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public byte[] retrieveConcurrently() throws ObjectStoreException {
+    return retrieve();
+  }
+}
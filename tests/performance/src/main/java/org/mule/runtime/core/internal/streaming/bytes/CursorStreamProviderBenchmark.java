@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.mule.runtime.api.util.DataUnit.KB;
+import static org.mule.runtime.api.util.DataUnit.MB;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.Logger;
+
+@BenchmarkMode({Throughput, SampleTime})
+@OutputTimeUnit(MICROSECONDS)
+public class CursorStreamProviderBenchmark extends AbstractBenchmark {
+
+  private static final Logger LOGGER = getLogger(CursorStreamProviderBenchmark.class);
+
+  @Param({"1024", "65536", "1048576"})
+  public int payloadSize;
+
+  @Param({"simple", "pooling", "slab"})
+  public String bufferManager;
+
+  private ByteBufferManager byteBufferManager;
+  private InMemoryCursorStreamConfig config;
+  private byte[] payload;
+
+  @Setup
+  public void setUp() throws Exception {
+    payload = new byte[payloadSize];
+    new Random(payloadSize).nextBytes(payload);
+
+    config = new InMemoryCursorStreamConfig(new DataSize(512, KB), new DataSize(512, KB), new DataSize(16, MB));
+    switch (bufferManager) {
+      case "pooling":
+        byteBufferManager = new PoolingByteBufferManager();
+        break;
+      case "slab":
+        byteBufferManager = new SlabByteBufferManager();
+        break;
+      default:
+        byteBufferManager = new SimpleByteBufferManager();
+    }
+    initialiseIfNeeded(byteBufferManager);
+  }
+
+  @TearDown
+  public void tearDown() {
+    disposeIfNeeded(byteBufferManager, LOGGER);
+  }
+
+  @Benchmark
+  public long readOnce(ReadBuffer buffer) throws IOException {
+    InMemoryCursorStreamProvider provider = createProvider();
+    try {
+      return consume(provider, buffer);
+    } finally {
+      provider.close();
+      provider.releaseResources();
+    }
+  }
+
+  @Benchmark
+  public long readTwice(ReadBuffer buffer) throws IOException {
+    InMemoryCursorStreamProvider provider = createProvider();
+    try {
+      return consume(provider, buffer) + consume(provider, buffer);
+    } finally {
+      provider.close();
+      provider.releaseResources();
+    }
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public long readOnceConcurrently(ReadBuffer buffer) throws IOException {
+    return readOnce(buffer);
+  }
+
+  private InMemoryCursorStreamProvider createProvider() {
+    return new InMemoryCursorStreamProvider(new ByteArrayInputStream(payload), config, byteBufferManager, null, false);
+  }
+
+  private long consume(InMemoryCursorStreamProvider provider, ReadBuffer buffer) throws IOException {
+    long total = 0;
+    try (CursorStream cursor = provider.openCursor()) {
+      int read;
+      while ((read = cursor.read(buffer.bytes, 0, buffer.bytes.length)) != -1) {
+        total += read;
+      }
+    }
+    return total;
+  }
+
+  @State(Scope.Thread)
+  public static class ReadBuffer {
+
+    private final byte[] bytes = new byte[8 * 1024];
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.config.DefaultMuleConfiguration;
+import org.mule.runtime.core.api.transaction.xa.ResourceManagerException;
+import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
+import org.mule.runtime.core.api.util.queue.Queue;
+import org.mule.runtime.core.api.util.queue.QueueSession;
+import org.mule.runtime.core.internal.serialization.JavaObjectSerializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+@BenchmarkMode({Throughput, SampleTime})
+@OutputTimeUnit(MICROSECONDS)
+public class TransactionalQueueManagerBenchmark extends AbstractBenchmark {
+
+  private static final String QUEUE_NAME = "benchmark";
+
+  @Param({"false", "true"})
+  public boolean persistent;
+
+  @Param({"128", "4096", "65536"})
+  public int payloadSize;
+
+  private final ThreadLocal<QueueSession> queueSessions = ThreadLocal.withInitial(() -> queueManager.getQueueSession());
+
+  private File workingDirectory;
+  private TransactionalQueueManager queueManager;
+  private byte[] payload;
+
+  @Setup
+  public void setUp() throws IOException, MuleException {
+    workingDirectory = createTempDirectory("queue-benchmark").toFile();
+    DefaultMuleConfiguration muleConfiguration = new DefaultMuleConfiguration();
+    muleConfiguration.setWorkingDirectory(workingDirectory.getAbsolutePath());
+
+    queueManager = new TransactionalQueueManager();
+    queueManager.setMuleConfiguration(muleConfiguration);
+    queueManager.setObjectSerializer(new JavaObjectSerializer(getClass().getClassLoader()));
+    queueManager.initialise();
+    queueManager.start();
+    queueManager.setDefaultQueueConfiguration(new DefaultQueueConfiguration(0, persistent));
+
+    payload = new byte[payloadSize];
+    new Random(payloadSize).nextBytes(payload);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException, MuleException {
+    queueManager.stop();
+    queueManager.dispose();
+    deleteDirectory(workingDirectory);
+  }
+
+  @Benchmark
+  public Serializable putAndTake() throws InterruptedException {
+    Queue queue = queueSessions.get().getQueue(QUEUE_NAME);
+    queue.put(payload);
+    return queue.take();
+  }
+
+  @Benchmark
+  public Serializable transactionalPutAndTake() throws InterruptedException, ResourceManagerException {
+    QueueSession queueSession = queueSessions.get();
+    Queue queue = queueSession.getQueue(QUEUE_NAME);
+
+    queueSession.begin();
+    queue.put(payload);
+    queueSession.commit();
+
+    queueSession.begin();
+    Serializable taken = queue.take();
+    queueSession.commit();
+    return taken;
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Serializable putAndTakeConcurrently() throws InterruptedException {
+    return putAndTake();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Serializable transactionalPutAndTakeConcurrently() throws InterruptedException, ResourceManagerException {
+    return transactionalPutAndTake();
+  }
+}
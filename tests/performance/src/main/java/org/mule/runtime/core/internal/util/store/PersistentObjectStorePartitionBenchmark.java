@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.config.DefaultMuleConfiguration;
+import org.mule.runtime.core.internal.serialization.JavaObjectSerializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+@BenchmarkMode({Throughput, SampleTime})
+@OutputTimeUnit(MICROSECONDS)
+public class PersistentObjectStorePartitionBenchmark extends AbstractBenchmark {
+
+  private static final int STORED_KEYS = 1000;
+
+  @Param({"128", "4096", "65536"})
+  public int payloadSize;
+
+  private final AtomicLong keyCounter = new AtomicLong();
+  private final AtomicLong retrieveCounter = new AtomicLong();
+
+  private File workingDirectory;
+  private PersistentObjectStorePartition<byte[]> partition;
+  private byte[] payload;
+
+  @Setup
+  public void setUp() throws IOException, ObjectStoreException {
+    workingDirectory = createTempDirectory("object-store-benchmark").toFile();
+    DefaultMuleConfiguration muleConfiguration = new DefaultMuleConfiguration();
+    muleConfiguration.setWorkingDirectory(workingDirectory.getAbsolutePath());
+
+    partition = new PersistentObjectStorePartition<>(muleConfiguration,
+                                                     new JavaObjectSerializer(getClass().getClassLoader()),
+                                                     "benchmark", new File(workingDirectory, "partition"));
+    partition.open();
+
+    payload = new byte[payloadSize];
+    new Random(payloadSize).nextBytes(payload);
+    for (int i = 0; i < STORED_KEYS; ++i) {
+      partition.store("stored-" + i, payload);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException, ObjectStoreException {
+    partition.close();
+    deleteDirectory(workingDirectory);
+  }
+
+  @Benchmark
+  public byte[] storeAndRemove() throws ObjectStoreException {
+    String key = "key-" + keyCounter.incrementAndGet();
+    partition.store(key, payload);
+    return partition.remove(key);
+  }
+
+  @Benchmark
+  public byte[] retrieve() throws ObjectStoreException {
+    return partition.retrieve("stored-" + retrieveCounter.incrementAndGet() % STORED_KEYS);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public byte[] storeAndRemoveConcurrently() throws ObjectStoreException {
+    return storeAndRemove();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public byte[] retrieveConcurrently() throws ObjectStoreException {
+    return retrieve();
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer;
+
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+import static org.mule.runtime.tracer.api.span.info.InitialExportInfo.DEFAULT_EXPORT_SPAN_CUSTOMIZATION_INFO;
+import static org.mule.runtime.tracer.impl.span.ExportOnEndExecutionSpan.createExportOnEndExecutionSpan;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static io.opentelemetry.sdk.trace.export.SimpleSpanProcessor.create;
+import static io.opentelemetry.sdk.trace.samplers.Sampler.alwaysOn;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.profiling.tracing.Span;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.tracer.api.sniffer.SpanSnifferManager;
+import org.mule.runtime.tracer.api.span.exporter.SpanExporter;
+import org.mule.runtime.tracer.api.span.info.InitialExportInfo;
+import org.mule.runtime.tracer.api.span.info.InitialSpanInfo;
+import org.mule.runtime.tracer.exporter.api.SpanExporterFactory;
+import org.mule.runtime.tracer.exporter.impl.OpenTelemetrySpanExporter;
+import org.mule.runtime.tracer.exporter.impl.optel.resources.OpenTelemetryResources.NoOpSpanExporter;
+import org.mule.runtime.tracer.impl.CoreEventEnrichedInitialSpanInfo;
+import org.mule.runtime.tracer.impl.span.ExportOnEndExecutionSpan;
+import org.mule.runtime.tracer.impl.span.InternalSpan;
+import org.mule.runtime.tracer.impl.span.RootInternalSpan;
+
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the hot path of a component span: creation with the event enriched info, attribute iteration at export time and
+ * ending. Run with {@code -prof gc} to get the bytes allocated per operation.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class ExecutionSpanBenchmark extends AbstractBenchmark {
+
+  private MuleContext muleContext;
+  private CoreEvent event;
+  private InternalSpan flowSpan;
+  private SpanExporterFactory spanExporterFactory;
+
+  private final InitialSpanInfo flowSpanInfo = new TestInitialSpanInfo("mule:flow", true);
+  private final InitialSpanInfo componentSpanInfo = new TestInitialSpanInfo("mule:logger", false);
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    event = createEvent(createFlow(muleContext));
+
+    SpanProcessor spanProcessor = create(NoOpSpanExporter.getInstance());
+    spanExporterFactory = new SpanExporterFactory() {
+
+      @Override
+      public SpanExporter getSpanExporter(Span span, InitialSpanInfo initialSpanInfo) {
+        return new OpenTelemetrySpanExporter(span, initialSpanInfo, "benchmark", "APP", spanProcessor, false,
+                                             Resource.getDefault(), alwaysOn());
+      }
+
+      @Override
+      public SpanSnifferManager getSpanSnifferManager() {
+        return new SpanSnifferManager() {};
+      }
+    };
+    flowSpan = createExportOnEndExecutionSpan(spanExporterFactory, new RootInternalSpan(), flowSpanInfo);
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    flowSpan.end();
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public InternalSpan startComponentSpan() {
+    return createExportOnEndExecutionSpan(spanExporterFactory, flowSpan,
+                                          new CoreEventEnrichedInitialSpanInfo(componentSpanInfo, event));
+  }
+
+  @Benchmark
+  public InternalSpan startAndEndComponentSpan() {
+    InternalSpan span = createExportOnEndExecutionSpan(spanExporterFactory, flowSpan,
+                                                       new CoreEventEnrichedInitialSpanInfo(componentSpanInfo, event));
+    span.end();
+    return span;
+  }
+
+  @Benchmark
+  public void exportComponentSpanAttributes(Blackhole blackhole) {
+    InternalSpan span = createExportOnEndExecutionSpan(spanExporterFactory, flowSpan,
+                                                       new CoreEventEnrichedInitialSpanInfo(componentSpanInfo, event));
+    span.end();
+    ((OpenTelemetrySpanExporter) ((ExportOnEndExecutionSpan) span).getSpanExporter()).forEach((key, value) -> {
+      blackhole.consume(key);
+      blackhole.consume(value);
+    });
+  }
+
+  private static final class TestInitialSpanInfo implements InitialSpanInfo {
+
+    private final String name;
+    private final boolean rootSpan;
+
+    private TestInitialSpanInfo(String name, boolean rootSpan) {
+      this.name = name;
+      this.rootSpan = rootSpan;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public boolean isRootSpan() {
+      return rootSpan;
+    }
+
+    @Override
+    public InitialExportInfo getInitialExportInfo() {
+      return DEFAULT_EXPORT_SPAN_CUSTOMIZATION_INFO;
+    }
+  }
+}